@@ -0,0 +1,663 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.config.EcotaleJobsConfig;
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.metrics.LatencyHistogram;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.JobsScheduler;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthetic load for the reward path: simulated players killing mobs,
+ * mining ores and crafting, driven through the same pipelines, sessions,
+ * job levels, leaderboards and settlement lanes as the live systems.
+ *
+ * <p>Players are split across worker threads that stand in for world
+ * threads, each running 20 ticks per second. Every tick a player fires
+ * events at their job's rate; the source of each event (mob type, ore,
+ * recipe) is drawn from a Zipf distribution, so a few sources dominate as
+ * they do on a real server, and each source is bound to a tier drawn from
+ * the {@code Projection} tier mixes. VIP groups are assigned with the
+ * projection's {@code VipShare}. Only reward-eligible events are generated:
+ * ECS lookup and classification need a running server and are not part of
+ * the measured path.
+ *
+ * <p>Ecotale is replaced by stand-ins: balance deposits are handed a
+ * {@link BalanceSettlement.Depositor} that waits a configurable time, and
+ * a share of mob and mining payouts are counted as physical coin drops on
+ * the worker thread instead of spawning entities.
+ *
+ * <p>The report covers sustained events per second after warm-up, per-event
+ * latency percentiles on the worker threads, ticks that overran their
+ * 50 ms budget, settlement backpressure, and heap and GC activity over the
+ * measured window.
+ *
+ * <p>Lives in the {@code loadtest} source set, outside the plugin jar. Run
+ * it through Gradle:
+ * <pre>
+ * ./gradlew loadTest --args="--players 500 --threads 4 --seconds 60"
+ * </pre>
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class LoadGenerator {
+
+    /** Server tick length the workers run at */
+    public static final long TICK_NANOS = 50_000_000L;
+
+    private static final JobType[] JOBS = {JobType.MOB_KILLS, JobType.MINING, JobType.CRAFTING};
+    private static final RewardOutcome[] OUTCOMES = RewardOutcome.values();
+
+    private final Options options;
+    private final EcotaleJobsConfig config = new EcotaleJobsConfig();
+    private final Map<JobType, JobLoad> jobs = new EnumMap<>(JobType.class);
+    private final SimPlayer[] players;
+
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final SettlementExecutor settlement;
+    private final JobProgression progression;
+    private final JobLeaderboards leaderboards;
+
+    // Stand-in payouts
+    private final BalanceSettlement.Depositor depositor;
+    private final LongAdder deposits = new LongAdder();
+    private final LongAdder depositedValue = new LongAdder();
+    private final LongAdder coinDrops = new LongAdder();
+    private final LongAdder coinDropValue = new LongAdder();
+
+    // Worker progress
+    private final LongAdder events = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private final long[][] outcomes = new long[JOBS.length][OUTCOMES.length]; // Merged from the workers
+    private volatile boolean measuring;
+
+    public LoadGenerator(@Nonnull Options options) throws IOException {
+        this.options = options;
+        SplittableRandom random = new SplittableRandom(options.seed);
+
+        for (JobType job : JOBS) {
+            jobs.put(job, new JobLoad(job, config, options, random.split()));
+        }
+
+        // VIP mix as in the economy projection
+        EcotaleJobsConfig.VipConfig vip = config.getVipMultipliers();
+        String[] vipGroups = vip.isEnabled()
+            ? new TreeMap<>(vip.getMultipliers()).keySet().toArray(new String[0])
+            : new String[0];
+        float vipShare = config.getProjection().getVipShare();
+
+        players = new SimPlayer[options.players];
+        for (int i = 0; i < players.length; i++) {
+            VipProfile profile = null;
+            if (vipGroups.length > 0 && random.nextDouble() < vipShare) {
+                String group = vipGroups[random.nextInt(vipGroups.length)];
+                float multiplier = Math.min(Math.max(1.0f, vip.getMultipliers().getOrDefault(group, 1.0f)),
+                    vip.getMaxGlobalMultiplier());
+                profile = VipProfile.of(multiplier, vip.getChanceBonuses().getOrDefault(group, 0));
+            }
+            players[i] = new SimPlayer(new UUID(0x5EED_0000_0000_0000L, i), rollJob(random), profile);
+        }
+
+        this.settlement = options.lanes > 0 ? new SettlementExecutor(options.lanes, options.queueCapacity) : null;
+        Path scratch = Files.createTempDirectory("ecotalejobs-load");
+        this.progression = new JobProgression(config.getProgression(), scratch.resolve("levels.dat"));
+        this.leaderboards = new JobLeaderboards(config.getLeaderboards().getSize(), scratch.resolve("scores.dat"));
+
+        long depositNanos = options.depositMicros * 1_000L;
+        this.depositor = (player, amount, reason) -> {
+            if (depositNanos > 0) {
+                LockSupport.parkNanos(depositNanos);
+            }
+            if (measuring) {
+                deposits.increment();
+                depositedValue.add((long) amount);
+            }
+        };
+    }
+
+    /**
+     * Primary job of a simulated player: most players mine or fight, fewer
+     * craft.
+     */
+    private JobType rollJob(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < options.miningShare) {
+            return JobType.MINING;
+        }
+        if (roll < options.miningShare + options.mobShare) {
+            return JobType.MOB_KILLS;
+        }
+        return JobType.CRAFTING;
+    }
+
+    // =========================================================================
+    // Run
+    // =========================================================================
+
+    /**
+     * Warm up, then measure for {@link Options#seconds}.
+     */
+    @Nonnull
+    public Result run() throws InterruptedException {
+        CoarseClock.getInstance().start(JobsScheduler.get());
+        if (settlement != null) {
+            settlement.start();
+        }
+        progression.start(JobsScheduler.get(), config.getProgression().getFlushIntervalSeconds());
+        leaderboards.start(JobsScheduler.get(), config.getLeaderboards().getFlushIntervalSeconds());
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread heapSampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                LockSupport.parkNanos(100_000_000L);
+            }
+        }, "EcotaleJobs-LoadHeap");
+        heapSampler.setDaemon(true);
+
+        long runNanos = TimeUnit.SECONDS.toNanos(options.warmupSeconds + options.seconds);
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long runUntil = System.nanoTime() + runNanos;
+        CountDownLatch done = new CountDownLatch(options.threads);
+        Worker[] workers = new Worker[options.threads];
+        for (int t = 0; t < workers.length; t++) {
+            int from = (int) ((long) players.length * t / workers.length);
+            int to = (int) ((long) players.length * (t + 1) / workers.length);
+            workers[t] = new Worker(from, to, options.seed + t, runUntil, done);
+            Thread thread = new Thread(workers[t], "EcotaleJobs-Load-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        // Warm-up: let the JIT settle and the buckets fill, then start counting
+        LockSupport.parkNanos(Math.max(0, measureFrom - System.nanoTime()));
+        latency.reset();
+        measuring = true;
+        System.gc();
+        long heapStart = memory.getHeapMemoryUsage().getUsed();
+        long gcStart = gcCount();
+        long gcTimeStart = gcMillis();
+        long started = System.nanoTime();
+        heapSampler.start();
+
+        done.await();
+        long elapsed = System.nanoTime() - started;
+        heapSampler.interrupt();
+        long gcs = gcCount() - gcStart;
+        long gcTime = gcMillis() - gcTimeStart;
+        long heapEndRaw = memory.getHeapMemoryUsage().getUsed();
+        if (settlement != null) {
+            settlement.close(5_000);
+        }
+        System.gc();
+        long heapEnd = memory.getHeapMemoryUsage().getUsed();
+
+        progression.close();
+        leaderboards.close();
+        CoarseClock.getInstance().stop();
+        JobsScheduler.shutdown();
+
+        for (Worker worker : workers) {
+            for (int j = 0; j < JOBS.length; j++) {
+                for (int o = 0; o < OUTCOMES.length; o++) {
+                    outcomes[j][o] += worker.counts[j][o];
+                }
+            }
+        }
+
+        return new Result(this, events.sum(), elapsed, overruns.sum(),
+            heapStart, heapEnd, Math.max(peakHeap.get(), heapEndRaw), gcs, gcTime);
+    }
+
+    /**
+     * One simulated world thread: a slice of the players, ticked 20 times
+     * per second (or as fast as possible with {@code --saturate}).
+     */
+    private final class Worker implements Runnable {
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        private final long runUntil;
+        private final CountDownLatch done;
+        final long[][] counts = new long[JOBS.length][OUTCOMES.length];
+
+        Worker(int from, int to, long seed, long runUntil, CountDownLatch done) {
+            this.from = from;
+            this.to = to;
+            this.random = new SplittableRandom(seed);
+            this.runUntil = runUntil;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long nextTick = System.nanoTime();
+                while (System.nanoTime() < runUntil) {
+                    for (int p = from; p < to; p++) {
+                        SimPlayer player = players[p];
+                        JobLoad load = jobs.get(player.job);
+                        double expected = load.eventsPerTick;
+                        int count = (int) expected + (random.nextDouble() < expected - (int) expected ? 1 : 0);
+                        for (int e = 0; e < count; e++) {
+                            fire(player, load);
+                        }
+                    }
+                    if (options.saturate) {
+                        continue;
+                    }
+                    nextTick += TICK_NANOS;
+                    long wait = nextTick - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    } else {
+                        if (measuring) {
+                            overruns.increment();
+                        }
+                        nextTick = System.nanoTime(); // Drop the backlog like a lagging server
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        /**
+         * One event, timed like a reward handler: session lookup, pipeline,
+         * levels and leaderboards, then the payout.
+         */
+        private void fire(SimPlayer player, JobLoad load) {
+            int source = load.sources.sample(random);
+            long start = System.nanoTime();
+
+            PlayerJobSession session = sessions.get(player.uuid);
+            RewardContext reward = RewardContext.begin(load.job, session, player.vip)
+                .addLine(load.sourceNames[source], load.sourceTiers[source], 1);
+            if (load.job == JobType.MINING) {
+                reward.setBonusMultiplier(load.rollMiningBonus(random));
+            } else if (load.job == JobType.CRAFTING) {
+                reward.setQuantity(1 + random.nextInt(4));
+            }
+            RewardOutcome outcome = load.pipeline.run(reward);
+            if (outcome == null) {
+                long value = reward.getValue();
+                progression.grant(session, load.job, load.job == JobType.CRAFTING ? reward.getQuantity() : 1);
+                leaderboards.record(session, load.job, value);
+                outcome = pay(load, session, value);
+            }
+
+            latency.record(System.nanoTime() - start);
+            if (measuring) {
+                events.increment();
+                counts[load.index][outcome.ordinal()]++;
+            }
+        }
+
+        private RewardOutcome pay(JobLoad load, PlayerJobSession session, long value) {
+            if (load.job != JobType.CRAFTING && random.nextDouble() < options.coinDropShare) {
+                if (measuring) {
+                    coinDrops.increment(); // Stand-in for a physical drop on the tick
+                    coinDropValue.add(value);
+                }
+                return RewardOutcome.REWARDED;
+            }
+            BalanceSettlement deposit = new BalanceSettlement(load.job, session.getPlayerUuid(), value,
+                "Load test", load.economyCap, null, depositor, (paid, amount) -> {});
+            if (settlement == null) {
+                return deposit.settle();
+            }
+            settlement.submit(session.getPlayerUuid(), deposit.trackPending(session));
+            return RewardOutcome.REWARDED;
+        }
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    // =========================================================================
+    // Jobs and players
+    // =========================================================================
+
+    private record SimPlayer(UUID uuid, JobType job, VipProfile vip) {}
+
+    /**
+     * One job's pipeline, economy cap and synthetic sources. The pipeline
+     * is the reward system's own declaration, configured from the config
+     * by {@link JobModel}.
+     */
+    private static final class JobLoad {
+        final JobType job;
+        final int index;
+        final RewardPipeline pipeline;
+        final EconomyCap economyCap;
+        final double eventsPerTick;
+        final ZipfSampler sources;
+        final String[] sourceNames;
+        final TierConfig[] sourceTiers;
+
+        // Mining bonus sampling bounds (as in EconomyProjection)
+        private final EcotaleJobsConfig.ToolQualityConfig toolQuality;
+        private final EcotaleJobsConfig.DepthBonusConfig depthBonus;
+        private final int maxToolQuality;
+        private final int minDepthY;
+        private final int depthRange;
+
+        JobLoad(JobType job, EcotaleJobsConfig config, Options options, SplittableRandom random) {
+            this.job = job;
+            this.index = Arrays.asList(JOBS).indexOf(job);
+            JobModel model = JobModel.of(config, job);
+            economyCap = options.uncapped ? JobModel.uncapped() : model.newEconomyCap(CoarseClock.getInstance());
+            pipeline = model.newPipeline(CoarseClock.getInstance(), true, economyCap, PipelineMetrics.getInstance());
+
+            EcotaleJobsConfig.ProjectionConfig projection = config.getProjection();
+            Map<String, Float> mix;
+            switch (job) {
+                case MOB_KILLS -> {
+                    eventsPerTick = options.mobRate * options.rateScale / 20.0;
+                    mix = projection.getMobTierMix();
+                }
+                case MINING -> {
+                    eventsPerTick = options.miningRate * options.rateScale / 20.0;
+                    mix = projection.getMiningTierMix();
+                }
+                default -> {
+                    eventsPerTick = options.craftRate * options.rateScale / 20.0;
+                    mix = projection.getCraftingTierMix();
+                }
+            }
+
+            // Each synthetic source is bound to a tier drawn from the projection mix
+            EconomyProjection.TierMix tiers = EconomyProjection.TierMix.of(model, mix);
+            if (tiers.isEmpty()) {
+                throw new IllegalStateException("No tiers in the " + job.getKey() + " projection mix");
+            }
+            sources = new ZipfSampler(options.sourceTypes, options.zipfExponent);
+            sourceNames = new String[options.sourceTypes];
+            sourceTiers = new TierConfig[options.sourceTypes];
+            for (int i = 0; i < sourceNames.length; i++) {
+                sourceNames[i] = "Load_" + job.getKey() + "_" + i;
+                sourceTiers[i] = tiers.tiers[tiers.sample(random)];
+            }
+
+            this.toolQuality = config.getMining().getToolQuality();
+            this.depthBonus = config.getMining().getDepthBonus();
+            this.maxToolQuality = toolQuality.getQualityStep() > 0
+                ? (int) Math.ceil(toolQuality.getMaxBonus() / toolQuality.getQualityStep()) : 0;
+            this.minDepthY = depthBonus.getMinY();
+            this.depthRange = Math.max(0, depthBonus.getMaxY() - depthBonus.getMinY());
+        }
+
+        float rollMiningBonus(SplittableRandom random) {
+            int quality = maxToolQuality > 0 ? random.nextInt(maxToolQuality + 1) : 0;
+            int y = depthRange > 0 ? minDepthY + random.nextInt(depthRange + 1) : minDepthY;
+            return toolQuality.calculateMultiplier(quality) * depthBonus.calculateMultiplier(y);
+        }
+    }
+
+    /**
+     * Ranks 0..n-1 with P(k) proportional to 1 / (k + 1)^s, by binary
+     * search over the precomputed CDF.
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[Math.max(1, n)];
+            double running = 0;
+            for (int k = 0; k < cumulative.length; k++) {
+                running += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = running;
+            }
+            for (int k = 0; k < cumulative.length; k++) {
+                cumulative[k] /= running;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return Math.min(index, cumulative.length - 1);
+        }
+    }
+
+    // =========================================================================
+    // Options
+    // =========================================================================
+
+    /**
+     * Load shape, parsed from {@code --name value} arguments.
+     */
+    public static final class Options {
+        int players = 500;
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        int seconds = 60;
+        int warmupSeconds = 10;
+        // Events per active player per second, by primary job
+        double miningRate = 1.5;
+        double mobRate = 0.5;
+        double craftRate = 0.3;
+        double rateScale = 1.0;
+        double miningShare = 0.45;
+        double mobShare = 0.40;
+        int sourceTypes = 60;
+        double zipfExponent = 1.1;
+        double coinDropShare = 0.5;
+        int depositMicros = 50;
+        int lanes = 2;
+        int queueCapacity = 4096;
+        boolean uncapped = false;
+        boolean saturate = false;
+        long seed = 42;
+
+        @Nonnull
+        public static Options parse(@Nonnull String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (name) {
+                    case "--uncapped" -> { options.uncapped = true; continue; }
+                    case "--saturate" -> { options.saturate = true; continue; }
+                    default -> { }
+                }
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                i++;
+                switch (name) {
+                    case "--players" -> options.players = Math.max(1, Integer.parseInt(value));
+                    case "--threads" -> options.threads = Math.max(1, Integer.parseInt(value));
+                    case "--seconds" -> options.seconds = Math.max(1, Integer.parseInt(value));
+                    case "--warmup" -> options.warmupSeconds = Math.max(0, Integer.parseInt(value));
+                    case "--mining-rate" -> options.miningRate = Double.parseDouble(value);
+                    case "--mob-rate" -> options.mobRate = Double.parseDouble(value);
+                    case "--craft-rate" -> options.craftRate = Double.parseDouble(value);
+                    case "--rate-scale" -> options.rateScale = Double.parseDouble(value);
+                    case "--mining-share" -> options.miningShare = Double.parseDouble(value);
+                    case "--mob-share" -> options.mobShare = Double.parseDouble(value);
+                    case "--sources" -> options.sourceTypes = Math.max(1, Integer.parseInt(value));
+                    case "--zipf" -> options.zipfExponent = Double.parseDouble(value);
+                    case "--coin-drop-share" -> options.coinDropShare = Double.parseDouble(value);
+                    case "--deposit-micros" -> options.depositMicros = Math.max(0, Integer.parseInt(value));
+                    case "--lanes" -> options.lanes = Math.max(0, Integer.parseInt(value));
+                    case "--queue" -> options.queueCapacity = Math.max(1, Integer.parseInt(value));
+                    case "--seed" -> options.seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + name);
+                }
+            }
+            if (options.threads > options.players) {
+                options.threads = options.players;
+            }
+            return options;
+        }
+
+        /** Events per second the configured players should produce */
+        double targetEventsPerSecond() {
+            double perPlayer = miningShare * miningRate + mobShare * mobRate
+                + Math.max(0, 1 - miningShare - mobShare) * craftRate;
+            return players * perPlayer * rateScale;
+        }
+    }
+
+    // =========================================================================
+    // Results
+    // =========================================================================
+
+    /**
+     * What one load run measured (after warm-up).
+     */
+    public static final class Result {
+        private final Options options;
+        private final long events;
+        private final long elapsedNanos;
+        private final long tickOverruns;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+        private final long[][] outcomes;
+        private final long deposits;
+        private final long depositedValue;
+        private final long coinDrops;
+        private final long coinDropValue;
+        private final long settlementStalls;
+        private final long maxQueueDepth;
+        private final int sessions;
+        private final long heapStart;
+        private final long heapEnd;
+        private final long heapPeak;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Result(LoadGenerator load, long events, long elapsedNanos, long tickOverruns,
+                       long heapStart, long heapEnd, long heapPeak, long gcCount, long gcMillis) {
+            this.options = load.options;
+            this.events = events;
+            this.elapsedNanos = elapsedNanos;
+            this.tickOverruns = tickOverruns;
+            this.p50 = load.latency.getPercentile(50);
+            this.p99 = load.latency.getPercentile(99);
+            this.p999 = load.latency.getPercentile(99.9);
+            this.max = load.latency.getMax();
+            this.outcomes = load.outcomes;
+            this.deposits = load.deposits.sum();
+            this.depositedValue = load.depositedValue.sum();
+            this.coinDrops = load.coinDrops.sum();
+            this.coinDropValue = load.coinDropValue.sum();
+            this.settlementStalls = load.settlement != null ? load.settlement.getStallCount() : 0;
+            this.maxQueueDepth = load.settlement != null ? load.settlement.getMaxQueueDepth() : 0;
+            this.sessions = load.sessions.getOnlineCount();
+            this.heapStart = heapStart;
+            this.heapEnd = heapEnd;
+            this.heapPeak = heapPeak;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        public double getEventsPerSecond() { return events * 1e9 / Math.max(1, elapsedNanos); }
+        public long getEvents() { return events; }
+        public long getTickOverruns() { return tickOverruns; }
+        public long getP50Nanos() { return p50; }
+        public long getP99Nanos() { return p99; }
+        public long getP999Nanos() { return p999; }
+        public long getMaxNanos() { return max; }
+        /** Heap retained over the measured window, after GC at both ends */
+        public long getHeapGrowth() { return heapEnd - heapStart; }
+
+        /**
+         * Human-readable report.
+         */
+        @Nonnull
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("=== EcotaleJobs load: %d players, %d threads, %.0fs measured%s ===%n",
+                options.players, options.threads, elapsedNanos / 1e9, options.saturate ? " (saturated)" : ""));
+            out.append(String.format("Events: %,d | %,.0f ev/s sustained", events, getEventsPerSecond()));
+            if (!options.saturate) {
+                out.append(String.format(" (target %,.0f) | %,d tick overruns", options.targetEventsPerSecond(), tickOverruns));
+            }
+            out.append(String.format("%nLatency per event: p50 %s, p99 %s, p99.9 %s, max %s%n",
+                formatNanos(p50), formatNanos(p99), formatNanos(p999), formatNanos(max)));
+            for (int j = 0; j < JOBS.length; j++) {
+                out.append("  ").append(JOBS[j].getKey()).append(':');
+                for (int o = 0; o < OUTCOMES.length; o++) {
+                    if (outcomes[j][o] > 0) {
+                        out.append(' ').append(OUTCOMES[o].getKey()).append('=').append(outcomes[j][o]);
+                    }
+                }
+                out.append(String.format("%n"));
+            }
+            out.append(String.format("Payouts: %,d deposits (%,d value), %,d coin drops (%,d value) | %,d settlement stalls, max queue %,d%n",
+                deposits, depositedValue, coinDrops, coinDropValue, settlementStalls, maxQueueDepth));
+            out.append(String.format("Heap: %s -> %s after GC (%s%s), peak %s | %,d GCs, %,d ms | %,d sessions%n",
+                formatBytes(heapStart), formatBytes(heapEnd), getHeapGrowth() >= 0 ? "+" : "-",
+                formatBytes(Math.abs(getHeapGrowth())), formatBytes(heapPeak), gcCount, gcMillis, sessions));
+            return out.toString();
+        }
+
+        private static String formatNanos(long nanos) {
+            if (nanos <= 0) return "-";
+            if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1_000.0);
+            return String.format("%.2f ms", nanos / 1_000_000.0);
+        }
+
+        private static String formatBytes(long bytes) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Result result = new LoadGenerator(options).run();
+        System.out.print(result.format());
+    }
+}
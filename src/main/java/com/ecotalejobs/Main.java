@@ -3,23 +3,58 @@ package com.ecotalejobs;
 import com.ecotalejobs.systems.MobRewardSystem;
 import com.ecotalejobs.systems.CraftingRewardSystem;
 import com.ecotalejobs.systems.MiningRewardSystem;
-// import com.ecotalejobs.systems.HarvestRewardSystem;
+import com.ecotalejobs.systems.HarvestRewardSystem;
+import com.ecotalejobs.systems.WoodcuttingRewardSystem;
 import com.ecotalejobs.config.EcotaleJobsConfig;
 import com.ecotalejobs.config.TierMappingsConfig;
 import com.ecotalejobs.config.CraftingMappingsConfig;
+import com.ecotalejobs.commands.JobsCommand;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.MetricsSampler;
+import com.ecotalejobs.metrics.PrometheusFileExporter;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.AutoDetectEvent;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.StageKind;
+import com.ecotalejobs.pipeline.StageStats;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
+import com.ecotalejobs.simulation.EconomyProjection;
+import com.ecotalejobs.systems.JobType;
 import com.ecotalejobs.util.NPCAutoDetector;
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.ConfigSaveService;
 import com.ecotalejobs.util.CraftingAutoDetector;
+import com.ecotalejobs.util.JobsLogger;
+import com.ecotalejobs.util.JobsScheduler;
+import com.ecotalejobs.util.MaintenanceScheduler;
+import com.ecotalejobs.util.RecipeValueGraph;
 import com.ecotalejobs.util.RewardNotifier;
 import com.hypixel.hytale.assetstore.event.LoadedAssetsEvent;
 import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.util.Config;
 import com.hypixel.hytale.server.npc.AllNPCsLoadedEvent;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.logging.Level;
 
 /**
@@ -32,25 +67,68 @@ public class Main extends JavaPlugin {
     public static Config<TierMappingsConfig> TIER_MAPPINGS;
     public static Config<CraftingMappingsConfig> CRAFTING_MAPPINGS;
     
+    // Candidate config for /jobs simulate (same schema as EcotaleJobs.json, never applied)
+    public static Config<EcotaleJobsConfig> SIMULATION_CANDIDATE;
+    
+    // How long shutdown waits for queued deposits before leaving them to journal replay
+    private static final long SETTLEMENT_DRAIN_MS = 5_000;
+    
     // Keep references to reward systems for initialization/monitoring
     private MobRewardSystem mobRewardSystem;
     private MiningRewardSystem miningRewardSystem;
     private CraftingRewardSystem craftingRewardSystem;
+    private HarvestRewardSystem harvestRewardSystem;
+    private WoodcuttingRewardSystem woodcuttingRewardSystem;
+    
+    // Recipe DAG valuation (updated incrementally on every recipe load)
+    private final RecipeValueGraph recipeValueGraph = new RecipeValueGraph();
+    
+    // Debounced background config writes (keeps JSON I/O off the event thread)
+    private ConfigSaveService configSaveService;
+    
+    // Rolling-window view of the reward metrics (for /jobs stats)
+    private final MetricsSampler metricsSampler = new MetricsSampler(JobsMetrics.getInstance());
+    
+    // Binary audit log of reward decisions (null when disabled)
+    private RewardLedger rewardLedger;
+    
+    // Write-ahead journal of payouts in flight (null when disabled)
+    private PayoutJournal payoutJournal;
+    
+    // Undispatched deposits carried over from the last run, replayed in start()
+    private List<PayoutJournal.PendingPayout> replayPayouts = List.of();
+    
+    // Background lanes for balance deposits (null settles on the world thread)
+    private SettlementExecutor settlementExecutor;
+    
+    // Job levels, flushed to disk in the background (null when disabled)
+    private JobProgression progression;
+    
+    // Top earners per job and window (null when disabled)
+    private JobLeaderboards leaderboards;
+    
+    // Pruning of per-player state (background sweep, and release on disconnect)
+    private final MaintenanceScheduler maintenance = new MaintenanceScheduler();
+    
+    // Optional Prometheus textfile export (null when disabled)
+    private PrometheusFileExporter metricsExporter;
     
     public Main(@NonNullDecl JavaPluginInit init) {
         super(init);
         CONFIG = this.withConfig("EcotaleJobs", EcotaleJobsConfig.CODEC);
         TIER_MAPPINGS = this.withConfig("TierMappings", TierMappingsConfig.CODEC);
         CRAFTING_MAPPINGS = this.withConfig("CraftingMappings", CraftingMappingsConfig.CODEC);
+        SIMULATION_CANDIDATE = this.withConfig("SimulationCandidate", EcotaleJobsConfig.CODEC);
     }
     
     @Override
     protected void setup() {
         super.setup();
         instance = this;
+        configSaveService = new ConfigSaveService();
         
         // Save main config
-        CONFIG.save();
+        saveConfig("EcotaleJobs", CONFIG, EcotaleJobsConfig.CODEC);
         
         // Load tier mappings
         TierMappingsConfig mappings = TIER_MAPPINGS.get();
@@ -65,7 +143,7 @@ public class Main extends JavaPlugin {
         
         // Save defaults that were merged
         if (fromDefaults > 0) {
-            TIER_MAPPINGS.save();
+            saveConfig("TierMappings", TIER_MAPPINGS, TierMappingsConfig.CODEC);
             this.getLogger().at(Level.INFO).log(
                 "[EcotaleJobs] Merged %d mobs from defaults", fromDefaults
             );
@@ -87,9 +165,34 @@ public class Main extends JavaPlugin {
             null
         );
         
+        // Open the reward ledger before any system can produce records
+        rewardLedger = openRewardLedger(config.getLedger());
+        
+        // Start a fresh journal, carrying over deposits a crash left undispatched
+        payoutJournal = openPayoutJournal(config.getPayoutJournal());
+        
+        // Shared coarse clock for the security checks (reads the wall clock until it ticks)
+        CoarseClock.getInstance().start(JobsScheduler.get());
+        
+        // Move balance deposits off the world thread
+        EcotaleJobsConfig.SettlementConfig settlementConfig = config.getSettlement();
+        if (settlementConfig.isEnabled()) {
+            settlementExecutor = new SettlementExecutor(settlementConfig.getLanes(), settlementConfig.getQueueCapacity());
+            settlementExecutor.start();
+        }
+        
+        // Load job levels before any system can grant XP
+        progression = openProgression(config.getProgression());
+        leaderboards = openLeaderboards(config.getLeaderboards());
+        
         // Create and initialize MobRewardSystem with both configs
         mobRewardSystem = new MobRewardSystem();
         mobRewardSystem.init(config.getMobKills(), mappings);
+        mobRewardSystem.setLedger(rewardLedger);
+        mobRewardSystem.setPayoutJournal(payoutJournal);
+        mobRewardSystem.setSettlementExecutor(settlementExecutor);
+        mobRewardSystem.setProgression(progression);
+        mobRewardSystem.setLeaderboards(leaderboards);
         
         // Load crafting mappings and create CraftingRewardSystem (only if enabled)
         CraftingMappingsConfig craftingMappings = null;
@@ -97,6 +200,11 @@ public class Main extends JavaPlugin {
             craftingMappings = CRAFTING_MAPPINGS.get();
             craftingRewardSystem = new CraftingRewardSystem();
             craftingRewardSystem.init(config.getCrafting(), craftingMappings);
+            craftingRewardSystem.setLedger(rewardLedger);
+            craftingRewardSystem.setPayoutJournal(payoutJournal);
+            craftingRewardSystem.setSettlementExecutor(settlementExecutor);
+            craftingRewardSystem.setProgression(progression);
+            craftingRewardSystem.setLeaderboards(leaderboards);
         } else {
             craftingRewardSystem = null;
         }
@@ -112,6 +220,11 @@ public class Main extends JavaPlugin {
         if (miningEnabled) {
             miningRewardSystem = new MiningRewardSystem();
             miningRewardSystem.init(config.getMining());
+            miningRewardSystem.setLedger(rewardLedger);
+            miningRewardSystem.setPayoutJournal(payoutJournal);
+            miningRewardSystem.setSettlementExecutor(settlementExecutor);
+            miningRewardSystem.setProgression(progression);
+            miningRewardSystem.setLeaderboards(leaderboards);
             
             // Register as EntityEventSystem
             this.getEntityStoreRegistry().registerSystem(miningRewardSystem);
@@ -124,12 +237,54 @@ public class Main extends JavaPlugin {
             miningRewardSystem = null;
         }
         
-        // Harvesting system (future)
-        // this.getEntityStoreRegistry().registerSystem(new HarvestRewardSystem());
+        // Harvest Reward System (crop index + per-player batches)
+        boolean harvestingEnabled = config.getHarvesting().isEnabled();
+        if (harvestingEnabled) {
+            harvestRewardSystem = new HarvestRewardSystem();
+            harvestRewardSystem.init(config.getHarvesting());
+            harvestRewardSystem.setLedger(rewardLedger);
+            harvestRewardSystem.setPayoutJournal(payoutJournal);
+            harvestRewardSystem.setSettlementExecutor(settlementExecutor);
+            harvestRewardSystem.setProgression(progression);
+            harvestRewardSystem.setLeaderboards(leaderboards);
+            this.getEntityStoreRegistry().registerSystem(harvestRewardSystem);
+            
+            this.getLogger().at(Level.INFO).log(
+                "[EcotaleJobs] Harvesting system enabled: %d crop patterns, %dms batches",
+                config.getHarvesting().getCropTiers().size(), config.getHarvesting().getBatchWindowMs()
+            );
+        } else {
+            harvestRewardSystem = null;
+        }
+        
+        // Woodcutting Reward System (log index + one payout per felled tree)
+        boolean woodcuttingEnabled = config.getWoodcutting().isEnabled();
+        if (woodcuttingEnabled) {
+            woodcuttingRewardSystem = new WoodcuttingRewardSystem();
+            woodcuttingRewardSystem.init(config.getWoodcutting());
+            woodcuttingRewardSystem.setLedger(rewardLedger);
+            woodcuttingRewardSystem.setPayoutJournal(payoutJournal);
+            woodcuttingRewardSystem.setSettlementExecutor(settlementExecutor);
+            woodcuttingRewardSystem.setProgression(progression);
+            woodcuttingRewardSystem.setLeaderboards(leaderboards);
+            this.getEntityStoreRegistry().registerSystem(woodcuttingRewardSystem);
+            
+            this.getLogger().at(Level.INFO).log(
+                "[EcotaleJobs] Woodcutting system enabled: %d log patterns, %dms tree bursts",
+                config.getWoodcutting().getLogTiers().size(), config.getWoodcutting().getBurstWindowMs()
+            );
+        } else {
+            woodcuttingRewardSystem = null;
+        }
+        
+        // Crops and logs are indexed once block assets are loaded
+        if (harvestingEnabled || woodcuttingEnabled) {
+            this.getEventRegistry().register(LoadedAssetsEvent.class, BlockType.class, this::onBlocksLoaded);
+        }
         
         // Save crafting mappings (may have defaults)
         if (craftingEnabled) {
-            CRAFTING_MAPPINGS.save();
+            saveConfig("CraftingMappings", CRAFTING_MAPPINGS, CraftingMappingsConfig.CODEC);
         }
         
         if (craftingEnabled && craftingMappings != null) {
@@ -149,10 +304,39 @@ public class Main extends JavaPlugin {
             );
         }
         
+        // Prune per-player state off the world thread
+        startMaintenance(config.getMaintenance());
+        
+        // Names for the leaderboards
+        if (leaderboards != null) {
+            this.getEventRegistry().register(PlayerConnectEvent.class, this::onPlayerConnect);
+        }
+        
+        // Release per-player state as soon as a player leaves
+        this.getEventRegistry().register(PlayerDisconnectEvent.class, this::onPlayerDisconnect);
+        
+        // Start metrics sampling (5s samples, 60s window)
+        metricsSampler.start(JobsScheduler.get());
+        startMetricsExport(config.getMetrics());
+        
+        // Check the hourly caps against the expected player load (background)
+        startEconomyProjection(config);
+        
+        // Register commands
+        this.getCommandRegistry().registerCommand(new JobsCommand());
+        
         // Register debug commands
         this.getCommandRegistry().registerCommand(new com.ecotalejobs.commands.TestOresCommand());
     }
     
+    @Override
+    protected void start() {
+        super.start();
+        
+        // Ecotale is up now: replay what the last run charged but never handed to it
+        replayPendingPayouts();
+    }
+    
     // Handles AllNPCsLoadedEvent - auto-detect new NPCs
     private void onNPCsLoaded(AllNPCsLoadedEvent event) {
         TierMappingsConfig mappings = TIER_MAPPINGS.get();
@@ -166,6 +350,8 @@ public class Main extends JavaPlugin {
         }
         
         // Now we can safely detect NPCs - they're ALL loaded!
+        AutoDetectEvent jfr = new AutoDetectEvent();
+        jfr.begin();
         Map<String, String> detectedNPCs = NPCAutoDetector.detectNewNPCs(mappings);
         int fromAutoDetect = 0;
         
@@ -179,9 +365,10 @@ public class Main extends JavaPlugin {
                 fromAutoDetect++;
             }
         }
+        jfr.finish("npc", event.getAllNPCs().size(), fromAutoDetect);
         
         if (fromAutoDetect > 0) {
-            TIER_MAPPINGS.save();
+            saveConfig("TierMappings", TIER_MAPPINGS, TierMappingsConfig.CODEC);
             this.getLogger().at(Level.INFO).log(
                 "[EcotaleJobs] Auto-detected %d new NPCs from %d total server NPCs",
                 fromAutoDetect, event.getAllNPCs().size()
@@ -200,44 +387,556 @@ public class Main extends JavaPlugin {
      * - All vanilla Hytale recipes are loaded
      * - All recipes from mods are loaded
      * - The CraftingRecipe.getAssetMap() returns complete data
+     * 
+     * <p>It is also where the recipe value graph is updated and the recipe
+     * tier index is (re)built, so the crafting hot path never has to run
+     * pattern matching. Memoized item scores are dropped first so a reload
+     * never classifies against the previous assets.
      */
     private void onRecipesLoaded(LoadedAssetsEvent<String, CraftingRecipe, DefaultAssetMap<String, CraftingRecipe>> event) {
+        long phaseStart = System.nanoTime();
         CraftingMappingsConfig craftingMappings = CRAFTING_MAPPINGS.get();
+        Map<String, CraftingRecipe> loadedRecipes = event.getLoadedAssets();
+        
+        // Item scores and tiers memoized by the previous load may be stale
+        CraftingAutoDetector.clearCaches();
+        
+        // Value inputs first - auto-detect and the index both read from it
+        RecipeValueGraph valueGraph = null;
+        if (craftingMappings.isValueBasedTiers()) {
+            recipeValueGraph.addRecipes(loadedRecipes);
+            valueGraph = recipeValueGraph;
+        }
         
         if (!craftingMappings.isAutoDetectNewRecipes()) {
             this.getLogger().at(Level.INFO).log(
                 "[EcotaleJobs] Recipe auto-detect disabled. %d recipes loaded.",
-                event.getLoadedAssets().size()
+                loadedRecipes.size()
             );
+        } else {
+            // Process newly loaded recipes
+            AutoDetectEvent jfr = new AutoDetectEvent();
+            jfr.begin();
+            Map<String, String> detectedRecipes = CraftingAutoDetector.processLoadedRecipes(loadedRecipes, craftingMappings, valueGraph);
+            
+            int fromAutoDetect = 0;
+            for (Map.Entry<String, String> entry : detectedRecipes.entrySet()) {
+                craftingMappings.addItemMapping(entry.getKey(), entry.getValue());
+                fromAutoDetect++;
+            }
+            jfr.finish("recipe", loadedRecipes.size(), fromAutoDetect);
+            
+            if (fromAutoDetect > 0) {
+                saveConfig("CraftingMappings", CRAFTING_MAPPINGS, CraftingMappingsConfig.CODEC);
+                
+                // Re-initialize tier matcher with new mappings
+                if (craftingRewardSystem != null) {
+                    craftingRewardSystem.refreshMappings(craftingMappings);
+                }
+                
+                this.getLogger().at(Level.INFO).log(
+                    "[EcotaleJobs] Auto-detected %d new recipes from %d loaded (total: %d mappings)",
+                    fromAutoDetect, loadedRecipes.size(), craftingMappings.getItemMappings().size()
+                );
+            }
+        }
+        
+        long detectNanos = System.nanoTime() - phaseStart;
+        
+        // Resolve every known recipe up front (batches only carry the new ones)
+        int indexed = 0;
+        if (craftingRewardSystem != null) {
+            Map<String, CraftingRecipe> allRecipes = loadedRecipes;
+            DefaultAssetMap<String, CraftingRecipe> recipeMap = CraftingRecipe.getAssetMap();
+            if (recipeMap != null && recipeMap.getAssetMap() != null) {
+                allRecipes = recipeMap.getAssetMap();
+            }
+            indexed = craftingRewardSystem.rebuildRecipeIndex(allRecipes, valueGraph);
+        }
+        
+        long totalNanos = System.nanoTime() - phaseStart;
+        this.getLogger().at(Level.INFO).log(
+            "[EcotaleJobs] Recipe load phase: %d loaded, %d indexed in %.1f ms (auto-detect %.1f ms, index %.1f ms)",
+            loadedRecipes.size(), indexed,
+            totalNanos / 1_000_000.0, detectNanos / 1_000_000.0, (totalNanos - detectNanos) / 1_000_000.0
+        );
+    }
+    
+    /**
+     * Called when block assets are loaded: resolve every block against the
+     * crop and log patterns so harvest and woodcutting events only do a
+     * single index lookup.
+     */
+    private void onBlocksLoaded(LoadedAssetsEvent<String, BlockType, ?> event) {
+        long phaseStart = System.nanoTime();
+        // Batches only carry the new blocks - index the full map
+        Map<String, BlockType> allBlocks = event.getLoadedAssets();
+        if (BlockType.getAssetMap() != null && BlockType.getAssetMap().getAssetMap() != null) {
+            allBlocks = BlockType.getAssetMap().getAssetMap();
+        }
+        int crops = harvestRewardSystem != null ? harvestRewardSystem.rebuildCropIndex(allBlocks) : 0;
+        int logs = woodcuttingRewardSystem != null ? woodcuttingRewardSystem.rebuildLogIndex(allBlocks) : 0;
+        this.getLogger().at(Level.INFO).log(
+            "[EcotaleJobs] Block load phase: %d loaded, %d crops and %d logs indexed in %.1f ms",
+            event.getLoadedAssets().size(), crops, logs, (System.nanoTime() - phaseStart) / 1_000_000.0
+        );
+    }
+    
+    /**
+     * Run the Monte-Carlo injection projection on a thread of its own (it
+     * takes seconds, too long for the shared scheduler) and warn about jobs
+     * whose hourly cap the configured player load would exceed. Only the
+     * logging is posted back to the scheduler.
+     */
+    private void startEconomyProjection(EcotaleJobsConfig config) {
+        EcotaleJobsConfig.ProjectionConfig projectionConfig = config.getProjection();
+        if (!projectionConfig.isEnabled() || projectionConfig.getPlayers() <= 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                EconomyProjection.Result result = new EconomyProjection(config)
+                    .run(projectionConfig.getPlayers(), projectionConfig.getTrials(), System.nanoTime());
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                JobsScheduler.get().execute(() -> logProjection(result, projectionConfig, elapsedMs));
+            } catch (Exception e) {
+                this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Economy projection failed: %s", e.getMessage());
+            }
+        }, "EcotaleJobs-Projection");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+    
+    private void logProjection(EconomyProjection.Result result, EcotaleJobsConfig.ProjectionConfig projectionConfig,
+                               long elapsedMs) {
+        for (JobType job : JobType.values()) {
+            EconomyProjection.JobProjection p = result.getJob(job);
+            if (p.getMean() <= 0) {
+                continue;
+            }
+            if (p.exceedsCap()) {
+                this.getLogger().at(Level.WARNING).log(
+                    "[EcotaleJobs] %s: %d players would inject %,d/h (p%d), over the %,d/h cap in %.0f%% of hours - cap is reached at ~%.0f players",
+                    job.getKey(), result.getPlayers(), p.getWarnValue(), projectionConfig.getWarnPercentile(),
+                    p.getMaxInjectionPerHour(), p.getCapHitProbability() * 100, p.getPlayersToCap()
+                );
+            } else {
+                this.getLogger().at(Level.INFO).log(
+                    "[EcotaleJobs] %s: %d players project %,d/h p50, %,d/h p99 (expected %,.0f, cap %,d)",
+                    job.getKey(), result.getPlayers(), p.getP50(), p.getP99(),
+                    p.getExpectedPerHour(), p.getMaxInjectionPerHour()
+                );
+            }
+        }
+        JobsLogger.debug("[Projection] %d trials in %d ms", result.getTrials(), elapsedMs);
+    }
+    
+    /**
+     * Open the reward ledger, or return null if disabled or unusable
+     * (rewards keep working without it).
+     */
+    private RewardLedger openRewardLedger(EcotaleJobsConfig.LedgerConfig ledgerConfig) {
+        if (!ledgerConfig.isEnabled()) {
+            return null;
+        }
+        String dir = ledgerConfig.getDirectory();
+        Path directory = this.getDataDirectory().resolve(dir == null || dir.isBlank() ? "ledger" : dir);
+        RewardLedger ledger = new RewardLedger(directory, ledgerConfig.getSegmentSizeMb(), ledgerConfig.getMaxSegments());
+        try {
+            ledger.open();
+        } catch (Exception e) {
+            this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Reward ledger disabled - cannot open %s: %s",
+                directory, e.getMessage());
+            return null;
+        }
+        ledger.startSync(JobsScheduler.get(), ledgerConfig.getSyncIntervalMs());
+        return ledger;
+    }
+    
+    /**
+     * Load job levels and start their periodic flush, or return null if
+     * disabled or unreadable (rewards keep working without XP).
+     */
+    private JobProgression openProgression(EcotaleJobsConfig.ProgressionConfig progressionConfig) {
+        if (!progressionConfig.isEnabled()) {
+            return null;
+        }
+        String name = progressionConfig.getFile();
+        Path file = this.getDataDirectory().resolve(name == null || name.isBlank() ? "progression/levels.dat" : name);
+        JobProgression levels = new JobProgression(progressionConfig, file);
+        try {
+            int players = levels.load();
+            this.getLogger().at(Level.INFO).log("[EcotaleJobs] Job levels loaded for %d players", players);
+        } catch (Exception e) {
+            this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Job levels disabled - cannot read %s: %s",
+                file, e.getMessage());
+            return null;
+        }
+        levels.start(JobsScheduler.get(), progressionConfig.getFlushIntervalSeconds());
+        return levels;
+    }
+    
+    /**
+     * Load the leaderboards and start their periodic flush, or return null
+     * if disabled or unreadable (rewards keep working without them).
+     */
+    private JobLeaderboards openLeaderboards(EcotaleJobsConfig.LeaderboardConfig leaderboardConfig) {
+        if (!leaderboardConfig.isEnabled()) {
+            return null;
+        }
+        String name = leaderboardConfig.getFile();
+        Path file = this.getDataDirectory().resolve(name == null || name.isBlank() ? "leaderboards/scores.dat" : name);
+        JobLeaderboards boards = new JobLeaderboards(leaderboardConfig.getSize(), file);
+        try {
+            int players = boards.load();
+            this.getLogger().at(Level.INFO).log("[EcotaleJobs] Leaderboards loaded for %d players", players);
+        } catch (Exception e) {
+            this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Leaderboards disabled - cannot read %s: %s",
+                file, e.getMessage());
+            return null;
+        }
+        boards.start(JobsScheduler.get(), leaderboardConfig.getFlushIntervalSeconds());
+        return boards;
+    }
+    
+    /**
+     * Recover and open the payout journal, or return null if disabled or
+     * unusable (payouts then run unjournaled).
+     */
+    private PayoutJournal openPayoutJournal(EcotaleJobsConfig.PayoutJournalConfig journalConfig) {
+        if (!journalConfig.isEnabled()) {
+            return null;
+        }
+        String name = journalConfig.getFile();
+        Path file = this.getDataDirectory().resolve(name == null || name.isBlank() ? "journal/payouts.journal" : name);
+        PayoutJournal journal = new PayoutJournal(file, journalConfig.getMaxFileMb());
+        try {
+            List<PayoutJournal.PendingPayout> pending = journal.recover();
+            journal.open();
+            replayPayouts = journal.carryOver(resolvePendingPayouts(pending, journalConfig.isReplayPending()));
+        } catch (Exception e) {
+            this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Payout journal disabled - cannot open %s: %s",
+                file, e.getMessage());
+            replayPayouts = List.of();
+            return null;
+        }
+        journal.start(JobsScheduler.get(), journalConfig.getCommitIntervalMs());
+        return journal;
+    }
+    
+    /**
+     * Sort out payouts that were charged but never confirmed before the last
+     * shutdown. Only a balance deposit without a DISPATCHED record is known
+     * not to have reached Ecotale, so only those are replayed (and only if
+     * enabled); a dispatched one may or may not have been paid and is left
+     * to manual reconciliation, and the rest are rolled back.
+     *
+     * @return The payouts to replay once the server has started
+     */
+    private List<PayoutJournal.PendingPayout> resolvePendingPayouts(List<PayoutJournal.PendingPayout> pending,
+                                                                    boolean replay) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<PayoutJournal.PendingPayout> replayable = new ArrayList<>();
+        int unresolved = 0;
+        for (PayoutJournal.PendingPayout payout : pending) {
+            String job = payout.getJob() != null ? payout.getJob().getKey() : "?";
+            if (payout.isDispatched()) {
+                unresolved++;
+                this.getLogger().at(Level.WARNING).log(
+                    "[EcotaleJobs] Payout #%d may or may not have been paid - reconcile manually: %s %d to %s",
+                    payout.getId(), job, payout.getValue(), payout.getPlayer()
+                );
+            } else if (replay && payout.isBalanceDeposit() && payout.getJob() != null) {
+                replayable.add(payout);
+            } else {
+                this.getLogger().at(Level.WARNING).log(
+                    "[EcotaleJobs] Rolled back unpaid payout #%d: %s %d to %s",
+                    payout.getId(), job, payout.getValue(), payout.getPlayer()
+                );
+            }
+        }
+        this.getLogger().at(Level.INFO).log(
+            "[EcotaleJobs] Payout journal recovery: %d pending, %d to replay, %d to reconcile, %d rolled back",
+            pending.size(), replayable.size(), unresolved, pending.size() - replayable.size() - unresolved
+        );
+        return replayable;
+    }
+    
+    /**
+     * Replay the carried-over deposits through the job's economy cap, as if
+     * they were paid now. A deposit the cap (or a disabled job) turns down
+     * is aborted and left to manual reconciliation.
+     */
+    private void replayPendingPayouts() {
+        List<PayoutJournal.PendingPayout> payouts = replayPayouts;
+        replayPayouts = List.of();
+        PayoutJournal journal = payoutJournal;
+        if (payouts.isEmpty() || journal == null) {
             return;
         }
+        int replayed = 0;
+        long replayedValue = 0;
+        for (PayoutJournal.PendingPayout payout : payouts) {
+            EconomyCap cap = economyCapOf(payout.getJob());
+            if (cap == null || !cap.tryInject(payout.getValue())) {
+                journal.abort(payout.getId());
+                this.getLogger().at(Level.WARNING).log(
+                    "[EcotaleJobs] Cannot replay payout #%d (%s), reconcile manually: %s %d to %s",
+                    payout.getId(), cap == null ? "job disabled" : "economy cap reached",
+                    payout.getJob().getKey(), payout.getValue(), payout.getPlayer()
+                );
+                continue;
+            }
+            RewardOutcome outcome = BalanceSettlement.recovered(payout, "Payout recovery #" + payout.getId(),
+                cap, journal, (result, value) -> {}).settle();
+            if (outcome == RewardOutcome.REWARDED) {
+                replayed++;
+                replayedValue += payout.getValue();
+            }
+        }
+        this.getLogger().at(Level.INFO).log("[EcotaleJobs] Replayed %d of %d pending payouts (value %d)",
+            replayed, payouts.size(), replayedValue);
+    }
+    
+    /**
+     * The economy cap of a job's reward system, or null if it is disabled.
+     */
+    private EconomyCap economyCapOf(JobType job) {
+        return switch (job) {
+            case MOB_KILLS -> mobRewardSystem != null ? mobRewardSystem.getEconomyCap() : null;
+            case MINING -> miningRewardSystem != null ? miningRewardSystem.getEconomyCap() : null;
+            case CRAFTING -> craftingRewardSystem != null ? craftingRewardSystem.getEconomyCap() : null;
+            case HARVESTING -> harvestRewardSystem != null ? harvestRewardSystem.getEconomyCap() : null;
+            case WOODCUTTING -> woodcuttingRewardSystem != null ? woodcuttingRewardSystem.getEconomyCap() : null;
+        };
+    }
+    
+    /** Remember the player's name for the leaderboards */
+    private void onPlayerConnect(PlayerConnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef != null && leaderboards != null) {
+            leaderboards.rememberName(playerRef.getUuid(), playerRef.getUsername());
+        }
+    }
+    
+    /**
+     * Pay out the player's open craft burst, harvest batch and tree, then drop (or, for anti-farm
+     * counts, compact) everything the systems hold for them.
+     */
+    private void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null) {
+            return;
+        }
+        UUID uuid = playerRef.getUuid();
+        if (craftingRewardSystem != null) {
+            craftingRewardSystem.settlePlayer(uuid);
+        }
+        if (harvestRewardSystem != null) {
+            harvestRewardSystem.settlePlayer(uuid);
+        }
+        if (woodcuttingRewardSystem != null) {
+            woodcuttingRewardSystem.settlePlayer(uuid);
+        }
+        maintenance.releasePlayer(uuid);
+    }
+    
+    /**
+     * Register the per-player sessions with the maintenance sweeper (also
+     * used to release players on disconnect) and start sweeping, if enabled.
+     */
+    private void startMaintenance(EcotaleJobsConfig.MaintenanceConfig maintenanceConfig) {
+        maintenance.register("sessions", PlayerSessions.getInstance());
+        if (!maintenanceConfig.isEnabled()) {
+            return;
+        }
+        maintenance.start(JobsScheduler.get(), maintenanceConfig.getIntervalMs(), maintenanceConfig.getSliceBudgetMs());
+    }
+    
+    /**
+     * Start the Prometheus textfile exporter if enabled. Gauges read the
+     * same getters as /jobs stats, on the scheduler thread.
+     */
+    private void startMetricsExport(EcotaleJobsConfig.MetricsConfig metricsConfig) {
+        if (!metricsConfig.isExportEnabled()) {
+            return;
+        }
+        String file = metricsConfig.getExportFile();
+        Path target = this.getDataDirectory().resolve(file == null || file.isBlank() ? "ecotalejobs.prom" : file);
         
-        // Process newly loaded recipes
-        Map<String, CraftingRecipe> loadedRecipes = event.getLoadedAssets();
-        Map<String, String> detectedRecipes = CraftingAutoDetector.processLoadedRecipes(loadedRecipes, craftingMappings);
+        PrometheusFileExporter exporter = new PrometheusFileExporter(JobsMetrics.getInstance(), target);
         
-        int fromAutoDetect = 0;
-        for (Map.Entry<String, String> entry : detectedRecipes.entrySet()) {
-            craftingMappings.addItemMapping(entry.getKey(), entry.getValue());
-            fromAutoDetect++;
+        if (mobRewardSystem != null) {
+            MobRewardSystem mob = mobRewardSystem;
+            exporter.addGauge("economy_cap_remaining", "Value left in the current economy cap window.", "job=\"mob\"", mob::getRemainingEconomyCap);
+            exporter.addGauge("tier_cache_entries", "Entries in the tier lookup cache.", "job=\"mob\"", mob::getTierCacheSize);
+            exporter.addCounter("tier_cache_hits_total", "Tier lookups served from cache or index.", "job=\"mob\"", mob::getTierCacheHits);
+            exporter.addCounter("tier_cache_misses_total", "Tier lookups that ran the full matcher.", "job=\"mob\"", mob::getTierCacheMisses);
+        }
+        if (miningRewardSystem != null) {
+            MiningRewardSystem mining = miningRewardSystem;
+            exporter.addGauge("economy_cap_remaining", "Value left in the current economy cap window.", "job=\"mining\"", mining::getRemainingEconomyCap);
+        }
+        if (craftingRewardSystem != null) {
+            CraftingRewardSystem crafting = craftingRewardSystem;
+            exporter.addGauge("economy_cap_remaining", "Value left in the current economy cap window.", "job=\"crafting\"", crafting::getRemainingEconomyCap);
+            exporter.addGauge("tier_cache_entries", "Entries in the tier lookup cache.", "job=\"crafting\"", crafting::getTierCacheSize);
+            exporter.addCounter("tier_cache_hits_total", "Tier lookups served from cache or index.", "job=\"crafting\"", crafting::getTierCacheHits);
+            exporter.addCounter("tier_cache_misses_total", "Tier lookups that ran the full matcher.", "job=\"crafting\"", crafting::getTierCacheMisses);
+            exporter.addGauge("craft_bursts_open", "Craft bursts still merging events.", "", crafting::getOpenCraftBursts);
+            exporter.addCounter("craft_events_merged_total", "Craft events merged into an open burst.", "", crafting::getCraftEventsMerged);
+        }
+        if (harvestRewardSystem != null) {
+            HarvestRewardSystem harvesting = harvestRewardSystem;
+            exporter.addGauge("economy_cap_remaining", "Value left in the current economy cap window.", "job=\"harvesting\"", harvesting::getRemainingEconomyCap);
+            exporter.addGauge("harvest_batches_open", "Harvest batches still counting crops.", "", harvesting::getOpenHarvestBatches);
+            exporter.addCounter("harvest_events_merged_total", "Crop breaks merged into an open batch.", "", harvesting::getHarvestEventsMerged);
+        }
+        if (woodcuttingRewardSystem != null) {
+            WoodcuttingRewardSystem woodcutting = woodcuttingRewardSystem;
+            exporter.addGauge("economy_cap_remaining", "Value left in the current economy cap window.", "job=\"woodcutting\"", woodcutting::getRemainingEconomyCap);
+            exporter.addGauge("tree_bursts_open", "Tree bursts still counting logs.", "", woodcutting::getOpenTreeBursts);
+            exporter.addCounter("trees_settled_total", "Tree bursts closed and paid out as one reward.", "", woodcutting::getTreesSettled);
         }
         
-        if (fromAutoDetect > 0) {
-            CRAFTING_MAPPINGS.save();
-            
-            // Re-initialize tier matcher with new mappings
-            if (craftingRewardSystem != null) {
-                craftingRewardSystem.refreshMappings(craftingMappings);
+        PipelineMetrics pipelines = PipelineMetrics.getInstance();
+        for (JobType job : JobType.values()) {
+            for (StageKind stage : StageKind.values()) {
+                StageStats stats = pipelines.get(job, stage);
+                if (!stats.isDeclared()) {
+                    continue;
+                }
+                String labels = "job=\"" + job.getKey() + "\",stage=\"" + stage.getKey() + "\"";
+                exporter.addCounter("pipeline_stage_entered_total", "Rewards that reached a pipeline stage.", labels, () -> pipelines.getEntered(job, stage));
+                exporter.addCounter("pipeline_stage_rejected_total", "Rewards a pipeline stage stopped.", labels, stats::getRejected);
+                exporter.addCounter("pipeline_stage_sampled_nanoseconds_total", "Time spent in a pipeline stage, over timed runs.", labels, stats::getSampledNanos);
+                exporter.addCounter("pipeline_stage_samples_total", "Timed runs of a pipeline stage.", labels, stats::getSamples);
             }
-            
-            this.getLogger().at(Level.INFO).log(
-                "[EcotaleJobs] Auto-detected %d new recipes from %d loaded (total: %d mappings)",
-                fromAutoDetect, loadedRecipes.size(), craftingMappings.getItemMappings().size()
-            );
         }
+        
+        if (rewardLedger != null) {
+            RewardLedger ledger = rewardLedger;
+            exporter.addCounter("ledger_records_total", "Records appended to the reward ledger.", "", ledger::getAppendedCount);
+            exporter.addCounter("ledger_dropped_total", "Ledger records dropped (ledger closed or failed).", "", ledger::getDroppedCount);
+        }
+        
+        if (progression != null) {
+            JobProgression levels = progression;
+            exporter.addGauge("progression_players", "Players with job XP.", "", levels::getPlayerCount);
+            exporter.addCounter("level_ups_total", "Job levels gained.", "", levels::getLevelUps);
+            exporter.addCounter("progression_flushes_total", "Job level snapshots written.", "", levels::getFlushCount);
+            exporter.addCounter("progression_flush_failures_total", "Job level snapshots that failed to write.", "", levels::getFlushFailures);
+        }
+        
+        if (leaderboards != null) {
+            JobLeaderboards boards = leaderboards;
+            exporter.addGauge("leaderboard_players", "Players with leaderboard scores.", "", boards::getPlayerCount);
+            exporter.addCounter("leaderboard_updates_total", "Leaderboard changes swapped in.", "", boards::getBoardUpdates);
+            exporter.addCounter("leaderboard_retries_total", "Leaderboard updates retried after a concurrent change.", "", boards::getBoardRetries);
+        }
+        
+        for (MaintenanceScheduler.Target swept : maintenance.getTargets()) {
+            String labels = "target=\"" + swept.getName() + "\"";
+            exporter.addGauge("maintenance_entries", "Per-player entries held by a swept target.", labels, swept::getSize);
+            exporter.addCounter("maintenance_reclaimed_total", "Expired entries reclaimed by the maintenance sweep.", labels, swept::getReclaimedCount);
+            exporter.addCounter("maintenance_sweep_microseconds_total", "Time spent sweeping a target.", labels, swept::getSweepMicros);
+        }
+        exporter.addCounter("maintenance_overruns_total", "Targets left unfinished when a slice ran out of budget.", "", maintenance::getOverrunCount);
+        exporter.addCounter("players_released_total", "Players whose state was released on disconnect.", "", maintenance::getReleasedPlayerCount);
+        PlayerSessions sessions = PlayerSessions.getInstance();
+        exporter.addGauge("sessions_online", "Players with a live job session.", "", sessions::getOnlineCount);
+        exporter.addGauge("sessions_offline", "Offline players whose anti-farm counts are kept.", "", sessions::getOfflineCount);
+        exporter.addGauge("payouts_pending", "Balance deposits queued for settlement.", "", sessions::getPendingPayouts);
+        
+        if (settlementExecutor != null) {
+            SettlementExecutor settlement = settlementExecutor;
+            exporter.addGauge("settlement_queue_depth", "Deposits waiting on the settlement lanes.", "", settlement::getQueueDepth);
+            exporter.addCounter("settlements_total", "Deposits settled off the world thread.", "", settlement::getSettledCount);
+            exporter.addCounter("settlement_stalls_total", "Submissions that waited for a full settlement lane.", "", settlement::getStallCount);
+        }
+        
+        if (payoutJournal != null) {
+            PayoutJournal journal = payoutJournal;
+            exporter.addCounter("payouts_begun_total", "Payouts entered in the write-ahead journal.", "", journal::getBegunCount);
+            exporter.addCounter("payouts_aborted_total", "Journaled payouts that failed and released their cap charge.", "", journal::getAbortedCount);
+            exporter.addCounter("payout_journal_commits_total", "Journal group commits (fsyncs).", "", journal::getFlushCount);
+        }
+        
+        ConfigSaveService saves = configSaveService;
+        exporter.addCounter("config_writes_total", "Config files written to disk.", "", saves::getWriteCount);
+        exporter.addCounter("config_writes_coalesced_total", "Config save requests merged into a pending write.", "", saves::getCoalescedCount);
+        exporter.addCounter("config_write_failures_total", "Config writes that failed.", "", saves::getFailureCount);
+        exporter.addGauge("config_writes_pending", "Config writes waiting in the debounce window.", "", saves::getPendingCount);
+        
+        exporter.start(JobsScheduler.get(), metricsConfig.getExportIntervalSeconds());
+        metricsExporter = exporter;
     }
     
     protected void onDisable() {
+        // Pay out crafts still merging into a burst
+        if (craftingRewardSystem != null) {
+            craftingRewardSystem.shutdown();
+        }
+        
+        // Pay out crops still counting into a harvest batch
+        if (harvestRewardSystem != null) {
+            harvestRewardSystem.shutdown();
+        }
+        
+        // Pay out trees still being felled
+        if (woodcuttingRewardSystem != null) {
+            woodcuttingRewardSystem.shutdown();
+        }
+        
+        // Finish queued deposits (including the bursts and batches above) before the journal closes
+        if (settlementExecutor != null) {
+            settlementExecutor.close(SETTLEMENT_DRAIN_MS);
+        }
+        
+        // Commit the last journal batch (no payouts after the settlements above)
+        if (payoutJournal != null) {
+            payoutJournal.close();
+        }
+        
+        // Force the ledger tail to disk (after the burst settlements above)
+        if (rewardLedger != null) {
+            rewardLedger.close();
+        }
+        
+        // Write the final job level and leaderboard snapshots (no grants after the settlements above)
+        if (progression != null) {
+            progression.close();
+        }
+        if (leaderboards != null) {
+            leaderboards.close();
+        }
+        
+        // Write anything still waiting in the debounce window
+        if (configSaveService != null) {
+            configSaveService.flush();
+            this.getLogger().at(Level.INFO).log(
+                "[EcotaleJobs] Config writes: %d (%d coalesced, %d failed), avg %.1f ms, max %.1f ms",
+                configSaveService.getWriteCount(), configSaveService.getCoalescedCount(),
+                configSaveService.getFailureCount(), configSaveService.getAverageWriteMillis(),
+                configSaveService.getMaxWriteMillis()
+            );
+        }
+        metricsSampler.stop();
+        maintenance.stop();
+        CoarseClock.getInstance().stop();
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+            try {
+                metricsExporter.writeNow(); // Final values for the last scrape
+            } catch (Exception e) {
+                this.getLogger().at(Level.WARNING).log("[EcotaleJobs] Final metrics export failed: %s", e.getMessage());
+            }
+        }
+        JobsScheduler.shutdown();
         this.getLogger().at(Level.INFO).log("EcotaleJobs disabled!");
     }
     
@@ -245,6 +944,57 @@ public class Main extends JavaPlugin {
         return instance;
     }
     
+    /**
+     * Queue a debounced save of a config registered with {@code withConfig}.
+     * The config is encoded now, on the thread that changed it, and written
+     * atomically in the background.
+     */
+    private <T> void saveConfig(String name, Config<T> config, Codec<T> codec) {
+        configSaveService.requestSave(name, this.getDataDirectory().resolve(name + ".json"), codec, config.get());
+    }
+    
+    /**
+     * Get the background config persistence service.
+     */
+    public ConfigSaveService getConfigSaveService() {
+        return configSaveService;
+    }
+    
+    /**
+     * Get the reward ledger (null when disabled).
+     */
+    public RewardLedger getRewardLedger() {
+        return rewardLedger;
+    }
+    
+    /**
+     * Get job progression (null when disabled).
+     */
+    public JobProgression getProgression() {
+        return progression;
+    }
+    
+    /**
+     * Get the job leaderboards (null when disabled).
+     */
+    public JobLeaderboards getLeaderboards() {
+        return leaderboards;
+    }
+    
+    /**
+     * Get the per-player state maintenance (sweeps and disconnect release).
+     */
+    public MaintenanceScheduler getMaintenance() {
+        return maintenance;
+    }
+    
+    /**
+     * Get the rolling-window metrics sampler.
+     */
+    public MetricsSampler getMetricsSampler() {
+        return metricsSampler;
+    }
+    
     /**
      * Get the mob reward system for monitoring/admin.
      */
@@ -265,4 +1015,18 @@ public class Main extends JavaPlugin {
     public MiningRewardSystem getMiningRewardSystem() {
         return miningRewardSystem;
     }
+    
+    /**
+     * Get the harvest reward system for monitoring/admin.
+     */
+    public HarvestRewardSystem getHarvestRewardSystem() {
+        return harvestRewardSystem;
+    }
+    
+    /**
+     * Get the woodcutting reward system for monitoring/admin.
+     */
+    public WoodcuttingRewardSystem getWoodcuttingRewardSystem() {
+        return woodcuttingRewardSystem;
+    }
 }
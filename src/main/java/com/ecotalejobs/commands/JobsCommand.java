@@ -0,0 +1,28 @@
+package com.ecotalejobs.commands;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+
+/**
+ * Root command for EcotaleJobs.
+ * Usage: /jobs &lt;subcommand&gt;
+ *
+ * <ul>
+ *   <li>/jobs stats - live reward throughput and cache health (OP only)</li>
+ *   <li>/jobs simulate - replay the last day of rewards against a candidate config (OP only)</li>
+ *   <li>/jobs level - your level and XP in every job</li>
+ *   <li>/jobs top &lt;job&gt; - a job's top earners this hour, today and all-time</li>
+ * </ul>
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class JobsCommand extends AbstractCommandCollection {
+
+    public JobsCommand() {
+        super("jobs", "EcotaleJobs commands");
+        this.addSubCommand(new JobsStatsCommand());
+        this.addSubCommand(new JobsSimulateCommand());
+        this.addSubCommand(new JobsLevelCommand());
+        this.addSubCommand(new JobsTopCommand());
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecotalejobs.commands;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.progression.LevelCurve;
+import com.ecotalejobs.systems.JobType;
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.awt.Color;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Player command showing their level and XP in every job.
+ * Usage: /jobs level
+ *
+ * <p>Reads straight from {@link JobProgression}'s in-memory store - a
+ * handful of array reads, no disk access.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class JobsLevelCommand extends AbstractAsyncCommand {
+
+    private static final String[] JOB_LABELS = {"Mob Kills", "Mining", "Crafting", "Harvesting", "Woodcutting"};
+
+    public JobsLevelCommand() {
+        super("level", "Show your job levels");
+        this.setPermissionGroup(GameMode.Adventure); // Every player
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext context) {
+        CommandSender sender = context.sender();
+        Main plugin = Main.getInstance();
+        if (sender == null || plugin == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        JobProgression progression = plugin.getProgression();
+        if (progression == null) {
+            sender.sendMessage(Message.raw("Job levels are disabled.").color(Color.GRAY));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        UUID playerUuid = sender.getUuid();
+        LevelCurve curve = progression.getCurve();
+        sender.sendMessage(Message.raw("=== Job Levels ===").color(Color.GREEN));
+        for (JobType job : JobType.values()) {
+            long xp = progression.getXp(playerUuid, job);
+            int level = curve.levelOf(xp);
+            String label = job.ordinal() < JOB_LABELS.length ? JOB_LABELS[job.ordinal()] : job.getKey();
+            String next = level >= curve.getMaxLevel()
+                ? "max level"
+                : String.format("%,d XP to level %d", curve.xpForLevel(level + 1) - xp, level + 1);
+            sender.sendMessage(Message.raw(String.format("%s: level %d (%,d XP) | %s",
+                label, level, xp, next)).color(Color.YELLOW));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecotalejobs.commands;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.simulation.EconomySimulator;
+import com.ecotalejobs.simulation.SimEvent;
+import com.ecotalejobs.simulation.SimulationReport;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.JobsLogger;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admin command replaying recorded rewards against a candidate config.
+ * Usage: /jobs simulate
+ *
+ * <p>Reads the last {@value #REPLAY_HOURS} hours of the reward ledger and
+ * runs them through {@link EconomySimulator} with
+ * {@code SimulationCandidate.json} (same schema as {@code EcotaleJobs.json},
+ * read at startup). Runs off the command thread; the live config is never
+ * touched.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class JobsSimulateCommand extends AbstractAsyncCommand {
+
+    /** How much ledger history to replay */
+    public static final int REPLAY_HOURS = 24;
+
+    public JobsSimulateCommand() {
+        super("simulate", "Replay recent rewards against SimulationCandidate.json");
+        this.setPermissionGroup(null); // OP only
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext context) {
+        CommandSender sender = context.sender();
+        Main plugin = Main.getInstance();
+        if (sender == null || plugin == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        RewardLedger ledger = plugin.getRewardLedger();
+        if (ledger == null) {
+            sender.sendMessage(Message.raw("Reward ledger is disabled - nothing to replay.").color(Color.RED));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        sender.sendMessage(Message.raw("Replaying the last " + REPLAY_HOURS + "h of rewards...").color(Color.GRAY));
+        return CompletableFuture.runAsync(() -> {
+            try {
+                long since = System.currentTimeMillis() - REPLAY_HOURS * 3_600_000L;
+                List<SimEvent> events = EconomySimulator.readLedger(ledger.getDirectory(), since);
+                EconomySimulator simulator = new EconomySimulator(Main.CONFIG.get(),
+                    Main.SIMULATION_CANDIDATE.get(), System.nanoTime());
+                sendReport(sender, simulator.run(events));
+            } catch (Exception e) {
+                JobsLogger.warn("[Simulate] Replay failed: %s", e.getMessage());
+                sender.sendMessage(Message.raw("Simulation failed: " + e.getMessage()).color(Color.RED));
+            }
+        });
+    }
+
+    // =========================================================================
+    // Formatting
+    // =========================================================================
+
+    private static void sendReport(CommandSender sender, SimulationReport report) {
+        sender.sendMessage(Message.raw(String.format(
+            "=== Simulation: %,d events, %d players, %.1fh (%d ms) ===",
+            report.getEvents(), report.getPlayers(), report.getSpanHours(), report.getElapsedMillis()
+        )).color(Color.GREEN));
+
+        if (report.getEvents() == 0) {
+            sender.sendMessage(Message.raw("No ledger records in range.").color(Color.GRAY));
+            return;
+        }
+
+        sender.sendMessage(Message.raw(String.format("Total: %,.0f value/h projected (recorded %,d, simulated %,d)",
+            report.getProjectedHourlyInjection(), report.getTotalRecordedValue(), report.getTotalValue()
+        )).color(Color.YELLOW));
+
+        for (JobType job : JobType.values()) {
+            SimulationReport.JobReport jobReport = report.getJob(job);
+            if (jobReport.getEvents() == 0) {
+                continue;
+            }
+            sender.sendMessage(Message.raw(String.format(
+                "%s: %,.0f value/h (%.0f%%) | rewards %,d (recorded %,d) | value %,d (recorded %,d)",
+                job.getKey(), jobReport.getProjectedHourlyInjection(), jobReport.getValueShare() * 100,
+                jobReport.getRewards(), jobReport.getRecordedRewards(),
+                jobReport.getValue(), jobReport.getRecordedValue()
+            )).color(Color.YELLOW));
+
+            if (jobReport.getCapHitWindows() > 0) {
+                sendDetail(sender, String.format("Cap %,d/h hit in %d of %d hours, on average at minute %.0f",
+                    jobReport.getMaxInjectionPerHour(), jobReport.getCapHitWindows(), jobReport.getCapWindows(),
+                    jobReport.getAverageCapHitMinute()));
+            } else {
+                sendDetail(sender, String.format("Cap %,d/h never hit", jobReport.getMaxInjectionPerHour()));
+            }
+
+            StringBuilder line = new StringBuilder("Outcomes:");
+            for (RewardOutcome outcome : RewardOutcome.values()) {
+                long count = jobReport.getCount(outcome);
+                if (count > 0) {
+                    line.append(' ').append(outcome.getKey()).append('=').append(count);
+                }
+            }
+            sendDetail(sender, line.toString());
+        }
+    }
+
+    private static void sendDetail(CommandSender sender, String text) {
+        sender.sendMessage(Message.raw("  " + text).color(Color.WHITE));
+    }
+}
@@ -0,0 +1,229 @@
+package com.ecotalejobs.commands;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.MetricsSampler;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.StageKind;
+import com.ecotalejobs.pipeline.StageStats;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.systems.CraftingRewardSystem;
+import com.ecotalejobs.systems.HarvestRewardSystem;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.systems.MiningRewardSystem;
+import com.ecotalejobs.systems.MobRewardSystem;
+import com.ecotalejobs.systems.WoodcuttingRewardSystem;
+import com.ecotalejobs.util.MaintenanceScheduler;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.awt.Color;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admin command showing live reward throughput and cache health.
+ * Usage: /jobs stats
+ *
+ * <p>Rates and latency percentiles come from {@link MetricsSampler}'s
+ * rolling window, per-stage counts from {@link PipelineMetrics}; nothing
+ * here touches the reward hot path.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class JobsStatsCommand extends AbstractAsyncCommand {
+
+    public JobsStatsCommand() {
+        super("stats", "Show live reward throughput and cache health");
+        this.setPermissionGroup(null); // OP only
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext context) {
+        CommandSender sender = context.sender();
+        Main plugin = Main.getInstance();
+        if (sender == null || plugin == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        MetricsSampler sampler = plugin.getMetricsSampler();
+        JobsMetrics metrics = JobsMetrics.getInstance();
+
+        sender.sendMessage(Message.raw("=== EcotaleJobs Stats (rolling " + (int) Math.round(
+            sampler.getWindow(JobType.MOB_KILLS).getSeconds()) + "s) ===").color(Color.GREEN));
+
+        // Mob kills
+        MobRewardSystem mob = plugin.getMobRewardSystem();
+        sendJobLine(sender, "Mob Kills", JobType.MOB_KILLS, sampler);
+        if (mob != null) {
+            sendDetail(sender, String.format("Tier cache: %s (%d cached) | Cap left: %,d",
+                hitRatio(mob.getTierCacheHits(), mob.getTierCacheMisses()), mob.getTierCacheSize(),
+                mob.getRemainingEconomyCap()));
+        }
+        sendRejections(sender, metrics, JobType.MOB_KILLS);
+        sendStages(sender, JobType.MOB_KILLS);
+
+        // Mining
+        MiningRewardSystem mining = plugin.getMiningRewardSystem();
+        if (mining != null) {
+            sendJobLine(sender, "Mining", JobType.MINING, sampler);
+            sendDetail(sender, String.format("Tier cache: n/a | Cap left: %,d",
+                mining.getRemainingEconomyCap()));
+            sendRejections(sender, metrics, JobType.MINING);
+            sendStages(sender, JobType.MINING);
+        } else {
+            sender.sendMessage(Message.raw("Mining: disabled").color(Color.GRAY));
+        }
+
+        // Crafting
+        CraftingRewardSystem crafting = plugin.getCraftingRewardSystem();
+        if (crafting != null) {
+            sendJobLine(sender, "Crafting", JobType.CRAFTING, sampler);
+            sendDetail(sender, String.format("Tier index: %s (%d indexed) | Cap left: %,d",
+                hitRatio(crafting.getTierCacheHits(), crafting.getTierCacheMisses()), crafting.getIndexedRecipeCount(),
+                crafting.getRemainingEconomyCap()));
+            sendDetail(sender, String.format("Bursts: %d open, %,d events merged",
+                crafting.getOpenCraftBursts(), crafting.getCraftEventsMerged()));
+            sendRejections(sender, metrics, JobType.CRAFTING);
+            sendStages(sender, JobType.CRAFTING);
+        } else {
+            sender.sendMessage(Message.raw("Crafting: disabled").color(Color.GRAY));
+        }
+
+        // Harvesting
+        HarvestRewardSystem harvesting = plugin.getHarvestRewardSystem();
+        if (harvesting != null) {
+            sendJobLine(sender, "Harvesting", JobType.HARVESTING, sampler);
+            sendDetail(sender, String.format("Crop index: %d indexed | Cap left: %,d",
+                harvesting.getIndexedCropCount(), harvesting.getRemainingEconomyCap()));
+            sendDetail(sender, String.format("Batches: %d open, %,d closed, %,d crops merged",
+                harvesting.getOpenHarvestBatches(), harvesting.getHarvestBatchesClosed(),
+                harvesting.getHarvestEventsMerged()));
+            sendRejections(sender, metrics, JobType.HARVESTING);
+            sendStages(sender, JobType.HARVESTING);
+        } else {
+            sender.sendMessage(Message.raw("Harvesting: disabled").color(Color.GRAY));
+        }
+
+        // Woodcutting
+        WoodcuttingRewardSystem woodcutting = plugin.getWoodcuttingRewardSystem();
+        if (woodcutting != null) {
+            sendJobLine(sender, "Woodcutting", JobType.WOODCUTTING, sampler);
+            sendDetail(sender, String.format("Log index: %d indexed | Cap left: %,d",
+                woodcutting.getIndexedLogCount(), woodcutting.getRemainingEconomyCap()));
+            sendDetail(sender, String.format("Trees: %d open, %,d settled, %,d logs merged",
+                woodcutting.getOpenTreeBursts(), woodcutting.getTreesSettled(),
+                woodcutting.getLogEventsMerged()));
+            sendRejections(sender, metrics, JobType.WOODCUTTING);
+            sendStages(sender, JobType.WOODCUTTING);
+        } else {
+            sender.sendMessage(Message.raw("Woodcutting: disabled").color(Color.GRAY));
+        }
+
+        // Per-player sessions
+        PlayerSessions sessions = PlayerSessions.getInstance();
+        sender.sendMessage(Message.raw(String.format(
+            "Sessions: %,d online, %,d offline kept | %,d payouts pending",
+            sessions.getOnlineCount(), sessions.getOfflineCount(), sessions.getPendingPayouts()
+        )).color(Color.YELLOW));
+
+        // Job levels
+        JobProgression progression = plugin.getProgression();
+        if (progression != null) {
+            sender.sendMessage(Message.raw(String.format(
+                "Progression: %,d players, %,d level-ups | %,d flushes, last %d us, %d failed",
+                progression.getPlayerCount(), progression.getLevelUps(), progression.getFlushCount(),
+                progression.getLastFlushMicros(), progression.getFlushFailures()
+            )).color(Color.YELLOW));
+        }
+
+        // Leaderboards
+        JobLeaderboards leaderboards = plugin.getLeaderboards();
+        if (leaderboards != null) {
+            sender.sendMessage(Message.raw(String.format(
+                "Leaderboards: %,d players, top %d | %,d updates, %,d retries | %,d flushes, %d failed",
+                leaderboards.getPlayerCount(), leaderboards.getBoardSize(), leaderboards.getBoardUpdates(),
+                leaderboards.getBoardRetries(), leaderboards.getFlushCount(), leaderboards.getFlushFailures()
+            )).color(Color.YELLOW));
+        }
+
+        // Background pruning
+        MaintenanceScheduler maintenance = plugin.getMaintenance();
+        if (maintenance != null) {
+            long entries = 0;
+            long reclaimed = 0;
+            for (MaintenanceScheduler.Target target : maintenance.getTargets()) {
+                entries += target.getSize();
+                reclaimed += target.getReclaimedCount();
+            }
+            sender.sendMessage(Message.raw(String.format(
+                "Maintenance: %,d entries held | %,d reclaimed, %,d players released | %,d slices, last %d us, %d overruns",
+                entries, reclaimed, maintenance.getReleasedPlayerCount(), maintenance.getSliceCount(),
+                maintenance.getLastSliceMicros(), maintenance.getOverrunCount()
+            )).color(Color.YELLOW));
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // =========================================================================
+    // Formatting
+    // =========================================================================
+
+    private static void sendJobLine(CommandSender sender, String label, JobType job, MetricsSampler sampler) {
+        MetricsSampler.WindowStats window = sampler.getWindow(job);
+        sender.sendMessage(Message.raw(String.format(
+            "%s: %.2f ev/s | %.2f rewards/s | %,.0f value/min | p50 %s, p99 %s",
+            label, window.getEventsPerSecond(), window.getRewardsPerSecond(), window.getValuePerMinute(),
+            formatNanos(window.getP50Nanos()), formatNanos(window.getP99Nanos())
+        )).color(Color.YELLOW));
+    }
+
+    private static void sendDetail(CommandSender sender, String text) {
+        sender.sendMessage(Message.raw("  " + text).color(Color.WHITE));
+    }
+
+    private static void sendRejections(CommandSender sender, JobsMetrics metrics, JobType job) {
+        StringBuilder line = new StringBuilder("Outcomes (total):");
+        for (RewardOutcome outcome : RewardOutcome.values()) {
+            long count = metrics.getCount(job, outcome);
+            if (count > 0) {
+                line.append(' ').append(outcome.getKey()).append('=').append(count);
+            }
+        }
+        sendDetail(sender, line.toString());
+    }
+
+    private static void sendStages(CommandSender sender, JobType job) {
+        PipelineMetrics pipelines = PipelineMetrics.getInstance();
+        StringBuilder line = new StringBuilder("Stages (rejected/entered, mean):");
+        for (StageKind stage : StageKind.values()) {
+            StageStats stats = pipelines.get(job, stage);
+            if (stats.isDeclared()) {
+                line.append(' ').append(stage.getKey()).append('=').append(stats.getRejected())
+                    .append('/').append(pipelines.getEntered(job, stage))
+                    .append(' ').append(formatNanos(stats.getMeanNanos()));
+            }
+        }
+        sendDetail(sender, line.toString());
+    }
+
+    private static String hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        if (total == 0) return "-";
+        return String.format("%.1f%% hit", hits * 100.0 / total);
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos <= 0) return "-";
+        if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1_000.0);
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+}
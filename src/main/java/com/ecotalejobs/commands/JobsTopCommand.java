@@ -0,0 +1,87 @@
+package com.ecotalejobs.commands;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.leaderboard.LeaderboardWindow;
+import com.ecotalejobs.leaderboard.TopKBoard;
+import com.ecotalejobs.systems.JobType;
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.awt.Color;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Player command showing a job's top earners, this hour, today and
+ * all-time.
+ * Usage: /jobs top &lt;mob|mining|crafting|harvesting|woodcutting&gt;
+ *
+ * <p>Each board is read as one snapshot from {@link JobLeaderboards} and
+ * printed in O(K); nothing is sorted or scanned here.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class JobsTopCommand extends AbstractCommandCollection {
+
+    public JobsTopCommand() {
+        super("top", "Show the top earners of a job");
+        for (JobType job : JobType.values()) {
+            this.addSubCommand(new JobTopCommand(job));
+        }
+    }
+
+    /**
+     * {@code /jobs top <job>} for one job.
+     */
+    private static class JobTopCommand extends AbstractAsyncCommand {
+
+        private final JobType job;
+
+        JobTopCommand(JobType job) {
+            super(job.getKey(), "Show the top " + job.getKey() + " earners");
+            this.job = job;
+            this.setPermissionGroup(GameMode.Adventure); // Every player
+        }
+
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext context) {
+            CommandSender sender = context.sender();
+            Main plugin = Main.getInstance();
+            if (sender == null || plugin == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            JobLeaderboards leaderboards = plugin.getLeaderboards();
+            if (leaderboards == null) {
+                sender.sendMessage(Message.raw("Leaderboards are disabled.").color(Color.GRAY));
+                return CompletableFuture.completedFuture(null);
+            }
+
+            sender.sendMessage(Message.raw("=== Top " + job.getKey() + " earners ===").color(Color.GREEN));
+            sendBoard(sender, leaderboards, "This hour", leaderboards.getTop(job, LeaderboardWindow.HOURLY));
+            sendBoard(sender, leaderboards, "Today", leaderboards.getTop(job, LeaderboardWindow.DAILY));
+            sendBoard(sender, leaderboards, "All-time", leaderboards.getTop(job, LeaderboardWindow.ALL_TIME));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private static void sendBoard(CommandSender sender, JobLeaderboards leaderboards, String label,
+                                      TopKBoard.Snapshot board) {
+            if (board.size() == 0) {
+                sender.sendMessage(Message.raw(label + ": nobody yet").color(Color.GRAY));
+                return;
+            }
+            sender.sendMessage(Message.raw(label + ":").color(Color.YELLOW));
+            for (int rank = 0; rank < board.size(); rank++) {
+                sender.sendMessage(Message.raw(String.format("  %d. %s - %,d",
+                    rank + 1, leaderboards.getName(board.getPlayer(rank)), board.getScore(rank))).color(Color.WHITE));
+            }
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class CraftingMappingsConfig {
             (c, v, e) -> c.version = v, (c, e) -> c.version).add()
         .append(new KeyedCodec<>("AutoDetectNewRecipes", Codec.BOOLEAN),
             (c, v, e) -> c.autoDetectNewRecipes = v, (c, e) -> c.autoDetectNewRecipes).add()
+        .append(new KeyedCodec<>("ValueBasedTiers", Codec.BOOLEAN),
+            (c, v, e) -> c.valueBasedTiers = v, (c, e) -> c.valueBasedTiers).add()
         .append(new KeyedCodec<>("ItemMappings", new MapCodec<>(Codec.STRING, HashMap::new)),
             (c, v, e) -> c.itemMappings = v, (c, e) -> c.itemMappings).add()
         .append(new KeyedCodec<>("RecipeMappings", new MapCodec<>(Codec.STRING, HashMap::new)),
@@ -36,6 +38,7 @@ public class CraftingMappingsConfig {
     
     private int version = CURRENT_VERSION;
     private boolean autoDetectNewRecipes = true;
+    private boolean valueBasedTiers = true;  // Price recipes from their input materials
     
     // Mapping priority: RecipeMappings > ItemMappings > CategoryMappings > BenchMappings > DefaultTier
     private Map<String, String> itemMappings = createDefaultItemMappings();
@@ -48,6 +51,7 @@ public class CraftingMappingsConfig {
     // Getters
     public int getVersion() { return version; }
     public boolean isAutoDetectNewRecipes() { return autoDetectNewRecipes; }
+    public boolean isValueBasedTiers() { return valueBasedTiers; }
     public Map<String, String> getItemMappings() { return itemMappings; }
     public Map<String, String> getRecipeMappings() { return recipeMappings; }
     public Map<String, String> getCategoryMappings() { return categoryMappings; }
@@ -23,25 +23,65 @@ public class EcotaleJobsConfig {
             (c, v, e) -> c.mining = v, (c, e) -> c.mining).add()
         .append(new KeyedCodec<>("Crafting", CraftingConfig.CODEC),
             (c, v, e) -> c.crafting = v, (c, e) -> c.crafting).add()
+        .append(new KeyedCodec<>("Harvesting", HarvestingConfig.CODEC),
+            (c, v, e) -> c.harvesting = v, (c, e) -> c.harvesting).add()
+        .append(new KeyedCodec<>("Woodcutting", WoodcuttingConfig.CODEC),
+            (c, v, e) -> c.woodcutting = v, (c, e) -> c.woodcutting).add()
         .append(new KeyedCodec<>("Notifications", NotificationConfig.CODEC),
             (c, v, e) -> c.notifications = v, (c, e) -> c.notifications).add()
         .append(new KeyedCodec<>("VipMultipliers", VipConfig.CODEC),
             (c, v, e) -> c.vipMultipliers = v, (c, e) -> c.vipMultipliers).add()
+        .append(new KeyedCodec<>("Metrics", MetricsConfig.CODEC),
+            (c, v, e) -> c.metrics = v, (c, e) -> c.metrics).add()
+        .append(new KeyedCodec<>("Ledger", LedgerConfig.CODEC),
+            (c, v, e) -> c.ledger = v, (c, e) -> c.ledger).add()
+        .append(new KeyedCodec<>("PayoutJournal", PayoutJournalConfig.CODEC),
+            (c, v, e) -> c.payoutJournal = v, (c, e) -> c.payoutJournal).add()
+        .append(new KeyedCodec<>("Settlement", SettlementConfig.CODEC),
+            (c, v, e) -> c.settlement = v, (c, e) -> c.settlement).add()
+        .append(new KeyedCodec<>("Maintenance", MaintenanceConfig.CODEC),
+            (c, v, e) -> c.maintenance = v, (c, e) -> c.maintenance).add()
+        .append(new KeyedCodec<>("Projection", ProjectionConfig.CODEC),
+            (c, v, e) -> c.projection = v, (c, e) -> c.projection).add()
+        .append(new KeyedCodec<>("Progression", ProgressionConfig.CODEC),
+            (c, v, e) -> c.progression = v, (c, e) -> c.progression).add()
+        .append(new KeyedCodec<>("Leaderboards", LeaderboardConfig.CODEC),
+            (c, v, e) -> c.leaderboards = v, (c, e) -> c.leaderboards).add()
         .build();
     
     private boolean debugMode = false;
     private MobKillsConfig mobKills = new MobKillsConfig();
     private MiningConfig mining = new MiningConfig();
     private CraftingConfig crafting = new CraftingConfig();
+    private HarvestingConfig harvesting = new HarvestingConfig();
+    private WoodcuttingConfig woodcutting = new WoodcuttingConfig();
     private NotificationConfig notifications = new NotificationConfig();
     private VipConfig vipMultipliers = new VipConfig();
+    private MetricsConfig metrics = new MetricsConfig();
+    private LedgerConfig ledger = new LedgerConfig();
+    private PayoutJournalConfig payoutJournal = new PayoutJournalConfig();
+    private SettlementConfig settlement = new SettlementConfig();
+    private MaintenanceConfig maintenance = new MaintenanceConfig();
+    private ProjectionConfig projection = new ProjectionConfig();
+    private ProgressionConfig progression = new ProgressionConfig();
+    private LeaderboardConfig leaderboards = new LeaderboardConfig();
     
     public boolean isDebugMode() { return debugMode; }
     public MobKillsConfig getMobKills() { return mobKills; }
     public MiningConfig getMining() { return mining; }
     public CraftingConfig getCrafting() { return crafting; }
+    public HarvestingConfig getHarvesting() { return harvesting; }
+    public WoodcuttingConfig getWoodcutting() { return woodcutting; }
     public NotificationConfig getNotifications() { return notifications; }
     public VipConfig getVipMultipliers() { return vipMultipliers; }
+    public MetricsConfig getMetrics() { return metrics; }
+    public LedgerConfig getLedger() { return ledger; }
+    public PayoutJournalConfig getPayoutJournal() { return payoutJournal; }
+    public SettlementConfig getSettlement() { return settlement; }
+    public MaintenanceConfig getMaintenance() { return maintenance; }
+    public ProjectionConfig getProjection() { return projection; }
+    public ProgressionConfig getProgression() { return progression; }
+    public LeaderboardConfig getLeaderboards() { return leaderboards; }
     
     // =========================================================================
     // MOB KILLS CONFIG
@@ -188,6 +228,346 @@ public class EcotaleJobsConfig {
         public long getMinRewardToShow() { return minRewardToShow; }
     }
     
+    // =========================================================================
+    // METRICS CONFIG
+    // =========================================================================
+    
+    /**
+     * Prometheus textfile export. ExportFile is relative to the plugin data
+     * directory unless absolute (point it at node-exporter's textfile dir).
+     */
+    public static class MetricsConfig {
+        public static final BuilderCodec<MetricsConfig> CODEC = BuilderCodec.builder(MetricsConfig.class, MetricsConfig::new)
+            .append(new KeyedCodec<>("ExportEnabled", Codec.BOOLEAN),
+                (c, v, e) -> c.exportEnabled = v, (c, e) -> c.exportEnabled).add()
+            .append(new KeyedCodec<>("ExportFile", Codec.STRING),
+                (c, v, e) -> c.exportFile = v, (c, e) -> c.exportFile).add()
+            .append(new KeyedCodec<>("ExportIntervalSeconds", Codec.INTEGER),
+                (c, v, e) -> c.exportIntervalSeconds = v, (c, e) -> c.exportIntervalSeconds).add()
+            .build();
+        
+        private boolean exportEnabled = false;
+        private String exportFile = "metrics/ecotalejobs.prom";
+        private int exportIntervalSeconds = 15;
+        
+        public boolean isExportEnabled() { return exportEnabled; }
+        public String getExportFile() { return exportFile; }
+        public int getExportIntervalSeconds() { return exportIntervalSeconds; }
+    }
+    
+    // =========================================================================
+    // LEDGER CONFIG
+    // =========================================================================
+    
+    /**
+     * Binary audit log of every reward decision (64 bytes per record).
+     * Directory is relative to the plugin data directory unless absolute.
+     */
+    public static class LedgerConfig {
+        public static final BuilderCodec<LedgerConfig> CODEC = BuilderCodec.builder(LedgerConfig.class, LedgerConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Directory", Codec.STRING),
+                (c, v, e) -> c.directory = v, (c, e) -> c.directory).add()
+            .append(new KeyedCodec<>("SegmentSizeMb", Codec.INTEGER),
+                (c, v, e) -> c.segmentSizeMb = v, (c, e) -> c.segmentSizeMb).add()
+            .append(new KeyedCodec<>("MaxSegments", Codec.INTEGER),
+                (c, v, e) -> c.maxSegments = v, (c, e) -> c.maxSegments).add()
+            .append(new KeyedCodec<>("SyncIntervalMs", Codec.LONG),
+                (c, v, e) -> c.syncIntervalMs = v, (c, e) -> c.syncIntervalMs).add()
+            .build();
+        
+        private boolean enabled = true;
+        private String directory = "ledger";
+        private int segmentSizeMb = 16;   // ~260k records per segment
+        private int maxSegments = 4;      // 64 MB on disk at most; 0 = keep everything
+        private long syncIntervalMs = 1000;
+        
+        public boolean isEnabled() { return enabled; }
+        public String getDirectory() { return directory; }
+        public int getSegmentSizeMb() { return segmentSizeMb; }
+        public int getMaxSegments() { return maxSegments; }
+        public long getSyncIntervalMs() { return syncIntervalMs; }
+    }
+    
+    // =========================================================================
+    // PAYOUT JOURNAL CONFIG
+    // =========================================================================
+    
+    /**
+     * Write-ahead journal for payouts in flight. On startup, balance deposits
+     * a crash left pending before they reached Ecotale are re-deposited once
+     * the server has started (ReplayPending, off by default); deposits that
+     * may have reached it are logged for manual reconciliation, and the rest
+     * are logged and dropped. Coin drops are never replayed.
+     */
+    public static class PayoutJournalConfig {
+        public static final BuilderCodec<PayoutJournalConfig> CODEC = BuilderCodec.builder(PayoutJournalConfig.class, PayoutJournalConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("File", Codec.STRING),
+                (c, v, e) -> c.file = v, (c, e) -> c.file).add()
+            .append(new KeyedCodec<>("CommitIntervalMs", Codec.LONG),
+                (c, v, e) -> c.commitIntervalMs = v, (c, e) -> c.commitIntervalMs).add()
+            .append(new KeyedCodec<>("MaxFileMb", Codec.INTEGER),
+                (c, v, e) -> c.maxFileMb = v, (c, e) -> c.maxFileMb).add()
+            .append(new KeyedCodec<>("ReplayPending", Codec.BOOLEAN),
+                (c, v, e) -> c.replayPending = v, (c, e) -> c.replayPending).add()
+            .build();
+        
+        private boolean enabled = true;
+        private String file = "journal/payouts.journal";
+        private long commitIntervalMs = 50;
+        private int maxFileMb = 16;
+        private boolean replayPending = false;
+        
+        public boolean isEnabled() { return enabled; }
+        public String getFile() { return file; }
+        public long getCommitIntervalMs() { return commitIntervalMs; }
+        public int getMaxFileMb() { return maxFileMb; }
+        public boolean isReplayPending() { return replayPending; }
+    }
+    
+    // =========================================================================
+    // SETTLEMENT CONFIG
+    // =========================================================================
+    
+    /**
+     * Balance deposits run on background lanes instead of the world thread.
+     * A player always settles on the same lane, in order. QueueCapacity is
+     * per lane; a full lane makes the world thread wait.
+     */
+    public static class SettlementConfig {
+        public static final BuilderCodec<SettlementConfig> CODEC = BuilderCodec.builder(SettlementConfig.class, SettlementConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Lanes", Codec.INTEGER),
+                (c, v, e) -> c.lanes = v, (c, e) -> c.lanes).add()
+            .append(new KeyedCodec<>("QueueCapacity", Codec.INTEGER),
+                (c, v, e) -> c.queueCapacity = v, (c, e) -> c.queueCapacity).add()
+            .build();
+        
+        private boolean enabled = true;
+        private int lanes = 2;
+        private int queueCapacity = 4096;
+        
+        public boolean isEnabled() { return enabled; }
+        public int getLanes() { return lanes; }
+        public int getQueueCapacity() { return queueCapacity; }
+    }
+    
+    // =========================================================================
+    // MAINTENANCE CONFIG
+    // =========================================================================
+    
+    /**
+     * Background pruning of per-player state (player sessions and offline
+     * anti-farm counts). Every IntervalMs a slice sweeps each target
+     * until it has been walked once or SliceBudgetMs is spent.
+     */
+    public static class MaintenanceConfig {
+        public static final BuilderCodec<MaintenanceConfig> CODEC = BuilderCodec.builder(MaintenanceConfig.class, MaintenanceConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("IntervalMs", Codec.LONG),
+                (c, v, e) -> c.intervalMs = v, (c, e) -> c.intervalMs).add()
+            .append(new KeyedCodec<>("SliceBudgetMs", Codec.LONG),
+                (c, v, e) -> c.sliceBudgetMs = v, (c, e) -> c.sliceBudgetMs).add()
+            .build();
+        
+        private boolean enabled = true;
+        private long intervalMs = 5000;
+        private long sliceBudgetMs = 2;
+        
+        public boolean isEnabled() { return enabled; }
+        public long getIntervalMs() { return intervalMs; }
+        public long getSliceBudgetMs() { return sliceBudgetMs; }
+    }
+    
+    // =========================================================================
+    // PROJECTION CONFIG
+    // =========================================================================
+    
+    /**
+     * Startup Monte-Carlo projection of hourly injection for a given player
+     * load. Tier mixes are relative weights (they need not sum to 1);
+     * ActionsPerPlayerHour is keyed by job ("mob", "mining", "crafting",
+     * "harvesting", "woodcutting"; harvesting counts crops, woodcutting logs).
+     */
+    public static class ProjectionConfig {
+        public static final BuilderCodec<ProjectionConfig> CODEC = BuilderCodec.builder(ProjectionConfig.class, ProjectionConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Players", Codec.INTEGER),
+                (c, v, e) -> c.players = v, (c, e) -> c.players).add()
+            .append(new KeyedCodec<>("Trials", Codec.INTEGER),
+                (c, v, e) -> c.trials = v, (c, e) -> c.trials).add()
+            .append(new KeyedCodec<>("WarnPercentile", Codec.INTEGER),
+                (c, v, e) -> c.warnPercentile = v, (c, e) -> c.warnPercentile).add()
+            .append(new KeyedCodec<>("VipShare", Codec.FLOAT),
+                (c, v, e) -> c.vipShare = v, (c, e) -> c.vipShare).add()
+            .append(new KeyedCodec<>("ActionsPerPlayerHour", new MapCodec<>(Codec.INTEGER, HashMap::new)),
+                (c, v, e) -> c.actionsPerPlayerHour = v, (c, e) -> c.actionsPerPlayerHour).add()
+            .append(new KeyedCodec<>("MobTierMix", new MapCodec<>(Codec.FLOAT, HashMap::new)),
+                (c, v, e) -> c.mobTierMix = v, (c, e) -> c.mobTierMix).add()
+            .append(new KeyedCodec<>("MiningTierMix", new MapCodec<>(Codec.FLOAT, HashMap::new)),
+                (c, v, e) -> c.miningTierMix = v, (c, e) -> c.miningTierMix).add()
+            .append(new KeyedCodec<>("CraftingTierMix", new MapCodec<>(Codec.FLOAT, HashMap::new)),
+                (c, v, e) -> c.craftingTierMix = v, (c, e) -> c.craftingTierMix).add()
+            .append(new KeyedCodec<>("HarvestingTierMix", new MapCodec<>(Codec.FLOAT, HashMap::new)),
+                (c, v, e) -> c.harvestingTierMix = v, (c, e) -> c.harvestingTierMix).add()
+            .append(new KeyedCodec<>("WoodcuttingTierMix", new MapCodec<>(Codec.FLOAT, HashMap::new)),
+                (c, v, e) -> c.woodcuttingTierMix = v, (c, e) -> c.woodcuttingTierMix).add()
+            .build();
+        
+        private boolean enabled = true;
+        private int players = 50;
+        private int trials = 500;         // Simulated hours
+        private int warnPercentile = 99;
+        private float vipShare = 0.10f;   // Share of players in a VIP group
+        private Map<String, Integer> actionsPerPlayerHour = new HashMap<>();
+        private Map<String, Float> mobTierMix = new HashMap<>();
+        private Map<String, Float> miningTierMix = new HashMap<>();
+        private Map<String, Float> craftingTierMix = new HashMap<>();
+        private Map<String, Float> harvestingTierMix = new HashMap<>();
+        private Map<String, Float> woodcuttingTierMix = new HashMap<>();
+        
+        public ProjectionConfig() {
+            actionsPerPlayerHour.put("mob", 120);
+            actionsPerPlayerHour.put("mining", 600);
+            actionsPerPlayerHour.put("crafting", 60);
+            actionsPerPlayerHour.put("harvesting", 900);
+            actionsPerPlayerHour.put("woodcutting", 300);
+            
+            mobTierMix.put("CRITTER", 0.15f);
+            mobTierMix.put("PASSIVE", 0.25f);
+            mobTierMix.put("HOSTILE", 0.50f);
+            mobTierMix.put("ELITE", 0.08f);
+            mobTierMix.put("MINIBOSS", 0.02f);
+            
+            miningTierMix.put("BASIC", 0.60f);
+            miningTierMix.put("COMMON", 0.20f);
+            miningTierMix.put("UNCOMMON", 0.10f);
+            miningTierMix.put("RARE", 0.06f);
+            miningTierMix.put("EPIC", 0.03f);
+            miningTierMix.put("LEGENDARY", 0.01f);
+            
+            craftingTierMix.put("TRIVIAL", 0.35f);
+            craftingTierMix.put("SIMPLE", 0.25f);
+            craftingTierMix.put("BASIC", 0.15f);
+            craftingTierMix.put("STANDARD", 0.12f);
+            craftingTierMix.put("ADVANCED", 0.08f);
+            craftingTierMix.put("EXPERT", 0.03f);
+            craftingTierMix.put("MASTER", 0.015f);
+            craftingTierMix.put("LEGENDARY", 0.005f);
+            
+            harvestingTierMix.put("COMMON", 0.70f);
+            harvestingTierMix.put("UNCOMMON", 0.25f);
+            harvestingTierMix.put("RARE", 0.05f);
+            
+            woodcuttingTierMix.put("COMMON", 0.80f);
+            woodcuttingTierMix.put("UNCOMMON", 0.18f);
+            woodcuttingTierMix.put("RARE", 0.02f);
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public int getPlayers() { return players; }
+        public int getTrials() { return trials; }
+        public int getWarnPercentile() { return warnPercentile; }
+        public float getVipShare() { return vipShare; }
+        public Map<String, Integer> getActionsPerPlayerHour() { return actionsPerPlayerHour; }
+        public Map<String, Float> getMobTierMix() { return mobTierMix; }
+        public Map<String, Float> getMiningTierMix() { return miningTierMix; }
+        public Map<String, Float> getCraftingTierMix() { return craftingTierMix; }
+        public Map<String, Float> getHarvestingTierMix() { return harvestingTierMix; }
+        public Map<String, Float> getWoodcuttingTierMix() { return woodcuttingTierMix; }
+    }
+    
+    // =========================================================================
+    // PROGRESSION CONFIG
+    // =========================================================================
+    
+    /**
+     * Job levels. Every paid reward grants XpPerUnit[job] per unit (kill,
+     * block, crafted item, crop, log); reaching level L takes
+     * BaseXp * (L - 1)^Exponent XP. Kept in memory and written to File
+     * every FlushIntervalSeconds.
+     */
+    public static class ProgressionConfig {
+        public static final BuilderCodec<ProgressionConfig> CODEC = BuilderCodec.builder(ProgressionConfig.class, ProgressionConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("File", Codec.STRING),
+                (c, v, e) -> c.file = v, (c, e) -> c.file).add()
+            .append(new KeyedCodec<>("FlushIntervalSeconds", Codec.INTEGER),
+                (c, v, e) -> c.flushIntervalSeconds = v, (c, e) -> c.flushIntervalSeconds).add()
+            .append(new KeyedCodec<>("BaseXp", Codec.INTEGER),
+                (c, v, e) -> c.baseXp = v, (c, e) -> c.baseXp).add()
+            .append(new KeyedCodec<>("Exponent", Codec.FLOAT),
+                (c, v, e) -> c.exponent = v, (c, e) -> c.exponent).add()
+            .append(new KeyedCodec<>("MaxLevel", Codec.INTEGER),
+                (c, v, e) -> c.maxLevel = v, (c, e) -> c.maxLevel).add()
+            .append(new KeyedCodec<>("XpPerUnit", new MapCodec<>(Codec.INTEGER, HashMap::new)),
+                (c, v, e) -> c.xpPerUnit = v, (c, e) -> c.xpPerUnit).add()
+            .build();
+        
+        private boolean enabled = true;
+        private String file = "progression/levels.dat";
+        private int flushIntervalSeconds = 60;
+        private int baseXp = 100;
+        private float exponent = 1.5f;
+        private int maxLevel = 100;
+        private Map<String, Integer> xpPerUnit = new HashMap<>();
+        
+        public ProgressionConfig() {
+            xpPerUnit.put("mob", 10);
+            xpPerUnit.put("mining", 2);
+            xpPerUnit.put("crafting", 4);
+            xpPerUnit.put("harvesting", 1);
+            xpPerUnit.put("woodcutting", 3);
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public String getFile() { return file; }
+        public int getFlushIntervalSeconds() { return flushIntervalSeconds; }
+        public int getBaseXp() { return baseXp; }
+        public float getExponent() { return exponent; }
+        public int getMaxLevel() { return maxLevel; }
+        public Map<String, Integer> getXpPerUnit() { return xpPerUnit; }
+    }
+    
+    // =========================================================================
+    // LEADERBOARD CONFIG
+    // =========================================================================
+    
+    /**
+     * Top earners per job, hourly, daily (UTC) and all-time. Size players
+     * are kept per board; scores are written to File every
+     * FlushIntervalSeconds.
+     */
+    public static class LeaderboardConfig {
+        public static final BuilderCodec<LeaderboardConfig> CODEC = BuilderCodec.builder(LeaderboardConfig.class, LeaderboardConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Size", Codec.INTEGER),
+                (c, v, e) -> c.size = v, (c, e) -> c.size).add()
+            .append(new KeyedCodec<>("File", Codec.STRING),
+                (c, v, e) -> c.file = v, (c, e) -> c.file).add()
+            .append(new KeyedCodec<>("FlushIntervalSeconds", Codec.INTEGER),
+                (c, v, e) -> c.flushIntervalSeconds = v, (c, e) -> c.flushIntervalSeconds).add()
+            .build();
+        
+        private boolean enabled = true;
+        private int size = 10;
+        private String file = "leaderboards/scores.dat";
+        private int flushIntervalSeconds = 60;
+        
+        public boolean isEnabled() { return enabled; }
+        public int getSize() { return size; }
+        public String getFile() { return file; }
+        public int getFlushIntervalSeconds() { return flushIntervalSeconds; }
+    }
+    
     // =========================================================================
     // MINING CONFIG
     // =========================================================================
@@ -444,6 +824,8 @@ public class EcotaleJobsConfig {
                 (c, v, e) -> c.antiFarmDecay = v, (c, e) -> c.antiFarmDecay).add()
             .append(new KeyedCodec<>("MaxInjectionPerHour", Codec.LONG),
                 (c, v, e) -> c.maxInjectionPerHour = v, (c, e) -> c.maxInjectionPerHour).add()
+            .append(new KeyedCodec<>("BurstWindowMs", Codec.LONG),
+                (c, v, e) -> c.burstWindowMs = v, (c, e) -> c.burstWindowMs).add()
             .build();
         
         // EXPERIMENTAL: Crafting rewards currently support inventory crafting only.
@@ -453,6 +835,7 @@ public class EcotaleJobsConfig {
         private int antiFarmThreshold = 20;         // Crafts of same recipe before decay
         private float antiFarmDecay = 0.05f;        // 5% decay per craft over threshold
         private long maxInjectionPerHour = 50_000_000; // 50M/hour for crafting
+        private long burstWindowMs = 250;           // Merge same-recipe crafts this close together (0 = off)
         
         @Override public boolean isEnabled() { return enabled; }
         @Override public Map<String, TierConfig> getTiers() { return tiers; }
@@ -460,6 +843,7 @@ public class EcotaleJobsConfig {
         @Override public int getAntiFarmThreshold() { return antiFarmThreshold; }
         @Override public float getAntiFarmDecay() { return antiFarmDecay; }
         @Override public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+        @Override public long getBurstWindowMs() { return burstWindowMs; }
         
         @Override
         public TierConfig getTierSafe(String tierName) {
@@ -520,6 +904,212 @@ public class EcotaleJobsConfig {
         }
     }
     
+    // =========================================================================
+    // HARVESTING CONFIG
+    // =========================================================================
+    
+    /**
+     * Configuration for the Harvest Reward System.
+     * Crops are tiered by block ID pattern (CropTiers); breaks are batched
+     * per player and settled once per window, so anti-farm counts per crop
+     * and thresholds are sized for whole fields.
+     */
+    public static class HarvestingConfig {
+        public static final BuilderCodec<HarvestingConfig> CODEC = BuilderCodec.builder(HarvestingConfig.class, HarvestingConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Tiers", new MapCodec<>(TierConfig.CODEC, HashMap::new)),
+                (c, v, e) -> c.tiers = v, (c, e) -> c.tiers).add()
+            .append(new KeyedCodec<>("CropTiers", new MapCodec<>(Codec.STRING, HashMap::new)),
+                (c, v, e) -> c.cropTiers = v, (c, e) -> c.cropTiers).add()
+            .append(new KeyedCodec<>("AntiFarmEnabled", Codec.BOOLEAN),
+                (c, v, e) -> c.antiFarmEnabled = v, (c, e) -> c.antiFarmEnabled).add()
+            .append(new KeyedCodec<>("AntiFarmThreshold", Codec.INTEGER),
+                (c, v, e) -> c.antiFarmThreshold = v, (c, e) -> c.antiFarmThreshold).add()
+            .append(new KeyedCodec<>("AntiFarmDecay", Codec.FLOAT),
+                (c, v, e) -> c.antiFarmDecay = v, (c, e) -> c.antiFarmDecay).add()
+            .append(new KeyedCodec<>("MaxInjectionPerHour", Codec.LONG),
+                (c, v, e) -> c.maxInjectionPerHour = v, (c, e) -> c.maxInjectionPerHour).add()
+            .append(new KeyedCodec<>("BatchWindowMs", Codec.LONG),
+                (c, v, e) -> c.batchWindowMs = v, (c, e) -> c.batchWindowMs).add()
+            .build();
+        
+        // Opt-in: set Enabled to true to pay for crops
+        private boolean enabled = false;
+        private Map<String, TierConfig> tiers = createDefaultHarvestingTiers();
+        private Map<String, String> cropTiers = createDefaultCropTiers();
+        private boolean antiFarmEnabled = true;
+        private int antiFarmThreshold = 300;        // Crops of one type per window before decay
+        private float antiFarmDecay = 0.005f;       // 0.5% decay per crop over threshold
+        private long maxInjectionPerHour = 30_000_000; // 30M/hour for harvesting
+        private long batchWindowMs = 500;           // Merge breaks this close together (0 = off)
+        
+        public boolean isEnabled() { return enabled; }
+        public Map<String, TierConfig> getTiers() { return tiers; }
+        public Map<String, String> getCropTiers() { return cropTiers; }
+        public boolean isAntiFarmEnabled() { return antiFarmEnabled; }
+        public int getAntiFarmThreshold() { return antiFarmThreshold; }
+        public float getAntiFarmDecay() { return antiFarmDecay; }
+        public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+        public long getBatchWindowMs() { return batchWindowMs; }
+        
+        public TierConfig getTierSafe(String tierName) {
+            TierConfig tier = tiers.get(tierName);
+            if (tier == null) {
+                tier = tiers.get("COMMON");
+            }
+            if (tier == null) {
+                tier = new TierConfig("COPPER", 0, 1, 50);
+            }
+            return tier;
+        }
+        
+        /**
+         * Create default harvesting tiers.
+         * A field is hundreds of crops, so each one is worth very little.
+         */
+        private static Map<String, TierConfig> createDefaultHarvestingTiers() {
+            Map<String, TierConfig> t = new LinkedHashMap<>();
+            
+            // NONE - No reward
+            t.put("NONE", new TierConfig("COPPER", 0, 0, 0));
+            
+            // COMMON - Staple crops (wheat, carrots, potatoes)
+            t.put("COMMON", new TierConfig("COPPER", 0, 1, 40));
+            
+            // UNCOMMON - Slower crops (corn, tomatoes, cotton)
+            t.put("UNCOMMON", new TierConfig("COPPER", 1, 1, 60));
+            
+            // RARE - Large or slow crops (pumpkins)
+            t.put("RARE", new TierConfig("COPPER", 1, 3, 80));
+            
+            return t;
+        }
+        
+        /**
+         * Default crop patterns. The most specific matching pattern wins,
+         * so the catch-all only applies to crops not listed here.
+         */
+        private static Map<String, String> createDefaultCropTiers() {
+            Map<String, String> m = new LinkedHashMap<>();
+            m.put("*Crop_*", "COMMON");
+            m.put("*Crop_Wheat*", "COMMON");
+            m.put("*Crop_Carrot*", "COMMON");
+            m.put("*Crop_Potato*", "COMMON");
+            m.put("*Crop_Lettuce*", "COMMON");
+            m.put("*Crop_Corn*", "UNCOMMON");
+            m.put("*Crop_Tomato*", "UNCOMMON");
+            m.put("*Crop_Cotton*", "UNCOMMON");
+            m.put("*Crop_Pumpkin*", "RARE");
+            return m;
+        }
+    }
+    
+    // =========================================================================
+    // WOODCUTTING CONFIG
+    // =========================================================================
+    
+    /**
+     * Configuration for the Woodcutting Reward System.
+     * Logs (blocks gathered as wood) are tiered by block ID pattern
+     * (LogTiers); the breaks of one tree are merged into a burst and paid
+     * out once.
+     */
+    public static class WoodcuttingConfig {
+        public static final BuilderCodec<WoodcuttingConfig> CODEC = BuilderCodec.builder(WoodcuttingConfig.class, WoodcuttingConfig::new)
+            .append(new KeyedCodec<>("Enabled", Codec.BOOLEAN),
+                (c, v, e) -> c.enabled = v, (c, e) -> c.enabled).add()
+            .append(new KeyedCodec<>("Tiers", new MapCodec<>(TierConfig.CODEC, HashMap::new)),
+                (c, v, e) -> c.tiers = v, (c, e) -> c.tiers).add()
+            .append(new KeyedCodec<>("LogTiers", new MapCodec<>(Codec.STRING, HashMap::new)),
+                (c, v, e) -> c.logTiers = v, (c, e) -> c.logTiers).add()
+            .append(new KeyedCodec<>("RequireAxe", Codec.BOOLEAN),
+                (c, v, e) -> c.requireAxe = v, (c, e) -> c.requireAxe).add()
+            .append(new KeyedCodec<>("AntiFarmEnabled", Codec.BOOLEAN),
+                (c, v, e) -> c.antiFarmEnabled = v, (c, e) -> c.antiFarmEnabled).add()
+            .append(new KeyedCodec<>("AntiFarmThreshold", Codec.INTEGER),
+                (c, v, e) -> c.antiFarmThreshold = v, (c, e) -> c.antiFarmThreshold).add()
+            .append(new KeyedCodec<>("AntiFarmDecay", Codec.FLOAT),
+                (c, v, e) -> c.antiFarmDecay = v, (c, e) -> c.antiFarmDecay).add()
+            .append(new KeyedCodec<>("MaxInjectionPerHour", Codec.LONG),
+                (c, v, e) -> c.maxInjectionPerHour = v, (c, e) -> c.maxInjectionPerHour).add()
+            .append(new KeyedCodec<>("BurstWindowMs", Codec.LONG),
+                (c, v, e) -> c.burstWindowMs = v, (c, e) -> c.burstWindowMs).add()
+            .append(new KeyedCodec<>("MaxBurstMs", Codec.LONG),
+                (c, v, e) -> c.maxBurstMs = v, (c, e) -> c.maxBurstMs).add()
+            .build();
+        
+        // Opt-in: set Enabled to true to pay for logs
+        private boolean enabled = false;
+        private Map<String, TierConfig> tiers = createDefaultWoodcuttingTiers();
+        private Map<String, String> logTiers = createDefaultLogTiers();
+        private boolean requireAxe = true;          // Bare-hand or wrong-tool breaks give nothing
+        private boolean antiFarmEnabled = true;
+        private int antiFarmThreshold = 120;        // Logs of one type per window before decay
+        private float antiFarmDecay = 0.01f;        // 1% decay per log over threshold
+        private long maxInjectionPerHour = 30_000_000; // 30M/hour for woodcutting
+        private long burstWindowMs = 3_000;         // Logs this close together belong to one tree (0 = off)
+        private long maxBurstMs = 20_000;           // Longest a tree may take before it is paid anyway
+        
+        public boolean isEnabled() { return enabled; }
+        public Map<String, TierConfig> getTiers() { return tiers; }
+        public Map<String, String> getLogTiers() { return logTiers; }
+        public boolean isRequireAxe() { return requireAxe; }
+        public boolean isAntiFarmEnabled() { return antiFarmEnabled; }
+        public int getAntiFarmThreshold() { return antiFarmThreshold; }
+        public float getAntiFarmDecay() { return antiFarmDecay; }
+        public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+        public long getBurstWindowMs() { return burstWindowMs; }
+        public long getMaxBurstMs() { return maxBurstMs; }
+        
+        public TierConfig getTierSafe(String tierName) {
+            TierConfig tier = tiers.get(tierName);
+            if (tier == null) {
+                tier = tiers.get("COMMON");
+            }
+            if (tier == null) {
+                tier = new TierConfig("COPPER", 0, 1, 50);
+            }
+            return tier;
+        }
+        
+        /**
+         * Create default woodcutting tiers.
+         * Priced per log; an average tree is 6-12 logs.
+         */
+        private static Map<String, TierConfig> createDefaultWoodcuttingTiers() {
+            Map<String, TierConfig> t = new LinkedHashMap<>();
+            
+            // NONE - No reward
+            t.put("NONE", new TierConfig("COPPER", 0, 0, 0));
+            
+            // COMMON - Everyday wood (oak, birch, fir)
+            t.put("COMMON", new TierConfig("COPPER", 0, 2, 60));
+            
+            // UNCOMMON - Large or regional trees (redwood, jungle)
+            t.put("UNCOMMON", new TierConfig("COPPER", 1, 2, 80));
+            
+            // RARE - Rare woods
+            t.put("RARE", new TierConfig("COPPER", 2, 4, 100));
+            
+            return t;
+        }
+        
+        /**
+         * Default log patterns. Only trunks are listed, so planks and other
+         * placeable wood blocks cannot be farmed by placing and breaking.
+         * The most specific matching pattern wins.
+         */
+        private static Map<String, String> createDefaultLogTiers() {
+            Map<String, String> m = new LinkedHashMap<>();
+            m.put("Wood_*_Trunk*", "COMMON");
+            m.put("Wood_Redwood_Trunk*", "UNCOMMON");
+            m.put("Wood_Jungle_Trunk*", "UNCOMMON");
+            m.put("Wood_Petrified_Trunk*", "RARE");
+            return m;
+        }
+    }
+    
     // =========================================================================
     // VIP CONFIG
     // =========================================================================
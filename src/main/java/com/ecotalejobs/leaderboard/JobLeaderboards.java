@@ -0,0 +1,306 @@
+package com.ecotalejobs.leaderboard;
+
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.AtomicFiles;
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.JobsClock;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Top earners of every job, hourly, daily and all-time, kept up to date
+ * from the reward systems as rewards are paid.
+ *
+ * <p>A reward adds its value to the player's {@link PlayerScores} (one CAS
+ * per window, cached in the session) and offers the new totals to the
+ * job's three {@link TopKBoard}s, which for most rewards is a single
+ * volatile read each. Nothing scans balances or the ledger, and windows
+ * roll over lazily on the first reward of the new hour or day.
+ *
+ * <p>Scores and player names are written to disk in the background like
+ * job levels, and the boards are rebuilt from them on startup (the only
+ * full pass over the players).
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class JobLeaderboards {
+
+    static final int MAGIC = 0x454A4C42; // "EJLB"
+    static final int VERSION = 1;
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final LeaderboardWindow[] WINDOWS = LeaderboardWindow.values();
+
+    private final Map<UUID, PlayerScores> scores = new ConcurrentHashMap<>();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final TopKBoard[] boards = new TopKBoard[JOBS.length * WINDOWS.length];
+    private final Path file;
+
+    private volatile JobsClock clock = CoarseClock.getInstance();
+
+    private ScheduledFuture<?> flushTask;
+    private long flushedChanges; // Guarded by this
+
+    // Statistics
+    private final LongAdder changes = new LongAdder();
+    private final AtomicLong flushCount = new AtomicLong(0);
+    private final AtomicLong flushFailures = new AtomicLong(0);
+
+    /**
+     * @param size Entries kept per board (K)
+     * @param file Snapshot file
+     */
+    public JobLeaderboards(int size, @Nonnull Path file) {
+        this.file = file;
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new TopKBoard(size);
+        }
+    }
+
+    /**
+     * Replace the time source (tests and benchmarks).
+     */
+    public void setClock(@Nonnull JobsClock clock) {
+        this.clock = clock;
+    }
+
+    // =========================================================================
+    // Recording
+    // =========================================================================
+
+    /**
+     * Add a paid reward to the player's scores and the job's boards.
+     *
+     * @param value Reward value in base currency units
+     */
+    public void record(@Nonnull PlayerJobSession session, @Nonnull JobType job, long value) {
+        if (value <= 0) {
+            return;
+        }
+        PlayerScores player = session.getLeaderboardScores();
+        if (player == null) {
+            player = scoresOf(session.getPlayerUuid());
+            session.setLeaderboardScores(player);
+        }
+        long now = clock.millis();
+        for (LeaderboardWindow window : WINDOWS) {
+            long epoch = window.epochOf(now);
+            long score = player.add(job, window, epoch, value);
+            board(job, window).offer(epoch, player.getPlayerUuid(), score);
+        }
+        changes.increment();
+    }
+
+    /**
+     * Remember a player's name for the boards (on connect).
+     */
+    public void rememberName(@Nonnull UUID playerUuid, @Nullable String name) {
+        if (name != null && !name.isEmpty()) {
+            names.put(playerUuid, name);
+        }
+    }
+
+    private PlayerScores scoresOf(UUID playerUuid) {
+        PlayerScores player = scores.get(playerUuid);
+        return player != null ? player : scores.computeIfAbsent(playerUuid, PlayerScores::new);
+    }
+
+    private TopKBoard board(JobType job, LeaderboardWindow window) {
+        return boards[PlayerScores.index(job, window)];
+    }
+
+    // =========================================================================
+    // Queries
+    // =========================================================================
+
+    /**
+     * The current board of a job and window, highest earner first. O(1);
+     * walking it is O(K).
+     */
+    @Nonnull
+    public TopKBoard.Snapshot getTop(@Nonnull JobType job, @Nonnull LeaderboardWindow window) {
+        return board(job, window).read(window.epochOf(clock.millis()));
+    }
+
+    /**
+     * The player's name, or the start of their UUID if they have not been
+     * seen since the name was last saved.
+     */
+    @Nonnull
+    public String getName(@Nonnull UUID playerUuid) {
+        String name = names.get(playerUuid);
+        return name != null ? name : playerUuid.toString().substring(0, 8);
+    }
+
+    public int getPlayerCount() { return scores.size(); }
+    public int getBoardSize() { return boards[0].getCapacity(); }
+    public long getFlushCount() { return flushCount.get(); }
+    public long getFlushFailures() { return flushFailures.get(); }
+
+    /** Board snapshots swapped in, over all jobs and windows */
+    public long getBoardUpdates() {
+        long total = 0;
+        for (TopKBoard board : boards) {
+            total += board.getUpdateCount();
+        }
+        return total;
+    }
+
+    /** Board CAS attempts lost to a concurrent update, over all jobs and windows */
+    public long getBoardRetries() {
+        long total = 0;
+        for (TopKBoard board : boards) {
+            total += board.getRetryCount();
+        }
+        return total;
+    }
+
+    // =========================================================================
+    // Persistence
+    // =========================================================================
+
+    /**
+     * Load the last snapshot and rebuild the boards from it. Call before
+     * the reward systems start recording.
+     *
+     * @return Players loaded (0 if there is no snapshot yet)
+     */
+    public int load() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a leaderboard snapshot: " + file);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported leaderboard snapshot version " + version);
+        }
+        int jobs = in.readInt();
+        int windows = in.readInt();
+        int players = in.readInt();
+        for (int p = 0; p < players; p++) {
+            UUID uuid = new UUID(in.readLong(), in.readLong());
+            String name = in.readUTF();
+            rememberName(uuid, name);
+            PlayerScores player = scoresOf(uuid);
+            for (int j = 0; j < jobs; j++) {
+                for (int w = 0; w < windows; w++) {
+                    long packed = in.readLong();
+                    if (j < JOBS.length && w < WINDOWS.length && PlayerScores.scoreOf(packed) > 0) {
+                        player.setPacked(PlayerScores.index(JOBS[j], WINDOWS[w]), packed);
+                        board(JOBS[j], WINDOWS[w]).offer(PlayerScores.epochOf(packed), uuid, PlayerScores.scoreOf(packed));
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            flushedChanges = changes.sum();
+        }
+        return players;
+    }
+
+    /**
+     * Flush every {@code intervalSeconds} on the given executor.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService executor, int intervalSeconds) {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        int interval = Math.max(1, intervalSeconds);
+        flushTask = executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                JobsLogger.error("[Leaderboards] Flush failed", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write a snapshot if anything was recorded since the last one.
+     *
+     * @return true if a snapshot was written
+     */
+    public synchronized boolean flush() {
+        long recorded = changes.sum();
+        if (recorded == flushedChanges) {
+            return false;
+        }
+        try {
+            AtomicFiles.write(file, snapshot());
+        } catch (IOException e) {
+            flushFailures.incrementAndGet();
+            JobsLogger.warn("[Leaderboards] Cannot write %s: %s", file, e.getMessage());
+            return false;
+        }
+        flushedChanges = recorded;
+        flushCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stop the periodic flush and write the final snapshot.
+     */
+    public void close() {
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Snapshot format (big-endian): magic, version, job count, window
+     * count and player count as ints, then per player the UUID as two
+     * longs, the name (modified UTF-8, empty if unknown) and one packed
+     * epoch/score long per job and window.
+     */
+    private byte[] snapshot() throws IOException {
+        // Copy first so the player count matches the records that follow
+        PlayerScores[] players = scores.values().toArray(new PlayerScores[0]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + players.length * (48 + JOBS.length * WINDOWS.length * 8));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(JOBS.length);
+        out.writeInt(WINDOWS.length);
+        out.writeInt(players.length);
+        for (PlayerScores player : players) {
+            UUID uuid = player.getPlayerUuid();
+            String name = names.get(uuid);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            out.writeUTF(name != null ? name : "");
+            for (JobType job : JOBS) {
+                for (LeaderboardWindow window : WINDOWS) {
+                    out.writeLong(player.getPacked(PlayerScores.index(job, window)));
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
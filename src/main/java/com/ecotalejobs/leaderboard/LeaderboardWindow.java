@@ -0,0 +1,43 @@
+package com.ecotalejobs.leaderboard;
+
+/**
+ * Time windows a job leaderboard is kept for. Windows are aligned to UTC
+ * (hours and days start on the clock), and each has an epoch number that
+ * changes when the window rolls over.
+ *
+ * <p>Ordinals index the per-player score arrays and are written in
+ * snapshots - append only.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public enum LeaderboardWindow {
+    HOURLY("hourly", 3_600_000L),
+    DAILY("daily", 86_400_000L),
+    ALL_TIME("alltime", 0L);
+
+    private final String key;
+    private final long lengthMs;
+
+    LeaderboardWindow(String key, long lengthMs) {
+        this.key = key;
+        this.lengthMs = lengthMs;
+    }
+
+    /** Short lowercase key for commands and metric labels */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The window's epoch at the given time (always 0 for all-time).
+     */
+    public long epochOf(long nowMs) {
+        return lengthMs == 0 ? 0 : nowMs / lengthMs;
+    }
+
+    /** When the window of the given epoch ends, or Long.MAX_VALUE for all-time */
+    public long endOf(long epoch) {
+        return lengthMs == 0 ? Long.MAX_VALUE : (epoch + 1) * lengthMs;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecotalejobs.leaderboard;
+
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One player's earnings per job and {@link LeaderboardWindow}.
+ *
+ * <p>Each cell packs the window epoch (high {@value #EPOCH_BITS} bits) and
+ * the score (low {@value #SCORE_BITS} bits) into one long, so adding to a
+ * score and resetting it when its window has rolled over is a single CAS.
+ * Nothing ever walks the players to clear a window: a stale cell is simply
+ * restarted by the next reward.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PlayerScores {
+
+    static final int SCORE_BITS = 40;
+    static final int EPOCH_BITS = 63 - SCORE_BITS;
+    static final long MAX_SCORE = (1L << SCORE_BITS) - 1;
+    static final long MAX_EPOCH = (1L << EPOCH_BITS) - 1;
+
+    private static final int WINDOWS = LeaderboardWindow.values().length;
+
+    private final UUID playerUuid;
+    private final AtomicLongArray cells = new AtomicLongArray(JobType.values().length * WINDOWS);
+
+    PlayerScores(@Nonnull UUID playerUuid) {
+        this.playerUuid = playerUuid;
+    }
+
+    @Nonnull
+    public UUID getPlayerUuid() { return playerUuid; }
+
+    /**
+     * Add to the score of the window's current epoch, restarting it if the
+     * stored one belongs to an earlier epoch. Saturates at {@link #MAX_SCORE}.
+     *
+     * @return The new score
+     */
+    long add(JobType job, LeaderboardWindow window, long epoch, long value) {
+        int index = index(job, window);
+        while (true) {
+            long packed = cells.get(index);
+            long score = epochOf(packed) == epoch ? scoreOf(packed) : 0;
+            long updated = Math.min(MAX_SCORE, score + value);
+            if (cells.compareAndSet(index, packed, pack(epoch, updated))) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * The score of the given epoch (0 if the window has rolled over).
+     */
+    public long getScore(@Nonnull JobType job, @Nonnull LeaderboardWindow window, long epoch) {
+        long packed = cells.get(index(job, window));
+        return epochOf(packed) == epoch ? scoreOf(packed) : 0;
+    }
+
+    long getPacked(int index) {
+        return cells.get(index);
+    }
+
+    void setPacked(int index, long packed) {
+        cells.set(index, packed);
+    }
+
+    static int index(JobType job, LeaderboardWindow window) {
+        return job.ordinal() * WINDOWS + window.ordinal();
+    }
+
+    static long pack(long epoch, long score) {
+        return (Math.min(epoch, MAX_EPOCH) << SCORE_BITS) | score;
+    }
+
+    static long epochOf(long packed) {
+        return packed >>> SCORE_BITS;
+    }
+
+    static long scoreOf(long packed) {
+        return packed & MAX_SCORE;
+    }
+}
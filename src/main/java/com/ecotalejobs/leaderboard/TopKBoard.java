@@ -0,0 +1,158 @@
+package com.ecotalejobs.leaderboard;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The K highest scores of one job and window, updated lock-free.
+ *
+ * <p>The board is an immutable {@link Snapshot} behind an
+ * {@link AtomicReference}. An offer below the lowest score of a full board
+ * returns after one volatile read - by far the common case once the board
+ * has filled. Otherwise a new snapshot of at most K entries is built and
+ * swapped in with a CAS, retried on contention. Readers get a consistent
+ * snapshot in O(1) and walk it in O(K).
+ *
+ * <p>Offers carry the window epoch. The first offer of a newer epoch
+ * replaces the board with a fresh one, so windows roll over without
+ * rescanning anything; offers of an older epoch (in flight across the
+ * rollover) are dropped.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class TopKBoard {
+
+    private final int capacity;
+    private final AtomicReference<Snapshot> current;
+
+    // Statistics
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * @param capacity Entries kept (K)
+     */
+    public TopKBoard(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.current = new AtomicReference<>(new Snapshot(0, new UUID[0], new long[0]));
+    }
+
+    /**
+     * Offer a player's score for the window. Scores only grow within an
+     * epoch, so a lower score than the one on the board is ignored.
+     *
+     * @param epoch The window epoch the score belongs to
+     * @param score The player's total in that window
+     */
+    public void offer(long epoch, @Nonnull UUID player, long score) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            if (epoch < snapshot.epoch) {
+                return;
+            }
+            Snapshot next;
+            if (epoch > snapshot.epoch) {
+                next = new Snapshot(epoch, new UUID[] {player}, new long[] {score});
+            } else {
+                if (snapshot.size() == capacity && score <= snapshot.scores[capacity - 1]) {
+                    return;
+                }
+                next = snapshot.with(player, score, capacity);
+                if (next == null) {
+                    return;
+                }
+            }
+            if (current.compareAndSet(snapshot, next)) {
+                updates.increment();
+                return;
+            }
+            retries.increment();
+        }
+    }
+
+    /**
+     * The board of the given epoch (empty if the window has rolled over
+     * since the last offer).
+     */
+    @Nonnull
+    public Snapshot read(long epoch) {
+        Snapshot snapshot = current.get();
+        return snapshot.epoch == epoch ? snapshot : new Snapshot(epoch, new UUID[0], new long[0]);
+    }
+
+    public int getCapacity() { return capacity; }
+    /** Snapshots swapped in (board changes) */
+    public long getUpdateCount() { return updates.sum(); }
+    /** CAS attempts lost to a concurrent update */
+    public long getRetryCount() { return retries.sum(); }
+
+    /**
+     * An immutable board, highest score first.
+     */
+    public static final class Snapshot {
+        private final long epoch;
+        private final UUID[] players;
+        private final long[] scores;
+
+        Snapshot(long epoch, UUID[] players, long[] scores) {
+            this.epoch = epoch;
+            this.players = players;
+            this.scores = scores;
+        }
+
+        public long getEpoch() { return epoch; }
+        public int size() { return players.length; }
+        @Nonnull public UUID getPlayer(int rank) { return players[rank]; }
+        public long getScore(int rank) { return scores[rank]; }
+
+        /**
+         * This board with the player's score raised to {@code score}, or
+         * null if that changes nothing.
+         */
+        Snapshot with(UUID player, long score, int capacity) {
+            int size = players.length;
+            int existing = -1;
+            for (int i = 0; i < size; i++) {
+                if (players[i].equals(player)) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing >= 0 && scores[existing] >= score) {
+                return null;
+            }
+            // Rank among the others: entries with a higher or equal score stay ahead
+            int rank = 0;
+            while (rank < size && (scores[rank] >= score || rank == existing)) {
+                rank++;
+            }
+            if (existing >= 0 && existing < rank) {
+                rank--; // The player's old entry is removed ahead of the new position
+            }
+            int newSize = existing >= 0 ? size : Math.min(size + 1, capacity);
+            if (rank >= newSize) {
+                return null;
+            }
+            UUID[] newPlayers = new UUID[newSize];
+            long[] newScores = new long[newSize];
+            int from = 0;
+            for (int to = 0; to < newSize; to++) {
+                if (to == rank) {
+                    newPlayers[to] = player;
+                    newScores[to] = score;
+                    continue;
+                }
+                if (from == existing) {
+                    from++;
+                }
+                newPlayers[to] = players[from];
+                newScores[to] = scores[from];
+                from++;
+            }
+            return new Snapshot(epoch, newPlayers, newScores);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * String interning for ledger records.
+ *
+ * <p>Ledger records are fixed-size, so mob/block/recipe ids and tier names
+ * are stored as 32-bit ids. The mapping lives in {@code dictionary.tsv}
+ * next to the segments ({@code id<TAB>name} per line, append-only) and is
+ * reloaded on startup so ids stay stable across restarts.
+ *
+ * <p>{@link #idOf(String)} never does I/O: new names are queued and
+ * appended by {@link #flush()} from the ledger's sync task. A name is
+ * flushed before the segment holding its first record is synced.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class LedgerDictionary {
+
+    /** Id written for a null or unknown name */
+    static final int NONE = 0;
+
+    private final Path file;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> unflushed = new ConcurrentLinkedQueue<>(); // "id\tname" lines
+    private final AtomicInteger nextId = new AtomicInteger(NONE + 1);
+
+    LedgerDictionary(@Nonnull Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load existing mappings. Malformed lines are skipped.
+     */
+    void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        int max = NONE;
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+            try {
+                int id = Integer.parseInt(line.substring(0, tab));
+                ids.put(line.substring(tab + 1), id);
+                max = Math.max(max, id);
+            } catch (NumberFormatException e) {
+                JobsLogger.debug("[RewardLedger] Skipping dictionary line: %s", line);
+            }
+        }
+        nextId.set(max + 1);
+    }
+
+    /**
+     * Id for a name, assigning (and queueing for persistence) a new one if needed.
+     */
+    int idOf(@Nullable String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(name, n -> {
+            int assigned = nextId.getAndIncrement();
+            unflushed.add(assigned + "\t" + n);
+            return assigned;
+        });
+    }
+
+    /**
+     * Append newly assigned names to the dictionary file.
+     */
+    void flush() throws IOException {
+        if (unflushed.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = unflushed.poll()) != null) {
+            lines.add(line);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String entry : lines) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            unflushed.addAll(lines); // Retry on the next sync
+            throw e;
+        }
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
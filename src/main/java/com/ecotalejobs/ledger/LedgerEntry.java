@@ -0,0 +1,106 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Per-thread scratch record filled in by a reward pipeline as it runs.
+ *
+ * <p>The ECS handler calls {@link #begin(JobType)}, the pipeline layers
+ * fill in whatever they know through {@link #current()}, and the handler
+ * hands the entry to {@link RewardLedger#append(LedgerEntry,
+ * com.ecotalejobs.metrics.RewardOutcome)}. One instance per thread is
+ * reused, so recording allocates nothing.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class LedgerEntry {
+
+    private static final ThreadLocal<LedgerEntry> CURRENT = ThreadLocal.withInitial(LedgerEntry::new);
+
+    JobType job;
+    long playerMost;
+    long playerLeast;
+    String source;
+    String tier;
+    float antiFarmMultiplier;
+    float vipMultiplier;
+    float bonusMultiplier;
+    int quantity;
+    long value;
+
+    private LedgerEntry() {}
+
+    /**
+     * Reset and return this thread's entry for a new reward event.
+     */
+    @Nonnull
+    public static LedgerEntry begin(@Nonnull JobType job) {
+        LedgerEntry entry = CURRENT.get();
+        entry.job = job;
+        entry.playerMost = 0;
+        entry.playerLeast = 0;
+        entry.source = null;
+        entry.tier = null;
+        entry.antiFarmMultiplier = 1.0f;
+        entry.vipMultiplier = 1.0f;
+        entry.bonusMultiplier = 1.0f;
+        entry.quantity = 1;
+        entry.value = 0;
+        return entry;
+    }
+
+    /**
+     * This thread's entry (as last reset by {@link #begin(JobType)}).
+     */
+    @Nonnull
+    public static LedgerEntry current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Detached copy of this entry, for recording the event after the thread
+     * has moved on (see {@link com.ecotalejobs.settlement.BalanceSettlement}).
+     */
+    @Nonnull
+    public LedgerEntry copy() {
+        LedgerEntry copy = new LedgerEntry();
+        copy.job = job;
+        copy.playerMost = playerMost;
+        copy.playerLeast = playerLeast;
+        copy.source = source;
+        copy.tier = tier;
+        copy.antiFarmMultiplier = antiFarmMultiplier;
+        copy.vipMultiplier = vipMultiplier;
+        copy.bonusMultiplier = bonusMultiplier;
+        copy.quantity = quantity;
+        copy.value = value;
+        return copy;
+    }
+
+    // =========================================================================
+    // Setters (called by the pipeline layers)
+    // =========================================================================
+
+    public void setPlayer(@Nullable UUID player) {
+        if (player != null) {
+            this.playerMost = player.getMostSignificantBits();
+            this.playerLeast = player.getLeastSignificantBits();
+        }
+    }
+
+    public void setSource(@Nullable String source) { this.source = source; }
+    public void setTier(@Nullable String tier) { this.tier = tier; }
+    public void setAntiFarmMultiplier(float multiplier) { this.antiFarmMultiplier = multiplier; }
+    public void setVipMultiplier(float multiplier) { this.vipMultiplier = multiplier; }
+
+    /** Job-specific multiplier (tool quality x depth for mining) */
+    public void setBonusMultiplier(float multiplier) { this.bonusMultiplier = multiplier; }
+
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public void setValue(long value) { this.value = value; }
+}
@@ -0,0 +1,130 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequential reader for {@link RewardLedger} segments.
+ *
+ * <p>Segments are mapped read-only and scanned in creation order; slots
+ * without the commit marker are skipped. Safe to run while the ledger is
+ * being written - the live segment's unwritten tail simply has no markers.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class LedgerReader {
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final RewardOutcome[] OUTCOMES = RewardOutcome.values();
+
+    private final Path directory;
+    private final Map<Integer, String> names = new HashMap<>();
+
+    public LedgerReader(@Nonnull Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Callback per committed record. Fields are decoded; string ids are
+     * resolved through the dictionary (null if unknown).
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long timestamp, long playerMost, long playerLeast, @Nonnull JobType job,
+                    @Nonnull RewardOutcome outcome, @Nullable String source, @Nullable String tier,
+                    float antiFarmMultiplier, float vipMultiplier, float bonusMultiplier,
+                    int quantity, long value);
+    }
+
+    /**
+     * Stream every committed record with {@code timestamp >= sinceMillis}.
+     *
+     * @return Number of records delivered
+     */
+    public long read(long sinceMillis, @Nonnull RecordConsumer consumer) throws IOException {
+        loadDictionary();
+
+        List<Path> segments = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "rewards-*.ledger")) {
+                for (Path path : stream) {
+                    segments.add(path);
+                }
+            }
+        }
+        segments.sort(null);
+
+        long delivered = 0;
+        for (Path segment : segments) {
+            delivered += readSegment(segment, sinceMillis, consumer);
+        }
+        return delivered;
+    }
+
+    private long readSegment(Path segment, long sinceMillis, RecordConsumer consumer) throws IOException {
+        long delivered = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % RewardLedger.RECORD_SIZE;
+            if (size == 0) {
+                return 0;
+            }
+            MappedByteBuffer b = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            b.order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int base = 0; base < size; base += RewardLedger.RECORD_SIZE) {
+                if (b.getInt(base + 60) != RewardLedger.MARKER) {
+                    continue;
+                }
+                long timestamp = b.getLong(base);
+                if (timestamp < sinceMillis) {
+                    continue;
+                }
+                int job = b.get(base + 56);
+                int outcome = b.get(base + 57);
+                if (job < 0 || job >= JOBS.length || outcome < 0 || outcome >= OUTCOMES.length) {
+                    continue; // Written by a newer version
+                }
+                consumer.accept(timestamp, b.getLong(base + 8), b.getLong(base + 16),
+                    JOBS[job], OUTCOMES[outcome],
+                    names.get(b.getInt(base + 24)), names.get(b.getInt(base + 28)),
+                    b.getFloat(base + 32), b.getFloat(base + 36), b.getFloat(base + 40),
+                    b.getInt(base + 44), b.getLong(base + 48));
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private void loadDictionary() throws IOException {
+        names.clear();
+        Path file = directory.resolve("dictionary.tsv");
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+            try {
+                names.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of payouts in flight.
+ *
+ * <p>The economy cap is charged before the payout call, so a crash or an
+ * exception in between would lose the reward. Each payout is therefore
+ * bracketed:
+ * <pre>
+ *   long id = journal.begin(...);          // PENDING
+ *   journal.sync(journal.dispatch(id));    // DISPATCHED, on disk (deposits only)
+ *   EcotaleAPI.deposit(...);               // or dropCoins
+ *   journal.commit(id);                    // COMMIT  (abort(id) on exception)
+ * </pre>
+ * Entries left PENDING after a crash are returned by {@link #recover()} on
+ * the next start. One without a DISPATCHED record never reached Ecotale
+ * and can be replayed safely; one with it may or may not have been paid
+ * and is left for manual reconciliation.
+ *
+ * <p>Group commit: {@code begin/commit/abort} only copy a 48-byte record
+ * into an in-memory staging buffer. A background task swaps the buffer,
+ * writes it sequentially and fsyncs once per {@code CommitIntervalMs}, so
+ * no reward waits on the disk. The trade-off is that the last commit
+ * interval can be lost in a crash. The exception is DISPATCHED, which
+ * {@link #sync(long)} forces to disk before the deposit; settlement lanes
+ * sync a whole batch of deposits at once. A deposit settled without a lane
+ * does not sync at all: {@link #whenDurable(long, Runnable)} holds it until
+ * the next group commit has landed its DISPATCHED record.
+ *
+ * <p>Record layout (little-endian, CRC32C over bytes 0-43):
+ * <pre>
+ *  0 long id, 8 long timestamp, 16/24 long player UUID, 32 long value,
+ * 40 byte type, 41 byte job, 42 byte mode, 43 pad, 44 int crc
+ * </pre>
+ * The file rotates past {@code MaxFileMb}; one previous generation is
+ * kept so a payout that straddles a rotation is still resolved.
+ *
+ * <p>A failed write or fsync loses nothing: the batch goes back in front
+ * of the staging buffer, the file is cut back to the end of the last
+ * forced batch (so a short write leaves no half record), and
+ * {@link #sync(long)} keeps failing until the records are really on disk.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PayoutJournal {
+
+    static final int RECORD_SIZE = 48;
+
+    private static final byte TYPE_PENDING = 1;
+    private static final byte TYPE_COMMIT = 2;
+    private static final byte TYPE_ABORT = 3;
+    private static final byte TYPE_DISPATCHED = 4;
+
+    /** Payout delivered as a balance deposit */
+    public static final byte MODE_BALANCE = 0;
+    /** Payout delivered as physical coin drops */
+    public static final byte MODE_COINS = 1;
+
+    private static final JobType[] JOBS = JobType.values();
+
+    private final Path file;
+    private final Path previous;
+    private final long maxFileBytes;
+
+    private final Object stageLock = new Object();
+    private ByteBuffer stage = newBuffer(64 * 1024);    // guarded by stageLock
+    private long staged;                                // records ever staged, guarded by stageLock
+    private ByteBuffer spare = newBuffer(64 * 1024);    // guarded by flushLock
+    private final Object flushLock = new Object();
+    private FileChannel channel;                        // guarded by flushLock
+    private long durableBytes;                          // file size up to the last forced batch, guarded by flushLock
+    private volatile long durable;                      // records on disk (staging sequence)
+    private final List<Waiter> waiters = new ArrayList<>(); // guarded by stageLock
+    private final ChannelFactory channels;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile boolean open = false;
+    private ScheduledFuture<?> commitTask;
+
+    private final AtomicLong begun = new AtomicLong(0);
+    private final AtomicLong committed = new AtomicLong(0);
+    private final AtomicLong aborted = new AtomicLong(0);
+    private final AtomicLong syncs = new AtomicLong(0);
+    private final AtomicLong flushes = new AtomicLong(0);
+    private final AtomicLong flushedRecords = new AtomicLong(0);
+
+    /**
+     * @param file Journal file ({@code <file>.1} holds the previous generation)
+     * @param maxFileMb Rotation threshold
+     */
+    public PayoutJournal(@Nonnull Path file, int maxFileMb) {
+        this(file, maxFileMb, PayoutJournal::openChannel);
+    }
+
+    /**
+     * @param channels Opens the journal file for writing (tests inject failing channels)
+     */
+    PayoutJournal(Path file, int maxFileMb, ChannelFactory channels) {
+        this.file = file;
+        this.previous = file.resolveSibling(file.getFileName() + ".1");
+        this.maxFileBytes = (long) Math.max(1, maxFileMb) * 1024 * 1024;
+        this.channels = channels;
+    }
+
+    /**
+     * Opens a fresh, truncated journal file.
+     */
+    @FunctionalInterface
+    interface ChannelFactory {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // =========================================================================
+    // Recovery & Lifecycle
+    // =========================================================================
+
+    /**
+     * Read both generations and return payouts that were never committed or
+     * aborted. Call once before {@link #open()}; torn or corrupt records
+     * (crash mid-write) are skipped.
+     */
+    @Nonnull
+    public List<PendingPayout> recover() throws IOException {
+        Map<Long, PendingPayout> pending = new LinkedHashMap<>();
+        int corrupt = readInto(previous, pending) + readInto(file, pending);
+        if (corrupt > 0) {
+            JobsLogger.warn("[PayoutJournal] Skipped %d torn/corrupt records", corrupt);
+        }
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Start a fresh journal. Anything still on disk must have been handled
+     * through {@link #recover()} first (see {@link #carryOver}).
+     */
+    public void open() throws IOException {
+        synchronized (flushLock) {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            Files.deleteIfExists(previous);
+            channel = channels.open(file);
+            channel.force(true);
+            durableBytes = 0;
+        }
+        open = true;
+    }
+
+    /**
+     * Re-enter recovered payouts that are still to be replayed into the
+     * fresh journal and force them to disk, so a crash before the replay
+     * finds them again on the next start. Call right after {@link #open()}.
+     *
+     * @return The same payouts under their new journal ids
+     */
+    @Nonnull
+    public List<PendingPayout> carryOver(@Nonnull List<PendingPayout> payouts) throws IOException {
+        List<PendingPayout> carried = new ArrayList<>(payouts.size());
+        for (PendingPayout payout : payouts) {
+            long id = nextId.getAndIncrement();
+            UUID player = payout.getPlayer();
+            stage(id, TYPE_PENDING, payout.getJob(), player.getMostSignificantBits(),
+                player.getLeastSignificantBits(), payout.getValue(), payout.mode, payout.getTimestamp());
+            carried.add(new PendingPayout(id, payout.getTimestamp(), player, payout.getValue(),
+                payout.getJob(), payout.mode));
+        }
+        flush();
+        return carried;
+    }
+
+    /**
+     * Start the periodic group commit.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService executor, long commitIntervalMs) {
+        if (commitTask != null) {
+            commitTask.cancel(false);
+        }
+        long interval = Math.max(5, commitIntervalMs);
+        commitTask = executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                JobsLogger.error("[PayoutJournal] Group commit failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Flush the last batch and close. Called after all payouts have stopped.
+     */
+    public void close() {
+        synchronized (this) {
+            if (commitTask != null) {
+                commitTask.cancel(false);
+                commitTask = null;
+            }
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            JobsLogger.error("[PayoutJournal] Final commit failed", e);
+        }
+        open = false;
+        synchronized (stageLock) {
+            if (!waiters.isEmpty()) {
+                JobsLogger.warn("[PayoutJournal] %d deposits never reached the disk - left pending for recovery",
+                    waiters.size());
+                waiters.clear();
+            }
+        }
+        synchronized (flushLock) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                JobsLogger.debug("[PayoutJournal] Close: %s", e.getMessage());
+            }
+            channel = null;
+        }
+        JobsLogger.info("[PayoutJournal] Closed - %d payouts (%d committed, %d aborted), %d group commits",
+            begun.get(), committed.get(), aborted.get(), flushes.get());
+    }
+
+    // =========================================================================
+    // Payout bracketing (world threads)
+    // =========================================================================
+
+    /**
+     * Record a payout about to happen.
+     *
+     * @return Journal id for {@link #commit(long)}/{@link #abort(long)} (0 if closed)
+     */
+    public long begin(@Nonnull JobType job, @Nonnull UUID player, long value, byte mode) {
+        if (!open) {
+            return 0;
+        }
+        long id = nextId.getAndIncrement();
+        stage(id, TYPE_PENDING, job, player.getMostSignificantBits(), player.getLeastSignificantBits(), value, mode,
+            System.currentTimeMillis());
+        begun.incrementAndGet();
+        return id;
+    }
+
+    /**
+     * The deposit is about to be called. The record must be on disk first:
+     * pass the returned sequence to {@link #sync(long)} before calling
+     * Ecotale.
+     *
+     * @return Staging sequence of the record (0 if {@code id} is 0)
+     */
+    public long dispatch(long id) {
+        if (id == 0) return 0;
+        return stage(id, TYPE_DISPATCHED, null, 0, 0, 0, (byte) 0, System.currentTimeMillis());
+    }
+
+    /**
+     * Block until every record up to {@code sequence} is on disk, committing
+     * now if the background group commit has not got there yet. Callers
+     * waiting together share one fsync.
+     */
+    public void sync(long sequence) throws IOException {
+        if (sequence <= durable) {
+            return;
+        }
+        List<Runnable> ready;
+        synchronized (flushLock) {
+            if (sequence <= durable || channel == null) {
+                return;
+            }
+            syncs.incrementAndGet();
+            ready = flushBatch();
+        }
+        runAll(ready);
+    }
+
+    /**
+     * Run {@code action} once every record up to {@code sequence} is on
+     * disk, without forcing it there: right away if it already is,
+     * otherwise on the thread whose group commit lands it. Nothing runs if
+     * the journal closes before that.
+     */
+    public void whenDurable(long sequence, @Nonnull Runnable action) {
+        synchronized (stageLock) {
+            if (sequence > durable && open) {
+                waiters.add(new Waiter(sequence, action));
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /** The payout went through */
+    public void commit(long id) {
+        if (id == 0) return;
+        stage(id, TYPE_COMMIT, null, 0, 0, 0, (byte) 0, System.currentTimeMillis());
+        committed.incrementAndGet();
+    }
+
+    /** The payout failed and its cap charge was released (or it was resolved by hand) */
+    public void abort(long id) {
+        if (id == 0) return;
+        stage(id, TYPE_ABORT, null, 0, 0, 0, (byte) 0, System.currentTimeMillis());
+        aborted.incrementAndGet();
+    }
+
+    /**
+     * @return Staging sequence of the record
+     */
+    private long stage(long id, byte type, JobType job, long most, long least, long value, byte mode, long timestamp) {
+        synchronized (stageLock) {
+            if (stage.remaining() < RECORD_SIZE) {
+                ByteBuffer grown = newBuffer(stage.capacity() * 2);
+                stage.flip();
+                grown.put(stage);
+                stage = grown;
+            }
+            ByteBuffer b = stage;
+            b.putLong(id).putLong(timestamp).putLong(most).putLong(least).putLong(value);
+            b.put(type).put(job != null ? (byte) job.ordinal() : 0).put(mode).put((byte) 0);
+            b.putInt(0); // CRC filled in by the committer
+            return ++staged;
+        }
+    }
+
+    // =========================================================================
+    // Group commit (background)
+    // =========================================================================
+
+    /**
+     * Write everything staged so far and fsync once. On failure the batch
+     * is staged again and the file cut back to its last forced size.
+     */
+    public void flush() throws IOException {
+        List<Runnable> ready;
+        synchronized (flushLock) {
+            ready = flushBatch();
+        }
+        runAll(ready);
+    }
+
+    /**
+     * {@link #flush()}; the caller holds flushLock.
+     *
+     * @return Actions whose records are now on disk, to run after the lock
+     */
+    private List<Runnable> flushBatch() throws IOException {
+        if (channel == null) {
+            return List.of();
+        }
+        ByteBuffer batch;
+        long upTo;
+        synchronized (stageLock) {
+            if (stage.position() == 0) {
+                return takeReady(durable);
+            }
+            batch = stage;
+            upTo = staged;
+            stage = spare.capacity() >= batch.capacity() ? spare : newBuffer(batch.capacity());
+        }
+        batch.flip();
+        try {
+            write(batch);
+        } catch (IOException e) {
+            restage(batch);
+            throw e;
+        }
+        durable = upTo;
+        batch.clear();
+        spare = batch;
+
+        if (durableBytes > maxFileBytes) {
+            rotate();
+        }
+        synchronized (stageLock) {
+            return takeReady(upTo);
+        }
+    }
+
+    /**
+     * Remove the waiters up to {@code sequence}. Caller holds stageLock.
+     */
+    private List<Runnable> takeReady(long sequence) {
+        if (waiters.isEmpty()) {
+            return List.of();
+        }
+        List<Runnable> ready = new ArrayList<>();
+        waiters.removeIf(waiter -> {
+            if (waiter.sequence > sequence) {
+                return false;
+            }
+            ready.add(waiter.action);
+            return true;
+        });
+        return ready;
+    }
+
+    private static void runAll(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                JobsLogger.error("[PayoutJournal] Action after commit failed", t);
+            }
+        }
+    }
+
+    /**
+     * Write and force one batch after the last forced one.
+     */
+    private void write(ByteBuffer batch) throws IOException {
+        // A failed earlier flush may have left part of a batch behind
+        if (channel.position() != durableBytes) {
+            channel.truncate(durableBytes);
+            channel.position(durableBytes);
+        }
+
+        CRC32C crc = new CRC32C();
+        int records = batch.limit() / RECORD_SIZE;
+        for (int i = 0; i < records; i++) {
+            int base = i * RECORD_SIZE;
+            crc.reset();
+            crc.update(batch.duplicate().position(base).limit(base + RECORD_SIZE - 4));
+            batch.putInt(base + RECORD_SIZE - 4, (int) crc.getValue());
+        }
+
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+        durableBytes += batch.limit();
+
+        flushes.incrementAndGet();
+        flushedRecords.addAndGet(records);
+    }
+
+    /**
+     * Put a batch that failed to reach the disk back in front of whatever
+     * was staged since, so the next flush writes it first.
+     */
+    private void restage(ByteBuffer batch) {
+        batch.rewind();
+        synchronized (stageLock) {
+            ByteBuffer merged = newBuffer(Math.max(stage.capacity(), batch.limit() + stage.position()));
+            merged.put(batch);
+            stage.flip();
+            merged.put(stage);
+            stage = merged;
+        }
+        batch.clear();
+        spare = batch;
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        Files.move(file, previous, StandardCopyOption.REPLACE_EXISTING);
+        channel = channels.open(file);
+        durableBytes = 0;
+        JobsLogger.debug("[PayoutJournal] Rotated %s", file.getFileName());
+    }
+
+    // =========================================================================
+    // Reading
+    // =========================================================================
+
+    private static int readInto(Path path, Map<Long, PendingPayout> pending) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        int corrupt = 0;
+        for (int base = 0; base + RECORD_SIZE <= data.limit(); base += RECORD_SIZE) {
+            crc.reset();
+            crc.update(data.duplicate().position(base).limit(base + RECORD_SIZE - 4));
+            if ((int) crc.getValue() != data.getInt(base + RECORD_SIZE - 4)) {
+                corrupt++;
+                continue;
+            }
+            long id = data.getLong(base);
+            byte type = data.get(base + 40);
+            if (type == TYPE_DISPATCHED) {
+                PendingPayout payout = pending.get(id);
+                if (payout != null) {
+                    payout.dispatched = true;
+                }
+            } else if (type == TYPE_PENDING) {
+                int job = data.get(base + 41);
+                pending.put(id, new PendingPayout(id, data.getLong(base + 8),
+                    new UUID(data.getLong(base + 16), data.getLong(base + 24)),
+                    data.getLong(base + 32), job >= 0 && job < JOBS.length ? JOBS[job] : null,
+                    data.get(base + 42)));
+            } else {
+                pending.remove(id);
+            }
+        }
+        return corrupt;
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    public long getBegunCount() { return begun.get(); }
+    public long getCommittedCount() { return committed.get(); }
+    public long getAbortedCount() { return aborted.get(); }
+    /** Forced commits made for deposits about to be dispatched */
+    public long getSyncCount() { return syncs.get(); }
+    public long getFlushCount() { return flushes.get(); }
+
+    /** Average records per fsync (the group commit factor) */
+    public double getAverageBatchSize() {
+        long n = flushes.get();
+        return n == 0 ? 0.0 : (double) flushedRecords.get() / n;
+    }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    /**
+     * A payout that was started but never committed or aborted.
+     */
+    public static final class PendingPayout {
+        private final long id;
+        private final long timestamp;
+        private final UUID player;
+        private final long value;
+        private final JobType job;
+        private final byte mode;
+        private boolean dispatched;
+
+        PendingPayout(long id, long timestamp, UUID player, long value, JobType job, byte mode) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.player = player;
+            this.value = value;
+            this.job = job;
+            this.mode = mode;
+        }
+
+        public long getId() { return id; }
+        public long getTimestamp() { return timestamp; }
+        public UUID getPlayer() { return player; }
+        public long getValue() { return value; }
+        public JobType getJob() { return job; }
+        public boolean isBalanceDeposit() { return mode == MODE_BALANCE; }
+        /** Ecotale may have been called: paid or not, the journal cannot tell */
+        public boolean isDispatched() { return dispatched; }
+    }
+
+    /**
+     * An action held until its record is on disk.
+     */
+    private static final class Waiter {
+        final long sequence;
+        final Runnable action;
+
+        Waiter(long sequence, Runnable action) {
+            this.sequence = sequence;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only, memory-mapped audit log of every reward decision.
+ *
+ * <p>Each granted or rejected reward becomes one fixed-size
+ * {@value #RECORD_SIZE}-byte little-endian record:
+ * <pre>
+ *  0  long   timestamp (epoch millis)
+ *  8  long   player UUID (most significant bits)
+ * 16  long   player UUID (least significant bits)
+ * 24  int    source id   (mob/block/recipe, see dictionary.tsv)
+ * 28  int    tier id     (see dictionary.tsv)
+ * 32  float  anti-farm multiplier
+ * 36  float  VIP multiplier
+ * 40  float  job bonus multiplier (tool x depth for mining)
+ * 44  int    quantity
+ * 48  long   reward value (base units; paid only if outcome is REWARDED)
+ * 56  byte   job ({@link com.ecotalejobs.systems.JobType} ordinal)
+ * 57  byte   outcome ({@link RewardOutcome} ordinal)
+ * 58  short  format version
+ * 60  int    commit marker {@value #MARKER} - written last
+ * </pre>
+ *
+ * <p>Writers never lock: a slot is reserved with one atomic increment on the
+ * current segment's cursor and filled with absolute puts into the mapping.
+ * The commit marker is stored with release semantics, so a reader that sees
+ * the marker sees the whole record; slots without it (crash mid-write, or the
+ * unused tail of a segment) are skipped.
+ *
+ * <p>When a segment is full the writer that overflows it swaps in the next
+ * one (pre-created by the sync task, so this is normally just a reference
+ * swap). The sync task forces dirty pages to disk every
+ * {@code SyncIntervalMs}, flushes the string dictionary and prunes old
+ * segments beyond {@code MaxSegments}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class RewardLedger {
+
+    public static final int RECORD_SIZE = 64;
+    public static final int MARKER = 0x4A4F4253; // "JOBS"
+    public static final short FORMAT_VERSION = 1;
+
+    private static final int OFF_TIME = 0;
+    private static final int OFF_PLAYER_MOST = 8;
+    private static final int OFF_PLAYER_LEAST = 16;
+    private static final int OFF_SOURCE = 24;
+    private static final int OFF_TIER = 28;
+    private static final int OFF_ANTI_FARM = 32;
+    private static final int OFF_VIP = 36;
+    private static final int OFF_BONUS = 40;
+    private static final int OFF_QUANTITY = 44;
+    private static final int OFF_VALUE = 48;
+    private static final int OFF_JOB = 56;
+    private static final int OFF_OUTCOME = 57;
+    private static final int OFF_VERSION = 58;
+    private static final int OFF_MARKER = 60;
+
+    private static final String SEGMENT_PREFIX = "rewards-";
+    private static final String SEGMENT_SUFFIX = ".ledger";
+
+    private static final VarHandle INT_VIEW =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path directory;
+    private final long segmentRecords;
+    private final int maxSegments;
+    private final LedgerDictionary dictionary;
+
+    private volatile Segment current;
+    private volatile boolean open = false;
+    private Segment next;                                // guarded by this
+    private final List<Segment> retired = new ArrayList<>(); // guarded by this
+    private long segmentSeq = 0;                         // guarded by this
+    private ScheduledFuture<?> syncTask;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong syncs = new AtomicLong(0);
+
+    /**
+     * @param directory Segment directory (created if missing)
+     * @param segmentSizeMb Segment size, clamped to 1..1024 MiB
+     * @param maxSegments Segments kept on disk (0 = keep all)
+     */
+    public RewardLedger(@Nonnull Path directory, int segmentSizeMb, int maxSegments) {
+        this.directory = directory;
+        this.segmentRecords = (long) Math.max(1, Math.min(1024, segmentSizeMb)) * 1024 * 1024 / RECORD_SIZE;
+        this.maxSegments = Math.max(0, maxSegments);
+        this.dictionary = new LedgerDictionary(directory.resolve("dictionary.tsv"));
+    }
+
+    // =========================================================================
+    // Lifecycle
+    // =========================================================================
+
+    /**
+     * Load the dictionary and map a fresh segment. Every server start begins
+     * a new segment, so a crashed segment is never appended to.
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        dictionary.load();
+        for (Path segment : listSegments()) {
+            segmentSeq = Math.max(segmentSeq, parseSequence(segment));
+        }
+        current = createSegment();
+        open = true;
+        JobsLogger.info("[RewardLedger] Writing %s (%d records/segment, %d names)",
+            current.path, segmentRecords, dictionary.size());
+    }
+
+    /**
+     * Start the background sync task.
+     */
+    public synchronized void startSync(@Nonnull ScheduledExecutorService executor, long intervalMs) {
+        if (syncTask != null) {
+            syncTask.cancel(false);
+        }
+        long interval = Math.max(100, intervalMs);
+        syncTask = executor.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (Exception e) {
+                JobsLogger.error("[RewardLedger] Sync failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop accepting records, force everything to disk and release files.
+     */
+    public void close() {
+        open = false;
+        synchronized (this) {
+            if (syncTask != null) {
+                syncTask.cancel(false);
+                syncTask = null;
+            }
+        }
+        try {
+            sync();
+        } catch (Exception e) {
+            JobsLogger.error("[RewardLedger] Final sync failed", e);
+        }
+        synchronized (this) {
+            for (Segment segment : retired) {
+                segment.close();
+            }
+            retired.clear();
+            if (current != null) {
+                current.force();
+                current.close();
+            }
+            if (next != null) {
+                next.close();
+                try {
+                    Files.deleteIfExists(next.path); // Never written
+                } catch (IOException ignored) {
+                }
+                next = null;
+            }
+        }
+        JobsLogger.info("[RewardLedger] Closed - %d records written, %d dropped",
+            appended.sum(), dropped.sum());
+    }
+
+    // =========================================================================
+    // Append (world threads)
+    // =========================================================================
+
+    /**
+     * Append one record. Lock-free; safe from any thread.
+     */
+    public void append(@Nonnull LedgerEntry entry, @Nonnull RewardOutcome outcome) {
+        if (!open) {
+            dropped.increment();
+            return;
+        }
+        int sourceId = dictionary.idOf(entry.source);
+        int tierId = dictionary.idOf(entry.tier);
+        long now = System.currentTimeMillis();
+
+        while (true) {
+            Segment segment = current;
+            long slot = segment.cursor.getAndIncrement();
+            if (slot < segment.capacity) {
+                segment.write(slot, now, entry, sourceId, tierId, outcome);
+                appended.increment();
+                return;
+            }
+            if (!roll(segment)) {
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replace a full segment. Only the writer that overflows it gets here.
+     */
+    private synchronized boolean roll(Segment full) {
+        if (current != full) {
+            return true; // Someone else already rolled
+        }
+        if (!open) {
+            return false;
+        }
+        try {
+            Segment replacement = next != null ? next : createSegment();
+            next = null;
+            retired.add(full);
+            current = replacement;
+            return true;
+        } catch (IOException e) {
+            JobsLogger.error("[RewardLedger] Cannot create segment - ledger disabled", e);
+            open = false;
+            return false;
+        }
+    }
+
+    // =========================================================================
+    // Background sync
+    // =========================================================================
+
+    /**
+     * Flush the dictionary, force dirty pages, retire full segments,
+     * pre-create the next segment and enforce retention.
+     */
+    public void sync() throws IOException {
+        dictionary.flush();
+
+        Segment segment = current;
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+
+        boolean prepare;
+        synchronized (this) {
+            // Retired segments get one extra pass so late writers that
+            // reserved a slot just before the roll are also forced
+            Iterator<Segment> it = retired.iterator();
+            while (it.hasNext()) {
+                Segment old = it.next();
+                old.force();
+                if (++old.syncPasses >= 2) {
+                    old.close();
+                    it.remove();
+                }
+            }
+            prepare = open && next == null && segment.cursor.get() > segment.capacity / 2;
+        }
+
+        if (prepare) {
+            Segment prepared = createSegment();
+            synchronized (this) {
+                if (next == null) {
+                    next = prepared;
+                } else {
+                    prepared.close();
+                    Files.deleteIfExists(prepared.path);
+                }
+            }
+        }
+
+        if (maxSegments > 0) {
+            pruneSegments();
+        }
+        syncs.incrementAndGet();
+    }
+
+    private void pruneSegments() throws IOException {
+        List<Path> segments = listSegments();
+        int excess = segments.size() - maxSegments;
+        if (excess <= 0) {
+            return;
+        }
+        List<Path> inUse = new ArrayList<>();
+        synchronized (this) {
+            if (current != null) inUse.add(current.path);
+            if (next != null) inUse.add(next.path);
+            for (Segment segment : retired) inUse.add(segment.path);
+        }
+        // Names are zero-padded, so lexical order is creation order
+        segments.sort(null);
+        for (Path path : segments) {
+            if (excess <= 0) break;
+            if (inUse.contains(path)) continue;
+            try {
+                Files.deleteIfExists(path);
+                excess--;
+                JobsLogger.debug("[RewardLedger] Pruned %s", path.getFileName());
+            } catch (IOException e) {
+                JobsLogger.debug("[RewardLedger] Cannot prune %s yet: %s", path.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    // =========================================================================
+    // Segments
+    // =========================================================================
+
+    private synchronized Segment createSegment() throws IOException {
+        segmentSeq++;
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentSeq, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentRecords * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(path, channel, buffer, segmentRecords);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        return segments;
+    }
+
+    private static long parseSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    public boolean isOpen() { return open; }
+    public Path getDirectory() { return directory; }
+    public long getAppendedCount() { return appended.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+    public long getSyncCount() { return syncs.get(); }
+    public int getDictionarySize() { return dictionary.size(); }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final long capacity;
+        final AtomicLong cursor = new AtomicLong(0);
+        int syncPasses = 0; // guarded by the ledger
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer, long capacity) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        void write(long slot, long now, LedgerEntry entry, int sourceId, int tierId, RewardOutcome outcome) {
+            // Absolute puts only - the buffer's position is never touched,
+            // so concurrent writers to distinct slots do not interfere
+            int base = (int) (slot * RECORD_SIZE);
+            MappedByteBuffer b = buffer;
+            b.putLong(base + OFF_TIME, now);
+            b.putLong(base + OFF_PLAYER_MOST, entry.playerMost);
+            b.putLong(base + OFF_PLAYER_LEAST, entry.playerLeast);
+            b.putInt(base + OFF_SOURCE, sourceId);
+            b.putInt(base + OFF_TIER, tierId);
+            b.putFloat(base + OFF_ANTI_FARM, entry.antiFarmMultiplier);
+            b.putFloat(base + OFF_VIP, entry.vipMultiplier);
+            b.putFloat(base + OFF_BONUS, entry.bonusMultiplier);
+            b.putInt(base + OFF_QUANTITY, entry.quantity);
+            b.putLong(base + OFF_VALUE, entry.value);
+            b.put(base + OFF_JOB, (byte) entry.job.ordinal());
+            b.put(base + OFF_OUTCOME, (byte) outcome.ordinal());
+            b.putShort(base + OFF_VERSION, FORMAT_VERSION);
+            INT_VIEW.setRelease(b, base + OFF_MARKER, MARKER);
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close(); // The mapping stays valid until collected
+            } catch (IOException e) {
+                JobsLogger.debug("[RewardLedger] Closing %s: %s", path.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecotalejobs.metrics;
+
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics registry shared by all reward systems.
+ *
+ * <p>Per job it keeps:
+ * <ul>
+ *   <li>One {@link LongAdder} per {@link RewardOutcome} - which layer rejects what</li>
+ *   <li>Total value injected</li>
+ *   <li>A {@link LatencyHistogram} of event handler time (nanoseconds)</li>
+ * </ul>
+ *
+ * <p>All recording is lock-free and allocation-free: counters are
+ * pre-created in dense arrays indexed by enum ordinals.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class JobsMetrics {
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final RewardOutcome[] OUTCOMES = RewardOutcome.values();
+
+    // Must follow JOBS/OUTCOMES - static initializers run in declaration order
+    private static final JobsMetrics INSTANCE = new JobsMetrics();
+
+    private final LongAdder[][] outcomes = new LongAdder[JOBS.length][OUTCOMES.length];
+    private final LongAdder[] valueInjected = new LongAdder[JOBS.length];
+    private final LatencyHistogram[] handlerLatency = new LatencyHistogram[JOBS.length];
+
+    private JobsMetrics() {
+        for (int j = 0; j < JOBS.length; j++) {
+            for (int o = 0; o < OUTCOMES.length; o++) {
+                outcomes[j][o] = new LongAdder();
+            }
+            valueInjected[j] = new LongAdder();
+            handlerLatency[j] = new LatencyHistogram();
+        }
+    }
+
+    public static JobsMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // =========================================================================
+    // Recording
+    // =========================================================================
+
+    /** Count one event outcome */
+    public void record(@Nonnull JobType job, @Nonnull RewardOutcome outcome) {
+        outcomes[job.ordinal()][outcome.ordinal()].increment();
+    }
+
+    /** Add paid value (base currency units) */
+    public void recordValue(@Nonnull JobType job, long value) {
+        valueInjected[job.ordinal()].add(value);
+    }
+
+    /** Record handler latency in nanoseconds */
+    public void recordLatency(@Nonnull JobType job, long nanos) {
+        handlerLatency[job.ordinal()].record(nanos);
+    }
+
+    // =========================================================================
+    // Reading
+    // =========================================================================
+
+    public long getCount(@Nonnull JobType job, @Nonnull RewardOutcome outcome) {
+        return outcomes[job.ordinal()][outcome.ordinal()].sum();
+    }
+
+    /**
+     * Rewards decided for a job: every outcome except {@code BATCHED}, so a
+     * settled batch counts once and the events merged into it do not.
+     */
+    public long getTotalDecisions(@Nonnull JobType job) {
+        long total = 0;
+        for (RewardOutcome outcome : OUTCOMES) {
+            if (outcome.isDecision()) {
+                total += outcomes[job.ordinal()][outcome.ordinal()].sum();
+            }
+        }
+        return total;
+    }
+
+    public long getValueInjected(@Nonnull JobType job) {
+        return valueInjected[job.ordinal()].sum();
+    }
+
+    @Nonnull
+    public LatencyHistogram getHandlerLatency(@Nonnull JobType job) {
+        return handlerLatency[job.ordinal()];
+    }
+
+    /**
+     * Clear every counter and histogram.
+     */
+    public void reset() {
+        for (int j = 0; j < JOBS.length; j++) {
+            for (LongAdder adder : outcomes[j]) {
+                adder.reset();
+            }
+            valueInjected[j].reset();
+            handlerLatency[j].reset();
+        }
+    }
+}
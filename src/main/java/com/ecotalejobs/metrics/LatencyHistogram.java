@@ -0,0 +1,161 @@
+package com.ecotalejobs.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ *
+ * <p>Each power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, giving ~12% relative precision from 1 ns up to ~18 minutes
+ * in a fixed 312-slot array. Recording is one {@code numberOfLeadingZeros},
+ * a shift and one atomic increment - cheap enough for every event handler.
+ *
+ * <p>Values are nanoseconds, but nothing here depends on the unit.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Largest exponent tracked - values beyond 2^40 land in the last bucket */
+    private static final int MAX_EXPONENT = 40;
+
+    /** Number of buckets */
+    public static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Record one value. Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    // =========================================================================
+    // Bucket Math
+    // =========================================================================
+
+    /**
+     * Bucket for a value: linear below {@link #SUB_BUCKETS}, then
+     * {@link #SUB_BUCKETS} slots per power of two.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Smallest value that lands in the bucket */
+    public static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /** Largest value that lands in the bucket (inclusive) */
+    public static long bucketUpperBound(int index) {
+        if (index >= BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    // =========================================================================
+    // Reading
+    // =========================================================================
+
+    public long getCount() { return count.sum(); }
+    public long getSum() { return sum.sum(); }
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Copy of the bucket counts (index-aligned with the bound methods).
+     * Not an atomic snapshot across buckets - fine for monitoring.
+     */
+    @Nonnull
+    public long[] snapshotCounts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Estimated value at a percentile (upper bound of the containing bucket,
+     * clamped to the recorded maximum).
+     *
+     * @param percentile 0-100
+     */
+    public long getPercentile(double percentile) {
+        return Math.min(percentileOf(snapshotCounts(), percentile), max.get());
+    }
+
+    /**
+     * Estimated value at a percentile of a bucket count array, e.g. the
+     * difference of two {@link #snapshotCounts()} for a time window.
+     *
+     * @param counts Bucket counts (length {@link #BUCKETS})
+     * @param percentile 0-100
+     * @return Upper bound of the containing bucket, or 0 if empty
+     */
+    public static long percentileOf(@Nonnull long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(counts.length - 1);
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecotalejobs.metrics;
+
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling-window view over the cumulative {@link JobsMetrics} counters.
+ *
+ * <p>A background task copies the counters into a ring of samples every
+ * {@link #INTERVAL_SECONDS}. Window rates and latency percentiles are the
+ * difference between the newest and the oldest sample, so the reward hot
+ * path does nothing beyond the counter increments it already performs.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class MetricsSampler {
+
+    /** Seconds between samples */
+    public static final int INTERVAL_SECONDS = 5;
+
+    /** Window length in samples (60 seconds + the baseline sample) */
+    private static final int SLOTS = 60 / INTERVAL_SECONDS + 1;
+
+    private static final JobType[] JOBS = JobType.values();
+
+    private final JobsMetrics metrics;
+    private final Sample[] ring = new Sample[SLOTS];
+    private int next = 0;       // guarded by this
+    private int filled = 0;     // guarded by this
+    private ScheduledFuture<?> task;
+
+    public MetricsSampler(@Nonnull JobsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start periodic sampling (takes a baseline sample immediately).
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService executor) {
+        stop();
+        sample();
+        task = executor.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (Exception e) {
+                JobsLogger.error("[MetricsSampler] Sampling failed", e);
+            }
+        }, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Copy the current counters into the ring.
+     */
+    public synchronized void sample() {
+        ring[next] = capture();
+        next = (next + 1) % SLOTS;
+        if (filled < SLOTS) filled++;
+    }
+
+    /**
+     * Read the current counters without storing them.
+     */
+    private Sample capture() {
+        Sample sample = new Sample(System.nanoTime(), JOBS.length);
+        for (JobType job : JOBS) {
+            int j = job.ordinal();
+            // Every handler call records latency, so the histogram count is the event count
+            sample.events[j] = metrics.getHandlerLatency(job).getCount();
+            sample.rewards[j] = metrics.getCount(job, RewardOutcome.REWARDED);
+            sample.value[j] = metrics.getValueInjected(job);
+            sample.latency[j] = metrics.getHandlerLatency(job).snapshotCounts();
+        }
+        return sample;
+    }
+
+    /**
+     * Rates and latency for a job over the current window (up to 60 s).
+     * Until the first interval has passed, the baseline is compared with a
+     * live read of the counters; the ring itself only ever holds samples
+     * taken on the interval.
+     */
+    @Nonnull
+    public synchronized WindowStats getWindow(@Nonnull JobType job) {
+        Sample newest;
+        Sample oldest;
+        if (filled < 2) {
+            newest = capture();
+            oldest = filled == 0 ? newest : ring[0];
+        } else {
+            oldest = ring[filled < SLOTS ? 0 : next];
+            newest = ring[(next - 1 + SLOTS) % SLOTS];
+        }
+
+        int j = job.ordinal();
+        double seconds = Math.max(1e-3, (newest.nanos - oldest.nanos) / 1_000_000_000.0);
+        long events = newest.events[j] - oldest.events[j];
+        long rewards = newest.rewards[j] - oldest.rewards[j];
+        long value = newest.value[j] - oldest.value[j];
+
+        long[] latencyDelta = new long[LatencyHistogram.BUCKETS];
+        for (int i = 0; i < latencyDelta.length; i++) {
+            latencyDelta[i] = newest.latency[j][i] - oldest.latency[j][i];
+        }
+
+        return new WindowStats(seconds, events, events / seconds, rewards / seconds, value * 60.0 / seconds,
+            LatencyHistogram.percentileOf(latencyDelta, 50), LatencyHistogram.percentileOf(latencyDelta, 99));
+    }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    private static final class Sample {
+        final long nanos;
+        final long[] events;
+        final long[] rewards;
+        final long[] value;
+        final long[][] latency;
+
+        Sample(long nanos, int jobs) {
+            this.nanos = nanos;
+            this.events = new long[jobs];
+            this.rewards = new long[jobs];
+            this.value = new long[jobs];
+            this.latency = new long[jobs][];
+        }
+    }
+
+    /**
+     * Rolling window result for one job.
+     */
+    public static final class WindowStats {
+        private final double seconds;
+        private final long events;
+        private final double eventsPerSecond;
+        private final double rewardsPerSecond;
+        private final double valuePerMinute;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        WindowStats(double seconds, long events, double eventsPerSecond, double rewardsPerSecond,
+                    double valuePerMinute, long p50Nanos, long p99Nanos) {
+            this.seconds = seconds;
+            this.events = events;
+            this.eventsPerSecond = eventsPerSecond;
+            this.rewardsPerSecond = rewardsPerSecond;
+            this.valuePerMinute = valuePerMinute;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public double getSeconds() { return seconds; }
+        public long getEvents() { return events; }
+        public double getEventsPerSecond() { return eventsPerSecond; }
+        public double getRewardsPerSecond() { return rewardsPerSecond; }
+        public double getValuePerMinute() { return valuePerMinute; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+    }
+}
@@ -0,0 +1,228 @@
+package com.ecotalejobs.metrics;
+
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.AtomicFiles;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Periodically writes all reward metrics to a file in Prometheus text
+ * exposition format, for node-exporter's textfile collector.
+ *
+ * <p>Runs on the background scheduler and only reads counters that the
+ * reward systems already maintain. The file is replaced atomically, so
+ * the collector never scrapes a half-written file.
+ *
+ * <p>Exported series:
+ * <ul>
+ *   <li>{@code ecotalejobs_events_total{job,outcome}} - pipeline outcomes</li>
+ *   <li>{@code ecotalejobs_value_injected_total{job}} - paid value</li>
+ *   <li>{@code ecotalejobs_handler_latency_seconds{job}} - handler latency histogram</li>
+ *   <li>Registered gauges/counters (trackers, caps, caches...)</li>
+ * </ul>
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PrometheusFileExporter {
+
+    private static final String PREFIX = "ecotalejobs_";
+
+    /** Exported histogram boundaries: powers of two from ~1 us to ~1 s */
+    private static final int MIN_EXPONENT = 10;
+    private static final int MAX_EXPONENT = 30;
+
+    private final JobsMetrics metrics;
+    private final Path target;
+    private final Map<String, Family> families = new LinkedHashMap<>();
+    private ScheduledFuture<?> task;
+
+    public PrometheusFileExporter(@Nonnull JobsMetrics metrics, @Nonnull Path target) {
+        this.metrics = metrics;
+        this.target = target;
+    }
+
+    // =========================================================================
+    // Registration
+    // =========================================================================
+
+    /**
+     * Register a gauge sample. Samples sharing a name form one metric family.
+     *
+     * @param name Metric name without prefix (e.g. "sessions_online")
+     * @param help HELP text (used by the first registration of the name)
+     * @param labels Label set without braces (e.g. {@code job="mob"}), or empty
+     */
+    public synchronized void addGauge(@Nonnull String name, @Nonnull String help,
+                                      @Nonnull String labels, @Nonnull LongSupplier value) {
+        register(name, help, "gauge", labels, value);
+    }
+
+    /**
+     * Register a monotonically increasing counter sample.
+     */
+    public synchronized void addCounter(@Nonnull String name, @Nonnull String help,
+                                        @Nonnull String labels, @Nonnull LongSupplier value) {
+        register(name, help, "counter", labels, value);
+    }
+
+    private void register(String name, String help, String type, String labels, LongSupplier value) {
+        families.computeIfAbsent(name, n -> new Family(help, type)).samples.add(new Sample(labels, value));
+    }
+
+    // =========================================================================
+    // Lifecycle
+    // =========================================================================
+
+    public synchronized void start(@Nonnull ScheduledExecutorService executor, int intervalSeconds) {
+        stop();
+        int interval = Math.max(1, intervalSeconds);
+        task = executor.scheduleAtFixedRate(this::exportSafely, interval, interval, TimeUnit.SECONDS);
+        JobsLogger.info("[PrometheusFileExporter] Writing metrics to %s every %ds", target, interval);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    private void exportSafely() {
+        try {
+            writeNow();
+        } catch (Exception e) {
+            JobsLogger.warn("[PrometheusFileExporter] Failed to write %s: %s", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Render and atomically replace the target file.
+     */
+    public void writeNow() throws IOException {
+        AtomicFiles.writeString(target, render());
+    }
+
+    // =========================================================================
+    // Rendering
+    // =========================================================================
+
+    /**
+     * Render all metrics in text exposition format (version 0.0.4).
+     */
+    @Nonnull
+    public String render() {
+        StringBuilder out = new StringBuilder(8192);
+        JobType[] jobs = JobType.values();
+
+        header(out, "events_total", "Reward events by job and pipeline outcome; batched events are counted again by their batch's outcome.", "counter");
+        for (JobType job : jobs) {
+            for (RewardOutcome outcome : RewardOutcome.values()) {
+                out.append(PREFIX).append("events_total{job=\"").append(job.getKey())
+                    .append("\",outcome=\"").append(outcome.getKey()).append("\"} ")
+                    .append(metrics.getCount(job, outcome)).append('\n');
+            }
+        }
+
+        header(out, "value_injected_total", "Currency value paid out, in base units.", "counter");
+        for (JobType job : jobs) {
+            out.append(PREFIX).append("value_injected_total{job=\"").append(job.getKey()).append("\"} ")
+                .append(metrics.getValueInjected(job)).append('\n');
+        }
+
+        header(out, "handler_latency_seconds", "Reward event handler latency.", "histogram");
+        for (JobType job : jobs) {
+            renderHistogram(out, job.getKey(), metrics.getHandlerLatency(job));
+        }
+
+        synchronized (this) {
+            for (Map.Entry<String, Family> entry : families.entrySet()) {
+                Family family = entry.getValue();
+                header(out, entry.getKey(), family.help, family.type);
+                for (Sample sample : family.samples) {
+                    out.append(PREFIX).append(entry.getKey());
+                    if (!sample.labels.isEmpty()) {
+                        out.append('{').append(sample.labels).append('}');
+                    }
+                    out.append(' ').append(sample.value.getAsLong()).append('\n');
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Collapse the log-linear buckets to one cumulative bucket per power of two.
+     */
+    private static void renderHistogram(StringBuilder out, String job, LatencyHistogram histogram) {
+        long[] counts = histogram.snapshotCounts();
+        long cumulative = 0;
+        int bucket = 0;
+
+        for (int exponent = MIN_EXPONENT; exponent <= MAX_EXPONENT; exponent++) {
+            long boundary = (1L << (exponent + 1)) - 1; // Inclusive upper bound in ns
+            while (bucket < counts.length && LatencyHistogram.bucketUpperBound(bucket) <= boundary) {
+                cumulative += counts[bucket++];
+            }
+            out.append(PREFIX).append("handler_latency_seconds_bucket{job=\"").append(job)
+                .append("\",le=\"").append(formatSeconds(boundary)).append("\"} ")
+                .append(cumulative).append('\n');
+        }
+        while (bucket < counts.length) {
+            cumulative += counts[bucket++];
+        }
+
+        out.append(PREFIX).append("handler_latency_seconds_bucket{job=\"").append(job)
+            .append("\",le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(PREFIX).append("handler_latency_seconds_sum{job=\"").append(job).append("\"} ")
+            .append(formatSeconds(histogram.getSum())).append('\n');
+        out.append(PREFIX).append("handler_latency_seconds_count{job=\"").append(job).append("\"} ")
+            .append(cumulative).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9g", nanos / 1_000_000_000.0);
+    }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    private static final class Family {
+        final String help;
+        final String type;
+        final List<Sample> samples = new ArrayList<>();
+
+        Family(String help, String type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private static final class Sample {
+        final String labels;
+        final LongSupplier value;
+
+        Sample(String labels, LongSupplier value) {
+            this.labels = labels;
+            this.value = value;
+        }
+    }
+}
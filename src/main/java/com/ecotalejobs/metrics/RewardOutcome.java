@@ -0,0 +1,66 @@
+package com.ecotalejobs.metrics;
+
+/**
+ * Where a reward event ended up in the security pipeline.
+ *
+ * <p>An event rewarded on its own records exactly one outcome. An event
+ * merged into a batch (craft burst, harvest batch, tree) records
+ * {@link #BATCHED}, and the batch records one more outcome when it
+ * settles. The counters other than {@code BATCHED} therefore add up to the
+ * number of rewards decided, and {@code BATCHED} counts the events merged.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public enum RewardOutcome {
+    /** Not a reward event (system disabled, not a player, wrong block/tool...) */
+    IGNORED("ignored"),
+    /**
+     * Merged into an open burst or batch - the batch records one outcome of
+     * its own when it settles. Not a decision: left out of reward totals.
+     */
+    BATCHED("batched"),
+    /** Matched an exclusion */
+    EXCLUDED("excluded"),
+    /** Resolved to tier NONE or no tier config */
+    NO_TIER("no_tier"),
+    /** Lost the tier's drop chance roll */
+    DROP_CHANCE("drop_chance"),
+    /** Player's token bucket was empty */
+    RATE_LIMITED("rate_limited"),
+    /** Anti-farm multiplier reduced the reward to zero */
+    ANTI_FARM("anti_farm"),
+    /** Hourly economy cap full */
+    ECONOMY_CAP("economy_cap"),
+    /** Deposit / coin drop threw */
+    PAYOUT_FAILED("payout_failed"),
+    /** Reward paid */
+    REWARDED("rewarded"),
+    /**
+     * Handed to the settlement executor - the deposit records REWARDED or
+     * PAYOUT_FAILED when it completes. Declared last: the ledger stores
+     * ordinals.
+     */
+    SETTLING("settling");
+
+    private final String key;
+
+    RewardOutcome(String key) {
+        this.key = key;
+    }
+
+    /** Short lowercase key for commands and metric labels */
+    public String getKey() {
+        return key;
+    }
+
+    /** True if the outcome ends a reward (anything but {@link #BATCHED}) */
+    public boolean isDecision() {
+        return this != BATCHED;
+    }
+
+    /** True if a security layer (not a filter) stopped the reward */
+    public boolean isBlocked() {
+        return this == RATE_LIMITED || this == ANTI_FARM || this == ECONOMY_CAP || this == PAYOUT_FAILED;
+    }
+}
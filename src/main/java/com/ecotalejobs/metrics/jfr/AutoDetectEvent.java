@@ -0,0 +1,47 @@
+package com.ecotalejobs.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning one auto-detection pass (NPC or recipe load).
+ *
+ * <p>Disabled by default; see {@link RewardEvent}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+@Name("ecotalejobs.AutoDetect")
+@Label("Auto-Detection")
+@Category({"EcotaleJobs"})
+@Description("Auto-detecting tiers for newly loaded NPCs or recipes")
+@Enabled(false)
+@StackTrace(false)
+public final class AutoDetectEvent extends jdk.jfr.Event {
+
+    @Label("Kind")
+    @Description("npc or recipe")
+    String kind;
+
+    @Label("Scanned")
+    int scanned;
+
+    @Label("Detected")
+    int detected;
+
+    public void finish(@Nonnull String kind, int scanned, int detected) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.scanned = scanned;
+            this.detected = detected;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecotalejobs.metrics.jfr;
+
+import com.ecotalejobs.systems.JobType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * JFR event spanning one tier lookup (mob tier matcher, block
+ * auto-classification or recipe index probe).
+ *
+ * <p>Disabled by default; see {@link RewardEvent}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+@Name("ecotalejobs.Classification")
+@Label("Tier Classification")
+@Category({"EcotaleJobs"})
+@Description("Resolving a mob, block or recipe to a reward tier")
+@Enabled(false)
+@StackTrace(false)
+public final class ClassificationEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(ClassificationEvent.class);
+
+    @Label("Job")
+    String job;
+
+    @Label("Source")
+    String source;
+
+    @Label("Tier")
+    String tier;
+
+    /**
+     * Begin a classification event, or return {@code null} when disabled.
+     */
+    @Nullable
+    public static ClassificationEvent start(@Nonnull JobType job) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ClassificationEvent event = new ClassificationEvent();
+        event.job = job.getKey();
+        event.begin();
+        return event;
+    }
+
+    public void finish(@Nullable String source, @Nullable String tier) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.tier = tier;
+            commit();
+        }
+    }
+}
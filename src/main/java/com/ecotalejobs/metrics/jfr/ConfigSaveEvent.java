@@ -0,0 +1,47 @@
+package com.ecotalejobs.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning one config write in the background save service.
+ *
+ * <p>Disabled by default; see {@link RewardEvent}. Config writes are rare,
+ * so this event is simply allocated per write.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+@Name("ecotalejobs.ConfigSave")
+@Label("Config Save")
+@Category({"EcotaleJobs"})
+@Description("Writing one EcotaleJobs config file")
+@Enabled(false)
+@StackTrace(false)
+public final class ConfigSaveEvent extends jdk.jfr.Event {
+
+    @Label("Config")
+    String config;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Success")
+    boolean success;
+
+    public void finish(@Nonnull String config, int attempt, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.config = config;
+            this.attempt = attempt;
+            this.success = success;
+            commit();
+        }
+    }
+}
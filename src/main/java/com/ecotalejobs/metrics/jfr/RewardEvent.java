@@ -0,0 +1,82 @@
+package com.ecotalejobs.metrics.jfr;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.systems.JobType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * JFR event spanning one reward event handler (or one craft burst settlement).
+ *
+ * <p>Disabled by default. Enable {@code ecotalejobs.Reward} in a recording's
+ * settings to see which tick spikes EcotaleJobs is responsible for. When no
+ * recording has it enabled {@link #start(JobType)} returns {@code null} and
+ * the pipeline skips every tracing call.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+@Name("ecotalejobs.Reward")
+@Label("Reward Event")
+@Category({"EcotaleJobs"})
+@Description("One reward event through the EcotaleJobs pipeline")
+@Enabled(false)
+@StackTrace(false)
+public final class RewardEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(RewardEvent.class);
+
+    @Label("Job")
+    String job;
+
+    @Label("Source")
+    @Description("Mob, block or recipe id")
+    String source;
+
+    @Label("Tier")
+    String tier;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Value")
+    @Description("Value paid in base currency units")
+    long value;
+
+    /**
+     * Begin a reward event, or return {@code null} when no recording wants it.
+     */
+    @Nullable
+    public static RewardEvent start(@Nonnull JobType job) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        RewardEvent event = new RewardEvent();
+        event.job = job.getKey();
+        event.begin();
+        return event;
+    }
+
+    public void setSource(@Nullable String source) { this.source = source; }
+    public void setTier(@Nullable String tier) { this.tier = tier; }
+    public void setValue(long value) { this.value = value; }
+
+    /**
+     * End the event and commit it if it passes the recording's threshold.
+     */
+    public void finish(@Nonnull RewardOutcome outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome.getKey();
+            commit();
+        }
+    }
+}
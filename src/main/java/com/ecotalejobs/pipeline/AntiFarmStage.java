@@ -0,0 +1,32 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.KillCounts;
+
+/**
+ * Records every event of every line in the player's anti-farm counts and
+ * stores each line's average multiplier. Never rejects by itself: a
+ * multiplier that leaves no coins is rejected by the rounding stage.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class AntiFarmStage extends RewardStage {
+
+    private final AntiFarmSystem antiFarm;
+
+    AntiFarmStage(StageStats stats, AntiFarmSystem antiFarm) {
+        super(stats);
+        this.antiFarm = antiFarm;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        KillCounts counts = ctx.session.getKillCounts(ctx.job);
+        for (int i = 0; i < ctx.lineCount; i++) {
+            ctx.antiFarm[i] = antiFarm.getMultiplierAndRecord(counts, ctx.sources[i], ctx.events[i]);
+        }
+        return null;
+    }
+}
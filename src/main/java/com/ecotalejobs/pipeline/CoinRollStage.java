@@ -0,0 +1,51 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.metrics.RewardOutcome;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Rolls coins within the tier range once per dropped event of every line,
+ * or once per line when coins scale with the square root of the quantity
+ * (a craft burst of several events is still one roll).
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class CoinRollStage extends RewardStage {
+
+    private final RewardPipeline.CoinScaling scaling;
+
+    CoinRollStage(StageStats stats, RewardPipeline.CoinScaling scaling) {
+        super(stats);
+        this.scaling = scaling;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        boolean perQuantity = scaling == RewardPipeline.CoinScaling.SQRT_QUANTITY;
+        float scale = perQuantity ? (float) Math.sqrt(ctx.quantity) : 1.0f;
+        for (int i = 0; i < ctx.lineCount; i++) {
+            int units = ctx.units[i];
+            if (units == 0) {
+                ctx.exactCoins[i] = 0.0f;
+                continue;
+            }
+            if (perQuantity) {
+                units = 1;
+            }
+            TierConfig tier = ctx.tiers[i];
+            long baseCoins = (long) units * tier.getMinCoins();
+            int range = tier.getMaxCoins() - tier.getMinCoins();
+            if (range > 0) {
+                RandomGenerator random = ctx.random;
+                for (int n = 0; n < units; n++) {
+                    baseCoins += random.nextInt(range + 1);
+                }
+            }
+            ctx.exactCoins[i] = baseCoins * scale;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Rolls the tier drop chance once per event of every line; rejects when
+ * nothing dropped.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class DropChanceStage extends RewardStage {
+
+    private final boolean vipBonus;
+
+    /**
+     * @param vipBonus Whether the VIP chance bonus is added to the tier's
+     */
+    DropChanceStage(StageStats stats, boolean vipBonus) {
+        super(stats);
+        this.vipBonus = vipBonus;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        int bonus = vipBonus ? ctx.vipChanceBonus : 0;
+        int total = 0;
+        for (int i = 0; i < ctx.lineCount; i++) {
+            int chance = Math.min(ctx.tiers[i].getDropChance() + bonus, 100);
+            int events = ctx.events[i];
+            int units = events;
+            if (chance < 100) {
+                RandomGenerator random = ctx.random;
+                units = 0;
+                for (int n = 0; n < events; n++) {
+                    if (random.nextInt(100) < chance) {
+                        units++;
+                    }
+                }
+            }
+            ctx.units[i] = units;
+            total += units;
+        }
+        ctx.totalUnits = total;
+        return total == 0 ? RewardOutcome.DROP_CHANCE : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.EconomyCap;
+
+/**
+ * Charges the whole reward to the job's hourly economy cap. The charge is
+ * given back by the payout if it fails.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class EconomyCapStage extends RewardStage {
+
+    private final EconomyCap economyCap;
+
+    EconomyCapStage(StageStats stats, EconomyCap economyCap) {
+        super(stats);
+        this.economyCap = economyCap;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        return economyCap.tryInject(ctx.value) ? null : RewardOutcome.ECONOMY_CAP;
+    }
+}
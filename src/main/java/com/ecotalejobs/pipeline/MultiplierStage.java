@@ -0,0 +1,29 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+
+/**
+ * Applies each line's anti-farm multiplier, the job bonus and, where the
+ * job allows it, the VIP multiplier.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class MultiplierStage extends RewardStage {
+
+    private final boolean applyVip;
+
+    MultiplierStage(StageStats stats, boolean applyVip) {
+        super(stats);
+        this.applyVip = applyVip;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        float shared = ctx.bonusMultiplier * (applyVip ? ctx.vipMultiplier : 1.0f);
+        for (int i = 0; i < ctx.lineCount; i++) {
+            ctx.exactCoins[i] *= ctx.antiFarm[i] * shared;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-stage counters of every job's {@link RewardPipeline}.
+ *
+ * <p>A run costs one increment here plus one for the stage that rejects
+ * it, if any; how many runs reached a stage is derived from the runs and
+ * the rejections of the stages before it ({@link StageKind} is in run
+ * order). Stage time is measured on one run in {@link RewardPipeline#TIMING_SAMPLE_RATE}.
+ *
+ * <p>Like {@link com.ecotalejobs.metrics.JobsMetrics}, counters are
+ * pre-created in dense arrays indexed by enum ordinals.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PipelineMetrics {
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final StageKind[] STAGES = StageKind.values();
+
+    // Must follow JOBS/STAGES - static initializers run in declaration order
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    private final LongAdder[] runs = new LongAdder[JOBS.length];
+    private final StageStats[][] stages = new StageStats[JOBS.length][STAGES.length];
+
+    /**
+     * Counters of their own, apart from the live pipelines' (simulations,
+     * whose runs must not show up in {@code /jobs stats}).
+     */
+    public PipelineMetrics() {
+        for (int j = 0; j < JOBS.length; j++) {
+            runs[j] = new LongAdder();
+            for (int s = 0; s < STAGES.length; s++) {
+                stages[j][s] = new StageStats();
+            }
+        }
+    }
+
+    public static PipelineMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    void recordRun(JobType job) {
+        runs[job.ordinal()].increment();
+    }
+
+    /** Counters of one stage (all zero if the job never declared it) */
+    @Nonnull
+    public StageStats get(@Nonnull JobType job, @Nonnull StageKind stage) {
+        return stages[job.ordinal()][stage.ordinal()];
+    }
+
+    /** Events that entered the job's pipeline */
+    public long getRuns(@Nonnull JobType job) {
+        return runs[job.ordinal()].sum();
+    }
+
+    /**
+     * Events that reached a stage: every run, minus what the stages before
+     * it rejected. Approximate while events are in flight.
+     */
+    public long getEntered(@Nonnull JobType job, @Nonnull StageKind stage) {
+        StageStats[] jobStages = stages[job.ordinal()];
+        long entered = runs[job.ordinal()].sum();
+        for (int s = 0; s < stage.ordinal(); s++) {
+            entered -= jobStages[s].getRejected();
+        }
+        return Math.max(0, entered);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.PlayerRateLimiter;
+
+/**
+ * Takes one token from the player's bucket for the job, whatever the
+ * number of lines or events - or, when declared per event, one token for
+ * every event of every line in a single all-or-nothing take.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class RateLimitStage extends RewardStage {
+
+    private final PlayerRateLimiter limiter;
+    private final boolean perEvent;
+
+    RateLimitStage(StageStats stats, PlayerRateLimiter limiter, boolean perEvent) {
+        super(stats);
+        this.limiter = limiter;
+        this.perEvent = perEvent;
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        int tokens = perEvent ? ctx.totalEvents : 1;
+        if (limiter.tryAcquire(ctx.session.getRateBuckets(), ctx.job.ordinal(), tokens)) {
+            return null;
+        }
+        return RewardOutcome.RATE_LIMITED;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-thread scratch state of one {@link RewardPipeline} run.
+ *
+ * <p>A reward is one or more lines - a kill, a mined block or a craft
+ * burst is a single line; a harvest batch or a tree has one line per block
+ * type. Each line carries its source, tier and event count, and the stages
+ * fill in the rest (drops, anti-farm multiplier, coins).
+ *
+ * <p>Like {@link com.ecotalejobs.ledger.LedgerEntry}, one instance per
+ * thread is reset by {@link #begin} and reused, so a run allocates nothing
+ * once the line arrays have grown to fit. The context is only valid until
+ * the thread's next {@code begin}.
+ *
+ * <p>Drop, coin and rounding rolls draw from the context's random source:
+ * the thread's {@link ThreadLocalRandom} on the live path, a seeded one
+ * when the simulator or projection needs a run to be reproducible.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class RewardContext {
+
+    private static final ThreadLocal<RewardContext> CURRENT = ThreadLocal.withInitial(RewardContext::new);
+
+    JobType job;
+    PlayerJobSession session;
+    float vipMultiplier;
+    int vipChanceBonus;
+    float bonusMultiplier;
+    int quantity;
+    RandomGenerator random;
+
+    // Parallel line arrays - grown on demand, never shrunk
+    int lineCount;
+    String[] sources = new String[2];
+    TierConfig[] tiers = new TierConfig[2];
+    int[] events = new int[2];
+    int[] units = new int[2];
+    float[] antiFarm = new float[2];
+    float[] exactCoins = new float[2];
+    int[] coins = new int[2];
+
+    int totalEvents;
+    int totalUnits;
+    int totalCoins;
+    long value;
+
+    private RewardContext() {}
+
+    /**
+     * Reset and return this thread's context for a new reward.
+     *
+     * @param session The player's session (rate buckets, anti-farm counts)
+     * @param vip The player's VIP profile, or null for no VIP bonuses
+     */
+    @Nonnull
+    public static RewardContext begin(@Nonnull JobType job, @Nonnull PlayerJobSession session,
+                                      @Nullable VipProfile vip) {
+        return begin(job, session, vip, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Reset and return this thread's context for a new reward whose rolls
+     * draw from {@code random} (seeded replays).
+     */
+    @Nonnull
+    public static RewardContext begin(@Nonnull JobType job, @Nonnull PlayerJobSession session,
+                                      @Nullable VipProfile vip, @Nonnull RandomGenerator random) {
+        RewardContext ctx = CURRENT.get();
+        ctx.job = job;
+        ctx.session = session;
+        ctx.vipMultiplier = vip != null ? vip.getMultiplier() : 1.0f;
+        ctx.vipChanceBonus = vip != null ? vip.getChanceBonus() : 0;
+        ctx.bonusMultiplier = 1.0f;
+        ctx.quantity = 1;
+        ctx.random = random;
+        ctx.lineCount = 0;
+        ctx.totalEvents = 0;
+        ctx.totalUnits = 0;
+        ctx.totalCoins = 0;
+        ctx.value = 0;
+        return ctx;
+    }
+
+    /**
+     * Add a line of {@code events} rewards from one source. Every event
+     * rolls its own drop chance and, with per-unit scaling, its own coins;
+     * anti-farm records them all.
+     */
+    @Nonnull
+    public RewardContext addLine(@Nonnull String source, @Nonnull TierConfig tier, int events) {
+        if (lineCount == sources.length) {
+            int capacity = lineCount * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            tiers = Arrays.copyOf(tiers, capacity);
+            this.events = Arrays.copyOf(this.events, capacity);
+            units = Arrays.copyOf(units, capacity);
+            antiFarm = Arrays.copyOf(antiFarm, capacity);
+            exactCoins = Arrays.copyOf(exactCoins, capacity);
+            coins = Arrays.copyOf(coins, capacity);
+        }
+        int line = lineCount++;
+        sources[line] = source;
+        tiers[line] = tier;
+        this.events[line] = events;
+        units[line] = events; // All drop unless a drop chance stage says otherwise
+        antiFarm[line] = 1.0f;
+        exactCoins[line] = 0.0f;
+        coins[line] = 0;
+        totalEvents += events;
+        totalUnits += events;
+        return this;
+    }
+
+    /** Job-specific multiplier applied to every line (mining: tool x depth) */
+    @Nonnull
+    public RewardContext setBonusMultiplier(float bonusMultiplier) {
+        this.bonusMultiplier = bonusMultiplier;
+        return this;
+    }
+
+    /** Items produced by the event (crafting scales coins by its square root) */
+    @Nonnull
+    public RewardContext setQuantity(int quantity) {
+        this.quantity = Math.max(1, quantity);
+        return this;
+    }
+
+    // =========================================================================
+    // Results
+    // =========================================================================
+
+    @Nonnull public JobType getJob() { return job; }
+    @Nonnull public PlayerJobSession getSession() { return session; }
+    public float getVipMultiplier() { return vipMultiplier; }
+    public float getBonusMultiplier() { return bonusMultiplier; }
+    public int getQuantity() { return quantity; }
+
+    public int getLineCount() { return lineCount; }
+    @Nonnull public String getSource(int line) { return sources[line]; }
+    @Nonnull public TierConfig getTier(int line) { return tiers[line]; }
+    public int getEvents(int line) { return events[line]; }
+    /** Events of the line that won their drop roll */
+    public int getUnits(int line) { return units[line]; }
+    /** Average anti-farm multiplier of the line (1.0 before the anti-farm stage) */
+    public float getAntiFarmMultiplier(int line) { return antiFarm[line]; }
+    /** Coins before rounding (after the multipliers stage) */
+    public float getExactCoins(int line) { return exactCoins[line]; }
+    public int getCoins(int line) { return coins[line]; }
+
+    /** Events of all lines */
+    public int getTotalEvents() { return totalEvents; }
+    /** Events of all lines that won their drop roll */
+    public int getTotalUnits() { return totalUnits; }
+    /** Whole coins of all lines (after rounding) */
+    public int getTotalCoins() { return totalCoins; }
+    /** Total value in base currency units (after rounding) */
+    public long getValue() { return value; }
+}
@@ -0,0 +1,221 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The shared reward sequence of every job: drop chance, rate limit,
+ * anti-farm, coin roll, multipliers, rounding, economy cap.
+ *
+ * <p>A job declares which stages it uses and how (VIP chance bonus, coin
+ * scaling, VIP multiplier) through {@link #builder(JobType)}; the order is
+ * fixed by {@link StageKind}, cheapest rejection first. Exclusion and tier
+ * lookup stay in the reward systems (each job classifies differently), and
+ * so does the payout (physical coin drops need the ECS store).
+ *
+ * <p>Each stage sits in a field of its own final class rather than in a
+ * list, so every call site has exactly one receiver type and the JIT can
+ * inline the whole sequence. Per-stage counters go to
+ * {@link PipelineMetrics}; one run in {@link #TIMING_SAMPLE_RATE} is timed.
+ * Random rolls come from the {@link RewardContext}.
+ *
+ * <p>Thread-safety: immutable; all per-run state lives in the
+ * {@link RewardContext}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class RewardPipeline {
+
+    /** One run in this many is timed per stage (power of two) */
+    public static final int TIMING_SAMPLE_RATE = 16;
+    private static final int TIMING_SAMPLE_MASK = TIMING_SAMPLE_RATE - 1;
+
+    /**
+     * How the rolled coins grow with the event's quantity.
+     */
+    public enum CoinScaling {
+        /** One roll per dropped event (kills, blocks, batches of blocks) */
+        PER_UNIT,
+        /** One roll per line whatever its event count, times the square root of the quantity (craft bursts) */
+        SQRT_QUANTITY
+    }
+
+    private final JobType job;
+    private final PipelineMetrics metrics;
+
+    @Nullable private final DropChanceStage dropChance;
+    @Nullable private final RateLimitStage rateLimit;
+    @Nullable private final AntiFarmStage antiFarm;
+    private final CoinRollStage coinRoll;
+    private final MultiplierStage multipliers;
+    private final RoundingStage rounding;
+    @Nullable private final EconomyCapStage economyCap;
+
+    private RewardPipeline(Builder builder) {
+        this.job = builder.job;
+        this.metrics = builder.metrics;
+        this.dropChance = builder.dropChance
+            ? new DropChanceStage(metrics.get(job, StageKind.DROP_CHANCE), builder.vipChanceBonus) : null;
+        this.rateLimit = builder.rateLimiter != null
+            ? new RateLimitStage(metrics.get(job, StageKind.RATE_LIMIT), builder.rateLimiter, builder.rateLimitPerEvent)
+            : null;
+        this.antiFarm = builder.antiFarm != null
+            ? new AntiFarmStage(metrics.get(job, StageKind.ANTI_FARM), builder.antiFarm) : null;
+        this.coinRoll = new CoinRollStage(metrics.get(job, StageKind.COIN_ROLL), builder.scaling);
+        this.multipliers = new MultiplierStage(metrics.get(job, StageKind.MULTIPLIERS), builder.vipMultiplier);
+        this.rounding = new RoundingStage(metrics.get(job, StageKind.ROUNDING));
+        this.economyCap = builder.economyCap != null
+            ? new EconomyCapStage(metrics.get(job, StageKind.ECONOMY_CAP), builder.economyCap) : null;
+    }
+
+    /**
+     * Start declaring a job's pipeline. Coin roll, multipliers and rounding
+     * are always part of it.
+     */
+    @Nonnull
+    public static Builder builder(@Nonnull JobType job) {
+        return new Builder(job);
+    }
+
+    /**
+     * Run the reward through every declared stage.
+     *
+     * @return The outcome of the stage that stopped it, or null if it
+     *         cleared all of them and {@link RewardContext#getValue()} is
+     *         due (already charged to the economy cap)
+     */
+    @Nullable
+    public RewardOutcome run(@Nonnull RewardContext ctx) {
+        metrics.recordRun(job);
+        boolean timed = (ThreadLocalRandom.current().nextInt() & TIMING_SAMPLE_MASK) == 0;
+        RewardOutcome outcome;
+        if (dropChance != null && (outcome = dropChance.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if (rateLimit != null && (outcome = rateLimit.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if (antiFarm != null && (outcome = antiFarm.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if ((outcome = coinRoll.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if ((outcome = multipliers.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if ((outcome = rounding.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        if (economyCap != null && (outcome = economyCap.run(ctx, timed)) != null) {
+            return outcome;
+        }
+        return null;
+    }
+
+    @Nonnull
+    public JobType getJob() {
+        return job;
+    }
+
+    /**
+     * Declares the stages of one job's pipeline.
+     */
+    public static final class Builder {
+        private final JobType job;
+        private boolean dropChance;
+        private boolean vipChanceBonus;
+        private PlayerRateLimiter rateLimiter;
+        private boolean rateLimitPerEvent;
+        private AntiFarmSystem antiFarm;
+        private CoinScaling scaling = CoinScaling.PER_UNIT;
+        private boolean vipMultiplier = true;
+        private EconomyCap economyCap;
+        private PipelineMetrics metrics = PipelineMetrics.getInstance();
+
+        private Builder(JobType job) {
+            this.job = job;
+        }
+
+        /**
+         * Roll the tier drop chance.
+         *
+         * @param vipChanceBonus Whether VIP players get their chance bonus
+         */
+        @Nonnull
+        public Builder dropChance(boolean vipChanceBonus) {
+            this.dropChance = true;
+            this.vipChanceBonus = vipChanceBonus;
+            return this;
+        }
+
+        /** One token per reward from the player's bucket */
+        @Nonnull
+        public Builder rateLimit(@Nonnull PlayerRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimitPerEvent = false;
+            return this;
+        }
+
+        /**
+         * One token per event of every line, taken at once (batched jobs, so
+         * a batch costs what its breaks would have cost one by one)
+         */
+        @Nonnull
+        public Builder rateLimitPerEvent(@Nonnull PlayerRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimitPerEvent = true;
+            return this;
+        }
+
+        /** Diminishing returns per source */
+        @Nonnull
+        public Builder antiFarm(@Nonnull AntiFarmSystem antiFarm) {
+            this.antiFarm = antiFarm;
+            return this;
+        }
+
+        /** How coins scale with quantity (default {@link CoinScaling#PER_UNIT}) */
+        @Nonnull
+        public Builder coinRoll(@Nonnull CoinScaling scaling) {
+            this.scaling = scaling;
+            return this;
+        }
+
+        /**
+         * @param vipMultiplier Whether the VIP coin multiplier applies (default true)
+         */
+        @Nonnull
+        public Builder multipliers(boolean vipMultiplier) {
+            this.vipMultiplier = vipMultiplier;
+            return this;
+        }
+
+        /** Charge the job's hourly cap */
+        @Nonnull
+        public Builder economyCap(@Nonnull EconomyCap economyCap) {
+            this.economyCap = economyCap;
+            return this;
+        }
+
+        /** Where the stage counters go (default the live {@link PipelineMetrics#getInstance()}) */
+        @Nonnull
+        public Builder metrics(@Nonnull PipelineMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        @Nonnull
+        public RewardPipeline build() {
+            return new RewardPipeline(this);
+        }
+    }
+}
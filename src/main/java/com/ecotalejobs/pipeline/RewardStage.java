@@ -0,0 +1,54 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+
+import javax.annotation.Nullable;
+
+/**
+ * One step of a {@link RewardPipeline}.
+ *
+ * <p>Every concrete stage is a final class and the pipeline holds each in
+ * a field of its exact type, so the JIT sees one receiver per call site
+ * and can inline {@link #apply} straight into the pipeline.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+abstract class RewardStage {
+
+    private final StageStats stats;
+
+    RewardStage(StageStats stats) {
+        this.stats = stats;
+        stats.markDeclared();
+    }
+
+    /**
+     * Run the stage on the context.
+     *
+     * @return The outcome that ends the run, or null to continue
+     */
+    @Nullable
+    abstract RewardOutcome apply(RewardContext ctx);
+
+    /**
+     * {@link #apply} plus the stage's counters.
+     *
+     * @param timed Whether this run is one of the timed samples
+     */
+    @Nullable
+    final RewardOutcome run(RewardContext ctx, boolean timed) {
+        RewardOutcome outcome;
+        if (timed) {
+            long start = System.nanoTime();
+            outcome = apply(ctx);
+            stats.recordSample(System.nanoTime() - start);
+        } else {
+            outcome = apply(ctx);
+        }
+        if (outcome != null) {
+            stats.recordRejected();
+        }
+        return outcome;
+    }
+}
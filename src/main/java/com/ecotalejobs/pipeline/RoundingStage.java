@@ -0,0 +1,41 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Rounds each line to whole coins probabilistically (1.2 coins = 1 coin
+ * plus a 20% chance of a second), so small rewards still feel their
+ * multipliers on average, and prices the coins. Rejects as
+ * {@link RewardOutcome#ANTI_FARM} when no coin is left.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+final class RoundingStage extends RewardStage {
+
+    RoundingStage(StageStats stats) {
+        super(stats);
+    }
+
+    @Override
+    RewardOutcome apply(RewardContext ctx) {
+        RandomGenerator random = ctx.random;
+        int totalCoins = 0;
+        long value = 0;
+        for (int i = 0; i < ctx.lineCount; i++) {
+            float exactCoins = ctx.exactCoins[i];
+            int coins = (int) exactCoins;
+            if (random.nextFloat() < (exactCoins - coins)) {
+                coins++;
+            }
+            ctx.coins[i] = coins;
+            totalCoins += coins;
+            value += (long) coins * ctx.tiers[i].getCoinValue();
+        }
+        ctx.totalCoins = totalCoins;
+        ctx.value = value;
+        return totalCoins < 1 ? RewardOutcome.ANTI_FARM : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecotalejobs.pipeline;
+
+/**
+ * The stages a {@link RewardPipeline} can declare, in the order they run.
+ *
+ * <p>Cheap rejections come first: a drop chance roll or a token bucket CAS
+ * stops most events before any anti-farm counter is touched or any coin
+ * is rolled. Declared in run order - {@link PipelineMetrics} derives how
+ * many events reached a stage from the rejections of the stages before it.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public enum StageKind {
+    /** Tier drop chance, plus the VIP chance bonus where the job allows it */
+    DROP_CHANCE("drop_chance"),
+    /** Per-player token bucket */
+    RATE_LIMIT("rate_limit"),
+    /** Records the event and resolves the diminishing-returns multiplier */
+    ANTI_FARM("anti_farm"),
+    /** Random coins within the tier range */
+    COIN_ROLL("coin_roll"),
+    /** Anti-farm, VIP and job bonus multipliers */
+    MULTIPLIERS("multipliers"),
+    /** Probabilistic rounding to whole coins (zero coins rejects as anti-farm) */
+    ROUNDING("rounding"),
+    /** Hourly economy cap charge */
+    ECONOMY_CAP("economy_cap");
+
+    private final String key;
+
+    StageKind(String key) {
+        this.key = key;
+    }
+
+    /** Short lowercase key for commands and metric labels */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecotalejobs.pipeline;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one stage of one job's pipeline: rejections, and the time
+ * spent in the stage for a sample of the runs.
+ *
+ * <p>Outlives pipeline rebuilds (config reloads), so exported counters
+ * keep increasing.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class StageStats {
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private volatile boolean declared;
+
+    StageStats() {}
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordSample(long nanos) {
+        sampledNanos.add(nanos);
+        samples.increment();
+    }
+
+    void markDeclared() {
+        declared = true;
+    }
+
+    /** True once a pipeline of this job has declared the stage */
+    public boolean isDeclared() { return declared; }
+
+    /** Events this stage stopped */
+    public long getRejected() { return rejected.sum(); }
+
+    /** Nanoseconds spent in the stage, over the timed runs only */
+    public long getSampledNanos() { return sampledNanos.sum(); }
+
+    /** Number of timed runs */
+    public long getSamples() { return samples.sum(); }
+
+    /** Mean time per run in the stage, from the timed runs (0 before any) */
+    public long getMeanNanos() {
+        long count = samples.sum();
+        return count > 0 ? sampledNanos.sum() / count : 0;
+    }
+}
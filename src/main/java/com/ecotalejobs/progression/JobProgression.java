@@ -0,0 +1,185 @@
+package com.ecotalejobs.progression;
+
+import com.ecotalejobs.config.EcotaleJobsConfig.ProgressionConfig;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Job levels: XP granted by the reward systems for every paid reward,
+ * kept in a {@link ProgressionStore} and written to disk in the background.
+ *
+ * <p>A grant is a few array operations on the calling thread - no I/O, no
+ * lock, no allocation. Snapshots are written by a periodic task only when
+ * something changed since the last one, and once more on shutdown, so a
+ * crash loses at most one flush interval of XP.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class JobProgression {
+
+    private static final JobType[] JOBS = JobType.values();
+
+    private final ProgressionStore store = new ProgressionStore();
+    private final LevelCurve curve;
+    private final int[] xpPerUnit = new int[JOBS.length];
+    private final Path file;
+
+    private ScheduledFuture<?> flushTask;
+    private long flushedChanges; // Guarded by this
+
+    // Statistics
+    private final AtomicLong levelUps = new AtomicLong(0);
+    private final AtomicLong flushCount = new AtomicLong(0);
+    private final AtomicLong flushFailures = new AtomicLong(0);
+    private volatile long lastFlushMicros;
+
+    /**
+     * @param config Curve and XP per unit
+     * @param file Snapshot file
+     */
+    public JobProgression(@Nonnull ProgressionConfig config, @Nonnull Path file) {
+        this.curve = new LevelCurve(config.getBaseXp(), config.getExponent(), config.getMaxLevel());
+        this.file = file;
+        Map<String, Integer> perUnit = config.getXpPerUnit();
+        for (JobType job : JOBS) {
+            Integer xp = perUnit != null ? perUnit.get(job.getKey()) : null;
+            xpPerUnit[job.ordinal()] = xp != null ? Math.max(0, xp) : 0;
+        }
+    }
+
+    /**
+     * Load the last snapshot. Call before the reward systems start granting.
+     *
+     * @return Players loaded
+     */
+    public int load() throws IOException {
+        int players = store.read(file);
+        synchronized (this) {
+            flushedChanges = store.getChangeCount();
+        }
+        return players;
+    }
+
+    /**
+     * Flush every {@code intervalSeconds} on the given executor.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService executor, int intervalSeconds) {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        int interval = Math.max(1, intervalSeconds);
+        flushTask = executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                JobsLogger.error("[JobProgression] Flush failed", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    // =========================================================================
+    // Granting
+    // =========================================================================
+
+    /**
+     * Grant the XP of a paid reward.
+     *
+     * @param session The player's session (caches their store slot)
+     * @param units Kills, blocks, crafted items, crops or logs rewarded
+     * @return The new level if the player levelled up, otherwise 0
+     */
+    public int grant(@Nonnull PlayerJobSession session, @Nonnull JobType job, int units) {
+        int perUnit = xpPerUnit[job.ordinal()];
+        if (perUnit == 0 || units <= 0) {
+            return 0;
+        }
+        int slot = session.getProgressionSlot();
+        if (slot < 0) {
+            slot = store.slotOf(session.getPlayerUuid());
+            session.setProgressionSlot(slot);
+        }
+        long gained = (long) perUnit * units;
+        long xp = store.addXp(slot, job, gained);
+        int level = curve.levelOf(xp);
+        if (level == curve.levelOf(xp - gained)) {
+            return 0;
+        }
+        levelUps.incrementAndGet();
+        JobsLogger.debug("[JobProgression] %s reached %s level %d (%d XP)",
+            session.getPlayerUuid(), job.getKey(), level, xp);
+        return level;
+    }
+
+    // =========================================================================
+    // Persistence
+    // =========================================================================
+
+    /**
+     * Write a snapshot if anything was granted since the last one.
+     *
+     * @return true if a snapshot was written
+     */
+    public synchronized boolean flush() {
+        long changes = store.getChangeCount();
+        if (changes == flushedChanges) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            store.write(file);
+        } catch (IOException e) {
+            flushFailures.incrementAndGet();
+            JobsLogger.warn("[JobProgression] Cannot write %s: %s", file, e.getMessage());
+            return false;
+        }
+        flushedChanges = changes;
+        flushCount.incrementAndGet();
+        lastFlushMicros = (System.nanoTime() - start) / 1_000;
+        return true;
+    }
+
+    /**
+     * Stop the periodic flush and write the final snapshot.
+     */
+    public void close() {
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+        flush();
+    }
+
+    // =========================================================================
+    // Queries
+    // =========================================================================
+
+    public long getXp(@Nonnull UUID playerUuid, @Nonnull JobType job) {
+        return store.getXp(playerUuid, job);
+    }
+
+    public int getLevel(@Nonnull UUID playerUuid, @Nonnull JobType job) {
+        return curve.levelOf(store.getXp(playerUuid, job));
+    }
+
+    @Nonnull
+    public LevelCurve getCurve() { return curve; }
+    public int getPlayerCount() { return store.getPlayerCount(); }
+    public long getLevelUps() { return levelUps.get(); }
+    public long getFlushCount() { return flushCount.get(); }
+    public long getFlushFailures() { return flushFailures.get(); }
+    public long getLastFlushMicros() { return lastFlushMicros; }
+}
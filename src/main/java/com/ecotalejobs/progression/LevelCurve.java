@@ -0,0 +1,62 @@
+package com.ecotalejobs.progression;
+
+/**
+ * XP needed per job level: reaching level L takes
+ * {@code baseXp * (L - 1)^exponent} XP, up to a maximum level.
+ *
+ * <p>Thresholds are precomputed once, so resolving a level is a binary
+ * search over at most a few hundred longs.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class LevelCurve {
+
+    // thresholds[L - 1] = total XP at which level L starts (level 1 at 0 XP)
+    private final long[] thresholds;
+
+    /**
+     * @param baseXp XP for level 2 (at least 1)
+     * @param exponent Growth of the curve (1 = linear)
+     * @param maxLevel Highest level (at least 1)
+     */
+    public LevelCurve(int baseXp, float exponent, int maxLevel) {
+        int levels = Math.max(1, maxLevel);
+        double base = Math.max(1, baseXp);
+        double growth = Math.max(0.1, exponent);
+        this.thresholds = new long[levels];
+        for (int level = 2; level <= levels; level++) {
+            long xp = (long) Math.ceil(base * Math.pow(level - 1, growth));
+            // Strictly increasing, even for flat curves
+            thresholds[level - 1] = Math.max(xp, thresholds[level - 2] + 1);
+        }
+    }
+
+    /**
+     * Level reached with this much XP (1 to {@link #getMaxLevel()}).
+     */
+    public int levelOf(long xp) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (thresholds[mid] <= xp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+
+    /**
+     * Total XP at which a level starts (clamped to 1 - max level).
+     */
+    public long xpForLevel(int level) {
+        return thresholds[Math.max(1, Math.min(thresholds.length, level)) - 1];
+    }
+
+    public int getMaxLevel() {
+        return thresholds.length;
+    }
+}
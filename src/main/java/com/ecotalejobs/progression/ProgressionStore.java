@@ -0,0 +1,182 @@
+package com.ecotalejobs.progression;
+
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.AtomicFiles;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Job XP of every player who has ever earned any, in primitive arrays.
+ *
+ * <p>Each player gets a dense slot on first use; XP lives in fixed-size
+ * {@link AtomicLongArray} segments at {@code slot * jobs + job}, so a grant
+ * is one {@code addAndGet} and growing the store never copies XP. The
+ * player's session caches the slot, so the slot map is only read once per
+ * session.
+ *
+ * <p>Snapshot format (big-endian): magic, version, job count and player
+ * count as ints, then per player the UUID as two longs followed by one XP
+ * long per job in {@link JobType} ordinal order.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class ProgressionStore {
+
+    static final int MAGIC = 0x454A5047; // "EJPG"
+    static final int VERSION = 1;
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final int SEGMENT_SLOTS = 1024;
+    private static final int HEADER_BYTES = 16;
+
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray[] segments = new AtomicLongArray[0];
+    private int nextSlot; // Guarded by this
+
+    // Grants since start, compared against the last snapshot to skip idle flushes
+    private final LongAdder changes = new LongAdder();
+
+    /**
+     * The player's slot, allocated on first use.
+     */
+    public int slotOf(@Nonnull UUID playerUuid) {
+        Integer slot = slots.get(playerUuid);
+        if (slot != null) {
+            return slot;
+        }
+        return slots.computeIfAbsent(playerUuid, uuid -> allocate());
+    }
+
+    private synchronized int allocate() {
+        int slot = nextSlot++;
+        int segment = slot / SEGMENT_SLOTS;
+        AtomicLongArray[] current = segments;
+        if (segment >= current.length) {
+            AtomicLongArray[] grown = Arrays.copyOf(current, Math.max(4, current.length * 2));
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new AtomicLongArray(SEGMENT_SLOTS * JOBS.length);
+            }
+            segments = grown;
+        }
+        return slot;
+    }
+
+    /**
+     * Add XP to one of a player's jobs.
+     *
+     * @return The job's XP after the grant
+     */
+    public long addXp(int slot, @Nonnull JobType job, long xp) {
+        changes.increment();
+        return segments[slot / SEGMENT_SLOTS].addAndGet(index(slot, job), xp);
+    }
+
+    public long getXp(int slot, @Nonnull JobType job) {
+        return segments[slot / SEGMENT_SLOTS].get(index(slot, job));
+    }
+
+    /** A player's XP in a job (0 if they never earned any) */
+    public long getXp(@Nonnull UUID playerUuid, @Nonnull JobType job) {
+        Integer slot = slots.get(playerUuid);
+        return slot != null ? getXp(slot, job) : 0;
+    }
+
+    private static int index(int slot, JobType job) {
+        return (slot % SEGMENT_SLOTS) * JOBS.length + job.ordinal();
+    }
+
+    /** Players with a slot */
+    public int getPlayerCount() {
+        return slots.size();
+    }
+
+    /** Grants since start (monotonic) */
+    public long getChangeCount() {
+        return changes.sum();
+    }
+
+    // =========================================================================
+    // Snapshots
+    // =========================================================================
+
+    /**
+     * Write every player's XP to a file, replacing it atomically. Grants
+     * keep running meanwhile; each value is read once.
+     *
+     * @return Number of players written
+     */
+    public int write(@Nonnull Path file) throws IOException {
+        // Size from the map, then tolerate players added while copying
+        int capacity = slots.size() + 64;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + capacity * recordBytes());
+        buffer.position(HEADER_BYTES);
+        int written = 0;
+        for (Map.Entry<UUID, Integer> entry : slots.entrySet()) {
+            if (written == capacity) {
+                break; // Newcomers make the next snapshot
+            }
+            UUID uuid = entry.getKey();
+            int slot = entry.getValue();
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+            for (JobType job : JOBS) {
+                buffer.putLong(getXp(slot, job));
+            }
+            written++;
+        }
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, JOBS.length).putInt(12, written);
+        AtomicFiles.write(file, Arrays.copyOf(buffer.array(), buffer.position()));
+        return written;
+    }
+
+    /**
+     * Load a snapshot into this store (before any grant). Jobs added since
+     * the snapshot start at 0; jobs it has beyond the current ones are
+     * skipped.
+     *
+     * @return Number of players loaded (0 if the file does not exist)
+     */
+    public int read(@Nonnull Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a progression snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported progression snapshot version " + version);
+        }
+        int jobs = buffer.getInt();
+        int players = buffer.getInt();
+        if (jobs < 0 || players < 0 || buffer.remaining() < (long) players * (16 + jobs * 8L)) {
+            throw new IOException("Truncated progression snapshot: " + file);
+        }
+        for (int p = 0; p < players; p++) {
+            int slot = slotOf(new UUID(buffer.getLong(), buffer.getLong()));
+            for (int j = 0; j < jobs; j++) {
+                long xp = buffer.getLong();
+                if (j < JOBS.length) {
+                    segments[slot / SEGMENT_SLOTS].set(index(slot, JOBS[j]), xp);
+                }
+            }
+        }
+        return players;
+    }
+
+    private static int recordBytes() {
+        return 16 + JOBS.length * 8;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecotalejobs.security;
 
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.JobsClock;
+
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -11,11 +14,24 @@ import java.util.concurrent.atomic.AtomicLong;
 public class EconomyCap {
     
     private final AtomicLong hourlyInjection = new AtomicLong(0);
-    private volatile long hourStart = System.currentTimeMillis();
+    private final JobsClock clock;
+    private volatile long hourStart;
     
     private long maxHourlyInjection = 10_000_000; // 10M units = 1000 Gold/hour default
     private boolean enabled = true;
     
+    public EconomyCap() {
+        this(CoarseClock.getInstance());
+    }
+    
+    /**
+     * @param clock Time source for the hourly window
+     */
+    public EconomyCap(JobsClock clock) {
+        this.clock = clock;
+        this.hourStart = clock.millis();
+    }
+    
     /**
      * Configure the economy cap.
      */
@@ -51,11 +67,24 @@ public class EconomyCap {
         }
     }
     
+    /**
+     * Give back value charged by {@link #tryInject(long)} for a payout that
+     * failed. Never drops below zero (the hour may have reset meanwhile).
+     * 
+     * @param value The value in base units (copper)
+     */
+    public void release(long value) {
+        if (!enabled || value <= 0) {
+            return;
+        }
+        hourlyInjection.accumulateAndGet(value, (current, v) -> Math.max(0, current - v));
+    }
+    
     /**
      * Reset counter if we're in a new hour.
      */
     private void maybeResetHour() {
-        long now = System.currentTimeMillis();
+        long now = clock.millis();
         if (now - hourStart > 3600_000) { // 1 hour
             synchronized (this) {
                 if (now - hourStart > 3600_000) {
@@ -80,6 +109,13 @@ public class EconomyCap {
         return Math.max(0, maxHourlyInjection - hourlyInjection.get());
     }
     
+    /**
+     * Get when the current hourly window opened (epoch millis).
+     */
+    public long getHourStart() {
+        return hourStart;
+    }
+    
     /**
      * Get max hourly injection limit.
      */
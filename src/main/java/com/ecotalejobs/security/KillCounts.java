@@ -0,0 +1,120 @@
+package com.ecotalejobs.security;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One player's kills (or mines, or crafts) per source in the current
+ * anti-farm window. Holds state only; {@link AntiFarmSystem} turns the
+ * counts into a multiplier.
+ */
+public final class KillCounts {
+
+    /** Counts reset this long after the window opened */
+    public static final long WINDOW_MS = 5 * 60 * 1000; // 5 minutes
+
+    private final ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private volatile long windowStart;
+
+    private KillCounts(long now) {
+        this.windowStart = now;
+    }
+
+    /**
+     * Fresh counts, or the counts of a player coming back online if their
+     * window is still running.
+     */
+    public static KillCounts restore(@Nullable Offline restored, long now) {
+        KillCounts counts = new KillCounts(now);
+        if (restored != null && !restored.isExpired(now)) {
+            counts.windowStart = restored.windowStart;
+            for (int i = 0; i < restored.sources.length; i++) {
+                counts.counts.put(restored.sources[i], new AtomicInteger(restored.counts[i]));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Record one event for a source.
+     *
+     * @return Events for that source in the current window, this one included
+     */
+    public int record(String source, long now) {
+        return record(source, 1, now);
+    }
+
+    /**
+     * Record several events for a source at once (batched rewards).
+     *
+     * @return Events for that source in the current window, these included
+     */
+    public int record(String source, int events, long now) {
+        maybeResetWindow(now);
+        return counts.computeIfAbsent(source, k -> new AtomicInteger(0)).addAndGet(events);
+    }
+
+    /**
+     * Events for a source in the current window, without recording one.
+     */
+    public int peek(String source, long now) {
+        maybeResetWindow(now);
+        AtomicInteger count = counts.get(source);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Reset counts if window expired.
+     */
+    private void maybeResetWindow(long now) {
+        if (now - windowStart > WINDOW_MS) {
+            counts.clear();
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Compact copy of the current window's counts, or null if the window
+     * is over or empty.
+     */
+    @Nullable
+    public Offline spill(long now) {
+        if (now - windowStart > WINDOW_MS || counts.isEmpty()) {
+            return null;
+        }
+        String[] sources = new String[counts.size()];
+        int[] values = new int[sources.length];
+        int n = 0;
+        for (Map.Entry<String, AtomicInteger> entry : counts.entrySet()) {
+            if (n == sources.length) {
+                break;
+            }
+            sources[n] = entry.getKey();
+            values[n++] = entry.getValue().get();
+        }
+        return new Offline(windowStart, Arrays.copyOf(sources, n), Arrays.copyOf(values, n));
+    }
+
+    /**
+     * Counts of an offline player: two parallel arrays instead of a map of
+     * counters, dropped once the window they belong to ends.
+     */
+    public static final class Offline {
+        final long windowStart;
+        final String[] sources;
+        final int[] counts;
+
+        Offline(long windowStart, String[] sources, int[] counts) {
+            this.windowStart = windowStart;
+            this.sources = sources;
+            this.counts = counts;
+        }
+
+        public boolean isExpired(long now) {
+            return now - windowStart > WINDOW_MS;
+        }
+    }
+}
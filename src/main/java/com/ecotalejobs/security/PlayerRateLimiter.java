@@ -0,0 +1,94 @@
+package com.ecotalejobs.security;
+
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.JobsClock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-player token bucket: {@code capacity} rewards in a burst, refilled at
+ * {@code refillPerSecond}.
+ *
+ * <p>Each bucket is one long packing the last refill time (high 44 bits,
+ * epoch millis) and the token count in thousandths (low 20 bits), updated
+ * by CAS. Buckets are slots of an {@link AtomicLongArray} owned by the
+ * player's session (one slot per job); this class only holds the rate.
+ */
+public class PlayerRateLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final long capacityMilli;
+    private final long refillPerSecond;
+    private final long refillMs;
+    private final JobsClock clock;
+
+    public PlayerRateLimiter(int capacity, int refillPerSecond) {
+        this(capacity, refillPerSecond, CoarseClock.getInstance());
+    }
+
+    /**
+     * @param capacity Burst size (clamped to 1-1000 tokens)
+     * @param refillPerSecond Tokens added per second
+     * @param clock Time source for refills
+     */
+    public PlayerRateLimiter(int capacity, int refillPerSecond, JobsClock clock) {
+        this.clock = clock;
+        this.capacityMilli = Math.max(1, Math.min(TOKEN_MASK / MILLI, capacity)) * MILLI;
+        this.refillPerSecond = Math.max(1, refillPerSecond);
+        // Time for an empty bucket to fill up again
+        this.refillMs = (capacityMilli + this.refillPerSecond - 1) / this.refillPerSecond;
+    }
+
+    /**
+     * Take one token from a bucket. A zero slot is a new, full bucket.
+     *
+     * @param buckets The player's buckets
+     * @param slot This job's slot
+     * @return false if the bucket is empty
+     */
+    public boolean tryAcquire(AtomicLongArray buckets, int slot) {
+        return tryAcquire(buckets, slot, 1);
+    }
+
+    /**
+     * Take {@code count} tokens from a bucket at once, all or none, in the
+     * same single CAS as one token. More than the burst capacity is never
+     * granted.
+     *
+     * @param buckets The player's buckets
+     * @param slot This job's slot
+     * @param count Tokens to take (at least 1)
+     * @return false if the bucket holds fewer than {@code count} tokens
+     */
+    public boolean tryAcquire(AtomicLongArray buckets, int slot, int count) {
+        long cost = Math.max(1, count) * MILLI;
+        long now = clock.millis();
+        while (true) {
+            long prev = buckets.get(slot);
+            long tokens = refill(prev, now);
+            boolean granted = tokens >= cost;
+            if (granted) {
+                tokens -= cost;
+            }
+            if (buckets.compareAndSet(slot, prev, (now << TOKEN_BITS) | tokens)) {
+                return granted;
+            }
+        }
+    }
+
+    private long refill(long packed, long now) {
+        long last = packed >>> TOKEN_BITS;
+        if (last == 0) {
+            return capacityMilli; // New bucket starts full
+        }
+        long elapsed = Math.max(0, now - last);
+        if (elapsed >= refillMs) {
+            return capacityMilli;
+        }
+        // elapsed ms x tokens/s = thousandths of a token
+        return Math.min(capacityMilli, (packed & TOKEN_MASK) + elapsed * refillPerSecond);
+    }
+}
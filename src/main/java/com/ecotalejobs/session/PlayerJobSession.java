@@ -0,0 +1,231 @@
+package com.ecotalejobs.session;
+
+import com.ecotalejobs.config.EcotaleJobsConfig.VipConfig;
+import com.ecotalejobs.leaderboard.PlayerScores;
+import com.ecotalejobs.security.KillCounts;
+import com.ecotalejobs.systems.JobType;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Everything the reward pipeline keeps about one online player, for all
+ * jobs: rate-limit buckets, anti-farm counts, the vein streak, a cached
+ * VIP profile, the progression slot, leaderboard scores and payouts still
+ * waiting on settlement.
+ *
+ * <p>Fetched once per event from {@link PlayerSessions}; the security
+ * layers then work on its fields directly instead of each looking the
+ * player up in a map of its own.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PlayerJobSession {
+
+    /** How long a VIP profile is trusted before permissions are checked again */
+    public static final long VIP_REFRESH_MS = 30_000;
+
+    private static final JobType[] JOBS = JobType.values();
+
+    private final UUID playerUuid;
+
+    // One packed token bucket per job (see PlayerRateLimiter)
+    private final AtomicLongArray rateBuckets = new AtomicLongArray(JOBS.length);
+    private final KillCounts[] killCounts = new KillCounts[JOBS.length];
+    private final AtomicLong veinStreak = new AtomicLong(0);
+    private volatile VipProfile vipProfile;
+    private volatile int progressionSlot = -1;
+    private volatile PlayerScores leaderboardScores;
+
+    private final AtomicInteger pendingPayouts = new AtomicInteger(0);
+    private final AtomicLong pendingValue = new AtomicLong(0);
+    private volatile long lastActivity;
+
+    PlayerJobSession(UUID playerUuid, @Nullable Offline restored, long now) {
+        this.playerUuid = playerUuid;
+        this.lastActivity = now;
+        for (int i = 0; i < JOBS.length; i++) {
+            killCounts[i] = KillCounts.restore(restored != null ? restored.killCounts[i] : null, now);
+        }
+    }
+
+    /**
+     * A session outside {@link PlayerSessions}, so simulations can replay a
+     * real player's events without touching their live rate buckets and
+     * anti-farm counts.
+     */
+    @Nonnull
+    public static PlayerJobSession detached(@Nonnull UUID playerUuid, long now) {
+        return new PlayerJobSession(playerUuid, null, now);
+    }
+
+    @Nonnull
+    public UUID getPlayerUuid() { return playerUuid; }
+
+    /** Token buckets, indexed by {@link JobType#ordinal()} */
+    @Nonnull
+    public AtomicLongArray getRateBuckets() { return rateBuckets; }
+
+    /** Anti-farm counts for one job */
+    @Nonnull
+    public KillCounts getKillCounts(JobType job) { return killCounts[job.ordinal()]; }
+
+    /** Packed vein streak (see VeinStreakTracker) */
+    @Nonnull
+    public AtomicLong getVeinStreak() { return veinStreak; }
+
+    /** The player's slot in the progression store, or -1 until the first grant */
+    public int getProgressionSlot() { return progressionSlot; }
+
+    public void setProgressionSlot(int progressionSlot) { this.progressionSlot = progressionSlot; }
+
+    /** The player's leaderboard scores, or null until their first recorded reward */
+    @Nullable
+    public PlayerScores getLeaderboardScores() { return leaderboardScores; }
+
+    public void setLeaderboardScores(@Nullable PlayerScores leaderboardScores) { this.leaderboardScores = leaderboardScores; }
+
+    // =========================================================================
+    // VIP profile
+    // =========================================================================
+
+    /**
+     * The player's VIP multiplier and chance bonus. Permissions are checked
+     * at most once per {@link #VIP_REFRESH_MS}, and again whenever the
+     * config is reloaded. Timed from this event's session lookup.
+     *
+     * @param player The Player entity, or null when unavailable
+     */
+    @Nonnull
+    public VipProfile getVipProfile(@Nullable CommandSender player, VipConfig config) {
+        if (player == null) {
+            return VipProfile.NONE;
+        }
+        long now = lastActivity;
+        VipProfile cached = vipProfile;
+        if (cached != null && cached.config == config && now - cached.checkedAt < VIP_REFRESH_MS) {
+            return cached;
+        }
+        VipProfile fresh = new VipProfile(config, now,
+            config.calculateMultiplier(player), config.calculateChanceBonus(player));
+        vipProfile = fresh;
+        return fresh;
+    }
+
+    /**
+     * VIP bonuses resolved from permissions at one point in time.
+     */
+    public static final class VipProfile {
+        static final VipProfile NONE = new VipProfile(null, 0, 1.0f, 0);
+
+        private final VipConfig config;
+        private final long checkedAt;
+        private final float multiplier;
+        private final int chanceBonus;
+
+        private VipProfile(VipConfig config, long checkedAt, float multiplier, int chanceBonus) {
+            this.config = config;
+            this.checkedAt = checkedAt;
+            this.multiplier = multiplier;
+            this.chanceBonus = chanceBonus;
+        }
+
+        /**
+         * Fixed bonuses, not tied to permissions (simulations and load tests).
+         */
+        @Nonnull
+        public static VipProfile of(float multiplier, int chanceBonus) {
+            return new VipProfile(null, 0, multiplier, chanceBonus);
+        }
+
+        /** Coin multiplier (1.0 for non-VIP) */
+        public float getMultiplier() { return multiplier; }
+
+        /** Drop chance percentage points added to the tier's */
+        public int getChanceBonus() { return chanceBonus; }
+    }
+
+    // =========================================================================
+    // Pending payouts
+    // =========================================================================
+
+    /**
+     * A deposit for this player was queued for settlement.
+     */
+    public void payoutQueued(long value) {
+        pendingPayouts.incrementAndGet();
+        pendingValue.addAndGet(value);
+    }
+
+    /**
+     * A queued deposit settled (paid or failed).
+     */
+    public void payoutSettled(long value) {
+        pendingPayouts.decrementAndGet();
+        pendingValue.addAndGet(-value);
+    }
+
+    /** Deposits queued but not yet settled */
+    public int getPendingPayouts() { return pendingPayouts.get(); }
+
+    /** Value of the deposits queued but not yet settled */
+    public long getPendingValue() { return pendingValue.get(); }
+
+    // =========================================================================
+    // Lifecycle
+    // =========================================================================
+
+    void touch(long now) {
+        lastActivity = now;
+    }
+
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * What must survive a disconnect (anti-farm counts of windows still
+     * running), or null if nothing does. Buckets refill and streaks time
+     * out before a player is back, so they are dropped.
+     */
+    @Nullable
+    Offline spill(long now) {
+        KillCounts.Offline[] spilled = null;
+        for (int i = 0; i < JOBS.length; i++) {
+            KillCounts.Offline counts = killCounts[i].spill(now);
+            if (counts != null) {
+                if (spilled == null) {
+                    spilled = new KillCounts.Offline[JOBS.length];
+                }
+                spilled[i] = counts;
+            }
+        }
+        return spilled != null ? new Offline(spilled) : null;
+    }
+
+    /**
+     * Compact state of an offline player, kept until its last window ends.
+     */
+    static final class Offline {
+        final KillCounts.Offline[] killCounts;
+
+        Offline(KillCounts.Offline[] killCounts) {
+            this.killCounts = killCounts;
+        }
+
+        boolean isExpired(long now) {
+            for (KillCounts.Offline counts : killCounts) {
+                if (counts != null && !counts.isExpired(now)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecotalejobs.session;
+
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.JobsClock;
+import com.ecotalejobs.util.SweepCursor;
+import com.ecotalejobs.util.Sweepable;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link PlayerJobSession} of every player the reward systems have
+ * seen, shared by all jobs.
+ *
+ * <p>Sessions are created on a player's first reward event and released
+ * on disconnect. Anti-farm windows still running at that point are kept
+ * in compact form and handed back if the player returns before they end,
+ * so relogging does not reset diminishing returns. Sessions whose
+ * disconnect was missed are dropped by the sweep after
+ * {@link #IDLE_TTL_MS} without events.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class PlayerSessions implements Sweepable {
+
+    private static final PlayerSessions INSTANCE = new PlayerSessions();
+
+    public static PlayerSessions getInstance() {
+        return INSTANCE;
+    }
+
+    /** Sessions without events for this long are reclaimed */
+    public static final long IDLE_TTL_MS = 30 * 60 * 1000; // 30 minutes
+
+    private final ConcurrentHashMap<UUID, PlayerJobSession> sessions = new ConcurrentHashMap<>();
+    private final SweepCursor<UUID, PlayerJobSession> cursor = new SweepCursor<>(sessions);
+
+    private final ConcurrentHashMap<UUID, PlayerJobSession.Offline> offline = new ConcurrentHashMap<>();
+    private final SweepCursor<UUID, PlayerJobSession.Offline> offlineCursor = new SweepCursor<>(offline);
+
+    private volatile JobsClock clock = CoarseClock.getInstance();
+
+    private PlayerSessions() {}
+
+    /**
+     * Replace the time source (tests and benchmarks).
+     */
+    public void setClock(@Nonnull JobsClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * The player's session, created (or restored from offline state) on
+     * first use. Call once per event and pass the result along.
+     */
+    @Nonnull
+    public PlayerJobSession get(@Nonnull UUID playerUuid) {
+        long now = clock.millis();
+        PlayerJobSession session = sessions.get(playerUuid);
+        if (session == null) {
+            // The spilled state is taken inside the compute so only one thread restores it
+            session = sessions.computeIfAbsent(playerUuid,
+                k -> new PlayerJobSession(k, offline.remove(k), now));
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Release a player who went offline. A reward still in flight for them
+     * updates the released session and is lost from the counts, which is
+     * harmless for events that close to the disconnect.
+     */
+    @Override
+    public void release(UUID playerUuid) {
+        PlayerJobSession session = sessions.remove(playerUuid);
+        if (session == null) {
+            return;
+        }
+        PlayerJobSession.Offline spilled = session.spill(clock.millis());
+        if (spilled != null) {
+            offline.put(playerUuid, spilled);
+        }
+    }
+
+    @Override
+    public int sweep(long now, int maxEntries) {
+        return cursor.sweep(now, maxEntries, (player, session, at) -> at - session.getLastActivity() > IDLE_TTL_MS)
+            + offlineCursor.sweep(now, maxEntries, (player, spilled, at) -> spilled.isExpired(at));
+    }
+
+    @Override
+    public int size() {
+        return sessions.size() + offline.size();
+    }
+
+    /** Players with a live session */
+    public int getOnlineCount() {
+        return sessions.size();
+    }
+
+    /** Offline players whose anti-farm counts are still kept */
+    public int getOfflineCount() {
+        return offline.size();
+    }
+
+    /** Deposits queued for settlement across all sessions (walks the map) */
+    public long getPendingPayouts() {
+        long pending = 0;
+        for (PlayerJobSession session : sessions.values()) {
+            pending += session.getPendingPayouts();
+        }
+        return pending;
+    }
+}
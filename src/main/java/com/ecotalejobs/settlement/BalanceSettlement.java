@@ -0,0 +1,234 @@
+package com.ecotalejobs.settlement;
+
+import com.ecotale.api.EcotaleAPI;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * One balance deposit that the economy cap has already charged.
+ *
+ * <p>Created on the world thread once a reward is decided: the payout
+ * journal entry is opened right away, so a crash while the deposit waits
+ * in the {@link SettlementExecutor} still leaves it pending for recovery.
+ * {@link #settle()} performs the deposit - later on a settlement lane
+ * through {@link #run()}, which then also records the final outcome
+ * (metrics, ledger, JFR) that the world thread could not know, or after the
+ * journal's next group commit through {@link #settleAfterCommit()} when
+ * there is no lane. Either way the journal's DISPATCHED record is on disk
+ * before the deposit, so recovery only ever replays deposits that never
+ * reached Ecotale, and no world thread waits on an fsync for it.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class BalanceSettlement implements Runnable {
+
+    /**
+     * Told how a deposit ended (for per-system statistics). Runs on the
+     * settling thread.
+     */
+    @FunctionalInterface
+    public interface Callback {
+        void settled(@Nonnull RewardOutcome outcome, long value);
+    }
+
+    /**
+     * Performs the balance deposit. Ecotale's unless a load test passes a
+     * stand-in; throws when the deposit fails.
+     */
+    @FunctionalInterface
+    public interface Depositor {
+        void deposit(@Nonnull UUID player, double amount, @Nonnull String reason) throws Exception;
+    }
+
+    private static final Depositor ECOTALE = EcotaleAPI::deposit;
+
+    private final JobType job;
+    private final UUID player;
+    private final long value;
+    private final String reason;
+    private final EconomyCap economyCap;
+    private final PayoutJournal journal;
+    private final long journalId;
+    private final Depositor depositor;
+    private final Callback callback;
+
+    // Journal sequence of the DISPATCHED record (0 until staged)
+    private long dispatchSequence;
+
+    // Deferred outcome recording (set by recordOnSettle)
+    private boolean recordOutcome;
+    private RewardLedger ledger;
+    private LedgerEntry record;
+    private RewardEvent trace;
+
+    // Session whose pending payouts include this one (set by trackPending)
+    private PlayerJobSession session;
+
+    public BalanceSettlement(@Nonnull JobType job, @Nonnull UUID player, long value, @Nonnull String reason,
+                             @Nonnull EconomyCap economyCap, @Nullable PayoutJournal journal,
+                             @Nonnull Callback callback) {
+        this(job, player, value, reason, economyCap, journal, ECOTALE, callback);
+    }
+
+    /**
+     * A deposit paid through {@code depositor} instead of Ecotale (load tests).
+     */
+    public BalanceSettlement(@Nonnull JobType job, @Nonnull UUID player, long value, @Nonnull String reason,
+                             @Nonnull EconomyCap economyCap, @Nullable PayoutJournal journal,
+                             @Nonnull Depositor depositor, @Nonnull Callback callback) {
+        this(job, player, value, reason, economyCap, journal,
+            journal != null ? journal.begin(job, player, value, PayoutJournal.MODE_BALANCE) : 0, depositor, callback);
+    }
+
+    private BalanceSettlement(JobType job, UUID player, long value, String reason, EconomyCap economyCap,
+                              @Nullable PayoutJournal journal, long journalId, Depositor depositor,
+                              Callback callback) {
+        this.job = job;
+        this.player = player;
+        this.value = value;
+        this.reason = reason;
+        this.economyCap = economyCap;
+        this.journal = journal;
+        this.journalId = journalId;
+        this.depositor = depositor;
+        this.callback = callback;
+    }
+
+    /**
+     * Settle a payout recovered from the journal under the id it was
+     * carried over with. The economy cap must already be charged.
+     */
+    @Nonnull
+    public static BalanceSettlement recovered(@Nonnull PayoutJournal.PendingPayout payout, @Nonnull String reason,
+                                              @Nonnull EconomyCap economyCap, @Nonnull PayoutJournal journal,
+                                              @Nonnull Callback callback) {
+        return new BalanceSettlement(payout.getJob(), payout.getPlayer(), payout.getValue(), reason, economyCap,
+            journal, payout.getId(), ECOTALE, callback);
+    }
+
+    /**
+     * Have {@link #run()} record the final outcome, since the world thread
+     * reported {@link RewardOutcome#SETTLING} for this event.
+     *
+     * @param record Detached copy of the event's ledger entry
+     * @param trace JFR event to finish, or null when not recording
+     */
+    @Nonnull
+    public BalanceSettlement recordOnSettle(@Nullable RewardLedger ledger, @Nonnull LedgerEntry record,
+                                            @Nullable RewardEvent trace) {
+        this.recordOutcome = true;
+        this.ledger = ledger;
+        this.record = record;
+        this.trace = trace;
+        return this;
+    }
+
+    /**
+     * Count this deposit among the session's pending payouts until it
+     * settles.
+     */
+    @Nonnull
+    public BalanceSettlement trackPending(@Nonnull PlayerJobSession session) {
+        this.session = session;
+        session.payoutQueued(value);
+        return this;
+    }
+
+    /**
+     * Stage the journal's DISPATCHED record without waiting for the disk, so
+     * a lane can sync a whole batch with one fsync before settling it.
+     *
+     * @return Journal sequence to sync, or 0 if not journaled
+     */
+    long stageDispatch() {
+        if (dispatchSequence == 0 && journal != null && journalId != 0) {
+            dispatchSequence = journal.dispatch(journalId);
+        }
+        return dispatchSequence;
+    }
+
+    @Nullable
+    PayoutJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Deposit now. On failure the cap charge is released and the journal
+     * entry aborted. The deposit is not attempted if the DISPATCHED record
+     * cannot be written.
+     *
+     * @return {@link RewardOutcome#REWARDED} or {@link RewardOutcome#PAYOUT_FAILED}
+     */
+    @Nonnull
+    public RewardOutcome settle() {
+        RewardOutcome outcome;
+        try {
+            if (journal != null && journalId != 0) {
+                journal.sync(stageDispatch());
+            }
+            depositor.deposit(player, (double) value, reason);
+            if (journal != null) {
+                journal.commit(journalId);
+            }
+            outcome = RewardOutcome.REWARDED;
+        } catch (Exception e) {
+            // Nothing was paid - give the cap back
+            economyCap.release(value);
+            if (journal != null) {
+                journal.abort(journalId);
+            }
+            JobsLogger.warn("Failed to pay %s reward (%s): %s", job.getKey(), reason, e.getMessage());
+            outcome = RewardOutcome.PAYOUT_FAILED;
+        }
+        if (session != null) {
+            session.payoutSettled(value);
+        }
+        callback.settled(outcome, value);
+        return outcome;
+    }
+
+    /**
+     * Settle without a settlement lane: stage the DISPATCHED record and
+     * deposit (through {@link #run()}) once the journal's background group
+     * commit has put it on disk, on the committing thread. Without a journal
+     * the deposit runs right away.
+     */
+    public void settleAfterCommit() {
+        if (journal == null || journalId == 0) {
+            run();
+            return;
+        }
+        journal.whenDurable(stageDispatch(), this);
+    }
+
+    /**
+     * Settle on a settlement lane.
+     */
+    @Override
+    public void run() {
+        RewardOutcome outcome = settle();
+        if (!recordOutcome) {
+            return;
+        }
+        JobsMetrics.getInstance().record(job, outcome);
+        if (ledger != null) {
+            ledger.append(record, outcome);
+        }
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+}
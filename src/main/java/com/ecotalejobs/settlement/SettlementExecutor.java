@@ -0,0 +1,296 @@
+package com.ecotalejobs.settlement;
+
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.util.JobsLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs reward settlements (balance deposits and their bookkeeping) off the
+ * world tick.
+ *
+ * <p>Work is spread over a fixed number of lanes. A player always maps to
+ * the same lane, and each lane is a bounded FIFO queue drained by a single
+ * thread, so one player's settlements run in submission order while
+ * different players settle in parallel. World threads are the producers.
+ *
+ * <p>A lane takes whatever is queued (up to {@link #MAX_BATCH}) at once and
+ * forces the payout journal's DISPATCHED records of the whole batch to
+ * disk with a single fsync before depositing, so journaling costs one
+ * sync per batch rather than one per deposit.
+ *
+ * <p>Backpressure: when a lane is full the submitting thread waits for room
+ * instead of dropping or reordering money. This only happens if Ecotale's
+ * storage falls behind for long enough to fill {@code queueCapacity}, and
+ * it costs the tick no more than settling inline would.
+ *
+ * <p>After {@link #close(long)} (or if the executor was never started)
+ * submissions are settled without a lane: a balance deposit follows the
+ * payout journal's next group commit
+ * ({@link BalanceSettlement#settleAfterCommit()}), so the caller never
+ * waits on an fsync; anything else runs inline. A submission that races with
+ * {@code close} and lands behind a lane's stop marker is run inline by
+ * whichever of the two notices it first, so it is never stranded.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class SettlementExecutor {
+
+    /** Settlements a lane takes from its queue at once */
+    static final int MAX_BATCH = 64;
+
+    private static final Runnable STOP = () -> {};
+
+    // How often a producer waiting on a full lane re-checks for close
+    private static final long STALL_POLL_MS = 50;
+
+    private final Lane[] lanes;
+    private volatile boolean running;
+    // Set once close() gives up waiting: lanes finish the batch in hand and exit
+    private volatile boolean abandoned;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder settled = new LongAdder();
+    private final LongAdder inline = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong(0);
+
+    /**
+     * @param laneCount Number of settlement threads (clamped to 1-16)
+     * @param queueCapacity Pending settlements per lane before producers wait
+     */
+    public SettlementExecutor(int laneCount, int queueCapacity) {
+        int count = Math.max(1, Math.min(16, laneCount));
+        int capacity = Math.max(16, queueCapacity);
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i, capacity);
+        }
+    }
+
+    /**
+     * Start the lane threads.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+        JobsLogger.info("[Settlement] %d lanes started (%d slots each)", lanes.length, lanes[0].queue.remainingCapacity());
+    }
+
+    /**
+     * Queue a settlement behind the player's earlier ones.
+     */
+    public void submit(@Nonnull UUID player, @Nonnull Runnable settlement) {
+        submitted.increment();
+        if (!running) {
+            runInline(settlement);
+            return;
+        }
+
+        Lane lane = lanes[(player.hashCode() & 0x7fffffff) % lanes.length];
+        if (!lane.queue.offer(settlement)) {
+            stalls.increment();
+            try {
+                while (!lane.queue.offer(settlement, STALL_POLL_MS, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        runInline(settlement);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                runInline(settlement);
+                return;
+            }
+        }
+        if (!running && lane.queue.remove(settlement)) {
+            // Closed while queuing: the lane may already be past its stop marker
+            runInline(settlement);
+            return;
+        }
+        long depth = lane.queue.size();
+        if (depth > maxQueueDepth.get()) {
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    private void runInline(Runnable settlement) {
+        inline.increment();
+        try {
+            if (settlement instanceof BalanceSettlement) {
+                ((BalanceSettlement) settlement).settleAfterCommit();
+            } else {
+                settlement.run();
+            }
+        } catch (Throwable t) {
+            JobsLogger.error("[Settlement] Inline settlement failed", t);
+        }
+        settled.increment();
+    }
+
+    /**
+     * Stop accepting work and drain every lane, waiting at most
+     * {@code timeoutMs} in total. Lanes are never interrupted, since an
+     * interrupt during journal I/O would close the journal's channel for
+     * everyone: past the timeout each lane finishes the batch it holds
+     * (its DISPATCHED records are already on disk) and takes no more.
+     * Settlements still queued then stay pending in the payout journal and
+     * are resolved on the next start.
+     */
+    public void close(long timeoutMs) {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMs));
+        boolean[] stopped = new boolean[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            try {
+                stopped[i] = lanes[i].queue.offer(STOP, remainingMs(deadline), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int left = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            try {
+                lane.thread.join(Math.max(1, remainingMs(deadline)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (lane.thread.isAlive() || !stopped[i]) {
+                abandoned = true; // Full or busy past the deadline - no new batches
+                left += lane.queue.size();
+                continue;
+            }
+            // Submissions that raced with close and landed behind the stop marker
+            Runnable leftover;
+            while ((leftover = lane.queue.poll()) != null) {
+                runInline(leftover);
+            }
+        }
+
+        if (left > 0) {
+            JobsLogger.warn("[Settlement] %d settlements still queued after %d ms - left pending in the payout journal",
+                left, timeoutMs);
+        }
+        JobsLogger.info("[Settlement] Closed - %,d settled (%,d inline, %,d backpressure waits, max depth %d)",
+            settled.sum(), inline.sum(), stalls.sum(), maxQueueDepth.get());
+    }
+
+    private static long remainingMs(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    public boolean isRunning() { return running; }
+    public int getLaneCount() { return lanes.length; }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getSettledCount() { return settled.sum(); }
+    public long getInlineCount() { return inline.sum(); }
+    public long getStallCount() { return stalls.sum(); }
+    public long getMaxQueueDepth() { return maxQueueDepth.get(); }
+
+    /** Settlements waiting across all lanes */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    // =========================================================================
+    // Lane
+    // =========================================================================
+
+    private final class Lane implements Runnable {
+        final BlockingQueue<Runnable> queue;
+        final Thread thread;
+
+        Lane(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "EcotaleJobs-Settlement-" + (index + 1));
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Runnable> batch = new ArrayList<>(MAX_BATCH);
+            boolean stopped = false;
+            while (!stopped && !abandoned) {
+                batch.clear();
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, MAX_BATCH - 1);
+                syncDispatched(batch);
+                for (Runnable settlement : batch) {
+                    if (settlement == STOP) {
+                        stopped = true; // Still run what was taken with it
+                        continue;
+                    }
+                    try {
+                        settlement.run();
+                    } catch (Throwable t) {
+                        // A settlement must never kill its lane
+                        JobsLogger.error("[Settlement] Settlement failed", t);
+                    }
+                    settled.increment();
+                }
+            }
+        }
+
+        /**
+         * Stage the DISPATCHED record of every journaled deposit in the batch
+         * and force them to disk together. On failure each settlement retries
+         * its own sync (and fails its payout if that fails too).
+         */
+        private void syncDispatched(List<Runnable> batch) {
+            PayoutJournal journal = null;
+            long sequence = 0;
+            for (Runnable settlement : batch) {
+                if (settlement instanceof BalanceSettlement) {
+                    BalanceSettlement deposit = (BalanceSettlement) settlement;
+                    long staged = deposit.stageDispatch();
+                    if (staged > sequence) {
+                        sequence = staged;
+                        journal = deposit.getJournal();
+                    }
+                }
+            }
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.sync(sequence);
+            } catch (IOException e) {
+                JobsLogger.warn("[Settlement] Journal sync failed: %s", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.config.EcotaleJobsConfig;
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.ManualClock;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Monte-Carlo projection of hourly currency injection for a player load.
+ *
+ * <p>Each trial simulates one hour: every player performs the configured
+ * number of actions per job, spread evenly over the hour on a
+ * {@link ManualClock}, each action hitting a tier drawn from the job's tier
+ * mix and sampled tool quality and depth (mining). Actions run through the
+ * job's own {@link RewardPipeline} (as its reward system declares it) with
+ * a seeded random, so drop rolls, the rate limit, coin ranges, VIP
+ * multipliers and chance bonuses and rounding are the live stages
+ * themselves. Trials run in parallel with independent seeds; stage
+ * counters go to a {@link PipelineMetrics} of the projection's own.
+ *
+ * <p>The result is raw demand - anti-farm (which depends on how often the
+ * same source repeats) and the economy cap itself are switched off - so the
+ * percentiles are the load the cap has to absorb.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class EconomyProjection {
+
+    private static final JobType[] JOBS = JobType.values();
+
+    /** Start of the simulated hour (any time works; the clock is per trial) */
+    private static final long HOUR_START = 3_600_000L;
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final EcotaleJobsConfig config;
+    private final EcotaleJobsConfig.ProjectionConfig projection;
+    private final Map<JobType, JobModel> models = new EnumMap<>(JobType.class);
+    private final Map<JobType, TierMix> mixes = new EnumMap<>(JobType.class);
+    private final String[] vipGroups;
+
+    // Mining bonus sampling bounds
+    private final EcotaleJobsConfig.ToolQualityConfig toolQuality;
+    private final EcotaleJobsConfig.DepthBonusConfig depthBonus;
+    private final int maxToolQuality;
+    private final int minDepthY;
+    private final int depthRange;
+
+    public EconomyProjection(@Nonnull EcotaleJobsConfig config) {
+        this.config = config;
+        this.projection = config.getProjection();
+        for (JobType job : JOBS) {
+            JobModel model = JobModel.of(config, job);
+            models.put(job, model);
+            mixes.put(job, TierMix.of(model, mixOf(job)));
+        }
+        EcotaleJobsConfig.VipConfig vip = config.getVipMultipliers();
+        this.vipGroups = vip.isEnabled()
+            ? new TreeMap<>(vip.getMultipliers()).keySet().toArray(new String[0])
+            : new String[0];
+
+        this.toolQuality = config.getMining().getToolQuality();
+        this.depthBonus = config.getMining().getDepthBonus();
+        this.maxToolQuality = toolQuality.getQualityStep() > 0
+            ? (int) Math.ceil(toolQuality.getMaxBonus() / toolQuality.getQualityStep()) : 0;
+        this.minDepthY = depthBonus.getMinY();
+        this.depthRange = Math.max(0, depthBonus.getMaxY() - depthBonus.getMinY());
+    }
+
+    private Map<String, Float> mixOf(JobType job) {
+        return switch (job) {
+            case MOB_KILLS -> projection.getMobTierMix();
+            case MINING -> projection.getMiningTierMix();
+            case CRAFTING -> projection.getCraftingTierMix();
+            case HARVESTING -> projection.getHarvestingTierMix();
+            case WOODCUTTING -> projection.getWoodcuttingTierMix();
+        };
+    }
+
+    /**
+     * Run the projection for {@code players} players.
+     */
+    @Nonnull
+    public Result run(int players, int trials, long seed) {
+        int trialCount = Math.max(1, trials);
+        long[][] hourly = new long[JOBS.length][trialCount];
+        PipelineMetrics metrics = new PipelineMetrics();
+
+        IntStream.range(0, trialCount).parallel().forEach(trial -> {
+            SplittableRandom random = new SplittableRandom(seed + trial * 0x9E3779B97F4A7C15L);
+            ManualClock clock = new ManualClock(HOUR_START);
+            RewardPipeline[] pipelines = new RewardPipeline[JOBS.length];
+            for (JobType job : JOBS) {
+                pipelines[job.ordinal()] = models.get(job).newPipeline(clock, false, JobModel.uncapped(), metrics);
+            }
+            for (int player = 0; player < players; player++) {
+                VipProfile vip = vipProfile(rollVipGroup(random));
+                PlayerJobSession session = PlayerJobSession.detached(new UUID(trial, player), HOUR_START);
+                for (JobType job : JOBS) {
+                    hourly[job.ordinal()][trial] += simulatePlayerHour(job, pipelines[job.ordinal()],
+                        session, vip, clock, random);
+                }
+            }
+        });
+
+        Result result = new Result(players, trialCount);
+        for (JobType job : JOBS) {
+            result.jobs.put(job, summarize(job, players, hourly[job.ordinal()]));
+        }
+        return result;
+    }
+
+    // =========================================================================
+    // One player, one hour
+    // =========================================================================
+
+    private long simulatePlayerHour(JobType job, RewardPipeline pipeline, PlayerJobSession session,
+                                    VipProfile vip, ManualClock clock, SplittableRandom random) {
+        JobModel model = models.get(job);
+        TierMix mix = mixes.get(job);
+        int actions = configuredActions(job);
+        if (!model.isEnabled() || mix.isEmpty() || actions == 0) {
+            return 0;
+        }
+
+        // Evenly spaced, so the rate limiter passes what its refill allows
+        long value = 0;
+        for (int i = 0; i < actions; i++) {
+            clock.set(HOUR_START + i * HOUR_MS / actions);
+            int index = mix.sample(random);
+            RewardContext reward = RewardContext.begin(job, session, vip, random)
+                .addLine(mix.names[index], mix.tiers[index], 1);
+            if (job == JobType.MINING) {
+                reward.setBonusMultiplier(rollMiningBonus(random));
+            }
+            if (pipeline.run(reward) == null) {
+                value += reward.getValue();
+            }
+        }
+        return value;
+    }
+
+    private int configuredActions(JobType job) {
+        return Math.max(0, projection.getActionsPerPlayerHour().getOrDefault(job.getKey(), 0));
+    }
+
+    /**
+     * Configured actions per player-hour, capped by what the rate limiter lets through.
+     */
+    private int actionsPerHour(JobType job, JobModel model) {
+        int configured = configuredActions(job);
+        long throughput = model.getRateLimitBurst() + model.getRateLimitRefillPerSecond() * 3600L;
+        return (int) Math.min(configured, throughput);
+    }
+
+    private float rollMiningBonus(SplittableRandom random) {
+        int quality = maxToolQuality > 0 ? random.nextInt(maxToolQuality + 1) : 0;
+        int y = depthRange > 0 ? minDepthY + random.nextInt(depthRange + 1) : minDepthY;
+        return toolQuality.calculateMultiplier(quality) * depthBonus.calculateMultiplier(y);
+    }
+
+    // =========================================================================
+    // VIP
+    // =========================================================================
+
+    private String rollVipGroup(SplittableRandom random) {
+        if (vipGroups.length == 0 || random.nextDouble() >= projection.getVipShare()) {
+            return null;
+        }
+        return vipGroups[random.nextInt(vipGroups.length)];
+    }
+
+    private VipProfile vipProfile(String group) {
+        if (group == null) {
+            return VipProfile.of(1.0f, 0);
+        }
+        EcotaleJobsConfig.VipConfig vip = config.getVipMultipliers();
+        return VipProfile.of(
+            Math.min(Math.max(1.0f, vip.getMultipliers().getOrDefault(group, 1.0f)), vip.getMaxGlobalMultiplier()),
+            vip.getChanceBonuses().getOrDefault(group, 0));
+    }
+
+    // =========================================================================
+    // Summary
+    // =========================================================================
+
+    private JobProjection summarize(JobType job, int players, long[] hourly) {
+        long[] sorted = hourly.clone();
+        Arrays.sort(sorted);
+
+        JobModel model = models.get(job);
+        TierMix mix = mixes.get(job);
+        long actions = model.isEnabled() ? (long) actionsPerHour(job, model) * players : 0;
+
+        long cap = model.getMaxInjectionPerHour();
+        int overCap = 0;
+        double sum = 0;
+        for (long value : sorted) {
+            sum += value;
+            if (value > cap) overCap++;
+        }
+
+        JobProjection p = new JobProjection(job);
+        p.mean = sum / sorted.length;
+        p.p50 = percentile(sorted, 50);
+        p.p90 = percentile(sorted, 90);
+        p.p99 = percentile(sorted, 99);
+        p.warnValue = percentile(sorted, projection.getWarnPercentile());
+        p.expectedPerHour = actions * mix.expectedValue();
+        p.worstCasePerHour = actions * mix.maxValue() * maxMultiplier(job);
+        p.maxInjectionPerHour = cap;
+        p.capHitProbability = (double) overCap / sorted.length;
+        p.playersToCap = p.mean > 0 ? cap / (p.mean / Math.max(1, players)) : Double.POSITIVE_INFINITY;
+        return p;
+    }
+
+    private double maxMultiplier(JobType job) {
+        EcotaleJobsConfig.VipConfig vip = config.getVipMultipliers();
+        double multiplier = 1.0;
+        if (job != JobType.CRAFTING && vip.isEnabled()) {
+            for (float value : vip.getMultipliers().values()) {
+                multiplier = Math.max(multiplier, Math.min(value, vip.getMaxGlobalMultiplier()));
+            }
+        }
+        if (job == JobType.MINING) {
+            multiplier *= toolQuality.calculateMultiplier(maxToolQuality) * depthBonus.calculateMultiplier(minDepthY);
+        }
+        return multiplier;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int p = Math.max(0, Math.min(100, percentile));
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // =========================================================================
+    // Tier mix
+    // =========================================================================
+
+    /**
+     * Weighted tier distribution for one job, resolved against its tier table.
+     * Tiers missing from the config are dropped.
+     */
+    static final class TierMix {
+        final String[] names;
+        final TierConfig[] tiers;
+        private final double[] cumulative;
+        private final double[] weights; // Normalised
+
+        private TierMix(String[] names, TierConfig[] tiers, double[] weights) {
+            this.names = names;
+            this.tiers = tiers;
+            this.weights = weights;
+            this.cumulative = new double[weights.length];
+            double running = 0;
+            for (int i = 0; i < weights.length; i++) {
+                running += weights[i];
+                cumulative[i] = running;
+            }
+        }
+
+        static TierMix of(JobModel model, Map<String, Float> mix) {
+            List<String> names = new ArrayList<>();
+            List<TierConfig> tiers = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            double total = 0;
+            // Sorted so the same config always samples the same way
+            for (Map.Entry<String, Float> entry : new TreeMap<>(mix).entrySet()) {
+                TierConfig tier = model.getTier(entry.getKey());
+                if (tier == null || entry.getValue() == null || entry.getValue() <= 0) {
+                    continue;
+                }
+                names.add(entry.getKey());
+                tiers.add(tier);
+                weights.add((double) entry.getValue());
+                total += entry.getValue();
+            }
+            double[] normalised = new double[weights.size()];
+            for (int i = 0; i < normalised.length; i++) {
+                normalised[i] = weights.get(i) / total;
+            }
+            return new TierMix(names.toArray(new String[0]), tiers.toArray(new TierConfig[0]), normalised);
+        }
+
+        boolean isEmpty() {
+            return tiers.length == 0;
+        }
+
+        /** Index of a tier drawn by weight */
+        int sample(SplittableRandom random) {
+            double roll = random.nextDouble();
+            int index = Arrays.binarySearch(cumulative, roll);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return Math.min(index, tiers.length - 1);
+        }
+
+        /** Expected value per action ({@link TierConfig#getExpectedValue()}, weighted) */
+        double expectedValue() {
+            double value = 0;
+            for (int i = 0; i < tiers.length; i++) {
+                value += weights[i] * tiers[i].getExpectedValue();
+            }
+            return value;
+        }
+
+        /** Highest single-drop value in the mix ({@link TierConfig#getMaxValue()}) */
+        long maxValue() {
+            long max = 0;
+            for (TierConfig tier : tiers) {
+                max = Math.max(max, tier.getMaxValue());
+            }
+            return max;
+        }
+    }
+
+    // =========================================================================
+    // Results
+    // =========================================================================
+
+    /**
+     * Projection for all jobs at one player load.
+     */
+    public static final class Result {
+        private final int players;
+        private final int trials;
+        private final Map<JobType, JobProjection> jobs = new EnumMap<>(JobType.class);
+
+        Result(int players, int trials) {
+            this.players = players;
+            this.trials = trials;
+        }
+
+        public int getPlayers() { return players; }
+        public int getTrials() { return trials; }
+
+        @Nonnull
+        public JobProjection getJob(@Nonnull JobType job) {
+            return jobs.get(job);
+        }
+    }
+
+    /**
+     * Hourly injection distribution for one job.
+     */
+    public static final class JobProjection {
+        private final JobType job;
+        double mean;
+        long p50;
+        long p90;
+        long p99;
+        long warnValue;
+        double expectedPerHour;
+        double worstCasePerHour;
+        long maxInjectionPerHour;
+        double capHitProbability;
+        double playersToCap;
+
+        JobProjection(JobType job) {
+            this.job = job;
+        }
+
+        @Nonnull public JobType getJob() { return job; }
+        public double getMean() { return mean; }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+
+        /** Injection at the configured WarnPercentile */
+        public long getWarnValue() { return warnValue; }
+
+        /** Analytical mean from tier expected values, without VIP/tool/depth multipliers */
+        public double getExpectedPerHour() { return expectedPerHour; }
+
+        /** Every action dropping the mix's most valuable tier at max multipliers */
+        public double getWorstCasePerHour() { return worstCasePerHour; }
+
+        public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+
+        /** Share of simulated hours whose demand exceeded the cap */
+        public double getCapHitProbability() { return capHitProbability; }
+
+        /** Player count at which mean demand reaches the cap */
+        public double getPlayersToCap() { return playersToCap; }
+
+        /** True if demand at the warn percentile exceeds the cap */
+        public boolean exceedsCap() {
+            return warnValue > maxInjectionPerHour;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.config.EcotaleJobsConfig;
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.ledger.LedgerReader;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.ManualClock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * What-if replay of reward events against a candidate config.
+ *
+ * <p>Events are grouped by player and each player's history is replayed in
+ * parallel through each job's own {@link com.ecotalejobs.pipeline.RewardPipeline}
+ * (as its reward system declares it) with a detached session and a
+ * {@link ManualClock} set to each event's timestamp, so rate-limit refills
+ * and anti-farm windows expire as they did on the server. A harvest or
+ * woodcutting record is replayed as the batch it was: one line of
+ * {@code quantity} blocks, each rolling its own drop and coins, recorded
+ * for anti-farm at once. The resulting payouts are then merged in time
+ * order per job and charged to the job's {@link EconomyCap}, which is the
+ * only server-wide layer. Stage counters go to a {@link PipelineMetrics}
+ * of the simulator's own, not to {@code /jobs stats}.
+ *
+ * <p>Classification is not re-run: events keep the tier they were recorded
+ * with (exclusions and tier NONE stay as recorded). VIP players are matched
+ * to their group by the multiplier they were paid with under the live
+ * config, then get the candidate's multiplier and chance bonus for that
+ * group. Randomness is seeded per player, so a run is reproducible.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class EconomySimulator {
+
+    private static final JobType[] JOBS = JobType.values();
+    private static final int OUTCOMES = RewardOutcome.values().length;
+
+    private final Map<JobType, JobModel> models = new EnumMap<>(JobType.class);
+    private final PipelineMetrics metrics = new PipelineMetrics();
+    private final EcotaleJobsConfig.VipConfig liveVip;
+    private final EcotaleJobsConfig.VipConfig candidateVip;
+    private final long seed;
+
+    /**
+     * @param live Config the events were recorded under (used to identify VIP groups)
+     * @param candidate Config to simulate
+     * @param seed Random seed
+     */
+    public EconomySimulator(@Nonnull EcotaleJobsConfig live, @Nonnull EcotaleJobsConfig candidate, long seed) {
+        for (JobType job : JOBS) {
+            models.put(job, JobModel.of(candidate, job));
+        }
+        this.liveVip = live.getVipMultipliers();
+        this.candidateVip = candidate.getVipMultipliers();
+        this.seed = seed;
+    }
+
+    /**
+     * Load ledger records written at or after {@code sinceMillis} as simulation events.
+     */
+    @Nonnull
+    public static List<SimEvent> readLedger(@Nonnull Path directory, long sinceMillis) throws IOException {
+        List<SimEvent> events = new ArrayList<>();
+        Map<UUID, UUID> players = new HashMap<>(); // One UUID instance per player
+        new LedgerReader(directory).read(sinceMillis, (timestamp, most, least, job, outcome, source, tier,
+                                                       antiFarm, vip, bonus, quantity, value) -> {
+            if (outcome == RewardOutcome.IGNORED || outcome == RewardOutcome.BATCHED) {
+                return;
+            }
+            UUID player = players.computeIfAbsent(new UUID(most, least), p -> p);
+            events.add(new SimEvent(timestamp, player, job, source, tier, vip, bonus, quantity, outcome, value));
+        });
+        return events;
+    }
+
+    /**
+     * Replay the events. Safe to call from any thread; uses the common pool.
+     */
+    @Nonnull
+    public SimulationReport run(@Nonnull Collection<SimEvent> events) {
+        long started = System.currentTimeMillis();
+
+        Map<UUID, List<SimEvent>> byPlayer = events.stream()
+            .collect(Collectors.groupingBy(SimEvent::getPlayer));
+
+        List<PlayerResult> results = byPlayer.values().parallelStream()
+            .map(this::simulatePlayer)
+            .collect(Collectors.toList());
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (SimEvent event : events) {
+            first = Math.min(first, event.getTimestamp());
+            last = Math.max(last, event.getTimestamp());
+        }
+        double spanHours = events.isEmpty() ? 0.0 : (last - first) / 3_600_000.0;
+
+        SimulationReport report = new SimulationReport(events.size(), byPlayer.size(), spanHours);
+        for (JobType job : JOBS) {
+            SimulationReport.JobReport jobReport = report.getJob(job);
+            List<Payout> payouts = new ArrayList<>();
+            for (PlayerResult result : results) {
+                PlayerResult.Totals totals = result.totals[job.ordinal()];
+                jobReport.events += totals.events;
+                jobReport.recordedRewards += totals.recordedRewards;
+                jobReport.recordedValue += totals.recordedValue;
+                for (int i = 0; i < OUTCOMES; i++) {
+                    jobReport.outcomes[i] += totals.outcomes[i];
+                }
+                payouts.addAll(totals.payouts);
+            }
+            applyEconomyCap(models.get(job), payouts, jobReport);
+        }
+
+        report.elapsedMillis = System.currentTimeMillis() - started;
+        return report;
+    }
+
+    // =========================================================================
+    // Per-player replay (parallel)
+    // =========================================================================
+
+    private PlayerResult simulatePlayer(List<SimEvent> events) {
+        List<SimEvent> ordered = new ArrayList<>(events);
+        ordered.sort(Comparator.comparingLong(SimEvent::getTimestamp));
+
+        UUID player = ordered.get(0).getPlayer();
+        SplittableRandom random = new SplittableRandom(seed ^ player.getMostSignificantBits()
+            ^ Long.rotateLeft(player.getLeastSignificantBits(), 32));
+        ManualClock clock = new ManualClock(ordered.get(0).getTimestamp());
+        PlayerJobSession session = PlayerJobSession.detached(player, clock.millis());
+
+        PlayerResult result = new PlayerResult();
+        RewardPipeline[] pipelines = new RewardPipeline[JOBS.length];
+
+        for (SimEvent event : ordered) {
+            JobType job = event.getJob();
+            PlayerResult.Totals totals = result.totals[job.ordinal()];
+            totals.events++;
+            if (event.getRecordedOutcome() == RewardOutcome.REWARDED) {
+                totals.recordedRewards++;
+                totals.recordedValue += event.getRecordedValue();
+            }
+
+            RewardPipeline pipeline = pipelines[job.ordinal()];
+            if (pipeline == null) {
+                // Cap charged later, across players, in time order
+                pipeline = pipelines[job.ordinal()] = models.get(job).newPipeline(clock, true, JobModel.uncapped(), metrics);
+            }
+
+            clock.set(event.getTimestamp());
+            long value = simulateEvent(event, session, pipeline, random);
+            if (value >= 0) {
+                totals.payouts.add(new Payout(event.getTimestamp(), value));
+            } else {
+                totals.outcomes[(int) (-value - 1)]++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run one event through the job's pipeline, short of the economy cap.
+     *
+     * @return Value to pay, or {@link #blocked(RewardOutcome)} for the layer that stopped it
+     */
+    private long simulateEvent(SimEvent event, PlayerJobSession session, RewardPipeline pipeline,
+                               SplittableRandom random) {
+        JobType job = event.getJob();
+        JobModel model = models.get(job);
+        if (!model.isEnabled()) {
+            return blocked(RewardOutcome.IGNORED);
+        }
+        if (event.getRecordedOutcome() == RewardOutcome.EXCLUDED) {
+            return blocked(RewardOutcome.EXCLUDED);
+        }
+
+        // Tier (as recorded, resolved against the candidate's tier table)
+        TierConfig tier = model.getTier(event.getTier());
+        if (tier == null) {
+            return blocked(RewardOutcome.NO_TIER);
+        }
+
+        // The candidate's VIP bonuses for the player's group
+        String vipGroup = vipGroupOf(event.getVipMultiplier());
+        VipProfile vip = VipProfile.of(vipGroup != null ? vipMultiplier(vipGroup) : event.getVipMultiplier(),
+            vipChanceBonus(vipGroup));
+
+        RewardContext reward = RewardContext.begin(job, session, vip, random);
+        switch (job) {
+            // A recorded batch is one line of blocks, each rolled on its own
+            case HARVESTING, WOODCUTTING -> reward.addLine(event.getSource(), tier, event.getQuantity());
+            case CRAFTING -> reward.addLine(event.getSource(), tier, 1).setQuantity(event.getQuantity());
+            case MINING -> reward.addLine(event.getSource(), tier, 1).setBonusMultiplier(event.getBonusMultiplier());
+            default -> reward.addLine(event.getSource(), tier, 1);
+        }
+        RewardOutcome outcome = pipeline.run(reward);
+        return outcome != null ? blocked(outcome) : reward.getValue();
+    }
+
+    private static long blocked(RewardOutcome outcome) {
+        return -1L - outcome.ordinal();
+    }
+
+    // =========================================================================
+    // Economy cap (sequential, per job)
+    // =========================================================================
+
+    private static void applyEconomyCap(JobModel model, List<Payout> payouts, SimulationReport.JobReport report) {
+        report.maxInjectionPerHour = model.getMaxInjectionPerHour();
+        if (payouts.isEmpty()) {
+            return;
+        }
+        payouts.sort(Comparator.comparingLong(Payout::timestamp));
+
+        ManualClock clock = new ManualClock(payouts.get(0).timestamp());
+        EconomyCap cap = model.newEconomyCap(clock);
+        long windowStart = Long.MIN_VALUE;
+        boolean hit = false;
+
+        for (Payout payout : payouts) {
+            clock.set(payout.timestamp());
+            boolean injected = cap.tryInject(payout.value());
+            if (cap.getHourStart() != windowStart) {
+                windowStart = cap.getHourStart();
+                hit = false;
+                report.capWindows++;
+            }
+            if (!injected) {
+                report.outcomes[RewardOutcome.ECONOMY_CAP.ordinal()]++;
+                if (!hit) {
+                    hit = true;
+                    report.capHitWindows++;
+                    report.capHitMinuteSum += (payout.timestamp() - windowStart) / 60_000.0;
+                }
+                continue;
+            }
+            report.value += payout.value();
+            report.outcomes[RewardOutcome.REWARDED.ordinal()]++;
+        }
+    }
+
+    // =========================================================================
+    // VIP groups
+    // =========================================================================
+
+    /**
+     * Live VIP group paid with this multiplier, or null for non-VIP / unknown.
+     */
+    @Nullable
+    private String vipGroupOf(float recordedMultiplier) {
+        if (Math.abs(recordedMultiplier - 1.0f) < 0.0001f || !liveVip.isEnabled()) {
+            return null;
+        }
+        String best = null;
+        float bestDistance = 0.005f;
+        for (Map.Entry<String, Float> entry : liveVip.getMultipliers().entrySet()) {
+            float effective = Math.min(entry.getValue(), liveVip.getMaxGlobalMultiplier());
+            float distance = Math.abs(effective - recordedMultiplier);
+            if (distance < bestDistance) {
+                best = entry.getKey();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private float vipMultiplier(String group) {
+        if (!candidateVip.isEnabled()) {
+            return 1.0f;
+        }
+        float multiplier = candidateVip.getMultipliers().getOrDefault(group, 1.0f);
+        return Math.min(Math.max(1.0f, multiplier), candidateVip.getMaxGlobalMultiplier());
+    }
+
+    private int vipChanceBonus(@Nullable String group) {
+        if (group == null || !candidateVip.isEnabled()) {
+            return 0;
+        }
+        return candidateVip.getChanceBonuses().getOrDefault(group, 0);
+    }
+
+    // =========================================================================
+    // State
+    // =========================================================================
+
+    private record Payout(long timestamp, long value) {}
+
+    /**
+     * One player's simulated results, merged after the parallel phase.
+     */
+    private static final class PlayerResult {
+        final Totals[] totals = new Totals[JOBS.length];
+
+        PlayerResult() {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] = new Totals();
+            }
+        }
+
+        static final class Totals {
+            final long[] outcomes = new long[OUTCOMES];
+            final List<Payout> payouts = new ArrayList<>();
+            long events;
+            long recordedRewards;
+            long recordedValue;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.config.EcotaleJobsConfig;
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.pipeline.PipelineMetrics;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.systems.CraftingRewardSystem;
+import com.ecotalejobs.systems.HarvestRewardSystem;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.systems.MiningRewardSystem;
+import com.ecotalejobs.systems.MobRewardSystem;
+import com.ecotalejobs.systems.WoodcuttingRewardSystem;
+import com.ecotalejobs.util.JobsClock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Snapshot of one job's reward rules, taken from a config.
+ *
+ * <p>Holds the settings the live reward system configures its layers with
+ * (tiers, token bucket size, anti-farm curve, hourly cap) and builds the
+ * system's own {@link RewardPipeline} from them on a clock of the caller's
+ * choosing, so a candidate config is evaluated by the same stages that pay
+ * live rewards without touching any live state.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class JobModel {
+
+    private final JobType job;
+    private final boolean enabled;
+    private final Map<String, TierConfig> tiers;
+    private final boolean antiFarmEnabled;
+    private final int antiFarmThreshold;
+    private final float antiFarmDecay;
+    private final float antiFarmMinMultiplier;
+    private final int rateLimitBurst;
+    private final int rateLimitRefillPerSecond;
+    private final long maxInjectionPerHour;
+
+    private JobModel(JobType job, boolean enabled, Map<String, TierConfig> tiers,
+                     boolean antiFarmEnabled, int antiFarmThreshold, float antiFarmDecay, float antiFarmMinMultiplier,
+                     int rateLimitBurst, int rateLimitRefillPerSecond, long maxInjectionPerHour) {
+        this.job = job;
+        this.enabled = enabled;
+        this.tiers = tiers;
+        this.antiFarmEnabled = antiFarmEnabled;
+        this.antiFarmThreshold = antiFarmThreshold;
+        this.antiFarmDecay = antiFarmDecay;
+        this.antiFarmMinMultiplier = antiFarmMinMultiplier;
+        this.rateLimitBurst = rateLimitBurst;
+        this.rateLimitRefillPerSecond = rateLimitRefillPerSecond;
+        this.maxInjectionPerHour = maxInjectionPerHour;
+    }
+
+    /**
+     * Build the model for a job from a (live or candidate) config.
+     */
+    @Nonnull
+    public static JobModel of(@Nonnull EcotaleJobsConfig config, @Nonnull JobType job) {
+        return switch (job) {
+            case MOB_KILLS -> fromSecurity(job, config.getMobKills().isEnabled(), config.getMobKills().getTiers(),
+                config.getMobKills().getSecurity(), MobRewardSystem.ANTI_FARM_MIN_MULTIPLIER,
+                MobRewardSystem.RATE_LIMIT_BURST, MobRewardSystem.RATE_LIMIT_REFILL_PER_SECOND);
+            case MINING -> fromSecurity(job, config.getMining().isEnabled(), config.getMining().getTiers(),
+                config.getMining().getSecurity(), MiningRewardSystem.ANTI_FARM_MIN_MULTIPLIER,
+                MiningRewardSystem.RATE_LIMIT_BURST, MiningRewardSystem.RATE_LIMIT_REFILL_PER_SECOND);
+            case CRAFTING -> {
+                EcotaleJobsConfig.CraftingConfig crafting = config.getCrafting();
+                yield new JobModel(job, crafting.isEnabled(), crafting.getTiers(),
+                    crafting.isAntiFarmEnabled(), crafting.getAntiFarmThreshold(), crafting.getAntiFarmDecay(),
+                    CraftingRewardSystem.ANTI_FARM_MIN_MULTIPLIER,
+                    CraftingRewardSystem.RATE_LIMIT_BURST, CraftingRewardSystem.RATE_LIMIT_REFILL_PER_SECOND,
+                    crafting.getMaxInjectionPerHour());
+            }
+            case HARVESTING -> {
+                EcotaleJobsConfig.HarvestingConfig harvesting = config.getHarvesting();
+                yield new JobModel(job, harvesting.isEnabled(), harvesting.getTiers(),
+                    harvesting.isAntiFarmEnabled(), harvesting.getAntiFarmThreshold(), harvesting.getAntiFarmDecay(),
+                    HarvestRewardSystem.ANTI_FARM_MIN_MULTIPLIER,
+                    HarvestRewardSystem.RATE_LIMIT_BURST, HarvestRewardSystem.RATE_LIMIT_REFILL_PER_SECOND,
+                    harvesting.getMaxInjectionPerHour());
+            }
+            case WOODCUTTING -> {
+                EcotaleJobsConfig.WoodcuttingConfig woodcutting = config.getWoodcutting();
+                yield new JobModel(job, woodcutting.isEnabled(), woodcutting.getTiers(),
+                    woodcutting.isAntiFarmEnabled(), woodcutting.getAntiFarmThreshold(), woodcutting.getAntiFarmDecay(),
+                    WoodcuttingRewardSystem.ANTI_FARM_MIN_MULTIPLIER,
+                    WoodcuttingRewardSystem.RATE_LIMIT_BURST, WoodcuttingRewardSystem.RATE_LIMIT_REFILL_PER_SECOND,
+                    woodcutting.getMaxInjectionPerHour());
+            }
+        };
+    }
+
+    private static JobModel fromSecurity(JobType job, boolean enabled, Map<String, TierConfig> tiers,
+                                         EcotaleJobsConfig.SecurityConfig security, float antiFarmMinMultiplier,
+                                         int rateLimitBurst, int rateLimitRefillPerSecond) {
+        return new JobModel(job, enabled, tiers,
+            security.isAntiFarmEnabled(), security.getAntiFarmThreshold(), security.getAntiFarmDecayPerKill(),
+            antiFarmMinMultiplier, rateLimitBurst, rateLimitRefillPerSecond,
+            security.getMaxGlobalInjectionPerHour());
+    }
+
+    // =========================================================================
+    // Tiers and pipeline
+    // =========================================================================
+
+    /**
+     * Tier config by name, or null if the tier does not exist in this config.
+     */
+    @Nullable
+    public TierConfig getTier(@Nullable String name) {
+        if (name == null || "NONE".equals(name) || tiers == null) {
+            return null;
+        }
+        return tiers.get(name);
+    }
+
+    /**
+     * This job's reward pipeline, declared by its reward system, with the
+     * snapshot's rate limit and anti-farm policy running on {@code clock}.
+     *
+     * @param antiFarm Whether anti-farm applies (the projection measures demand before it)
+     * @param economyCap Cap charged by the last stage ({@link #uncapped()} to charge nothing)
+     * @param metrics Stage counters, kept apart from the live pipelines' by simulations
+     */
+    @Nonnull
+    public RewardPipeline newPipeline(@Nonnull JobsClock clock, boolean antiFarm,
+                                      @Nonnull EconomyCap economyCap, @Nonnull PipelineMetrics metrics) {
+        PlayerRateLimiter rateLimiter = new PlayerRateLimiter(rateLimitBurst, rateLimitRefillPerSecond, clock);
+        AntiFarmSystem antiFarmSystem = new AntiFarmSystem(clock);
+        antiFarmSystem.configure(antiFarmThreshold, antiFarmDecay, antiFarmMinMultiplier, antiFarm && antiFarmEnabled);
+        RewardPipeline.Builder builder = switch (job) {
+            case MOB_KILLS -> MobRewardSystem.declarePipeline(rateLimiter, antiFarmSystem, economyCap);
+            case MINING -> MiningRewardSystem.declarePipeline(rateLimiter, antiFarmSystem, economyCap);
+            case CRAFTING -> CraftingRewardSystem.declarePipeline(rateLimiter, antiFarmSystem, economyCap);
+            case HARVESTING -> HarvestRewardSystem.declarePipeline(rateLimiter, antiFarmSystem, economyCap);
+            case WOODCUTTING -> WoodcuttingRewardSystem.declarePipeline(rateLimiter, antiFarmSystem, economyCap);
+        };
+        return builder.metrics(metrics).build();
+    }
+
+    /**
+     * The job's hourly cap on {@code clock}, configured as the reward system does.
+     */
+    @Nonnull
+    public EconomyCap newEconomyCap(@Nonnull JobsClock clock) {
+        EconomyCap cap = new EconomyCap(clock);
+        cap.configure(maxInjectionPerHour, true);
+        return cap;
+    }
+
+    /**
+     * A cap that lets everything through, for pipelines whose cap is
+     * applied later (or not at all).
+     */
+    @Nonnull
+    public static EconomyCap uncapped() {
+        EconomyCap cap = new EconomyCap(JobsClock.SYSTEM);
+        cap.configure(Long.MAX_VALUE, false);
+        return cap;
+    }
+
+    // =========================================================================
+    // Getters
+    // =========================================================================
+
+    @Nonnull public JobType getJob() { return job; }
+    public boolean isEnabled() { return enabled; }
+    @Nonnull public Map<String, TierConfig> getTiers() { return tiers; }
+    public int getRateLimitBurst() { return rateLimitBurst; }
+    public int getRateLimitRefillPerSecond() { return rateLimitRefillPerSecond; }
+    public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+}
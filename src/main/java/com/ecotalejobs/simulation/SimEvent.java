@@ -0,0 +1,70 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * One reward event fed to the {@link EconomySimulator}.
+ *
+ * <p>Usually decoded from the reward ledger, but can be built by hand to
+ * simulate synthetic load. The multipliers describe the player, not the
+ * config: {@code vipMultiplier} identifies the VIP group the player was in,
+ * {@code bonusMultiplier} is the job-specific factor (tool quality x depth
+ * for mining) that the simulator carries over unchanged.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class SimEvent {
+
+    private final long timestamp;
+    private final UUID player;
+    private final JobType job;
+    private final String source;
+    private final String tier;
+    private final float vipMultiplier;
+    private final float bonusMultiplier;
+    private final int quantity;
+    private final RewardOutcome recordedOutcome;
+    private final long recordedValue;
+
+    public SimEvent(long timestamp, @Nonnull UUID player, @Nonnull JobType job,
+                    @Nullable String source, @Nullable String tier,
+                    float vipMultiplier, float bonusMultiplier, int quantity,
+                    @Nonnull RewardOutcome recordedOutcome, long recordedValue) {
+        this.timestamp = timestamp;
+        this.player = player;
+        this.job = job;
+        this.source = source != null ? source : "unknown";
+        this.tier = tier;
+        this.vipMultiplier = vipMultiplier;
+        this.bonusMultiplier = bonusMultiplier;
+        this.quantity = Math.max(1, quantity);
+        this.recordedOutcome = recordedOutcome;
+        this.recordedValue = recordedValue;
+    }
+
+    /**
+     * Synthetic event: a fresh action by a non-VIP player with no recorded result.
+     */
+    @Nonnull
+    public static SimEvent synthetic(long timestamp, @Nonnull UUID player, @Nonnull JobType job,
+                                     @Nonnull String source, @Nonnull String tier) {
+        return new SimEvent(timestamp, player, job, source, tier, 1.0f, 1.0f, 1, RewardOutcome.IGNORED, 0);
+    }
+
+    public long getTimestamp() { return timestamp; }
+    @Nonnull public UUID getPlayer() { return player; }
+    @Nonnull public JobType getJob() { return job; }
+    @Nonnull public String getSource() { return source; }
+    @Nullable public String getTier() { return tier; }
+    public float getVipMultiplier() { return vipMultiplier; }
+    public float getBonusMultiplier() { return bonusMultiplier; }
+    public int getQuantity() { return quantity; }
+    @Nonnull public RewardOutcome getRecordedOutcome() { return recordedOutcome; }
+    public long getRecordedValue() { return recordedValue; }
+}
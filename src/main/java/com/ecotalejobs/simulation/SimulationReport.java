@@ -0,0 +1,137 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.systems.JobType;
+
+import javax.annotation.Nonnull;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result of an {@link EconomySimulator} run: per-job outcome counts,
+ * projected hourly injection and economy cap pressure under the candidate
+ * config, next to what was actually recorded.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class SimulationReport {
+
+    private final Map<JobType, JobReport> jobs = new EnumMap<>(JobType.class);
+    private final long events;
+    private final int players;
+    private final double spanHours;
+    long elapsedMillis;
+
+    SimulationReport(long events, int players, double spanHours) {
+        this.events = events;
+        this.players = players;
+        this.spanHours = spanHours;
+        for (JobType job : JobType.values()) {
+            jobs.put(job, new JobReport(job));
+        }
+    }
+
+    @Nonnull
+    public JobReport getJob(@Nonnull JobType job) {
+        return jobs.get(job);
+    }
+
+    /** Events replayed */
+    public long getEvents() { return events; }
+
+    /** Distinct players in the replay */
+    public int getPlayers() { return players; }
+
+    /** Time covered by the events (first to last), in hours */
+    public double getSpanHours() { return spanHours; }
+
+    /** Wall-clock time the simulation took */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** Simulated value paid across all jobs */
+    public long getTotalValue() {
+        long total = 0;
+        for (JobReport job : jobs.values()) {
+            total += job.value;
+        }
+        return total;
+    }
+
+    /** Recorded value paid across all jobs */
+    public long getTotalRecordedValue() {
+        long total = 0;
+        for (JobReport job : jobs.values()) {
+            total += job.recordedValue;
+        }
+        return total;
+    }
+
+    /** Simulated value per hour across all jobs */
+    public double getProjectedHourlyInjection() {
+        return getTotalValue() / Math.max(spanHours, 1.0);
+    }
+
+    // =========================================================================
+    // Per-job results
+    // =========================================================================
+
+    /**
+     * Simulated results for one job.
+     */
+    public final class JobReport {
+        private final JobType job;
+        final long[] outcomes = new long[RewardOutcome.values().length];
+        long events;
+        long value;
+        long recordedRewards;
+        long recordedValue;
+        long maxInjectionPerHour;
+        int capWindows;
+        int capHitWindows;
+        double capHitMinuteSum;
+
+        JobReport(JobType job) {
+            this.job = job;
+        }
+
+        @Nonnull public JobType getJob() { return job; }
+        public long getEvents() { return events; }
+        public long getCount(@Nonnull RewardOutcome outcome) { return outcomes[outcome.ordinal()]; }
+        public long getRewards() { return getCount(RewardOutcome.REWARDED); }
+
+        /** Simulated value paid */
+        public long getValue() { return value; }
+
+        /** Rewards paid according to the ledger */
+        public long getRecordedRewards() { return recordedRewards; }
+
+        /** Value paid according to the ledger */
+        public long getRecordedValue() { return recordedValue; }
+
+        /** Simulated value per hour of replayed time */
+        public double getProjectedHourlyInjection() {
+            return value / Math.max(spanHours, 1.0);
+        }
+
+        /** Share of the simulated value paid by this job (0-1) */
+        public double getValueShare() {
+            long total = getTotalValue();
+            return total > 0 ? (double) value / total : 0.0;
+        }
+
+        /** Candidate hourly cap for this job */
+        public long getMaxInjectionPerHour() { return maxInjectionPerHour; }
+
+        /** Cap windows (hours) that saw at least one payout */
+        public int getCapWindows() { return capWindows; }
+
+        /** Cap windows in which the cap filled up */
+        public int getCapHitWindows() { return capHitWindows; }
+
+        /** Average minute into the window at which the cap filled, or -1 if it never did */
+        public double getAverageCapHitMinute() {
+            return capHitWindows > 0 ? capHitMinuteSum / capHitWindows : -1;
+        }
+    }
+}
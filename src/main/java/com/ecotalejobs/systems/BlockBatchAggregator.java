@@ -0,0 +1,231 @@
+package com.ecotalejobs.systems;
+
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player accumulator for high-rate block breaks (whole crop fields,
+ * whole trees).
+ *
+ * <p>Every break a player makes within the window is counted into one open
+ * {@link Batch}, per block type, and the reward system settles the batch
+ * once: one rate-limit take (a token per break), one anti-farm record per
+ * block type, one economy cap charge, one deposit. Unlike {@link CraftBurstAggregator},
+ * mixed block types stay in the same batch.
+ *
+ * <p>A batch is closed when:
+ * <ul>
+ *   <li>No break arrived for the window (collected by {@link #drainExpired})</li>
+ *   <li>It has been open for the maximum batch time (returned from {@link #add})</li>
+ *   <li>The player disconnects or the plugin shuts down</li>
+ * </ul>
+ *
+ * <p>Thread-safety: a batch is only mutated inside {@link ConcurrentHashMap}
+ * compute on its player's entry, and only read after it has been removed.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class BlockBatchAggregator {
+
+    /** Default for how long a batch may stay open before it is paid out regardless */
+    public static final long DEFAULT_MAX_BATCH_MS = 2_000;
+
+    private final Map<UUID, Batch> batches = new ConcurrentHashMap<>();
+    private volatile long windowMs;
+    private volatile long maxBatchMs;
+
+    // Statistics
+    private final AtomicLong eventsMerged = new AtomicLong(0);
+    private final AtomicLong batchesClosed = new AtomicLong(0);
+
+    public BlockBatchAggregator(long windowMs) {
+        this(windowMs, DEFAULT_MAX_BATCH_MS);
+    }
+
+    /**
+     * @param windowMs Idle time after which a batch is closed
+     * @param maxBatchMs Longest a batch may stay open (caps payout delay)
+     */
+    public BlockBatchAggregator(long windowMs, long maxBatchMs) {
+        this.windowMs = windowMs;
+        this.maxBatchMs = maxBatchMs;
+    }
+
+    /**
+     * Callback for closed batches.
+     */
+    @FunctionalInterface
+    public interface BatchConsumer {
+        void accept(@Nonnull Batch batch);
+    }
+
+    /**
+     * Block breaks of one player, counted per block type.
+     */
+    public static final class Batch {
+        private final PlayerJobSession session;
+        private final long firstMillis;
+        private volatile long lastMillis;
+        private VipProfile vip;
+        private int events;
+
+        // A field or a tree is one or two block types - parallel arrays beat a map
+        private String[] sources = new String[2];
+        private String[] tiers = new String[2];
+        private int[] counts = new int[2];
+        private int sourceCount;
+
+        Batch(PlayerJobSession session, long now) {
+            this.session = session;
+            this.firstMillis = now;
+            this.lastMillis = now;
+        }
+
+        void add(String source, String tier, VipProfile vip, long now) {
+            this.vip = vip;
+            this.lastMillis = now;
+            events++;
+            for (int i = 0; i < sourceCount; i++) {
+                if (sources[i].equals(source)) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            if (sourceCount == sources.length) {
+                sources = Arrays.copyOf(sources, sourceCount * 2);
+                tiers = Arrays.copyOf(tiers, sourceCount * 2);
+                counts = Arrays.copyOf(counts, sourceCount * 2);
+            }
+            sources[sourceCount] = source;
+            tiers[sourceCount] = tier;
+            counts[sourceCount++] = 1;
+        }
+
+        public PlayerJobSession getSession() { return session; }
+        public UUID getPlayerUuid() { return session.getPlayerUuid(); }
+        /** VIP profile of the player's latest break */
+        public VipProfile getVip() { return vip; }
+        public int getEvents() { return events; }
+        public long getFirstMillis() { return firstMillis; }
+        public long getLastMillis() { return lastMillis; }
+
+        /** Distinct block types in the batch */
+        public int getSourceCount() { return sourceCount; }
+        public String getSource(int i) { return sources[i]; }
+        public String getTier(int i) { return tiers[i]; }
+        public int getCount(int i) { return counts[i]; }
+
+        /** Index of the block type broken most often (ledger source) */
+        public int getTopSource() {
+            int top = 0;
+            for (int i = 1; i < sourceCount; i++) {
+                if (counts[i] > counts[top]) {
+                    top = i;
+                }
+            }
+            return top;
+        }
+    }
+
+    // =========================================================================
+    // Accumulation
+    // =========================================================================
+
+    /**
+     * Count a block break into the player's open batch.
+     *
+     * @param session The player's session (also identifies the player)
+     * @param vip The player's VIP profile at the time of the break
+     * @return A batch that was closed by this event (open too long or expired), or null
+     */
+    @Nullable
+    public Batch add(@Nonnull PlayerJobSession session, @Nonnull VipProfile vip,
+                     @Nonnull String source, @Nonnull String tier, long nowMillis) {
+        long window = windowMs;
+        long maxBatch = maxBatchMs;
+        Batch[] closed = new Batch[1];
+
+        batches.compute(session.getPlayerUuid(), (uuid, current) -> {
+            if (current != null
+                    && nowMillis - current.lastMillis <= window
+                    && nowMillis - current.firstMillis < maxBatch) {
+                current.add(source, tier, vip, nowMillis);
+                return current;
+            }
+            closed[0] = current;
+            Batch batch = new Batch(session, nowMillis);
+            batch.add(source, tier, vip, nowMillis);
+            return batch;
+        });
+
+        if (closed[0] == null) {
+            eventsMerged.incrementAndGet();
+        } else {
+            batchesClosed.incrementAndGet();
+        }
+        return closed[0];
+    }
+
+    /**
+     * Close every batch that has been idle for the window (or open too long).
+     *
+     * @return Number of batches handed to the consumer
+     */
+    public int drainExpired(long nowMillis, @Nonnull BatchConsumer consumer) {
+        long window = windowMs;
+        long maxBatch = maxBatchMs;
+        int drained = 0;
+        for (Map.Entry<UUID, Batch> entry : batches.entrySet()) {
+            Batch batch = entry.getValue();
+            boolean idle = nowMillis - batch.lastMillis > window;
+            boolean tooLong = nowMillis - batch.firstMillis >= maxBatch;
+            if ((idle || tooLong) && batches.remove(entry.getKey(), batch)) {
+                batchesClosed.incrementAndGet();
+                consumer.accept(batch);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Close every open batch (shutdown / disable).
+     */
+    public int drainAll(@Nonnull BatchConsumer consumer) {
+        return drainExpired(Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Close the open batch of one player, if any (e.g. on disconnect).
+     */
+    @Nullable
+    public Batch drainPlayer(@Nonnull UUID playerUuid) {
+        Batch batch = batches.remove(Objects.requireNonNull(playerUuid));
+        if (batch != null) {
+            batchesClosed.incrementAndGet();
+        }
+        return batch;
+    }
+
+    // =========================================================================
+    // Configuration & Monitoring
+    // =========================================================================
+
+    public void setWindowMs(long windowMs) { this.windowMs = windowMs; }
+    public long getWindowMs() { return windowMs; }
+    public void setMaxBatchMs(long maxBatchMs) { this.maxBatchMs = maxBatchMs; }
+    public long getMaxBatchMs() { return maxBatchMs; }
+    public int getOpenBatchCount() { return batches.size(); }
+    public long getEventsMerged() { return eventsMerged.get(); }
+    public long getBatchesClosed() { return batchesClosed.get(); }
+}
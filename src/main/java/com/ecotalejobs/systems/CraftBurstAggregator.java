@@ -0,0 +1,175 @@
+package com.ecotalejobs.systems;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player accumulator for bursts of identical crafts.
+ *
+ * <p>Shift-crafting a stack or an auto-crafting setup fires a long run of
+ * {@code CraftRecipeEvent.Post} events for the same recipe. Consecutive
+ * events for the same recipe that arrive within the window are merged into
+ * one {@link Burst}, which the reward system then pays out once: one tier
+ * lookup, one rate-limit token, one anti-farm record, one deposit.
+ *
+ * <p>A burst is closed when:
+ * <ul>
+ *   <li>The player crafts a different recipe (returned from {@link #add})</li>
+ *   <li>No event arrived for the window (collected by {@link #drainExpired})</li>
+ *   <li>It has been open for {@link #MAX_BURST_MS} (caps payout delay)</li>
+ * </ul>
+ *
+ * <p>Thread-safety: all state changes go through {@link ConcurrentHashMap}
+ * atomic operations on the per-player entry.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class CraftBurstAggregator {
+
+    /** Longest a burst may stay open before it is paid out regardless */
+    static final long MAX_BURST_MS = 2_000;
+
+    private final Map<UUID, Burst> bursts = new ConcurrentHashMap<>();
+    private volatile long windowMs;
+
+    // Statistics
+    private final AtomicLong eventsMerged = new AtomicLong(0);
+    private final AtomicLong burstsClosed = new AtomicLong(0);
+
+    public CraftBurstAggregator(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Callback for closed bursts.
+     */
+    @FunctionalInterface
+    public interface BurstConsumer {
+        void accept(@Nonnull Burst burst);
+    }
+
+    /**
+     * Merged crafting events of one player for one recipe.
+     */
+    public static final class Burst {
+        private final UUID playerUuid;
+        private final CraftingRecipe recipe;
+        private final String recipeId;
+        private final int quantity;
+        private final int events;
+        private final long firstMillis;
+        private final long lastMillis;
+
+        Burst(UUID playerUuid, CraftingRecipe recipe, String recipeId,
+              int quantity, int events, long firstMillis, long lastMillis) {
+            this.playerUuid = playerUuid;
+            this.recipe = recipe;
+            this.recipeId = recipeId;
+            this.quantity = quantity;
+            this.events = events;
+            this.firstMillis = firstMillis;
+            this.lastMillis = lastMillis;
+        }
+
+        Burst merge(int moreQuantity, long now) {
+            return new Burst(playerUuid, recipe, recipeId, quantity + moreQuantity, events + 1, firstMillis, now);
+        }
+
+        public UUID getPlayerUuid() { return playerUuid; }
+        public CraftingRecipe getRecipe() { return recipe; }
+        public int getQuantity() { return quantity; }
+        public int getEvents() { return events; }
+    }
+
+    // =========================================================================
+    // Accumulation
+    // =========================================================================
+
+    /**
+     * Add a crafting event.
+     *
+     * @return A burst that was closed by this event (different recipe or expired), or null
+     */
+    @Nullable
+    public Burst add(@Nonnull UUID playerUuid, @Nonnull CraftingRecipe recipe, int quantity, long nowMillis) {
+        String recipeId = recipe.getId() != null ? recipe.getId() : "unknown";
+        long window = windowMs;
+        Burst[] closed = new Burst[1];
+
+        bursts.compute(playerUuid, (uuid, current) -> {
+            if (current != null
+                    && current.recipeId.equals(recipeId)
+                    && nowMillis - current.lastMillis <= window
+                    && nowMillis - current.firstMillis < MAX_BURST_MS) {
+                return current.merge(quantity, nowMillis);
+            }
+            closed[0] = current;
+            return new Burst(uuid, recipe, recipeId, quantity, 1, nowMillis, nowMillis);
+        });
+
+        if (closed[0] == null) {
+            eventsMerged.incrementAndGet();
+        } else {
+            burstsClosed.incrementAndGet();
+        }
+        return closed[0];
+    }
+
+    /**
+     * Close every burst that has been idle for the window (or open too long).
+     *
+     * @return Number of bursts handed to the consumer
+     */
+    public int drainExpired(long nowMillis, @Nonnull BurstConsumer consumer) {
+        long window = windowMs;
+        int drained = 0;
+        for (Map.Entry<UUID, Burst> entry : bursts.entrySet()) {
+            Burst burst = entry.getValue();
+            boolean idle = nowMillis - burst.lastMillis > window;
+            boolean tooLong = nowMillis - burst.firstMillis >= MAX_BURST_MS;
+            if ((idle || tooLong) && bursts.remove(entry.getKey(), burst)) {
+                burstsClosed.incrementAndGet();
+                consumer.accept(burst);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Close every open burst (shutdown / disable).
+     */
+    public int drainAll(@Nonnull BurstConsumer consumer) {
+        return drainExpired(Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Close the open burst of one player, if any (e.g. on disconnect).
+     */
+    @Nullable
+    public Burst drainPlayer(@Nonnull UUID playerUuid) {
+        Burst burst = bursts.remove(Objects.requireNonNull(playerUuid));
+        if (burst != null) {
+            burstsClosed.incrementAndGet();
+        }
+        return burst;
+    }
+
+    // =========================================================================
+    // Configuration & Monitoring
+    // =========================================================================
+
+    public void setWindowMs(long windowMs) { this.windowMs = windowMs; }
+    public long getWindowMs() { return windowMs; }
+    public int getOpenBurstCount() { return bursts.size(); }
+    public long getEventsMerged() { return eventsMerged.get(); }
+    public long getBurstsClosed() { return burstsClosed.get(); }
+}
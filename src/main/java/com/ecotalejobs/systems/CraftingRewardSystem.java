@@ -1,13 +1,32 @@
 package com.ecotalejobs.systems;
 
-import com.ecotale.api.EcotaleAPI;
-import com.ecotale.util.RateLimiter;
 import com.ecotalejobs.config.CraftingMappingsConfig;
 import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.ClassificationEvent;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
 import com.ecotalejobs.security.AntiFarmSystem;
 import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
+import com.ecotalejobs.util.CoarseClock;
 import com.ecotalejobs.util.CraftingTierMatcher;
+import com.ecotalejobs.util.JobsClock;
 import com.ecotalejobs.util.JobsLogger;
+import com.ecotalejobs.util.JobsScheduler;
+import com.ecotalejobs.util.RecipeTierIndex;
+import com.ecotalejobs.util.RecipeValueGraph;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
@@ -25,14 +44,25 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Crafting reward system - uses CraftRecipeEvent.Post.
+ * 
+ * <p>Consecutive crafts of the same recipe are merged into bursts by
+ * {@link CraftBurstAggregator} and rewarded once per burst.
  */
 public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRecipeEvent.Post> {
     
+    /** Per-player rate limit: burst capacity and tokens/sec refill (mirrored by the simulator) */
+    public static final int RATE_LIMIT_BURST = 50;
+    public static final int RATE_LIMIT_REFILL_PER_SECOND = 10;
+    
+    /** Anti-farm floor - never pay less than this fraction */
+    public static final float ANTI_FARM_MIN_MULTIPLIER = 0.2f;
+    
     // =========================================================================
     // Configuration
     // =========================================================================
@@ -44,7 +74,29 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
     private final CraftingTierMatcher tierMatcher = new CraftingTierMatcher();
     private final AntiFarmSystem antiFarm = new AntiFarmSystem();
     private final EconomyCap economyCap = new EconomyCap();
-    private final RateLimiter rateLimiter;
+    private final PlayerRateLimiter rateLimiter;
+    private final RewardPipeline pipeline;
+    private final JobsMetrics metrics = JobsMetrics.getInstance();
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+    
+    // Audit log of reward decisions (null when disabled)
+    private RewardLedger ledger;
+    
+    // Write-ahead journal bracketing each payout (null when disabled)
+    private PayoutJournal payoutJournal;
+    
+    // Runs deposits off the world thread (null: after the journal's group commit)
+    private SettlementExecutor settlementExecutor;
+    
+    // Job levels (null when disabled)
+    private JobProgression progression;
+    
+    // Top earners (null when disabled)
+    private JobLeaderboards leaderboards;
+    
+    private final CraftBurstAggregator burstAggregator = new CraftBurstAggregator(250);
+    private volatile JobsClock clock = CoarseClock.getInstance();
+    private ScheduledFuture<?> burstSweep;
     
     // Thread-safe statistics
     private final AtomicLong totalRewardsGiven = new AtomicLong(0);
@@ -56,7 +108,27 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         super(CraftRecipeEvent.Post.class);
         // RateLimiter: 50 burst capacity, 10 tokens/sec refill
         // Crafting can be rapid-fire, allow higher burst
-        this.rateLimiter = new RateLimiter(50, 10);
+        this.rateLimiter = new PlayerRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_REFILL_PER_SECOND);
+        this.pipeline = declarePipeline(rateLimiter, antiFarm, economyCap).build();
+    }
+    
+    /**
+     * Declare this job's reward pipeline. The live system, the economy
+     * simulator, the projection and the load generator all build from it,
+     * so the reward math has one owner.
+     */
+    @Nonnull
+    public static RewardPipeline.Builder declarePipeline(@Nonnull PlayerRateLimiter rateLimiter,
+                                                         @Nonnull AntiFarmSystem antiFarm,
+                                                         @Nonnull EconomyCap economyCap) {
+        // No VIP chance bonus or multiplier; one roll per burst scaled by sqrt(quantity)
+        return RewardPipeline.builder(JobType.CRAFTING)
+            .dropChance(false)
+            .rateLimit(rateLimiter)
+            .antiFarm(antiFarm)
+            .coinRoll(RewardPipeline.CoinScaling.SQRT_QUANTITY)
+            .multipliers(false)
+            .economyCap(economyCap);
     }
     
     /**
@@ -81,8 +153,7 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         antiFarm.configure(
             config.getAntiFarmThreshold(),  // e.g., 20 crafts of same recipe
             config.getAntiFarmDecay(),      // e.g., 5% decay per craft
-            0.2f,                            // Minimum 20% reward at worst
-            60,                              // 1 hour TTL for crafting tracking
+            ANTI_FARM_MIN_MULTIPLIER,        // Minimum 20% reward at worst
             config.isAntiFarmEnabled()
         );
         
@@ -92,6 +163,19 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
             true
         );
         
+        // Burst aggregation: idle bursts are paid out by a background sweep
+        long burstWindow = config.getBurstWindowMs();
+        burstAggregator.setWindowMs(burstWindow);
+        if (burstSweep != null) {
+            burstSweep.cancel(false);
+            burstSweep = null;
+        }
+        if (burstWindow > 0) {
+            long sweepInterval = Math.max(50, burstWindow);
+            burstSweep = JobsScheduler.get().scheduleAtFixedRate(
+                this::sweepBursts, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+        }
+        
         JobsLogger.info("[CraftingRewardSystem] Initialized: %d item mappings, %d recipe mappings, %d category mappings | AntiFarm=%s",
             mappings.getItemMappings().size(),
             mappings.getRecipeMappings().size(),
@@ -117,6 +201,31 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         @Nonnull Store<EntityStore> store,
         @Nonnull CommandBuffer<EntityStore> commandBuffer,
         @Nonnull CraftRecipeEvent.Post event
+    ) {
+        long start = System.nanoTime();
+        RewardEvent trace = RewardEvent.start(JobType.CRAFTING);
+        LedgerEntry.begin(JobType.CRAFTING);
+        RewardOutcome outcome = handleCraft(index, archetypeChunk, event, trace);
+        metrics.recordLatency(JobType.CRAFTING, System.nanoTime() - start);
+        if (outcome == RewardOutcome.SETTLING) {
+            // The settlement lane records the final outcome
+            return;
+        }
+        metrics.record(JobType.CRAFTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+    
+    /**
+     * Resolve the crafting player and reward (or batch) the craft.
+     */
+    private RewardOutcome handleCraft(
+        int index,
+        ArchetypeChunk<EntityStore> archetypeChunk,
+        CraftRecipeEvent.Post event,
+        @Nullable RewardEvent trace
     ) {
         // Get the crafting recipe
         CraftingRecipe recipe = event.getCraftedRecipe();
@@ -124,21 +233,23 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         
         if (recipe == null) {
             JobsLogger.debug("[CraftingReward] SKIP: Null recipe");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         String recipeId = recipe.getId();
         MaterialQuantity primaryOutput = recipe.getPrimaryOutput();
         String outputItemId = primaryOutput != null ? primaryOutput.getItemId() : "unknown";
+        if (trace != null) {
+            trace.setSource(recipeId);
+        }
         
-        // HIGH VISIBILITY LOG - ECS event received
-        JobsLogger.info("[CRAFT-ECS] EVENT RECEIVED: %s (qty=%d, output=%s)", 
+        JobsLogger.debug("[CRAFT-ECS] EVENT RECEIVED: %s (qty=%d, output=%s)", 
             recipeId != null ? recipeId : "NULL", quantity, outputItemId);
         
         // Guard: System disabled
         if (config == null || !config.isEnabled()) {
             JobsLogger.debug("SKIP: Config null or disabled");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         // Get player ref from archetype chunk (guaranteed by query)
@@ -146,11 +257,98 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         
         if (playerRef == null) {
             JobsLogger.debug("SKIP: Not a player craft (no PlayerRef)");
-            return;
+            return RewardOutcome.IGNORED;
+        }
+        
+        // Window disabled: reward every event on its own
+        if (burstAggregator.getWindowMs() <= 0) {
+            return processCraftReward(playerRef.getUuid(), recipe, quantity, 1, trace);
         }
         
-        // Process reward using shared logic
-        processCraftReward(playerRef.getUuid(), recipe, quantity);
+        // Merge into the player's open burst; a different recipe closes the previous one
+        CraftBurstAggregator.Burst closed = burstAggregator.add(
+            playerRef.getUuid(), recipe, quantity, clock.millis());
+        if (closed != null) {
+            settleBurst(closed);
+        }
+        return RewardOutcome.BATCHED;
+    }
+    
+    // =========================================================================
+    // Burst Settlement
+    // =========================================================================
+    
+    /**
+     * Pay out a closed burst as a single craft of the combined quantity.
+     */
+    private void settleBurst(CraftBurstAggregator.Burst burst) {
+        if (burst.getEvents() > 1) {
+            JobsLogger.debug("[CraftBurst] %s x%d merged from %d events",
+                burst.getRecipe().getId(), burst.getQuantity(), burst.getEvents());
+        }
+        RewardEvent trace = RewardEvent.start(JobType.CRAFTING);
+        if (trace != null) {
+            trace.setSource(burst.getRecipe().getId());
+        }
+        // May run inside another craft's handler - that event is BATCHED and never logged
+        LedgerEntry.begin(JobType.CRAFTING);
+        RewardOutcome outcome = processCraftReward(burst.getPlayerUuid(), burst.getRecipe(), burst.getQuantity(),
+            burst.getEvents(), trace);
+        if (outcome == RewardOutcome.SETTLING) {
+            return;
+        }
+        metrics.record(JobType.CRAFTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+    
+    /**
+     * Log this thread's ledger entry. Batched events are logged when their
+     * burst settles, as one record for the combined quantity.
+     */
+    private void appendLedger(RewardOutcome outcome) {
+        if (ledger != null && outcome != RewardOutcome.IGNORED && outcome != RewardOutcome.BATCHED) {
+            ledger.append(LedgerEntry.current(), outcome);
+        }
+    }
+    
+    /**
+     * Periodic sweep (JobsScheduler) - settle bursts that went idle.
+     */
+    private void sweepBursts() {
+        try {
+            burstAggregator.drainExpired(clock.millis(), this::settleBurst);
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            JobsLogger.error("[CraftingRewardSystem] Burst sweep failed", e);
+        }
+    }
+    
+    /**
+     * Pay out a player's open burst right away (on disconnect).
+     */
+    public void settlePlayer(UUID playerUuid) {
+        CraftBurstAggregator.Burst burst = burstAggregator.drainPlayer(playerUuid);
+        if (burst != null) {
+            settleBurst(burst);
+        }
+    }
+    
+    /**
+     * Stop the burst sweep and pay out every open burst.
+     * Called from Main on disable.
+     */
+    public void shutdown() {
+        if (burstSweep != null) {
+            burstSweep.cancel(false);
+            burstSweep = null;
+        }
+        int settled = burstAggregator.drainAll(this::settleBurst);
+        if (settled > 0) {
+            JobsLogger.info("[CraftingRewardSystem] Settled %d open craft bursts on shutdown", settled);
+        }
     }
     
     // =========================================================================
@@ -164,8 +362,12 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
      * @param playerUuid The player's UUID
      * @param recipe The crafting recipe
      * @param quantity Number of items crafted
+     * @param events Craft events merged into this reward (each counts toward anti-farm)
+     * @param trace JFR event to annotate, or null when not recording
+     * @return The layer the craft ended in
      */
-    private void processCraftReward(UUID playerUuid, CraftingRecipe recipe, int quantity) {
+    private RewardOutcome processCraftReward(UUID playerUuid, CraftingRecipe recipe, int quantity, int events,
+                                             @Nullable RewardEvent trace) {
         String recipeId = recipe.getId() != null ? recipe.getId() : "unknown";
         MaterialQuantity output = recipe.getPrimaryOutput();
         String outputId = output != null ? output.getItemId() : recipeId;
@@ -173,113 +375,143 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         // Track total items crafted
         totalItemsCrafted.addAndGet(quantity);
         
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setPlayer(playerUuid);
+        entry.setSource(outputId);
+        entry.setQuantity(quantity);
+        
         // ─────────────────────────────────────────────────────────────
         // LAYER 1: TIER LOOKUP
+        // Single probe into the precomputed recipe index
         // ─────────────────────────────────────────────────────────────
+        ClassificationEvent classification = ClassificationEvent.start(JobType.CRAFTING);
         String tierName = tierMatcher.findTier(recipe);
+        if (classification != null) {
+            classification.finish(recipeId, tierName);
+        }
+        entry.setTier(tierName);
+        if (trace != null) {
+            trace.setTier(tierName);
+        }
         
         if ("NONE".equals(tierName)) {
             JobsLogger.debug("BLOCKED [Tier=NONE]: %s", outputId);
-            return;
+            return RewardOutcome.NO_TIER;
         }
         
         TierConfig tier = config.getTierSafe(tierName);
         if (tier == null) {
             JobsLogger.debug("BLOCKED [TierConfig null]: %s -> %s", outputId, tierName);
-            return;
+            return RewardOutcome.NO_TIER;
         }
         
         // ─────────────────────────────────────────────────────────────
-        // LAYER 2: DROP CHANCE
+        // LAYERS 2-6: DROP CHANCE, RATE LIMIT, ANTI-FARM, COINS, ECONOMY CAP
+        // Shared reward pipeline; one roll per burst, scaled by sqrt(quantity).
+        // Every merged craft counts toward anti-farm. No VIP bonuses.
         // ─────────────────────────────────────────────────────────────
-        int dropChance = tier.getDropChance();
-        if (dropChance < 100) {
-            int roll = ThreadLocalRandom.current().nextInt(100);
-            if (roll >= dropChance) {
-                JobsLogger.debug("BLOCKED [Chance %d < %d%%]: %s", roll, dropChance, outputId);
-                return;
+        PlayerJobSession session = sessions.get(playerUuid);
+        RewardContext reward = RewardContext.begin(JobType.CRAFTING, session, null)
+            .addLine(outputId, tier, events)
+            .setQuantity(quantity);
+        RewardOutcome blocked = pipeline.run(reward);
+        entry.setAntiFarmMultiplier(reward.getAntiFarmMultiplier(0));
+        if (blocked != null) {
+            if (blocked.isBlocked()) {
+                rewardsBlocked.incrementAndGet();
             }
+            JobsLogger.debug("BLOCKED [%s]: %s (antiFarm=%.0f%%)",
+                blocked.getKey(), outputId, reward.getAntiFarmMultiplier(0) * 100);
+            return blocked;
         }
         
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 3: RATE LIMITING
-        // ─────────────────────────────────────────────────────────────
-        if (!rateLimiter.tryAcquire(playerUuid)) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [RateLimit]: Player %s", playerUuid);
-            return;
-        }
-        
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 4: ANTI-FARM
-        // ─────────────────────────────────────────────────────────────
-        float antiFarmMultiplier = antiFarm.getMultiplierAndRecord(playerUuid, outputId);
+        int finalCoins = reward.getTotalCoins();
+        long totalValue = reward.getValue();
+        entry.setValue(totalValue);
         
         // ─────────────────────────────────────────────────────────────
-        // LAYER 5: REWARD CALCULATION
+        // SUCCESS: ADD TO PLAYER BALANCE
+        // Deposited on a settlement lane, or after the journal's next group commit
         // ─────────────────────────────────────────────────────────────
-        int baseCoins = tier.getMinCoins();
-        int range = tier.getMaxCoins() - tier.getMinCoins();
-        if (range > 0) {
-            baseCoins += ThreadLocalRandom.current().nextInt(range + 1);
+        if (trace != null) {
+            trace.setValue(totalValue);
         }
+        JobsLogger.debug("[CRAFT-REWARD] SUCCESS: %s (x%d) -> %d coins (value=%d)",
+            outputId, quantity, finalCoins, totalValue);
         
-        // Scale by quantity crafted (with diminishing returns)
-        float quantityMultiplier = (float) Math.sqrt(quantity);
-        int scaledCoins = Math.round(baseCoins * quantityMultiplier);
-        
-        // Apply anti-farm penalty
-        int finalCoins = Math.round(scaledCoins * antiFarmMultiplier);
-        
-        if (finalCoins < 1) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [AntiFarm=%.0f%%]: %s -> 0 coins",
-                antiFarmMultiplier * 100, outputId);
-            return;
+        BalanceSettlement settlement = new BalanceSettlement(JobType.CRAFTING, playerUuid, totalValue,
+            "Crafting:" + outputId, economyCap, payoutJournal,
+            (outcome, value) -> onSettled(outcome, value, session, quantity));
+        settlement.recordOnSettle(ledger, entry.copy(), trace).trackPending(session);
+        if (settlementExecutor != null) {
+            settlementExecutor.submit(playerUuid, settlement);
+        } else {
+            settlement.settleAfterCommit(); // No lanes: deposit once the journal's group commit lands
         }
-        
-        // Calculate total value
-        long totalValue = (long) finalCoins * tier.getCoinValue();
-        
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 6: ECONOMY CAP
-        // ─────────────────────────────────────────────────────────────
-        if (!economyCap.tryInject(totalValue)) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [EconomyCap]: Tried to inject %d, cap full", totalValue);
-            return;
-        }
-        
-        // ─────────────────────────────────────────────────────────────
-        // SUCCESS: ADD TO PLAYER BALANCE
-        // ─────────────────────────────────────────────────────────────
-        try {
-            EcotaleAPI.deposit(playerUuid, (double) totalValue, "Crafting:" + outputId);
-        } catch (Exception e) {
-            JobsLogger.warn("Failed to deposit crafting reward: %s", e.getMessage());
+        return RewardOutcome.SETTLING;
+    }
+    
+    /**
+     * Update statistics, XP and leaderboards once a deposit has settled (on
+     * the calling thread, or on a settlement lane), so a failed deposit
+     * earns nothing.
+     */
+    private void onSettled(@Nonnull RewardOutcome outcome, long value, @Nonnull PlayerJobSession session, int units) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalRewardsGiven.incrementAndGet();
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.CRAFTING, value);
+            if (progression != null) {
+                progression.grant(session, JobType.CRAFTING, units);
+            }
+            if (leaderboards != null) {
+                leaderboards.record(session, JobType.CRAFTING, value);
+            }
+        } else {
             rewardsBlocked.incrementAndGet();
-            return;
         }
-        
-        // Update statistics
-        totalRewardsGiven.incrementAndGet();
-        totalValueInjected.addAndGet(totalValue);
-        
-        JobsLogger.info("[CRAFT-REWARD] SUCCESS: %s (x%d) -> %d coins (value=%d)",
-            outputId, quantity, finalCoins, totalValue);
     }
     
-    // =========================================================================
-    // Maintenance
-    // =========================================================================
+    /**
+     * Attach the reward ledger (null disables ledger writes).
+     */
+    public void setLedger(@Nullable RewardLedger ledger) {
+        this.ledger = ledger;
+    }
     
-    public void performCleanup() {
-        int antiFarmCleaned = antiFarm.cleanup();
-        rateLimiter.cleanup();
-        
-        if (antiFarmCleaned > 0) {
-            JobsLogger.debug("Cleanup: removed %d crafting anti-farm trackers", antiFarmCleaned);
-        }
+    /**
+     * Attach the payout journal (null disables journaling).
+     */
+    public void setPayoutJournal(@Nullable PayoutJournal payoutJournal) {
+        this.payoutJournal = payoutJournal;
+    }
+    
+    /**
+     * Attach the settlement executor (null settles deposits after the journal's next group commit).
+     */
+    public void setSettlementExecutor(@Nullable SettlementExecutor settlementExecutor) {
+        this.settlementExecutor = settlementExecutor;
+    }
+    
+    /**
+     * Replace the time source of the craft burst windows (tests and benchmarks).
+     */
+    public void setClock(@Nonnull JobsClock clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Attach job progression (null disables XP).
+     */
+    public void setProgression(@Nullable JobProgression progression) {
+        this.progression = progression;
+    }
+    
+    /**
+     * Attach the job leaderboards (null disables them).
+     */
+    public void setLeaderboards(@Nullable JobLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
     }
     
     /**
@@ -296,6 +528,35 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         }
     }
     
+    /**
+     * Resolve every known recipe to a tier and publish the result atomically.
+     * Called from Main after each CraftingRecipe LoadedAssetsEvent batch.
+     * 
+     * @param allRecipes All currently loaded recipes (recipe ID -> recipe)
+     * @return Number of indexed recipes
+     */
+    public int rebuildRecipeIndex(Map<String, CraftingRecipe> allRecipes) {
+        return rebuildRecipeIndex(allRecipes, null);
+    }
+    
+    /**
+     * Rebuild the recipe tier index, using recipe values for unmapped recipes.
+     * 
+     * @param valueGraph Value graph covering allRecipes (null = complexity scoring)
+     * @return Number of recipes indexed
+     */
+    public int rebuildRecipeIndex(Map<String, CraftingRecipe> allRecipes, RecipeValueGraph valueGraph) {
+        if (mappingsConfig == null || allRecipes == null) {
+            return 0;
+        }
+        tierMatcher.setValueGraph(valueGraph);
+        RecipeTierIndex index = RecipeTierIndex.build(allRecipes, tierMatcher);
+        tierMatcher.publishIndex(index);
+        JobsLogger.debug("[CraftingRewardSystem] Recipe index rebuilt: %d recipes, %d tiers",
+            index.size(), index.getTierCount());
+        return index.size();
+    }
+    
     // =========================================================================
     // Monitoring API
     // =========================================================================
@@ -305,8 +566,18 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
     public long getRewardsBlocked() { return rewardsBlocked.get(); }
     public long getTotalItemsCrafted() { return totalItemsCrafted.get(); }
     public int getTierCacheSize() { return tierMatcher.getRecipeCacheSize(); }
-    public int getActiveAntiFarmTrackers() { return antiFarm.getActiveTrackerCount(); }
+    public int getIndexedRecipeCount() { return tierMatcher.getIndexedRecipeCount(); }
+    /** Tier lookups served by the index or cache: every decided craft or burst that was not ignored, less misses */
+    public long getTierCacheHits() {
+        long lookups = metrics.getTotalDecisions(JobType.CRAFTING)
+            - metrics.getCount(JobType.CRAFTING, RewardOutcome.IGNORED);
+        return Math.max(0, lookups - tierMatcher.getCacheMisses());
+    }
+    public long getTierCacheMisses() { return tierMatcher.getCacheMisses(); }
     public long getRemainingEconomyCap() { return economyCap.getRemainingCapacity(); }
+    @Nonnull public EconomyCap getEconomyCap() { return economyCap; }
+    public long getCraftEventsMerged() { return burstAggregator.getEventsMerged(); }
+    public int getOpenCraftBursts() { return burstAggregator.getOpenBurstCount(); }
     
     @Nullable
     public CraftingConfig getConfig() { return config; }
@@ -326,6 +597,7 @@ public class CraftingRewardSystem extends EntityEventSystem<EntityStore, CraftRe
         float getAntiFarmDecay();
         boolean isAntiFarmEnabled();
         long getMaxInjectionPerHour();
+        long getBurstWindowMs();
         TierConfig getTierSafe(String tierName);
     }
 }
@@ -0,0 +1,526 @@
+package com.ecotalejobs.systems;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.config.EcotaleJobsConfig.HarvestingConfig;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.BlockTierIndex;
+import com.ecotalejobs.util.JobsClock;
+import com.ecotalejobs.util.JobsLogger;
+import com.ecotalejobs.util.JobsScheduler;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Harvest reward system - uses BreakBlockEvent on crop blocks.
+ *
+ * <p>Harvesting a field fires hundreds of breaks in a few seconds. Each
+ * break only costs one lookup in a precomputed crop index and one count
+ * into the player's open batch ({@link BlockBatchAggregator}); the batch
+ * is then rewarded once per window, so a 500-crop field settles as a
+ * handful of payouts rather than 500.
+ *
+ * <p>Payouts are balance deposits: batches settle off the world tick (on
+ * the sweep), where no entity store is available for physical coin drops.
+ */
+public class HarvestRewardSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
+
+    /** Per-player rate limit per broken crop: burst capacity and tokens/sec refill (mirrored by the simulator) */
+    public static final int RATE_LIMIT_BURST = 120;
+    public static final int RATE_LIMIT_REFILL_PER_SECOND = 4;
+
+    /** Anti-farm floor - never pay less than this fraction */
+    public static final float ANTI_FARM_MIN_MULTIPLIER = 0.1f;
+
+    // Configuration - set via init()
+    private HarvestingConfig config;
+
+    // Crop block ID -> tier, rebuilt when block assets load
+    private volatile BlockTierIndex cropIndex = BlockTierIndex.EMPTY;
+
+    // Core subsystems
+    private final AntiFarmSystem antiFarm = new AntiFarmSystem();
+    private final EconomyCap economyCap = new EconomyCap();
+    private final PlayerRateLimiter rateLimiter;
+    private final RewardPipeline pipeline;
+    private final JobsMetrics metrics = JobsMetrics.getInstance();
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+
+    // Audit log of reward decisions (null when disabled)
+    private RewardLedger ledger;
+
+    // Write-ahead journal bracketing each payout (null when disabled)
+    private PayoutJournal payoutJournal;
+
+    // Runs deposits off the sweep thread (null: after the journal's group commit)
+    private SettlementExecutor settlementExecutor;
+
+    // Job levels (null when disabled)
+    private JobProgression progression;
+
+    // Top earners (null when disabled)
+    private JobLeaderboards leaderboards;
+
+    private final BlockBatchAggregator batchAggregator = new BlockBatchAggregator(500);
+    private volatile JobsClock clock = CoarseClock.getInstance();
+    private ScheduledFuture<?> batchSweep;
+
+    // Thread-safe statistics
+    private final AtomicLong totalRewardsGiven = new AtomicLong(0);
+    private final AtomicLong totalValueInjected = new AtomicLong(0);
+    private final AtomicLong rewardsBlocked = new AtomicLong(0);
+    private final AtomicLong totalCropsHarvested = new AtomicLong(0);
+
+    public HarvestRewardSystem() {
+        super(BreakBlockEvent.class);
+        // RateLimiter: a batch takes one token per crop, all at once
+        this.rateLimiter = new PlayerRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_REFILL_PER_SECOND);
+        this.pipeline = declarePipeline(rateLimiter, antiFarm, economyCap).build();
+    }
+
+    /**
+     * Declare this job's reward pipeline. The live system, the economy
+     * simulator, the projection and the load generator all build from it,
+     * so the reward math has one owner.
+     */
+    @Nonnull
+    public static RewardPipeline.Builder declarePipeline(@Nonnull PlayerRateLimiter rateLimiter,
+                                                         @Nonnull AntiFarmSystem antiFarm,
+                                                         @Nonnull EconomyCap economyCap) {
+        return RewardPipeline.builder(JobType.HARVESTING)
+            .dropChance(true)
+            .rateLimitPerEvent(rateLimiter)
+            .antiFarm(antiFarm)
+            .multipliers(true)
+            .economyCap(economyCap);
+    }
+
+    /**
+     * Initialize the harvest reward system.
+     */
+    public void init(HarvestingConfig config) {
+        this.config = config;
+
+        if (config == null) {
+            JobsLogger.warn("[HarvestRewardSystem] Config is null - system DISABLED");
+            return;
+        }
+
+        antiFarm.configure(
+            config.getAntiFarmThreshold(),
+            config.getAntiFarmDecay(),
+            ANTI_FARM_MIN_MULTIPLIER,  // Minimum 10% reward at worst
+            config.isAntiFarmEnabled()
+        );
+
+        economyCap.configure(
+            config.getMaxInjectionPerHour(),
+            true
+        );
+
+        // Batching: idle batches are paid out by a background sweep
+        long batchWindow = config.getBatchWindowMs();
+        batchAggregator.setWindowMs(batchWindow);
+        if (batchSweep != null) {
+            batchSweep.cancel(false);
+            batchSweep = null;
+        }
+        if (batchWindow > 0) {
+            long sweepInterval = Math.max(50, batchWindow);
+            batchSweep = JobsScheduler.get().scheduleAtFixedRate(
+                this::sweepBatches, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+        }
+
+        JobsLogger.info("[HarvestRewardSystem] Initialized: %d crop patterns, %d tiers | Batch=%dms | AntiFarm=%s",
+            config.getCropTiers().size(),
+            config.getTiers().size(),
+            batchWindow,
+            config.isAntiFarmEnabled() ? "ON" : "OFF");
+    }
+
+    /**
+     * Resolve every loaded block against the crop patterns and publish the
+     * result. Called from Main after each BlockType LoadedAssetsEvent batch.
+     *
+     * @param allBlocks All currently loaded blocks (block ID -> block)
+     * @return Number of indexed crop blocks
+     */
+    public int rebuildCropIndex(Map<String, BlockType> allBlocks) {
+        if (config == null || allBlocks == null) {
+            return 0;
+        }
+        BlockTierIndex index = BlockTierIndex.build(allBlocks, config.getCropTiers(), null);
+        this.cropIndex = index;
+        JobsLogger.debug("[HarvestRewardSystem] Crop index rebuilt: %d crop blocks", index.size());
+        return index.size();
+    }
+
+    // =========================================================================
+    // EntityEventSystem Implementation
+    // =========================================================================
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Player.getComponentType();
+    }
+
+    @Override
+    public void handle(
+        int index,
+        @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+        @Nonnull Store<EntityStore> store,
+        @Nonnull CommandBuffer<EntityStore> commandBuffer,
+        @Nonnull BreakBlockEvent event
+    ) {
+        long start = System.nanoTime();
+        RewardEvent trace = RewardEvent.start(JobType.HARVESTING);
+        LedgerEntry.begin(JobType.HARVESTING);
+        RewardOutcome outcome = handleHarvest(index, archetypeChunk, event, trace);
+        metrics.recordLatency(JobType.HARVESTING, System.nanoTime() - start);
+        if (outcome == RewardOutcome.SETTLING) {
+            // The settlement lane records the final outcome
+            return;
+        }
+        metrics.record(JobType.HARVESTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+
+    /**
+     * Classify the broken block and count it into the player's batch.
+     */
+    private RewardOutcome handleHarvest(
+        int index,
+        ArchetypeChunk<EntityStore> archetypeChunk,
+        BreakBlockEvent event,
+        @Nullable RewardEvent trace
+    ) {
+        // Guard: System disabled
+        if (config == null || !config.isEnabled()) {
+            return RewardOutcome.IGNORED;
+        }
+
+        BlockType blockType = event.getBlockType();
+        if (blockType == null || blockType.getId() == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        // ─────────────────────────────────────────────────────────────
+        // LAYER 1: CROP INDEX
+        // Single lookup; anything not indexed is not a crop
+        // ─────────────────────────────────────────────────────────────
+        String blockId = blockType.getId();
+        String tierName = cropIndex.get(blockId);
+        if (tierName == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setSource(blockId);
+        entry.setTier(tierName);
+        if (trace != null) {
+            trace.setSource(blockId);
+            trace.setTier(tierName);
+        }
+
+        if ("NONE".equals(tierName)) {
+            return RewardOutcome.NO_TIER;
+        }
+
+        // ─────────────────────────────────────────────────────────────
+        // GET PLAYER
+        // ─────────────────────────────────────────────────────────────
+        PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        UUID playerUuid = playerRef.getUuid();
+        entry.setPlayer(playerUuid);
+        PlayerJobSession session = sessions.get(playerUuid);
+
+        // VIP is resolved now, on the world thread; the batch settles later
+        Player player = archetypeChunk.getComponent(index, Player.getComponentType());
+        VipProfile vip = session.getVipProfile(player, Main.CONFIG.get().getVipMultipliers());
+
+        // ─────────────────────────────────────────────────────────────
+        // LAYER 2: BATCH
+        // Count into the player's open batch; a batch open too long is
+        // closed here and paid out
+        // ─────────────────────────────────────────────────────────────
+        totalCropsHarvested.incrementAndGet();
+        BlockBatchAggregator.Batch closed = batchAggregator.add(
+            session, vip, blockId, tierName, clock.millis());
+        if (closed != null) {
+            settleBatch(closed);
+        }
+
+        // Window disabled: every break is its own batch
+        if (batchAggregator.getWindowMs() <= 0) {
+            settlePlayer(playerUuid);
+        }
+        return RewardOutcome.BATCHED;
+    }
+
+    // =========================================================================
+    // Batch Settlement
+    // =========================================================================
+
+    /**
+     * Pay out a closed batch and record it as one ledger entry.
+     */
+    private void settleBatch(BlockBatchAggregator.Batch batch) {
+        int top = batch.getTopSource();
+        RewardEvent trace = RewardEvent.start(JobType.HARVESTING);
+        if (trace != null) {
+            trace.setSource(batch.getSource(top));
+            trace.setTier(batch.getTier(top));
+        }
+        // May run inside another break's handler - that event is BATCHED and never logged
+        LedgerEntry.begin(JobType.HARVESTING);
+        RewardOutcome outcome = processBatch(batch, top, trace);
+        if (outcome == RewardOutcome.SETTLING) {
+            return;
+        }
+        metrics.record(JobType.HARVESTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+
+    /**
+     * Log this thread's ledger entry. Batched breaks are logged when their
+     * batch settles, as one record for all crops in it.
+     */
+    private void appendLedger(RewardOutcome outcome) {
+        if (ledger != null && outcome != RewardOutcome.IGNORED && outcome != RewardOutcome.BATCHED) {
+            ledger.append(LedgerEntry.current(), outcome);
+        }
+    }
+
+    /**
+     * Periodic sweep (JobsScheduler) - settle batches that went idle.
+     */
+    private void sweepBatches() {
+        try {
+            batchAggregator.drainExpired(clock.millis(), this::settleBatch);
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            JobsLogger.error("[HarvestRewardSystem] Batch sweep failed", e);
+        }
+    }
+
+    /**
+     * Pay out a player's open batch right away (on disconnect).
+     */
+    public void settlePlayer(UUID playerUuid) {
+        BlockBatchAggregator.Batch batch = batchAggregator.drainPlayer(playerUuid);
+        if (batch != null) {
+            settleBatch(batch);
+        }
+    }
+
+    /**
+     * Stop the batch sweep and pay out every open batch.
+     * Called from Main on disable.
+     */
+    public void shutdown() {
+        if (batchSweep != null) {
+            batchSweep.cancel(false);
+            batchSweep = null;
+        }
+        int settled = batchAggregator.drainAll(this::settleBatch);
+        if (settled > 0) {
+            JobsLogger.info("[HarvestRewardSystem] Settled %d open harvest batches on shutdown", settled);
+        }
+    }
+
+    // =========================================================================
+    // Core Reward Processing
+    // =========================================================================
+
+    /**
+     * Reward every crop of a batch with one rate-limit token per crop (taken
+     * at once), one anti-farm record per crop type weighted by its count, one
+     * cap charge and one deposit.
+     *
+     * @param top Index of the most harvested crop (ledger source)
+     * @param trace JFR event to annotate, or null when not recording
+     * @return The layer the batch ended in
+     */
+    private RewardOutcome processBatch(BlockBatchAggregator.Batch batch, int top, @Nullable RewardEvent trace) {
+        UUID playerUuid = batch.getPlayerUuid();
+        PlayerJobSession session = batch.getSession();
+        VipProfile vip = batch.getVip();
+
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setPlayer(playerUuid);
+        entry.setSource(batch.getSource(top));
+        entry.setTier(batch.getTier(top));
+        entry.setQuantity(batch.getEvents());
+        entry.setVipMultiplier(vip.getMultiplier());
+
+        // ─────────────────────────────────────────────────────────────
+        // SHARED REWARD PIPELINE
+        // One line per crop type: drop chance and coins rolled per crop,
+        // one rate-limit token and one anti-farm count per crop (taken in
+        // one go per batch), one cap charge
+        // ─────────────────────────────────────────────────────────────
+        RewardContext reward = RewardContext.begin(JobType.HARVESTING, session, vip);
+        for (int i = 0; i < batch.getSourceCount(); i++) {
+            reward.addLine(batch.getSource(i), config.getTierSafe(batch.getTier(i)), batch.getCount(i));
+        }
+        RewardOutcome blocked = pipeline.run(reward);
+        entry.setAntiFarmMultiplier(reward.getAntiFarmMultiplier(top));
+        if (blocked != null) {
+            if (blocked.isBlocked()) {
+                rewardsBlocked.incrementAndGet();
+            }
+            JobsLogger.debug("BLOCKED [%s]: Player %s (%d crops)", blocked.getKey(), playerUuid, batch.getEvents());
+            return blocked;
+        }
+
+        int totalCoins = reward.getTotalCoins();
+        long totalValue = reward.getValue();
+        entry.setValue(totalValue);
+        int units = reward.getTotalUnits();
+
+        // ─────────────────────────────────────────────────────────────
+        // SUCCESS: ADD TO PLAYER BALANCE
+        // ─────────────────────────────────────────────────────────────
+        if (trace != null) {
+            trace.setValue(totalValue);
+        }
+        JobsLogger.debug("[HARVEST] %s: %d crops (%d types) -> %d coins (value=%d)",
+            playerUuid, batch.getEvents(), batch.getSourceCount(), totalCoins, totalValue);
+
+        BalanceSettlement settlement = new BalanceSettlement(JobType.HARVESTING, playerUuid, totalValue,
+            "Harvest: " + batch.getSource(top), economyCap, payoutJournal,
+            (outcome, value) -> onSettled(outcome, value, session, units));
+        settlement.recordOnSettle(ledger, entry.copy(), trace).trackPending(session);
+        if (settlementExecutor != null) {
+            settlementExecutor.submit(playerUuid, settlement);
+        } else {
+            settlement.settleAfterCommit(); // No lanes: deposit once the journal's group commit lands
+        }
+        return RewardOutcome.SETTLING;
+    }
+
+    /**
+     * Update statistics, XP and leaderboards once a deposit has settled (on
+     * the calling thread, or on a settlement lane), so a failed deposit
+     * earns nothing.
+     */
+    private void onSettled(@Nonnull RewardOutcome outcome, long value, @Nonnull PlayerJobSession session, int units) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalRewardsGiven.incrementAndGet();
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.HARVESTING, value);
+            if (progression != null) {
+                progression.grant(session, JobType.HARVESTING, units);
+            }
+            if (leaderboards != null) {
+                leaderboards.record(session, JobType.HARVESTING, value);
+            }
+        } else {
+            rewardsBlocked.incrementAndGet();
+        }
+    }
+
+    /**
+     * Attach the reward ledger (null disables ledger writes).
+     */
+    public void setLedger(@Nullable RewardLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Attach the payout journal (null disables journaling).
+     */
+    public void setPayoutJournal(@Nullable PayoutJournal payoutJournal) {
+        this.payoutJournal = payoutJournal;
+    }
+
+    /**
+     * Attach the settlement executor (null settles deposits after the journal's next group commit).
+     */
+    public void setSettlementExecutor(@Nullable SettlementExecutor settlementExecutor) {
+        this.settlementExecutor = settlementExecutor;
+    }
+    
+    /**
+     * Replace the time source of the harvest batch windows (tests and benchmarks).
+     */
+    public void setClock(@Nonnull JobsClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Attach job progression (null disables XP).
+     */
+    public void setProgression(@Nullable JobProgression progression) {
+        this.progression = progression;
+    }
+
+    /**
+     * Attach the job leaderboards (null disables them).
+     */
+    public void setLeaderboards(@Nullable JobLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    // =========================================================================
+    // Monitoring API
+    // =========================================================================
+
+    public long getTotalRewardsGiven() { return totalRewardsGiven.get(); }
+    public long getTotalValueInjected() { return totalValueInjected.get(); }
+    public long getRewardsBlocked() { return rewardsBlocked.get(); }
+    public long getTotalCropsHarvested() { return totalCropsHarvested.get(); }
+    public long getRemainingEconomyCap() { return economyCap.getRemainingCapacity(); }
+    @Nonnull public EconomyCap getEconomyCap() { return economyCap; }
+    public int getIndexedCropCount() { return cropIndex.size(); }
+    public long getHarvestEventsMerged() { return batchAggregator.getEventsMerged(); }
+    public long getHarvestBatchesClosed() { return batchAggregator.getBatchesClosed(); }
+    public int getOpenHarvestBatches() { return batchAggregator.getOpenBatchCount(); }
+
+    @Nullable
+    public HarvestingConfig getConfig() { return config; }
+}
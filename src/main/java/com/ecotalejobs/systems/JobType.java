@@ -0,0 +1,26 @@
+package com.ecotalejobs.systems;
+
+/**
+ * Jobs that pay rewards. Used to key per-job metrics and state.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public enum JobType {
+    MOB_KILLS("mob"),
+    MINING("mining"),
+    CRAFTING("crafting"),
+    HARVESTING("harvesting"),
+    WOODCUTTING("woodcutting");
+
+    private final String key;
+
+    JobType(String key) {
+        this.key = key;
+    }
+
+    /** Short lowercase key for logs, commands and metric labels */
+    public String getKey() {
+        return key;
+    }
+}
@@ -2,16 +2,32 @@ package com.ecotalejobs.systems;
 
 import com.ecotale.api.EcotaleAPI;
 import com.ecotale.api.PhysicalCoinsProvider;
-import com.ecotale.util.RateLimiter;
 import com.ecotalejobs.config.EcotaleJobsConfig.MiningConfig;
 import com.ecotalejobs.Main;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.ClassificationEvent;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
 import com.ecotalejobs.config.EcotaleJobsConfig.ToolQualityConfig;
 import com.ecotalejobs.config.EcotaleJobsConfig.DepthBonusConfig;
 import com.ecotalejobs.config.EcotaleJobsConfig.SecurityConfig;
 import com.ecotalejobs.config.EcotaleJobsConfig.VeinStreakConfig;
 import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
 import com.ecotalejobs.security.AntiFarmSystem;
 import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
 import com.ecotalejobs.util.JobsLogger;
 import com.ecotalejobs.util.VeinStreakTracker;
 import com.hypixel.hytale.component.ArchetypeChunk;
@@ -52,6 +68,13 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
     
+    /** Per-player rate limit: burst capacity and tokens/sec refill (mirrored by the simulator) */
+    public static final int RATE_LIMIT_BURST = 60;
+    public static final int RATE_LIMIT_REFILL_PER_SECOND = 10;
+    
+    /** Anti-farm floor - never pay less than this fraction */
+    public static final float ANTI_FARM_MIN_MULTIPLIER = 0.1f;
+    
     // Configuration - set via init()
     private MiningConfig config;
     
@@ -62,7 +85,25 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
     // Core subsystems
     private final AntiFarmSystem antiFarm = new AntiFarmSystem();
     private final EconomyCap economyCap = new EconomyCap();
-    private final RateLimiter rateLimiter;
+    private final PlayerRateLimiter rateLimiter;
+    private final RewardPipeline pipeline;
+    private final JobsMetrics metrics = JobsMetrics.getInstance();
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+    
+    // Audit log of reward decisions (null when disabled)
+    private RewardLedger ledger;
+    
+    // Write-ahead journal bracketing each payout (null when disabled)
+    private PayoutJournal payoutJournal;
+    
+    // Runs balance deposits off the world thread (null: after the journal's group commit)
+    private SettlementExecutor settlementExecutor;
+    
+    // Job levels (null when disabled)
+    private JobProgression progression;
+    
+    // Top earners (null when disabled)
+    private JobLeaderboards leaderboards;
     
     // Thread-safe statistics
     private final AtomicLong totalRewardsGiven = new AtomicLong(0);
@@ -72,7 +113,25 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
     public MiningRewardSystem() {
         super(BreakBlockEvent.class);
         // RateLimiter: 60 burst capacity, 10 tokens/sec refill
-        this.rateLimiter = new RateLimiter(60, 10);
+        this.rateLimiter = new PlayerRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_REFILL_PER_SECOND);
+        this.pipeline = declarePipeline(rateLimiter, antiFarm, economyCap).build();
+    }
+    
+    /**
+     * Declare this job's reward pipeline. The live system, the economy
+     * simulator, the projection and the load generator all build from it,
+     * so the reward math has one owner.
+     */
+    @Nonnull
+    public static RewardPipeline.Builder declarePipeline(@Nonnull PlayerRateLimiter rateLimiter,
+                                                         @Nonnull AntiFarmSystem antiFarm,
+                                                         @Nonnull EconomyCap economyCap) {
+        return RewardPipeline.builder(JobType.MINING)
+            .dropChance(true)
+            .rateLimit(rateLimiter)
+            .antiFarm(antiFarm)
+            .multipliers(true)
+            .economyCap(economyCap);
     }
     
     /**
@@ -91,8 +150,7 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         antiFarm.configure(
             security.getAntiFarmThreshold(),
             security.getAntiFarmDecayPerKill(),
-            0.1f,  // Minimum multiplier (10% of reward at worst)
-            30,    // TTL in minutes
+            ANTI_FARM_MIN_MULTIPLIER,  // Minimum multiplier (10% of reward at worst)
             security.isAntiFarmEnabled()
         );
         
@@ -102,6 +160,9 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
             true
         );
         
+        // Snapshot vein streak settings for the lock-free tracker
+        VeinStreakTracker.getInstance().configure(config.getVeinStreak());
+        
         JobsLogger.info("[MiningRewardSystem] Initialized with AUTO-CLASSIFICATION by quality | %d tiers", 
             config.getTiers().size());
     }
@@ -131,10 +192,41 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         @Nonnull Store<EntityStore> store,
         @Nonnull CommandBuffer<EntityStore> commandBuffer,
         @Nonnull BreakBlockEvent event
+    ) {
+        long start = System.nanoTime();
+        RewardEvent trace = RewardEvent.start(JobType.MINING);
+        LedgerEntry entry = LedgerEntry.begin(JobType.MINING);
+        RewardOutcome outcome = processBlockBreak(index, archetypeChunk, store, commandBuffer, event, trace);
+        metrics.recordLatency(JobType.MINING, System.nanoTime() - start);
+        if (outcome == RewardOutcome.SETTLING) {
+            // The settlement lane records the final outcome
+            return;
+        }
+        metrics.record(JobType.MINING, outcome);
+        if (ledger != null && outcome != RewardOutcome.IGNORED) {
+            ledger.append(entry, outcome);
+        }
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+    
+    /**
+     * Run a block break through the mining reward pipeline.
+     * 
+     * @return The layer the event ended in (recorded by the caller)
+     */
+    private RewardOutcome processBlockBreak(
+        int index,
+        ArchetypeChunk<EntityStore> archetypeChunk,
+        Store<EntityStore> store,
+        CommandBuffer<EntityStore> commandBuffer,
+        BreakBlockEvent event,
+        @Nullable RewardEvent trace
     ) {
         // Guard: System disabled
         if (config == null || !config.isEnabled()) {
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         BlockType blockType = event.getBlockType();
@@ -142,22 +234,27 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         Vector3i targetBlock = event.getTargetBlock();
         
         if (blockType == null) {
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         String blockId = blockType.getId();
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setSource(blockId);
+        if (trace != null) {
+            trace.setSource(blockId);
+        }
         
         // ─────────────────────────────────────────────────────────────
         // LAYER 1: GET BREAKING DROP INFO
         // ─────────────────────────────────────────────────────────────
         BlockGathering gathering = blockType.getGathering();
         if (gathering == null) {
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         BlockBreakingDropType breaking = gathering.getBreaking();
         if (breaking == null) {
-            return; // Not a mineable block
+            return RewardOutcome.IGNORED; // Not a mineable block
         }
         
         // ─────────────────────────────────────────────────────────────
@@ -170,7 +267,7 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         
         // Allow "Rocks", "VolcanicRocks", etc.
         if (gatherType == null || !gatherType.contains("Rocks")) {
-            return; // Not rock mining (could be wood, soft blocks, etc.)
+            return RewardOutcome.IGNORED; // Not rock mining (wood is paid by WoodcuttingRewardSystem)
         }
         
         // ─────────────────────────────────────────────────────────────
@@ -181,118 +278,85 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         
         // IMPORTANT: Require a tool - bare-hand mining gives no rewards
         if (tool == null) {
-            return; // No tool equipped - no mining reward
+            return RewardOutcome.IGNORED; // No tool equipped - no mining reward
         }
         
         ItemToolSpec spec = BlockHarvestUtils.getSpecPowerDamageBlock(heldItem, blockType, tool);
         
         if (spec == null || spec.isIncorrect()) {
-            return; // Wrong tool type for this block
+            return RewardOutcome.IGNORED; // Wrong tool type for this block
         }
         
         // ─────────────────────────────────────────────────────────────
         // LAYER 4: EXCLUSION CHECK
         // ─────────────────────────────────────────────────────────────
         if (isExcluded(blockId)) {
-            return;
+            return RewardOutcome.EXCLUDED;
         }
         
         // ─────────────────────────────────────────────────────────────
         // LAYER 5: AUTO-CLASSIFY BY QUALITY
         // ─────────────────────────────────────────────────────────────
+        ClassificationEvent classification = ClassificationEvent.start(JobType.MINING);
         String tierName = autoClassifyBlock(blockId, breaking);
+        if (classification != null) {
+            classification.finish(blockId, tierName);
+        }
+        entry.setTier(tierName);
+        if (trace != null) {
+            trace.setTier(tierName);
+        }
         
         if ("NONE".equals(tierName)) {
-            return;
+            return RewardOutcome.NO_TIER;
         }
         
         TierConfig tier = config.getTierSafe(tierName, "STONE");
         
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 6: DROP CHANCE (with VIP bonus)
-        // ─────────────────────────────────────────────────────────────
-        // Get Player entity first (needed for VIP permission checks)
-        Player player = archetypeChunk.getComponent(index, Player.getComponentType());
-        
-        int baseDropChance = tier.getDropChance();
-        int vipChanceBonus = (player != null) 
-            ? Main.CONFIG.get().getVipMultipliers().calculateChanceBonus(player) 
-            : 0;
-        int effectiveDropChance = Math.min(baseDropChance + vipChanceBonus, 100);
-        
-        if (effectiveDropChance < 100) {
-            int roll = ThreadLocalRandom.current().nextInt(100);
-            if (roll >= effectiveDropChance) {
-                return;
-            }
-        }
-        
         // ─────────────────────────────────────────────────────────────
         // GET PLAYER
+        // One session lookup serves the VIP, rate-limit, anti-farm and
+        // streak layers below
         // ─────────────────────────────────────────────────────────────
         PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
         if (playerRef == null) {
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         UUID playerUuid = playerRef.getUuid();
+        entry.setPlayer(playerUuid);
+        PlayerJobSession session = sessions.get(playerUuid);
         
         // ─────────────────────────────────────────────────────────────
-        // LAYER 7: RATE LIMIT + ANTI-FARM
+        // LAYER 6: DROP CHANCE, RATE LIMIT, ANTI-FARM, COINS, ECONOMY CAP
+        // Shared reward pipeline; tool quality and depth are the job bonus
         // ─────────────────────────────────────────────────────────────
-        if (!rateLimiter.tryAcquire(playerUuid)) {
-            rewardsBlocked.incrementAndGet();
-            return;
-        }
-        
-        float antiFarmMultiplier = antiFarm.getMultiplierAndRecord(playerUuid, blockId);
-        
-        // ─────────────────────────────────────────────────────────────
-        // REWARD CALCULATION
-        // ─────────────────────────────────────────────────────────────
-        int baseCoins = tier.getMinCoins();
-        int range = tier.getMaxCoins() - tier.getMinCoins();
-        if (range > 0) {
-            baseCoins += ThreadLocalRandom.current().nextInt(range + 1);
-        }
+        // Player entity is needed for VIP permission checks (null -> no VIP)
+        Player player = archetypeChunk.getComponent(index, Player.getComponentType());
+        VipProfile vip = session.getVipProfile(player, Main.CONFIG.get().getVipMultipliers());
         
-        // Tool Quality Multiplier
         ToolQualityConfig toolQualityConfig = config.getToolQuality();
         float toolMultiplier = toolQualityConfig.calculateMultiplier(spec.getQuality());
-        
-        // Depth Bonus Multiplier
         DepthBonusConfig depthConfig = config.getDepthBonus();
         float depthMultiplier = depthConfig.calculateMultiplier(targetBlock.getY());
         
-        // VIP Multiplier (player implements CommandSender which has hasPermission)
-        float vipMultiplier = (player != null) 
-            ? Main.CONFIG.get().getVipMultipliers().calculateMultiplier(player) 
-            : 1.0f;
-
-        // Apply all multipliers
-        float totalMultiplier = antiFarmMultiplier * toolMultiplier * depthMultiplier * vipMultiplier;
-        float exactCoins = baseCoins * totalMultiplier;
-        int finalCoins = (int) exactCoins;
-        
-        // Probabilistic rounding
-        if (ThreadLocalRandom.current().nextFloat() < (exactCoins - finalCoins)) {
-            finalCoins++;
-        }
-        
-        if (finalCoins < 1) {
-            rewardsBlocked.incrementAndGet();
-            return;
+        RewardContext reward = RewardContext.begin(JobType.MINING, session, vip)
+            .addLine(blockId, tier, 1)
+            .setBonusMultiplier(toolMultiplier * depthMultiplier);
+        RewardOutcome blocked = pipeline.run(reward);
+        entry.setAntiFarmMultiplier(reward.getAntiFarmMultiplier(0));
+        entry.setVipMultiplier(vip.getMultiplier());
+        entry.setBonusMultiplier(toolMultiplier * depthMultiplier);
+        if (blocked != null) {
+            if (blocked.isBlocked()) {
+                rewardsBlocked.incrementAndGet();
+            }
+            return blocked;
         }
         
-        long totalValue = (long) finalCoins * tier.getCoinValue();
-        
-        // ─────────────────────────────────────────────────────────────
-        // ECONOMY CAP CHECK
-        // ─────────────────────────────────────────────────────────────
-        if (!economyCap.tryInject(totalValue)) {
-            rewardsBlocked.incrementAndGet();
-            return;
-        }
+        int finalCoins = reward.getTotalCoins();
+        long totalValue = reward.getValue();
+        entry.setValue(totalValue);
         
         // ─────────────────────────────────────────────────────────────
         // SUCCESS: GIVE REWARD
@@ -304,19 +368,17 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
             targetBlock.getZ() + 0.5
         );
         
-        if (EcotaleAPI.isPhysicalCoinsAvailable()) {
-            PhysicalCoinsProvider coins = EcotaleAPI.getPhysicalCoins();
-            coins.dropCoins(store, commandBuffer, dropPosition, totalValue);
-        } else {
-            EcotaleAPI.deposit(playerUuid, (double) totalValue, "Mining: " + blockId);
+        if (trace != null) {
+            trace.setValue(totalValue);
+        }
+        RewardOutcome paid = pay(session, totalValue, "Mining: " + blockId, store, commandBuffer, dropPosition,
+            (outcome, value) -> onRewardSettled(outcome, value, session), entry, trace);
+        if (paid == RewardOutcome.PAYOUT_FAILED) {
+            return RewardOutcome.PAYOUT_FAILED;
         }
-        
-        // Update statistics
-        totalRewardsGiven.incrementAndGet();
-        totalValueInjected.addAndGet(totalValue);
         
         JobsLogger.debug("SUCCESS: %s -> %d coins (exact=%.2f, tool=%.2fx, depth=%.2fx, vip=%.2fx)", 
-            blockId, finalCoins, exactCoins, toolMultiplier, depthMultiplier, vipMultiplier);
+            blockId, finalCoins, reward.getExactCoins(0), toolMultiplier, depthMultiplier, vip.getMultiplier());
         
         // ─────────────────────────────────────────────────────────────
         // VEIN STREAK: Audio + Bonus (only for non-BASIC tiers)
@@ -324,7 +386,7 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         if (!tierName.equals("BASIC") && !tierName.equals("NONE")) {
             VeinStreakConfig streakConfig = config.getVeinStreak();
             if (streakConfig.isEnabled()) {
-                int streak = VeinStreakTracker.getInstance().recordOreAndGetStreak(playerUuid);
+                int streak = VeinStreakTracker.getInstance().recordOreAndGetStreak(session.getVeinStreak());
                 
                 // Audio feedback
                 if (streakConfig.isAudioEnabled() && streak > 0) {
@@ -345,14 +407,13 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
                     if (roll < bonusChance) {
                         int bonusAmount = streakConfig.getBonusCoinAmount();
                         long bonusValue = (long) bonusAmount; // Copper value = 1
-                        if (economyCap.tryInject(bonusValue)) {
-                            if (EcotaleAPI.isPhysicalCoinsAvailable()) {
-                                PhysicalCoinsProvider coins = EcotaleAPI.getPhysicalCoins();
-                                coins.dropCoins(store, commandBuffer, dropPosition, bonusValue);
-                            } else {
-                                EcotaleAPI.deposit(playerUuid, (double) bonusValue, "VeinStreak bonus");
+                        if (economyCap.tryInject(bonusValue)
+                                && pay(session, bonusValue, "VeinStreak bonus", store, commandBuffer, dropPosition,
+                                    this::onBonusSettled, null, null) != RewardOutcome.PAYOUT_FAILED) {
+                            // A queued trace belongs to the settlement lane now
+                            if (trace != null && paid != RewardOutcome.SETTLING) {
+                                trace.setValue(totalValue + bonusValue);
                             }
-                            totalValueInjected.addAndGet(bonusValue);
                             JobsLogger.debug("[VEIN STREAK] Streak %d -> Bonus +%d", streak, bonusAmount);
                         }
                     }
@@ -362,6 +423,7 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         
         JobsLogger.debug("[MINING] %s (q=%d) -> %s -> %d coins", 
             blockId, breaking.getQuality(), tierName, finalCoins);
+        return paid;
     }
     
     /**
@@ -490,17 +552,129 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
         return text.equals(pattern);
     }
     
-    // =========================================================================
-    // Maintenance
-    // =========================================================================
-    
-    public void performCleanup() {
-        int antiFarmCleaned = antiFarm.cleanup();
-        rateLimiter.cleanup();
+    /**
+     * Pay value already charged to the economy cap, bracketed by the payout
+     * journal. Physical coins drop on the world thread (they need the
+     * CommandBuffer); balance deposits go to the settlement executor when one
+     * is attached and otherwise follow the journal's next group commit. On
+     * failure the cap charge is released.
+     * 
+     * @param callback Told how the payout ended
+     * @param record Ledger entry to record with the final outcome, or null
+     *               for a payout that is not an event of its own
+     * @return REWARDED, PAYOUT_FAILED, or SETTLING if the deposit of an
+     *         event (non-null record) was queued
+     */
+    private RewardOutcome pay(
+        PlayerJobSession session,
+        long value,
+        String reason,
+        Store<EntityStore> store,
+        CommandBuffer<EntityStore> commandBuffer,
+        Vector3d dropPosition,
+        BalanceSettlement.Callback callback,
+        @Nullable LedgerEntry record,
+        @Nullable RewardEvent trace
+    ) {
+        UUID playerUuid = session.getPlayerUuid();
+        if (!EcotaleAPI.isPhysicalCoinsAvailable()) {
+            BalanceSettlement settlement = new BalanceSettlement(JobType.MINING, playerUuid, value, reason,
+                economyCap, payoutJournal, callback);
+            if (record != null) {
+                settlement.recordOnSettle(ledger, record.copy(), trace);
+            }
+            settlement.trackPending(session);
+            if (settlementExecutor != null) {
+                settlementExecutor.submit(playerUuid, settlement);
+            } else {
+                settlement.settleAfterCommit(); // No lanes: deposit once the journal's group commit lands
+            }
+            return record != null ? RewardOutcome.SETTLING : RewardOutcome.REWARDED;
+        }
         
-        if (antiFarmCleaned > 0) {
-            JobsLogger.debug("Cleanup: removed %d anti-farm trackers", antiFarmCleaned);
+        long journalId = payoutJournal != null
+            ? payoutJournal.begin(JobType.MINING, playerUuid, value, PayoutJournal.MODE_COINS) : 0;
+        try {
+            PhysicalCoinsProvider coins = EcotaleAPI.getPhysicalCoins();
+            coins.dropCoins(store, commandBuffer, dropPosition, value);
+        } catch (Exception e) {
+            economyCap.release(value);
+            if (payoutJournal != null) {
+                payoutJournal.abort(journalId);
+            }
+            JobsLogger.warn("Failed to pay mining reward (%s): %s", reason, e.getMessage());
+            callback.settled(RewardOutcome.PAYOUT_FAILED, value);
+            return RewardOutcome.PAYOUT_FAILED;
         }
+        if (payoutJournal != null) {
+            payoutJournal.commit(journalId);
+        }
+        callback.settled(RewardOutcome.REWARDED, value);
+        return RewardOutcome.REWARDED;
+    }
+    
+    /**
+     * Statistics, XP and leaderboards for a settled block reward (nothing if it failed).
+     */
+    private void onRewardSettled(@Nonnull RewardOutcome outcome, long value, @Nonnull PlayerJobSession session) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalRewardsGiven.incrementAndGet();
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.MINING, value);
+            if (progression != null) {
+                progression.grant(session, JobType.MINING, 1);
+            }
+            if (leaderboards != null) {
+                leaderboards.record(session, JobType.MINING, value);
+            }
+        } else {
+            rewardsBlocked.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Statistics for a settled vein streak bonus (not an event of its own).
+     */
+    private void onBonusSettled(@Nonnull RewardOutcome outcome, long value) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.MINING, value);
+        }
+    }
+    
+    /**
+     * Attach the reward ledger (null disables ledger writes).
+     */
+    public void setLedger(@Nullable RewardLedger ledger) {
+        this.ledger = ledger;
+    }
+    
+    /**
+     * Attach the payout journal (null disables journaling).
+     */
+    public void setPayoutJournal(@Nullable PayoutJournal payoutJournal) {
+        this.payoutJournal = payoutJournal;
+    }
+    
+    /**
+     * Attach the settlement executor (null settles balance deposits after the journal's next group commit).
+     */
+    public void setSettlementExecutor(@Nullable SettlementExecutor settlementExecutor) {
+        this.settlementExecutor = settlementExecutor;
+    }
+    
+    /**
+     * Attach job progression (null disables XP).
+     */
+    public void setProgression(@Nullable JobProgression progression) {
+        this.progression = progression;
+    }
+    
+    /**
+     * Attach the job leaderboards (null disables them).
+     */
+    public void setLeaderboards(@Nullable JobLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
     }
     
     // =========================================================================
@@ -510,8 +684,8 @@ public class MiningRewardSystem extends EntityEventSystem<EntityStore, BreakBloc
     public long getTotalRewardsGiven() { return totalRewardsGiven.get(); }
     public long getTotalValueInjected() { return totalValueInjected.get(); }
     public long getRewardsBlocked() { return rewardsBlocked.get(); }
-    public int getActiveAntiFarmTrackers() { return antiFarm.getActiveTrackerCount(); }
     public long getRemainingEconomyCap() { return economyCap.getRemainingCapacity(); }
+    @Nonnull public EconomyCap getEconomyCap() { return economyCap; }
     
     @Nullable
     public MiningConfig getConfig() { return config; }
@@ -2,14 +2,30 @@ package com.ecotalejobs.systems;
 
 import com.ecotale.api.EcotaleAPI;
 import com.ecotale.api.PhysicalCoinsProvider;
-import com.ecotale.util.RateLimiter;
 import com.ecotalejobs.config.EcotaleJobsConfig.MobKillsConfig;
 import com.ecotalejobs.config.EcotaleJobsConfig.SecurityConfig;
 import com.ecotalejobs.config.TierConfig;
 import com.ecotalejobs.config.TierMappingsConfig;
 import com.ecotalejobs.Main;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.ClassificationEvent;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
 import com.ecotalejobs.security.AntiFarmSystem;
 import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
 import com.ecotalejobs.util.TierMatcher;
 import com.ecotalejobs.util.JobsLogger;
 import com.hypixel.hytale.component.CommandBuffer;
@@ -30,7 +46,6 @@ import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -38,6 +53,13 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent> {
     
+    /** Per-player rate limit: burst capacity and tokens/sec refill (mirrored by the simulator) */
+    public static final int RATE_LIMIT_BURST = 30;
+    public static final int RATE_LIMIT_REFILL_PER_SECOND = 5;
+    
+    /** Anti-farm floor - never pay less than this fraction */
+    public static final float ANTI_FARM_MIN_MULTIPLIER = 0.1f;
+    
     // Configuration - set via init()
     private MobKillsConfig config;
     private TierMappingsConfig mappingsConfig;
@@ -46,7 +68,25 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
     private final TierMatcher tierMatcher = new TierMatcher();
     private final AntiFarmSystem antiFarm = new AntiFarmSystem();
     private final EconomyCap economyCap = new EconomyCap();
-    private final RateLimiter rateLimiter;
+    private final PlayerRateLimiter rateLimiter;
+    private final RewardPipeline pipeline;
+    private final JobsMetrics metrics = JobsMetrics.getInstance();
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+    
+    // Audit log of reward decisions (null when disabled)
+    private RewardLedger ledger;
+    
+    // Write-ahead journal bracketing each payout (null when disabled)
+    private PayoutJournal payoutJournal;
+    
+    // Runs balance deposits off the world thread (null: after the journal's group commit)
+    private SettlementExecutor settlementExecutor;
+    
+    // Job levels (null when disabled)
+    private JobProgression progression;
+    
+    // Top earners (null when disabled)
+    private JobLeaderboards leaderboards;
     
     // Cached exclusions for O(1) lookup - populated on init()
     private volatile Set<String> exclusionSet = new HashSet<>();
@@ -59,7 +99,25 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
     public MobRewardSystem() {
         // RateLimiter: 30 burst capacity, 5 tokens/sec refill
         // This allows 30 rapid kills, then ~5 kills/sec sustained
-        this.rateLimiter = new RateLimiter(30, 5);
+        this.rateLimiter = new PlayerRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_REFILL_PER_SECOND);
+        this.pipeline = declarePipeline(rateLimiter, antiFarm, economyCap).build();
+    }
+    
+    /**
+     * Declare this job's reward pipeline. The live system, the economy
+     * simulator, the projection and the load generator all build from it,
+     * so the reward math has one owner.
+     */
+    @Nonnull
+    public static RewardPipeline.Builder declarePipeline(@Nonnull PlayerRateLimiter rateLimiter,
+                                                         @Nonnull AntiFarmSystem antiFarm,
+                                                         @Nonnull EconomyCap economyCap) {
+        return RewardPipeline.builder(JobType.MOB_KILLS)
+            .dropChance(true)
+            .rateLimit(rateLimiter)
+            .antiFarm(antiFarm)
+            .multipliers(true)
+            .economyCap(economyCap);
     }
     
     /**
@@ -93,8 +151,7 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         antiFarm.configure(
             security.getAntiFarmThreshold(),
             security.getAntiFarmDecayPerKill(),
-            0.1f,  // Minimum multiplier (10% of reward at worst)
-            30,    // TTL in minutes for player tracking
+            ANTI_FARM_MIN_MULTIPLIER,  // Minimum multiplier (10% of reward at worst)
             security.isAntiFarmEnabled()
         );
         
@@ -138,16 +195,47 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         @Nonnull DeathComponent deathComponent, 
         @Nonnull Store<EntityStore> store, 
         @Nonnull CommandBuffer<EntityStore> commandBuffer
+    ) {
+        long start = System.nanoTime();
+        RewardEvent trace = RewardEvent.start(JobType.MOB_KILLS);
+        LedgerEntry entry = LedgerEntry.begin(JobType.MOB_KILLS);
+        RewardOutcome outcome = handleDeath(ref, deathComponent, store, commandBuffer, trace);
+        metrics.recordLatency(JobType.MOB_KILLS, System.nanoTime() - start);
+        if (outcome == RewardOutcome.SETTLING) {
+            // The settlement lane records the final outcome
+            return;
+        }
+        metrics.record(JobType.MOB_KILLS, outcome);
+        if (ledger != null && outcome != RewardOutcome.IGNORED) {
+            ledger.append(entry, outcome);
+        }
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+    
+    /**
+     * Resolve the killer and run the kill through the reward pipeline.
+     */
+    private RewardOutcome handleDeath(
+        Ref<EntityStore> ref, 
+        DeathComponent deathComponent, 
+        Store<EntityStore> store, 
+        CommandBuffer<EntityStore> commandBuffer,
+        @Nullable RewardEvent trace
     ) {
         // Get the NPCEntity component (guaranteed by our query)
         NPCEntity npc = store.getComponent(ref, NPCEntity.getComponentType());
         
         if (npc == null) {
             // Not an NPC death - ignore (shouldn't happen due to query)
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         String mobId = npc.getNPCTypeId();
+        if (trace != null) {
+            trace.setSource(mobId);
+        }
         
         // Debug logging for all NPC deaths
         JobsLogger.debug("=== NPC DEATH: %s ===", mobId != null ? mobId : "NULL_ID");
@@ -155,27 +243,27 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         // Guard: System disabled
         if (config == null || !config.isEnabled()) {
             JobsLogger.debug("SKIP: Config null or disabled");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         // Get the killer from DeathComponent's damage info
         Damage deathInfo = deathComponent.getDeathInfo();
         if (deathInfo == null) {
             JobsLogger.debug("SKIP: No death info (natural death?)");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         // Check if the damage source was an entity
         Damage.Source source = deathInfo.getSource();
         if (!(source instanceof Damage.EntitySource entitySource)) {
             JobsLogger.debug("SKIP: Damage source is not an entity (environmental?)");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         Ref<EntityStore> killerRef = entitySource.getRef();
         if (killerRef == null || !killerRef.isValid()) {
             JobsLogger.debug("SKIP: Killer ref is null or invalid");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         // Verify killer is a player (not another NPC)
@@ -184,11 +272,11 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         
         if (killer == null || killerPlayerRef == null) {
             JobsLogger.debug("SKIP: Killer is not a player");
-            return;
+            return RewardOutcome.IGNORED;
         }
         
         // Process the reward through security layers
-        processKill(killer, killerPlayerRef, npc, ref, store, commandBuffer);
+        return processKill(killer, killerPlayerRef, npc, ref, store, commandBuffer, trace);
     }
 
     @Override
@@ -223,17 +311,20 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
      * <p>This method is optimized for minimal allocations:
      * <ul>
      *   <li>No String concatenation in hot path</li>
-     *   <li>ThreadLocalRandom (no contention)</li>
+     *   <li>Reused per-thread reward context (see {@link RewardContext})</li>
      *   <li>Primitive operations where possible</li>
      * </ul>
+     * 
+     * @return The layer the kill ended in (recorded by the caller)
      */
-    private void processKill(
+    private RewardOutcome processKill(
         Player killer,
         PlayerRef killerPlayerRef, 
         NPCEntity npc,
         Ref<EntityStore> mobRef, 
         Store<EntityStore> store, 
-        CommandBuffer<EntityStore> commandBuffer
+        CommandBuffer<EntityStore> commandBuffer,
+        @Nullable RewardEvent trace
     ) {
         String mobId = npc.getNPCTypeId();
         if (mobId == null) {
@@ -241,6 +332,9 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         }
         
         UUID playerUuid = killerPlayerRef.getUuid();
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setPlayer(playerUuid);
+        entry.setSource(mobId);
         
         // ─────────────────────────────────────────────────────────────
         // LAYER 1: EXCLUSION CHECK
@@ -248,135 +342,161 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         // ─────────────────────────────────────────────────────────────
         if (exclusionSet.contains(mobId)) {
             JobsLogger.debug("BLOCKED [Exclusion]: %s", mobId);
-            return;
+            return RewardOutcome.EXCLUDED;
         }
         
         // ─────────────────────────────────────────────────────────────
         // LAYER 2: TIER LOOKUP
         // Pattern matching with O(1) cache for known mobs
         // ─────────────────────────────────────────────────────────────
+        ClassificationEvent classification = ClassificationEvent.start(JobType.MOB_KILLS);
         String tierName = tierMatcher.findTier(mobId);
+        if (classification != null) {
+            classification.finish(mobId, tierName);
+        }
+        entry.setTier(tierName);
+        if (trace != null) {
+            trace.setTier(tierName);
+        }
         
         if ("NONE".equals(tierName)) {
             JobsLogger.debug("BLOCKED [Tier=NONE]: %s", mobId);
-            return;
+            return RewardOutcome.NO_TIER;
         }
         
         TierConfig tier = config.getTierSafe(tierName, mappingsConfig.getDefaultTier());
         
         // ─────────────────────────────────────────────────────────────
-        // LAYER 3: DROP CHANCE
-        // Random roll - skip if tier has <100% chance
-        // VIP players get bonus chance added to base drop chance
+        // LAYERS 3-7: DROP CHANCE, RATE LIMIT, ANTI-FARM, COINS, ECONOMY CAP
+        // Shared reward pipeline; VIP adds to the drop chance and the coins
         // ─────────────────────────────────────────────────────────────
-        int baseDropChance = tier.getDropChance();
-        int vipChanceBonus = Main.CONFIG.get().getVipMultipliers().calculateChanceBonus(killer);
-        int effectiveDropChance = Math.min(baseDropChance + vipChanceBonus, 100);
-        
-        if (effectiveDropChance < 100) {
-            int roll = ThreadLocalRandom.current().nextInt(100);
-            if (roll >= effectiveDropChance) {
-                JobsLogger.debug("BLOCKED [Chance %d >= %d%% (base=%d, vip=+%d)]: %s", 
-                    roll, effectiveDropChance, baseDropChance, vipChanceBonus, mobId);
-                return;
+        // One session lookup serves the VIP, rate-limit and anti-farm layers
+        PlayerJobSession session = sessions.get(playerUuid);
+        VipProfile vip = session.getVipProfile(killer, Main.CONFIG.get().getVipMultipliers());
+        RewardContext reward = RewardContext.begin(JobType.MOB_KILLS, session, vip)
+            .addLine(mobId, tier, 1);
+        RewardOutcome blocked = pipeline.run(reward);
+        entry.setAntiFarmMultiplier(reward.getAntiFarmMultiplier(0));
+        entry.setVipMultiplier(vip.getMultiplier());
+        if (blocked != null) {
+            if (blocked.isBlocked()) {
+                rewardsBlocked.incrementAndGet();
             }
+            JobsLogger.debug("BLOCKED [%s]: %s (antiFarm=%.0f%%)",
+                blocked.getKey(), mobId, reward.getAntiFarmMultiplier(0) * 100);
+            return blocked;
         }
         
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 4: RATE LIMITING
-        // Per-player burst protection using token bucket
-        // ─────────────────────────────────────────────────────────────
-        if (!rateLimiter.tryAcquire(playerUuid)) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [RateLimit]: Player %s", playerUuid);
-            return;
-        }
-        
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 5: ANTI-FARM
-        // Diminishing returns for killing same mob type repeatedly
-        // ─────────────────────────────────────────────────────────────
-        float antiFarmMultiplier = antiFarm.getMultiplierAndRecord(playerUuid, mobId);
+        int finalCoins = reward.getTotalCoins();
+        long totalValue = reward.getValue();
+        entry.setValue(totalValue);
         
         // ─────────────────────────────────────────────────────────────
-        // LAYER 6: REWARD CALCULATION
-        // Random amount within tier range, adjusted by anti-farm
+        // SUCCESS: GIVE REWARD
+        // Uses physical coins if addon is available, otherwise direct balance
         // ─────────────────────────────────────────────────────────────
-        int baseCoins = tier.getMinCoins();
-        int range = tier.getMaxCoins() - tier.getMinCoins();
-        if (range > 0) {
-            baseCoins += ThreadLocalRandom.current().nextInt(range + 1);
+        if (!EcotaleAPI.isPhysicalCoinsAvailable()) {
+            // No coins addon - deposit to the player's balance, off the tick
+            if (trace != null) {
+                trace.setValue(totalValue);
+            }
+            BalanceSettlement settlement = new BalanceSettlement(JobType.MOB_KILLS, playerUuid, totalValue,
+                "Mob kill: " + mobId, economyCap, payoutJournal, (outcome, value) -> onSettled(outcome, value, session));
+            JobsLogger.debug("SUCCESS: %s -> %d coins (exact=%.2f, antiFarm=%.0f%%, vip=%.2fx, mode=BALANCE)", 
+                mobId, finalCoins, reward.getExactCoins(0), reward.getAntiFarmMultiplier(0) * 100, vip.getMultiplier());
+            settlement.recordOnSettle(ledger, entry.copy(), trace).trackPending(session);
+            if (settlementExecutor != null) {
+                settlementExecutor.submit(playerUuid, settlement);
+            } else {
+                settlement.settleAfterCommit(); // No lanes: deposit once the journal's group commit lands
+            }
+            return RewardOutcome.SETTLING;
         }
         
-        // VIP Multiplier (killer implements CommandSender which has hasPermission)
-        float vipMultiplier = Main.CONFIG.get().getVipMultipliers().calculateMultiplier(killer);
-
-        // Apply anti-farm penalty & VIP
-        float exactCoins = baseCoins * antiFarmMultiplier * vipMultiplier;
-        int finalCoins = (int) exactCoins;
-        
-        // Probabilistic rounding: 1.2 coins = 1 coin + 20% chance of extra coin
-        // This ensures even small drops benefit from multipliers over time
-        if (ThreadLocalRandom.current().nextFloat() < (exactCoins - finalCoins)) {
-            finalCoins++;
+        // Physical coins addon installed - drop coins in world (needs the CommandBuffer, stays on the tick)
+        long journalId = payoutJournal != null
+            ? payoutJournal.begin(JobType.MOB_KILLS, playerUuid, totalValue, PayoutJournal.MODE_COINS) : 0;
+        try {
+            PhysicalCoinsProvider coins = EcotaleAPI.getPhysicalCoins();
+            coins.dropCoinsAtEntity(mobRef, store, commandBuffer, totalValue);
+        } catch (Exception e) {
+            // Nothing was paid - give the cap back
+            economyCap.release(totalValue);
+            if (payoutJournal != null) {
+                payoutJournal.abort(journalId);
+            }
+            onSettled(RewardOutcome.PAYOUT_FAILED, totalValue, session);
+            JobsLogger.warn("Failed to pay mob kill reward: %s", e.getMessage());
+            return RewardOutcome.PAYOUT_FAILED;
         }
-        
-        if (finalCoins < 1) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [AntiFarm=%.0f%%]: %s -> 0 coins", 
-                antiFarmMultiplier * 100, mobId);
-            return;
+        if (payoutJournal != null) {
+            payoutJournal.commit(journalId);
         }
         
-        long totalValue = (long) finalCoins * tier.getCoinValue();
-        
-        // ─────────────────────────────────────────────────────────────
-        // LAYER 7: GLOBAL ECONOMY CAP
-        // Server-wide limit on currency injection per hour
-        // ─────────────────────────────────────────────────────────────
-        if (!economyCap.tryInject(totalValue)) {
-            rewardsBlocked.incrementAndGet();
-            JobsLogger.debug("BLOCKED [EconomyCap]: Tried to inject %d, cap full", totalValue);
-            return;
+        onSettled(RewardOutcome.REWARDED, totalValue, session);
+        if (trace != null) {
+            trace.setValue(totalValue);
         }
         
-        // ─────────────────────────────────────────────────────────────
-        // SUCCESS: GIVE REWARD
-        // Uses physical coins if addon is available, otherwise direct balance
-        // ─────────────────────────────────────────────────────────────
-        if (EcotaleAPI.isPhysicalCoinsAvailable()) {
-            // Physical coins addon installed - drop coins in world
-            PhysicalCoinsProvider coins = EcotaleAPI.getPhysicalCoins();
-            coins.dropCoinsAtEntity(mobRef, store, commandBuffer, totalValue);
+        JobsLogger.debug("SUCCESS: %s -> %d coins (exact=%.2f, antiFarm=%.0f%%, vip=%.2fx, mode=COINS)", 
+            mobId, finalCoins, reward.getExactCoins(0), reward.getAntiFarmMultiplier(0) * 100, vip.getMultiplier());
+        return RewardOutcome.REWARDED;
+    }
+    
+    /**
+     * Update statistics, XP and leaderboards once a payout has settled (on
+     * the world thread, or on a settlement lane for balance deposits), so
+     * a failed payout earns nothing.
+     */
+    private void onSettled(@Nonnull RewardOutcome outcome, long value, @Nonnull PlayerJobSession session) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalRewardsGiven.incrementAndGet();
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.MOB_KILLS, value);
+            if (progression != null) {
+                progression.grant(session, JobType.MOB_KILLS, 1);
+            }
+            if (leaderboards != null) {
+                leaderboards.record(session, JobType.MOB_KILLS, value);
+            }
         } else {
-            // No coins addon - deposit directly to player's balance
-            EcotaleAPI.deposit(playerUuid, (double) totalValue, "Mob kill: " + mobId);
+            rewardsBlocked.incrementAndGet();
         }
-        
-        // Update statistics (atomic for thread-safety)
-        totalRewardsGiven.incrementAndGet();
-        totalValueInjected.addAndGet(totalValue);
-        
-        JobsLogger.debug("SUCCESS: %s -> %d coins (exact=%.2f, antiFarm=%.0f%%, vip=%.2fx, mode=%s)", 
-            mobId, finalCoins, exactCoins, antiFarmMultiplier * 100, vipMultiplier,
-            EcotaleAPI.isPhysicalCoinsAvailable() ? "COINS" : "BALANCE");
     }
     
-    // =========================================================================
-    // Maintenance
-    // =========================================================================
+    /**
+     * Attach the reward ledger (null disables ledger writes).
+     */
+    public void setLedger(@Nullable RewardLedger ledger) {
+        this.ledger = ledger;
+    }
     
     /**
-     * Periodic cleanup of expired tracking data.
-     * Should be called every 5-10 minutes via a scheduled task.
+     * Attach the payout journal (null disables journaling).
      */
-    public void performCleanup() {
-        int antiFarmCleaned = antiFarm.cleanup();
-        rateLimiter.cleanup(); // RateLimiter.cleanup() returns void
-        
-        if (antiFarmCleaned > 0) {
-            JobsLogger.debug("Cleanup: removed %d anti-farm trackers", antiFarmCleaned);
-        }
+    public void setPayoutJournal(@Nullable PayoutJournal payoutJournal) {
+        this.payoutJournal = payoutJournal;
+    }
+    
+    /**
+     * Attach the settlement executor (null settles balance deposits after the journal's next group commit).
+     */
+    public void setSettlementExecutor(@Nullable SettlementExecutor settlementExecutor) {
+        this.settlementExecutor = settlementExecutor;
+    }
+    
+    /**
+     * Attach job progression (null disables XP).
+     */
+    public void setProgression(@Nullable JobProgression progression) {
+        this.progression = progression;
+    }
+    
+    /**
+     * Attach the job leaderboards (null disables them).
+     */
+    public void setLeaderboards(@Nullable JobLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
     }
     
     // =========================================================================
@@ -403,9 +523,21 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         return tierMatcher.getCacheSize();
     }
     
-    /** Number of active player anti-farm trackers */
-    public int getActiveAntiFarmTrackers() {
-        return antiFarm.getActiveTrackerCount();
+    /**
+     * Tier lookups answered without pattern matching. Derived from the
+     * outcome counters (every decided kill that was not ignored or excluded
+     * looked its tier up once) so the lookup itself counts nothing.
+     */
+    public long getTierCacheHits() {
+        long lookups = metrics.getTotalDecisions(JobType.MOB_KILLS)
+            - metrics.getCount(JobType.MOB_KILLS, RewardOutcome.IGNORED)
+            - metrics.getCount(JobType.MOB_KILLS, RewardOutcome.EXCLUDED);
+        return Math.max(0, lookups - tierMatcher.getCacheMisses());
+    }
+    
+    /** Tier lookups that needed pattern matching */
+    public long getTierCacheMisses() {
+        return tierMatcher.getCacheMisses();
     }
     
     /** Remaining economy cap capacity for this hour */
@@ -413,6 +545,12 @@ public class MobRewardSystem extends RefChangeSystem<EntityStore, DeathComponent
         return economyCap.getRemainingCapacity();
     }
     
+    /** The hourly cap this system charges (journal replay charges it too) */
+    @Nonnull
+    public EconomyCap getEconomyCap() {
+        return economyCap;
+    }
+    
     /** Get current configuration (for admin inspection) */
     @Nullable
     public MobKillsConfig getConfig() {
@@ -0,0 +1,565 @@
+package com.ecotalejobs.systems;
+
+import com.ecotalejobs.Main;
+import com.ecotalejobs.config.EcotaleJobsConfig.WoodcuttingConfig;
+import com.ecotalejobs.metrics.JobsMetrics;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.metrics.jfr.RewardEvent;
+import com.ecotalejobs.ledger.LedgerEntry;
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.ledger.RewardLedger;
+import com.ecotalejobs.leaderboard.JobLeaderboards;
+import com.ecotalejobs.pipeline.RewardContext;
+import com.ecotalejobs.pipeline.RewardPipeline;
+import com.ecotalejobs.progression.JobProgression;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.settlement.BalanceSettlement;
+import com.ecotalejobs.settlement.SettlementExecutor;
+import com.ecotalejobs.util.CoarseClock;
+import com.ecotalejobs.util.BlockTierIndex;
+import com.ecotalejobs.util.JobsClock;
+import com.ecotalejobs.util.JobsLogger;
+import com.ecotalejobs.util.JobsScheduler;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockBreakingDropType;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockGathering;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemTool;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemToolSpec;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.interaction.BlockHarvestUtils;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Woodcutting reward system - uses BreakBlockEvent on logs.
+ *
+ * <p>Uses the same {@link BlockGathering}/{@link BlockBreakingDropType}
+ * data as mining, for the wood gather type mining skips. Felling a tree is
+ * a quick run of log breaks: each one costs a lookup in a precomputed log
+ * tier index and a count into the player's open burst
+ * ({@link BlockBatchAggregator}). The burst closes once no log has been cut
+ * for the window, and the whole tree is paid out as one computed payout.
+ *
+ * <p>Payouts are balance deposits: bursts settle off the world tick (on
+ * the sweep), where no entity store is available for physical coin drops.
+ */
+public class WoodcuttingRewardSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
+
+    /** Per-player rate limit per cut log: burst capacity and tokens/sec refill (mirrored by the simulator) */
+    public static final int RATE_LIMIT_BURST = 64;
+    public static final int RATE_LIMIT_REFILL_PER_SECOND = 2;
+
+    /** Gather type of wood blocks ("Woods"); mining only pays for "Rocks" */
+    private static final String WOOD_GATHER_TYPE = "Wood";
+
+    /** Anti-farm floor - never pay less than this fraction */
+    public static final float ANTI_FARM_MIN_MULTIPLIER = 0.1f;
+
+    // Configuration - set via init()
+    private WoodcuttingConfig config;
+
+    // Log block ID -> tier, rebuilt when block assets load
+    private volatile BlockTierIndex logIndex = BlockTierIndex.EMPTY;
+
+    // Core subsystems
+    private final AntiFarmSystem antiFarm = new AntiFarmSystem();
+    private final EconomyCap economyCap = new EconomyCap();
+    private final PlayerRateLimiter rateLimiter;
+    private final RewardPipeline pipeline;
+    private final JobsMetrics metrics = JobsMetrics.getInstance();
+    private final PlayerSessions sessions = PlayerSessions.getInstance();
+
+    // Audit log of reward decisions (null when disabled)
+    private RewardLedger ledger;
+
+    // Write-ahead journal bracketing each payout (null when disabled)
+    private PayoutJournal payoutJournal;
+
+    // Runs deposits off the sweep thread (null: after the journal's group commit)
+    private SettlementExecutor settlementExecutor;
+
+    // Job levels (null when disabled)
+    private JobProgression progression;
+
+    // Top earners (null when disabled)
+    private JobLeaderboards leaderboards;
+
+    private final BlockBatchAggregator burstAggregator = new BlockBatchAggregator(3_000, 20_000);
+    private volatile JobsClock clock = CoarseClock.getInstance();
+    private ScheduledFuture<?> burstSweep;
+
+    // Thread-safe statistics
+    private final AtomicLong totalRewardsGiven = new AtomicLong(0);
+    private final AtomicLong totalValueInjected = new AtomicLong(0);
+    private final AtomicLong rewardsBlocked = new AtomicLong(0);
+    private final AtomicLong totalLogsCut = new AtomicLong(0);
+
+    public WoodcuttingRewardSystem() {
+        super(BreakBlockEvent.class);
+        // RateLimiter: a tree takes one token per log, all at once
+        this.rateLimiter = new PlayerRateLimiter(RATE_LIMIT_BURST, RATE_LIMIT_REFILL_PER_SECOND);
+        this.pipeline = declarePipeline(rateLimiter, antiFarm, economyCap).build();
+    }
+
+    /**
+     * Declare this job's reward pipeline. The live system, the economy
+     * simulator, the projection and the load generator all build from it,
+     * so the reward math has one owner.
+     */
+    @Nonnull
+    public static RewardPipeline.Builder declarePipeline(@Nonnull PlayerRateLimiter rateLimiter,
+                                                         @Nonnull AntiFarmSystem antiFarm,
+                                                         @Nonnull EconomyCap economyCap) {
+        return RewardPipeline.builder(JobType.WOODCUTTING)
+            .dropChance(true)
+            .rateLimitPerEvent(rateLimiter)
+            .antiFarm(antiFarm)
+            .multipliers(true)
+            .economyCap(economyCap);
+    }
+
+    /**
+     * Initialize the woodcutting reward system.
+     */
+    public void init(WoodcuttingConfig config) {
+        this.config = config;
+
+        if (config == null) {
+            JobsLogger.warn("[WoodcuttingRewardSystem] Config is null - system DISABLED");
+            return;
+        }
+
+        antiFarm.configure(
+            config.getAntiFarmThreshold(),
+            config.getAntiFarmDecay(),
+            ANTI_FARM_MIN_MULTIPLIER,  // Minimum 10% reward at worst
+            config.isAntiFarmEnabled()
+        );
+
+        economyCap.configure(
+            config.getMaxInjectionPerHour(),
+            true
+        );
+
+        // Tree bursts: idle bursts are paid out by a background sweep
+        long burstWindow = config.getBurstWindowMs();
+        burstAggregator.setWindowMs(burstWindow);
+        burstAggregator.setMaxBatchMs(Math.max(burstWindow, config.getMaxBurstMs()));
+        if (burstSweep != null) {
+            burstSweep.cancel(false);
+            burstSweep = null;
+        }
+        if (burstWindow > 0) {
+            long sweepInterval = Math.max(50, Math.min(500, burstWindow));
+            burstSweep = JobsScheduler.get().scheduleAtFixedRate(
+                this::sweepBursts, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+        }
+
+        JobsLogger.info("[WoodcuttingRewardSystem] Initialized: %d log patterns, %d tiers | Burst=%dms | AntiFarm=%s",
+            config.getLogTiers().size(),
+            config.getTiers().size(),
+            burstWindow,
+            config.isAntiFarmEnabled() ? "ON" : "OFF");
+    }
+
+    /**
+     * Resolve every loaded wood block against the log patterns and publish
+     * the result. Called from Main after each BlockType LoadedAssetsEvent batch.
+     *
+     * @param allBlocks All currently loaded blocks (block ID -> block)
+     * @return Number of indexed log blocks
+     */
+    public int rebuildLogIndex(Map<String, BlockType> allBlocks) {
+        if (config == null || allBlocks == null) {
+            return 0;
+        }
+        BlockTierIndex index = BlockTierIndex.build(allBlocks, config.getLogTiers(), WoodcuttingRewardSystem::isWood);
+        this.logIndex = index;
+        JobsLogger.debug("[WoodcuttingRewardSystem] Log index rebuilt: %d log blocks", index.size());
+        return index.size();
+    }
+
+    /**
+     * Whether a block is gathered as wood (axe), read from its breaking drop data.
+     */
+    private static boolean isWood(BlockType block) {
+        BlockGathering gathering = block.getGathering();
+        BlockBreakingDropType breaking = gathering != null ? gathering.getBreaking() : null;
+        String gatherType = breaking != null ? breaking.getGatherType() : null;
+        return gatherType != null && gatherType.contains(WOOD_GATHER_TYPE);
+    }
+
+    // =========================================================================
+    // EntityEventSystem Implementation
+    // =========================================================================
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Player.getComponentType();
+    }
+
+    @Override
+    public void handle(
+        int index,
+        @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+        @Nonnull Store<EntityStore> store,
+        @Nonnull CommandBuffer<EntityStore> commandBuffer,
+        @Nonnull BreakBlockEvent event
+    ) {
+        long start = System.nanoTime();
+        RewardEvent trace = RewardEvent.start(JobType.WOODCUTTING);
+        LedgerEntry.begin(JobType.WOODCUTTING);
+        RewardOutcome outcome = handleLog(index, archetypeChunk, event, trace);
+        metrics.recordLatency(JobType.WOODCUTTING, System.nanoTime() - start);
+        if (outcome == RewardOutcome.SETTLING) {
+            // The settlement lane records the final outcome
+            return;
+        }
+        metrics.record(JobType.WOODCUTTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+
+    /**
+     * Classify the broken block, check the axe and count the log into the
+     * player's tree burst.
+     */
+    private RewardOutcome handleLog(
+        int index,
+        ArchetypeChunk<EntityStore> archetypeChunk,
+        BreakBlockEvent event,
+        @Nullable RewardEvent trace
+    ) {
+        // Guard: System disabled
+        if (config == null || !config.isEnabled()) {
+            return RewardOutcome.IGNORED;
+        }
+
+        BlockType blockType = event.getBlockType();
+        if (blockType == null || blockType.getId() == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        // ─────────────────────────────────────────────────────────────
+        // LAYER 1: LOG INDEX
+        // Single lookup; anything not indexed is not a log
+        // ─────────────────────────────────────────────────────────────
+        String blockId = blockType.getId();
+        String tierName = logIndex.get(blockId);
+        if (tierName == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        // ─────────────────────────────────────────────────────────────
+        // LAYER 2: TOOL VALIDATION - Require an axe (not bare hands)
+        // ─────────────────────────────────────────────────────────────
+        if (config.isRequireAxe()) {
+            ItemStack itemInHand = event.getItemInHand();
+            Item heldItem = itemInHand != null ? itemInHand.getItem() : null;
+            ItemTool tool = heldItem != null ? heldItem.getTool() : null;
+            if (tool == null) {
+                return RewardOutcome.IGNORED;
+            }
+            ItemToolSpec spec = BlockHarvestUtils.getSpecPowerDamageBlock(heldItem, blockType, tool);
+            if (spec == null || spec.isIncorrect()) {
+                return RewardOutcome.IGNORED; // Wrong tool type for this block
+            }
+        }
+
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setSource(blockId);
+        entry.setTier(tierName);
+        if (trace != null) {
+            trace.setSource(blockId);
+            trace.setTier(tierName);
+        }
+
+        if ("NONE".equals(tierName)) {
+            return RewardOutcome.NO_TIER;
+        }
+
+        // ─────────────────────────────────────────────────────────────
+        // GET PLAYER
+        // ─────────────────────────────────────────────────────────────
+        PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null) {
+            return RewardOutcome.IGNORED;
+        }
+
+        UUID playerUuid = playerRef.getUuid();
+        entry.setPlayer(playerUuid);
+        PlayerJobSession session = sessions.get(playerUuid);
+
+        // VIP is resolved now, on the world thread; the burst settles later
+        Player player = archetypeChunk.getComponent(index, Player.getComponentType());
+        VipProfile vip = session.getVipProfile(player, Main.CONFIG.get().getVipMultipliers());
+
+        // ─────────────────────────────────────────────────────────────
+        // LAYER 3: TREE BURST
+        // Count into the player's open burst; a burst open too long (or
+        // a new tree after the window) closes the previous one here
+        // ─────────────────────────────────────────────────────────────
+        totalLogsCut.incrementAndGet();
+        BlockBatchAggregator.Batch closed = burstAggregator.add(
+            session, vip, blockId, tierName, clock.millis());
+        if (closed != null) {
+            settleBurst(closed);
+        }
+
+        // Window disabled: every log is paid on its own
+        if (burstAggregator.getWindowMs() <= 0) {
+            settlePlayer(playerUuid);
+        }
+        return RewardOutcome.BATCHED;
+    }
+
+    // =========================================================================
+    // Burst Settlement
+    // =========================================================================
+
+    /**
+     * Pay out a felled tree and record it as one ledger entry.
+     */
+    private void settleBurst(BlockBatchAggregator.Batch batch) {
+        int top = batch.getTopSource();
+        RewardEvent trace = RewardEvent.start(JobType.WOODCUTTING);
+        if (trace != null) {
+            trace.setSource(batch.getSource(top));
+            trace.setTier(batch.getTier(top));
+        }
+        // May run inside another log's handler - that event is BATCHED and never logged
+        LedgerEntry.begin(JobType.WOODCUTTING);
+        RewardOutcome outcome = processTree(batch, top, trace);
+        if (outcome == RewardOutcome.SETTLING) {
+            return;
+        }
+        metrics.record(JobType.WOODCUTTING, outcome);
+        appendLedger(outcome);
+        if (trace != null) {
+            trace.finish(outcome);
+        }
+    }
+
+    /**
+     * Log this thread's ledger entry. Batched logs are logged when their
+     * burst settles, as one record for the whole tree.
+     */
+    private void appendLedger(RewardOutcome outcome) {
+        if (ledger != null && outcome != RewardOutcome.IGNORED && outcome != RewardOutcome.BATCHED) {
+            ledger.append(LedgerEntry.current(), outcome);
+        }
+    }
+
+    /**
+     * Periodic sweep (JobsScheduler) - settle trees that went idle.
+     */
+    private void sweepBursts() {
+        try {
+            burstAggregator.drainExpired(clock.millis(), this::settleBurst);
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            JobsLogger.error("[WoodcuttingRewardSystem] Burst sweep failed", e);
+        }
+    }
+
+    /**
+     * Pay out a player's open tree right away (on disconnect).
+     */
+    public void settlePlayer(UUID playerUuid) {
+        BlockBatchAggregator.Batch batch = burstAggregator.drainPlayer(playerUuid);
+        if (batch != null) {
+            settleBurst(batch);
+        }
+    }
+
+    /**
+     * Stop the burst sweep and pay out every open tree.
+     * Called from Main on disable.
+     */
+    public void shutdown() {
+        if (burstSweep != null) {
+            burstSweep.cancel(false);
+            burstSweep = null;
+        }
+        int settled = burstAggregator.drainAll(this::settleBurst);
+        if (settled > 0) {
+            JobsLogger.info("[WoodcuttingRewardSystem] Settled %d open tree bursts on shutdown", settled);
+        }
+    }
+
+    // =========================================================================
+    // Core Reward Processing
+    // =========================================================================
+
+    /**
+     * Reward every log of a tree with one rate-limit token per log (taken at
+     * once), one anti-farm record per log type weighted by its count, one cap
+     * charge and one deposit.
+     *
+     * @param top Index of the most cut log type (ledger source)
+     * @param trace JFR event to annotate, or null when not recording
+     * @return The layer the tree ended in
+     */
+    private RewardOutcome processTree(BlockBatchAggregator.Batch batch, int top, @Nullable RewardEvent trace) {
+        UUID playerUuid = batch.getPlayerUuid();
+        PlayerJobSession session = batch.getSession();
+        VipProfile vip = batch.getVip();
+
+        LedgerEntry entry = LedgerEntry.current();
+        entry.setPlayer(playerUuid);
+        entry.setSource(batch.getSource(top));
+        entry.setTier(batch.getTier(top));
+        entry.setQuantity(batch.getEvents());
+        entry.setVipMultiplier(vip.getMultiplier());
+
+        // ─────────────────────────────────────────────────────────────
+        // SHARED REWARD PIPELINE
+        // One line per log type: drop chance and coins rolled per log,
+        // one rate-limit token and one anti-farm count per log (taken in
+        // one go per tree), one cap charge
+        // ─────────────────────────────────────────────────────────────
+        RewardContext reward = RewardContext.begin(JobType.WOODCUTTING, session, vip);
+        for (int i = 0; i < batch.getSourceCount(); i++) {
+            reward.addLine(batch.getSource(i), config.getTierSafe(batch.getTier(i)), batch.getCount(i));
+        }
+        RewardOutcome blocked = pipeline.run(reward);
+        entry.setAntiFarmMultiplier(reward.getAntiFarmMultiplier(top));
+        if (blocked != null) {
+            if (blocked.isBlocked()) {
+                rewardsBlocked.incrementAndGet();
+            }
+            JobsLogger.debug("BLOCKED [%s]: Player %s (%d logs)", blocked.getKey(), playerUuid, batch.getEvents());
+            return blocked;
+        }
+
+        int totalCoins = reward.getTotalCoins();
+        long totalValue = reward.getValue();
+        entry.setValue(totalValue);
+        int units = reward.getTotalUnits();
+
+        // ─────────────────────────────────────────────────────────────
+        // SUCCESS: ADD TO PLAYER BALANCE
+        // ─────────────────────────────────────────────────────────────
+        if (trace != null) {
+            trace.setValue(totalValue);
+        }
+        JobsLogger.debug("[WOODCUTTING] %s: tree of %d logs (%d types) -> %d coins (value=%d)",
+            playerUuid, batch.getEvents(), batch.getSourceCount(), totalCoins, totalValue);
+
+        BalanceSettlement settlement = new BalanceSettlement(JobType.WOODCUTTING, playerUuid, totalValue,
+            "Woodcutting: " + batch.getSource(top), economyCap, payoutJournal,
+            (outcome, value) -> onSettled(outcome, value, session, units));
+        settlement.recordOnSettle(ledger, entry.copy(), trace).trackPending(session);
+        if (settlementExecutor != null) {
+            settlementExecutor.submit(playerUuid, settlement);
+        } else {
+            settlement.settleAfterCommit(); // No lanes: deposit once the journal's group commit lands
+        }
+        return RewardOutcome.SETTLING;
+    }
+
+    /**
+     * Update statistics, XP and leaderboards once a deposit has settled (on
+     * the calling thread, or on a settlement lane), so a failed deposit
+     * earns nothing.
+     */
+    private void onSettled(@Nonnull RewardOutcome outcome, long value, @Nonnull PlayerJobSession session, int units) {
+        if (outcome == RewardOutcome.REWARDED) {
+            totalRewardsGiven.incrementAndGet();
+            totalValueInjected.addAndGet(value);
+            metrics.recordValue(JobType.WOODCUTTING, value);
+            if (progression != null) {
+                progression.grant(session, JobType.WOODCUTTING, units);
+            }
+            if (leaderboards != null) {
+                leaderboards.record(session, JobType.WOODCUTTING, value);
+            }
+        } else {
+            rewardsBlocked.incrementAndGet();
+        }
+    }
+
+    /**
+     * Attach the reward ledger (null disables ledger writes).
+     */
+    public void setLedger(@Nullable RewardLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Attach the payout journal (null disables journaling).
+     */
+    public void setPayoutJournal(@Nullable PayoutJournal payoutJournal) {
+        this.payoutJournal = payoutJournal;
+    }
+
+    /**
+     * Attach the settlement executor (null settles deposits after the journal's next group commit).
+     */
+    public void setSettlementExecutor(@Nullable SettlementExecutor settlementExecutor) {
+        this.settlementExecutor = settlementExecutor;
+    }
+    
+    /**
+     * Replace the time source of the tree bursts (tests and benchmarks).
+     */
+    public void setClock(@Nonnull JobsClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Attach job progression (null disables XP).
+     */
+    public void setProgression(@Nullable JobProgression progression) {
+        this.progression = progression;
+    }
+
+    /**
+     * Attach the job leaderboards (null disables them).
+     */
+    public void setLeaderboards(@Nullable JobLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    // =========================================================================
+    // Monitoring API
+    // =========================================================================
+
+    public long getTotalRewardsGiven() { return totalRewardsGiven.get(); }
+    public long getTotalValueInjected() { return totalValueInjected.get(); }
+    public long getRewardsBlocked() { return rewardsBlocked.get(); }
+    public long getTotalLogsCut() { return totalLogsCut.get(); }
+    public long getRemainingEconomyCap() { return economyCap.getRemainingCapacity(); }
+    @Nonnull public EconomyCap getEconomyCap() { return economyCap; }
+    public int getIndexedLogCount() { return logIndex.size(); }
+    public long getLogEventsMerged() { return burstAggregator.getEventsMerged(); }
+    public long getTreesSettled() { return burstAggregator.getBatchesClosed(); }
+    public int getOpenTreeBursts() { return burstAggregator.getOpenBatchCount(); }
+
+    @Nullable
+    public WoodcuttingConfig getConfig() { return config; }
+}
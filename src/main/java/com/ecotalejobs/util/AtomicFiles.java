@@ -0,0 +1,52 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Crash-safe file replacement: write a sibling temp file, then rename it
+ * over the target. Readers see either the old or the new file, never a
+ * truncated one.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {}
+
+    /**
+     * Atomically replace a file with the given bytes.
+     */
+    public static void write(@Nonnull Path target, @Nonnull byte[] data) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, data);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Some filesystems (network mounts) - best effort replace
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Atomically replace a file with UTF-8 text.
+     */
+    public static void writeString(@Nonnull Path target, @Nonnull String text) throws IOException {
+        write(target, text.getBytes(StandardCharsets.UTF_8));
+    }
+}
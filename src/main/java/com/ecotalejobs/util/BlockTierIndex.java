@@ -0,0 +1,105 @@
+package com.ecotalejobs.util;
+
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Immutable block ID to tier index, built once when block assets are loaded.
+ *
+ * <p>Every loaded block is resolved against the configured ID patterns up
+ * front; blocks that match no pattern are left out. The break-event hot
+ * path then does one hash lookup, and a miss means "not a block this job
+ * rewards".
+ *
+ * <p>Pattern resolution: an exact ID wins, otherwise the longest matching
+ * wildcard pattern (the most specific one), so config map order does not
+ * matter.
+ *
+ * <p>Thread-safety: instances are immutable after construction and are
+ * published through a volatile field, so readers never need locks.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class BlockTierIndex {
+
+    /** Shared empty index used before the first block load */
+    public static final BlockTierIndex EMPTY = new BlockTierIndex(new HashMap<>());
+
+    private final Map<String, String> tiers;
+
+    private BlockTierIndex(Map<String, String> tiers) {
+        this.tiers = tiers;
+    }
+
+    /**
+     * Resolve every block to a tier and freeze the result.
+     *
+     * @param blocks All loaded blocks (block ID -> block)
+     * @param patterns Block ID pattern -> tier name (may contain * wildcards)
+     * @param filter Blocks to consider at all, or null for every block
+     * @return A new immutable index
+     */
+    @Nonnull
+    public static BlockTierIndex build(@Nonnull Map<String, BlockType> blocks,
+                                       @Nonnull Map<String, String> patterns,
+                                       @Nullable Predicate<BlockType> filter) {
+        Map<String, String> tiers = new HashMap<>();
+        for (Map.Entry<String, BlockType> entry : blocks.entrySet()) {
+            String blockId = entry.getKey();
+            BlockType block = entry.getValue();
+            if (blockId == null || block == null || (filter != null && !filter.test(block))) {
+                continue;
+            }
+            String tier = resolve(patterns, blockId);
+            if (tier != null) {
+                tiers.put(blockId, tier);
+            }
+        }
+        return new BlockTierIndex(tiers);
+    }
+
+    /**
+     * Resolve one block ID against the patterns (exact ID, then the longest
+     * matching wildcard).
+     *
+     * @return The tier name, or null if no pattern matches
+     */
+    @Nullable
+    public static String resolve(@Nonnull Map<String, String> patterns, @Nonnull String blockId) {
+        String exact = patterns.get(blockId);
+        if (exact != null) {
+            return exact;
+        }
+        String best = null;
+        int bestLength = -1;
+        for (Map.Entry<String, String> entry : patterns.entrySet()) {
+            String pattern = entry.getKey();
+            if (pattern.contains("*") && pattern.length() > bestLength && PatternMatcher.matches(pattern, blockId)) {
+                best = entry.getValue();
+                bestLength = pattern.length();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Look up the precomputed tier for a block ID.
+     *
+     * @return The tier name, or null if the block is not rewarded
+     */
+    @Nullable
+    public String get(@Nonnull String blockId) {
+        return tiers.get(blockId);
+    }
+
+    /** Number of indexed blocks */
+    public int size() {
+        return tiers.size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall clock cached in a volatile field and refreshed by a background
+ * ticker every {@value #RESOLUTION_MS} ms, so the security checks of a
+ * reward read one field instead of calling
+ * {@link System#currentTimeMillis()} several times.
+ *
+ * <p>Everything it times works in hundreds of milliseconds to hours, so being up to one
+ * resolution step behind is harmless. Until {@link #start} (and after
+ * {@link #stop()}) it falls back to the wall clock.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class CoarseClock implements JobsClock {
+
+    private static final CoarseClock INSTANCE = new CoarseClock();
+
+    public static CoarseClock getInstance() {
+        return INSTANCE;
+    }
+
+    /** Milliseconds between updates */
+    public static final long RESOLUTION_MS = 10;
+
+    // Zero while not ticking
+    private volatile long now;
+    private ScheduledFuture<?> task;
+
+    private CoarseClock() {}
+
+    /**
+     * Start ticking on the given scheduler.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService scheduler) {
+        if (task != null) {
+            return;
+        }
+        now = System.currentTimeMillis();
+        task = scheduler.scheduleAtFixedRate(() -> now = System.currentTimeMillis(),
+            RESOLUTION_MS, RESOLUTION_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop ticking and fall back to the wall clock.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        now = 0;
+    }
+
+    @Override
+    public long millis() {
+        long cached = now;
+        return cached != 0 ? cached : System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,258 @@
+package com.ecotalejobs.util;
+
+import com.ecotalejobs.metrics.jfr.ConfigSaveEvent;
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.ExtraInfo;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Debounced background persistence for configs and plugin-owned files.
+ *
+ * <p>Save requests are keyed by name. Repeated requests for the same name
+ * within the debounce window collapse into one write, so an asset load that
+ * fires a dozen {@code LoadedAssetsEvent} batches costs a single write. A
+ * steady stream of requests is still flushed after {@link #MAX_DELAY_MS}.
+ *
+ * <p>Content is captured when the save is requested: a Hytale config is
+ * encoded to JSON on the calling thread (the one that just changed it), so
+ * the background write never reads maps that thread keeps mutating. Writes
+ * run on {@link JobsScheduler}, never on the server thread, and go through
+ * {@link AtomicFiles} (temp file + rename).
+ *
+ * <p>Failed writes (I/O errors) are retried up to {@link #MAX_RETRIES}
+ * times. Call {@link #flush()} on shutdown.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class ConfigSaveService {
+
+    private static final long DEFAULT_DEBOUNCE_MS = 2_000;
+    private static final long MAX_DELAY_MS = 10_000;
+    private static final int MAX_RETRIES = 3;
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder()
+        .outputMode(JsonMode.RELAXED)
+        .indent(true)
+        .build();
+
+    private final ScheduledExecutorService executor;
+    private final long debounceMs;
+
+    // name -> pending write (guarded by this)
+    private final Map<String, PendingWrite> pending = new HashMap<>();
+
+    // Writes are serialized - one file at a time is plenty
+    private final Object writeLock = new Object();
+
+    // Statistics
+    private final AtomicLong requests = new AtomicLong(0);
+    private final AtomicLong coalesced = new AtomicLong(0);
+    private final AtomicLong writes = new AtomicLong(0);
+    private final AtomicLong failures = new AtomicLong(0);
+    private final AtomicLong totalWriteNanos = new AtomicLong(0);
+    private final AtomicLong maxWriteNanos = new AtomicLong(0);
+
+    public ConfigSaveService() {
+        this(JobsScheduler.get(), DEFAULT_DEBOUNCE_MS);
+    }
+
+    public ConfigSaveService(@Nonnull ScheduledExecutorService executor, long debounceMs) {
+        this.executor = executor;
+        this.debounceMs = Math.max(0, debounceMs);
+    }
+
+    /**
+     * A single write action.
+     */
+    @FunctionalInterface
+    private interface Writer {
+        void write() throws Exception;
+    }
+
+    // =========================================================================
+    // Requests
+    // =========================================================================
+
+    /**
+     * Request a (debounced) save of a Hytale config. The config is encoded
+     * here, on the calling thread; only the bytes reach the writer.
+     *
+     * @param name Stable key used for coalescing (e.g. "CraftingMappings")
+     * @param path The config file
+     * @param codec The config's codec
+     * @param config The config value
+     */
+    public <T> void requestSave(@Nonnull String name, @Nonnull Path path,
+                                @Nonnull Codec<T> codec, @Nonnull T config) {
+        byte[] json;
+        try {
+            json = codec.encode(config, ExtraInfo.THREAD_LOCAL.get())
+                .asDocument()
+                .toJson(JSON)
+                .getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            JobsLogger.error("[ConfigSaveService] Failed to encode " + name, e);
+            return;
+        }
+        requestWrite(name, path, json);
+    }
+
+    /**
+     * Request a (debounced) atomic write of a plugin-owned file.
+     *
+     * @param content File content, captured now (not copied - do not modify)
+     */
+    public void requestWrite(@Nonnull String name, @Nonnull Path path, @Nonnull byte[] content) {
+        submit(name, () -> AtomicFiles.write(path, content));
+    }
+
+    private synchronized void submit(String name, Writer writer) {
+        requests.incrementAndGet();
+        long now = System.currentTimeMillis();
+
+        PendingWrite existing = pending.get(name);
+        if (existing != null) {
+            // Coalesce: latest writer wins, deadline slides but never past the max delay
+            coalesced.incrementAndGet();
+            existing.writer = writer;
+            existing.deadline = Math.min(now + debounceMs, existing.firstRequest + MAX_DELAY_MS);
+            return;
+        }
+
+        pending.put(name, new PendingWrite(writer, now, now + debounceMs, 0));
+        schedule(name, debounceMs);
+    }
+
+    private void schedule(String name, long delayMs) {
+        try {
+            executor.schedule(() -> runDue(name), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Scheduler already stopped (shutdown in progress) - flush() picks it up
+            JobsLogger.debug("[ConfigSaveService] Scheduler stopped, %s left for flush", name);
+        }
+    }
+
+    private void runDue(String name) {
+        PendingWrite write;
+        synchronized (this) {
+            write = pending.get(name);
+            if (write == null) {
+                return; // Already flushed
+            }
+            long wait = write.deadline - System.currentTimeMillis();
+            if (wait > 0) {
+                schedule(name, wait); // Deadline moved - check again later
+                return;
+            }
+            pending.remove(name);
+        }
+        execute(name, write, true);
+    }
+
+    private void execute(String name, PendingWrite write, boolean allowRetry) {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            ConfigSaveEvent jfr = new ConfigSaveEvent();
+            jfr.begin();
+            try {
+                write.writer.write();
+                jfr.finish(name, write.attempts, true);
+
+                long elapsed = System.nanoTime() - start;
+                writes.incrementAndGet();
+                totalWriteNanos.addAndGet(elapsed);
+                maxWriteNanos.accumulateAndGet(elapsed, Math::max);
+                JobsLogger.debug("[ConfigSaveService] Saved %s in %.1f ms", name, elapsed / 1_000_000.0);
+            } catch (Exception e) {
+                jfr.finish(name, write.attempts, false);
+                failures.incrementAndGet();
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+                if (allowRetry && write.attempts < MAX_RETRIES) {
+                    retry(name, write);
+                    JobsLogger.debug("[ConfigSaveService] Save of %s failed (%s), retrying", name, cause);
+                } else {
+                    JobsLogger.error("[ConfigSaveService] Failed to save " + name, cause);
+                }
+            }
+        }
+    }
+
+    private synchronized void retry(String name, PendingWrite failed) {
+        // A newer request already queued supersedes the retry
+        if (pending.containsKey(name)) return;
+        long now = System.currentTimeMillis();
+        pending.put(name, new PendingWrite(failed.writer, now, now + debounceMs, failed.attempts + 1));
+        schedule(name, debounceMs);
+    }
+
+    /**
+     * Write everything pending right now on the calling thread.
+     * Used on plugin disable.
+     */
+    public void flush() {
+        List<Map.Entry<String, PendingWrite>> due;
+        synchronized (this) {
+            due = new ArrayList<>(pending.entrySet());
+            pending.clear();
+        }
+        for (Map.Entry<String, PendingWrite> entry : due) {
+            execute(entry.getKey(), entry.getValue(), false);
+        }
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    public long getRequestCount() { return requests.get(); }
+    public long getCoalescedCount() { return coalesced.get(); }
+    public long getWriteCount() { return writes.get(); }
+    public long getFailureCount() { return failures.get(); }
+    public synchronized int getPendingCount() { return pending.size(); }
+
+    /** Average write latency in milliseconds */
+    public double getAverageWriteMillis() {
+        long count = writes.get();
+        return count == 0 ? 0.0 : totalWriteNanos.get() / (count * 1_000_000.0);
+    }
+
+    /** Slowest write in milliseconds */
+    public double getMaxWriteMillis() {
+        return maxWriteNanos.get() / 1_000_000.0;
+    }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    private static final class PendingWrite {
+        Writer writer;
+        final long firstRequest;
+        long deadline;
+        final int attempts;
+
+        PendingWrite(Writer writer, long firstRequest, long deadline, int attempts) {
+            this.writer = writer;
+            this.firstRequest = firstRequest;
+            this.deadline = deadline;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -10,6 +10,9 @@ import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
 
 /**
@@ -23,6 +26,9 @@ import java.util.regex.Pattern;
  * - Fallback to name-based scoring only when Item metadata unavailable
  * 
  * Performance: O(1) per recipe classification after initial cache build
+ * - Keyword tables compiled into Aho-Corasick automata (one pass per ID)
+ * - Material scores and item metadata tiers memoized per item ID
+ * - Large recipe batches are classified in parallel on the common ForkJoinPool
  * 
  * @author EcotaleJobs Team
  * @since 1.0.0
@@ -205,6 +211,32 @@ public class CraftingAutoDetector {
         CATEGORY_BONUSES.put("amulet", 50);
     }
     
+    // =========================================================================
+    // Compiled keyword matchers + per-item memoization
+    // =========================================================================
+    
+    private static final KeywordMatcher MATERIAL_MATCHER = KeywordMatcher.compile(MATERIAL_SCORES);
+    private static final KeywordMatcher BENCH_MATCHER = KeywordMatcher.compile(BENCH_SCORES);
+    private static final KeywordMatcher CATEGORY_MATCHER = KeywordMatcher.compile(CATEGORY_BONUSES);
+    
+    /** itemId -> material score (inputs repeat heavily across recipes) */
+    private static final Map<String, Integer> MATERIAL_SCORE_CACHE = new ConcurrentHashMap<>();
+    
+    /** itemId -> tier derived from Item metadata (level + category caps) */
+    private static final Map<String, String> ITEM_TIER_CACHE = new ConcurrentHashMap<>();
+    
+    /** Below this many recipes the scan stays on the calling thread */
+    private static final int PARALLEL_THRESHOLD = 256;
+    
+    /** Leaf size for the fork/join split */
+    private static final int SPLIT_THRESHOLD = 64;
+    
+    // Per-recipe scan outcome (index-aligned with the recipe array)
+    private static final byte SCAN_SKIPPED = 0;
+    private static final byte SCAN_EXISTING = 1;
+    private static final byte SCAN_EXCLUDED = 2;
+    private static final byte SCAN_DETECTED = 3;
+    
     // =========================================================================
     // Auto-Detection Entry Point
     // =========================================================================
@@ -220,76 +252,124 @@ public class CraftingAutoDetector {
     public static Map<String, String> processLoadedRecipes(
             @Nonnull Map<String, CraftingRecipe> loadedRecipes,
             @Nonnull CraftingMappingsConfig config) {
+        return processLoadedRecipes(loadedRecipes, config, null);
+    }
+    
+    /**
+     * Process loaded recipes, preferring tiers derived from the recipe value graph.
+     * 
+     * @param loadedRecipes Map of newly loaded recipes
+     * @param config Current crafting mappings config
+     * @param valueGraph Value graph already updated with these recipes (null = metadata only)
+     * @return Map of new item IDs to their auto-assigned tiers
+     */
+    public static Map<String, String> processLoadedRecipes(
+            @Nonnull Map<String, CraftingRecipe> loadedRecipes,
+            @Nonnull CraftingMappingsConfig config,
+            @Nullable RecipeValueGraph valueGraph) {
         
         Map<String, String> newMappings = new LinkedHashMap<>();
         
         Set<String> existingItemMappings = config.getItemMappings().keySet();
-        Set<String> existingRecipeMappings = config.getRecipeMappings().keySet();
         Set<String> exclusions = new HashSet<>(config.getExclusions());
         
-        // Pre-compile exclusion patterns
-        List<Pattern> exclusionPatterns = compilePatterns(exclusions);
-        List<Pattern> existingItemPatterns = compilePatterns(existingItemMappings);
+        ScanContext context = new ScanContext(
+            existingItemMappings,
+            config.getRecipeMappings().keySet(),
+            exclusions,
+            compilePatterns(exclusions),
+            compilePatterns(existingItemMappings),
+            valueGraph
+        );
+        
+        CraftingRecipe[] recipes = loadedRecipes.values().toArray(new CraftingRecipe[0]);
+        int count = recipes.length;
+        String[] outputIds = new String[count];
+        String[] tiers = new String[count];
+        byte[] outcomes = new byte[count];
+        
+        // Classify - results land in index-aligned arrays so the merge below
+        // keeps the asset map's iteration order regardless of thread timing
+        RecipeScanTask task = new RecipeScanTask(context, recipes, outputIds, tiers, outcomes, 0, count);
+        if (count >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.scanRange(0, count);
+        }
         
-        int totalProcessed = 0;
         int skippedExisting = 0;
         int skippedExcluded = 0;
         int detected = 0;
         
-        for (Map.Entry<String, CraftingRecipe> entry : loadedRecipes.entrySet()) {
-            CraftingRecipe recipe = entry.getValue();
-            totalProcessed++;
-            
-            String recipeId = recipe.getId();
-            if (recipeId == null || recipeId.isEmpty()) continue;
-            
-            // Get primary output item ID
-            MaterialQuantity primaryOutput = recipe.getPrimaryOutput();
-            String outputItemId = primaryOutput != null ? primaryOutput.getItemId() : null;
-            
-            if (outputItemId == null) continue;
-            
-            // Check if recipe is already mapped
-            if (existingRecipeMappings.contains(recipeId)) {
-                skippedExisting++;
-                continue;
-            }
-            
-            // Check if output item matches existing pattern
-            if (matchesAnyPattern(outputItemId, existingItemPatterns) || 
-                existingItemMappings.contains(outputItemId)) {
-                skippedExisting++;
-                continue;
-            }
-            
-            // Check exclusions
-            if (exclusions.contains(outputItemId) || 
-                exclusions.contains(recipeId) ||
-                matchesAnyPattern(outputItemId, exclusionPatterns) ||
-                matchesAnyPattern(recipeId, exclusionPatterns)) {
-                skippedExcluded++;
-                continue;
-            }
-            
-            // Auto-classify this recipe
-            String tier = classifyRecipe(recipe, outputItemId);
-            
-            if (tier != null && !"NONE".equals(tier)) {
-                newMappings.put(outputItemId, tier);
-                detected++;
-                JobsLogger.debug("[CraftingAutoDetector] %s -> %s (score from recipe)", 
-                    outputItemId, tier);
+        for (int i = 0; i < count; i++) {
+            switch (outcomes[i]) {
+                case SCAN_EXISTING -> skippedExisting++;
+                case SCAN_EXCLUDED -> skippedExcluded++;
+                case SCAN_DETECTED -> {
+                    newMappings.put(outputIds[i], tiers[i]);
+                    detected++;
+                    JobsLogger.debug("[CraftingAutoDetector] %s -> %s (score from recipe)", 
+                        outputIds[i], tiers[i]);
+                }
+                default -> { }
             }
         }
         
         if (detected > 0) {
             JobsLogger.info("[CraftingAutoDetector] Processed %d recipes: %d new, %d existing, %d excluded",
-                totalProcessed, detected, skippedExisting, skippedExcluded);
+                count, detected, skippedExisting, skippedExcluded);
         }
         
         return newMappings;
     }
     
+    /**
+     * Classify a single recipe against the scan context.
+     * Pure function of its inputs - safe to call from any worker thread.
+     */
+    private static byte scanRecipe(ScanContext context, CraftingRecipe recipe, int slot,
+                                   String[] outputIds, String[] tiers) {
+        if (recipe == null) return SCAN_SKIPPED;
+        
+        String recipeId = recipe.getId();
+        if (recipeId == null || recipeId.isEmpty()) return SCAN_SKIPPED;
+        
+        // Get primary output item ID
+        MaterialQuantity primaryOutput = recipe.getPrimaryOutput();
+        String outputItemId = primaryOutput != null ? primaryOutput.getItemId() : null;
+        
+        if (outputItemId == null) return SCAN_SKIPPED;
+        
+        // Check if recipe is already mapped
+        if (context.existingRecipeMappings.contains(recipeId)) {
+            return SCAN_EXISTING;
+        }
+        
+        // Check if output item matches existing pattern
+        if (context.existingItemMappings.contains(outputItemId) ||
+            matchesAnyPattern(outputItemId, context.existingItemPatterns)) {
+            return SCAN_EXISTING;
+        }
+        
+        // Check exclusions
+        if (context.exclusions.contains(outputItemId) || 
+            context.exclusions.contains(recipeId) ||
+            matchesAnyPattern(outputItemId, context.exclusionPatterns) ||
+            matchesAnyPattern(recipeId, context.exclusionPatterns)) {
+            return SCAN_EXCLUDED;
+        }
+        
+        // Auto-classify this recipe
+        String tier = classifyRecipe(recipe, outputItemId, context.valueGraph);
+        
+        if (tier != null && !"NONE".equals(tier)) {
+            outputIds[slot] = outputItemId;
+            tiers[slot] = tier;
+            return SCAN_DETECTED;
+        }
+        return SCAN_SKIPPED;
+    }
+    
     /**
      * Full scan of all recipes in the asset map.
      * Used for initial load or manual refresh.
@@ -325,14 +405,15 @@ public class CraftingAutoDetector {
      * 
      * PRIORITY ORDER:
      * 1. Get output Item from asset map
-     * 2. Use Item.getItemLevel() as primary indicator
+     * 2. Use the recipe value graph tier if available, else Item.getItemLevel()
      * 3. Apply category caps from Item.getCategories()
      * 4. Fallback to name-based scoring if Item unavailable
      * 
      * This is O(1) per call when Item is cached in asset map.
      */
     @Nullable
-    private static String classifyRecipe(CraftingRecipe recipe, String outputItemId) {
+    private static String classifyRecipe(CraftingRecipe recipe, String outputItemId,
+                                         @Nullable RecipeValueGraph valueGraph) {
         // Try to get the actual Item asset for metadata-based classification
         Item outputItem = null;
         try {
@@ -346,9 +427,14 @@ public class CraftingAutoDetector {
         
         String tier;
         
-        if (outputItem != null) {
-            // === PRIMARY: Use Item metadata ===
-            tier = classifyByItemMetadata(outputItem, recipe);
+        String valueTier = valueGraph != null ? valueGraph.getTierForRecipe(recipe.getId()) : null;
+        if (valueTier != null) {
+            // === VALUE GRAPH: priced from inputs, caps still apply ===
+            tier = outputItem != null ? applyCategoryCaps(outputItem, valueTier) : valueTier;
+        } else if (outputItem != null) {
+            // === PRIMARY: Use Item metadata (depends only on the item) ===
+            final Item item = outputItem;
+            tier = ITEM_TIER_CACHE.computeIfAbsent(outputItemId, id -> classifyByItemMetadata(item, recipe));
         } else {
             // === FALLBACK: Use name-based scoring ===
             tier = classifyByScoring(recipe, outputItemId);
@@ -364,9 +450,15 @@ public class CraftingAutoDetector {
     private static String classifyByItemMetadata(Item item, CraftingRecipe recipe) {
         // Get tier from ItemLevel (Hytale's own item power rating)
         int itemLevel = item.getItemLevel();
-        String tier = itemLevelToTier(itemLevel);
-        
-        // Apply category caps
+        return applyCategoryCaps(item, itemLevelToTier(itemLevel));
+    }
+    
+    /**
+     * Cap a tier by the item's categories and ID (decorations, plants, seeds).
+     * Also applied by {@link CraftingTierMatcher} to value graph tiers.
+     */
+    static String applyCategoryCaps(Item item, String tier) {
+        // Apply category caps (a dozen prefixes - a plain loop is cheapest here)
         String[] categories = item.getCategories();
         if (categories != null) {
             for (String category : categories) {
@@ -452,20 +544,21 @@ public class CraftingAutoDetector {
     
     /**
      * Get material score from item ID by checking for known material keywords.
+     * Memoized per item ID - the same inputs appear in hundreds of recipes.
+     * Also used by {@link RecipeValueGraph} as the base value of raw materials.
      */
-    private static int getMaterialScore(String itemId) {
+    static int getMaterialScore(String itemId) {
         if (itemId == null) return 5;
         
-        String lower = itemId.toLowerCase();
-        int maxScore = 5; // Default base score
-        
-        for (Map.Entry<String, Integer> entry : MATERIAL_SCORES.entrySet()) {
-            if (lower.contains(entry.getKey())) {
-                maxScore = Math.max(maxScore, entry.getValue());
-            }
+        Integer cached = MATERIAL_SCORE_CACHE.get(itemId);
+        if (cached != null) {
+            return cached;
         }
         
-        return maxScore;
+        // Default base score of 5 when no material keyword matches
+        int score = MATERIAL_MATCHER.maxValue(itemId.toLowerCase(), 5);
+        MATERIAL_SCORE_CACHE.put(itemId, score);
+        return score;
     }
     
     /**
@@ -475,26 +568,19 @@ public class CraftingAutoDetector {
     private static int getCategoryBonus(String outputItemId) {
         if (outputItemId == null) return 0;
         
-        String lower = outputItemId.toLowerCase();
-        int maxPositive = 0;
-        int minNegative = 0;
-        
-        for (Map.Entry<String, Integer> entry : CATEGORY_BONUSES.entrySet()) {
-            if (lower.contains(entry.getKey())) {
-                int value = entry.getValue();
-                if (value < 0) {
-                    // Track most negative penalty
-                    minNegative = Math.min(minNegative, value);
-                } else {
-                    // Track best positive bonus
-                    maxPositive = Math.max(maxPositive, value);
-                }
+        // [0] = best positive bonus, [1] = most negative penalty
+        int[] extremes = new int[2];
+        CATEGORY_MATCHER.scan(outputItemId.toLowerCase(), value -> {
+            if (value < 0) {
+                extremes[1] = Math.min(extremes[1], value);
+            } else {
+                extremes[0] = Math.max(extremes[0], value);
             }
-        }
+        });
         
         // Apply negative penalties even if there's a positive
         // Saplings/seeds will be heavily penalized
-        return maxPositive + minNegative;
+        return extremes[0] + extremes[1];
     }
     
     /**
@@ -510,14 +596,7 @@ public class CraftingAutoDetector {
             benchId = bench.type != null ? bench.type.name() : "";
         }
         
-        String lower = benchId.toLowerCase();
-        int maxScore = 0;
-        
-        for (Map.Entry<String, Integer> entry : BENCH_SCORES.entrySet()) {
-            if (lower.contains(entry.getKey())) {
-                maxScore = Math.max(maxScore, entry.getValue());
-            }
-        }
+        int maxScore = BENCH_MATCHER.maxValue(benchId.toLowerCase(), 0);
         
         // Tier level bonus (public field)
         int tierLevel = bench.requiredTierLevel;
@@ -550,6 +629,15 @@ public class CraftingAutoDetector {
         return "LEGENDARY";
     }
     
+    /**
+     * Drop memoized item scores/tiers. Called at the start of every recipe
+     * load, before auto-detect and the recipe index are rebuilt.
+     */
+    public static void clearCaches() {
+        MATERIAL_SCORE_CACHE.clear();
+        ITEM_TIER_CACHE.clear();
+    }
+    
     // =========================================================================
     // Pattern Matching Utilities
     // =========================================================================
@@ -590,4 +678,76 @@ public class CraftingAutoDetector {
         }
         return false;
     }
+    
+    // =========================================================================
+    // Parallel Scan Support
+    // =========================================================================
+    
+    /**
+     * Read-only lookup state shared by all scan workers.
+     */
+    private static final class ScanContext {
+        final Set<String> existingItemMappings;
+        final Set<String> existingRecipeMappings;
+        final Set<String> exclusions;
+        final List<Pattern> exclusionPatterns;
+        final List<Pattern> existingItemPatterns;
+        final RecipeValueGraph valueGraph;
+        
+        ScanContext(Set<String> existingItemMappings, Set<String> existingRecipeMappings,
+                    Set<String> exclusions, List<Pattern> exclusionPatterns,
+                    List<Pattern> existingItemPatterns, @Nullable RecipeValueGraph valueGraph) {
+            this.existingItemMappings = existingItemMappings;
+            this.existingRecipeMappings = existingRecipeMappings;
+            this.exclusions = exclusions;
+            this.exclusionPatterns = exclusionPatterns;
+            this.existingItemPatterns = existingItemPatterns;
+            this.valueGraph = valueGraph;
+        }
+    }
+    
+    /**
+     * Fork/join task that splits the recipe array until leaves are
+     * {@link #SPLIT_THRESHOLD} recipes or fewer. Each slot is written by
+     * exactly one worker, so the result arrays need no synchronization.
+     */
+    private static final class RecipeScanTask extends RecursiveAction {
+        private final ScanContext context;
+        private final CraftingRecipe[] recipes;
+        private final String[] outputIds;
+        private final String[] tiers;
+        private final byte[] outcomes;
+        private final int from;
+        private final int to;
+        
+        RecipeScanTask(ScanContext context, CraftingRecipe[] recipes, String[] outputIds,
+                       String[] tiers, byte[] outcomes, int from, int to) {
+            this.context = context;
+            this.recipes = recipes;
+            this.outputIds = outputIds;
+            this.tiers = tiers;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                scanRange(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new RecipeScanTask(context, recipes, outputIds, tiers, outcomes, from, mid),
+                new RecipeScanTask(context, recipes, outputIds, tiers, outcomes, mid, to)
+            );
+        }
+        
+        void scanRange(int start, int end) {
+            for (int i = start; i < end; i++) {
+                outcomes[i] = scanRecipe(context, recipes[i], i, outputIds, tiers);
+            }
+        }
+    }
 }
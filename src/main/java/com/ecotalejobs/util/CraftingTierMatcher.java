@@ -11,6 +11,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -24,7 +25,7 @@ import java.util.regex.Pattern;
  *   <li>Output Item ID pattern match</li>
  *   <li>Item category match</li>
  *   <li>Bench type match</li>
- *   <li>Auto-classification by complexity</li>
+ *   <li>Auto-classification by recipe value (or complexity)</li>
  *   <li>Default tier</li>
  * </ol>
  * 
@@ -59,6 +60,15 @@ public class CraftingTierMatcher {
     // Pre-compiled exclusion patterns
     private final List<Pattern> exclusionPatterns = new ArrayList<>();
     
+    // Precomputed recipe -> tier index (swapped atomically on recipe load)
+    private volatile RecipeTierIndex recipeIndex = RecipeTierIndex.EMPTY;
+    
+    // Optional value graph for priority 7 (null = complexity scoring only)
+    private volatile RecipeValueGraph valueGraph;
+    
+    // Lookups that needed full resolution (hits are derived from the reward outcomes)
+    private final LongAdder cacheMisses = new LongAdder();
+    
     /**
      * Configure the matcher with mappings from config.
      */
@@ -70,7 +80,8 @@ public class CraftingTierMatcher {
         this.exclusions = new HashSet<>(config.getExclusions());
         this.defaultTier = config.getDefaultTier();
         
-        // Clear caches
+        // Clear caches (index is stale until the next publishIndex)
+        recipeIndex = RecipeTierIndex.EMPTY;
         recipeCache.clear();
         itemCache.clear();
         recipePatterns.clear();
@@ -105,6 +116,9 @@ public class CraftingTierMatcher {
     /**
      * Find the appropriate tier for a crafted recipe.
      * 
+     * <p>Recipes known at load time are answered from the precomputed
+     * {@link RecipeTierIndex}; anything else is resolved once and cached.
+     * 
      * @param recipe The crafting recipe
      * @return The tier name, or "NONE" if excluded
      */
@@ -115,15 +129,40 @@ public class CraftingTierMatcher {
             recipeId = "unknown_recipe";
         }
         
-        // Check cache first
+        // Precomputed index first (built from LoadedAssetsEvent)
+        String indexed = recipeIndex.get(recipeId);
+        if (indexed != null) {
+            return indexed;
+        }
+        
+        // Check cache (recipes added after the last index build)
         String cached = recipeCache.get(recipeId);
         if (cached != null) {
             return cached;
         }
         
+        cacheMisses.increment();
+        String tier = resolveTier(recipe);
+        recipeCache.put(recipeId, tier);
+        return tier;
+    }
+    
+    /**
+     * Resolve the tier for a recipe without consulting or filling any cache.
+     * Used to build the {@link RecipeTierIndex} and by the cache-miss path.
+     * 
+     * @param recipe The crafting recipe
+     * @return The tier name, or "NONE" if excluded
+     */
+    @Nonnull
+    public String resolveTier(@Nonnull CraftingRecipe recipe) {
+        String recipeId = recipe.getId();
+        if (recipeId == null) {
+            recipeId = "unknown_recipe";
+        }
+        
         // Check exclusions
         if (isExcluded(recipeId)) {
-            recipeCache.put(recipeId, "NONE");
             return "NONE";
         }
         
@@ -133,7 +172,6 @@ public class CraftingTierMatcher {
         
         // Check output item exclusion
         if (outputItemId != null && isExcluded(outputItemId)) {
-            recipeCache.put(recipeId, "NONE");
             return "NONE";
         }
         
@@ -142,14 +180,12 @@ public class CraftingTierMatcher {
         // Priority 1: Exact recipe match
         tier = recipeMappings.get(recipeId);
         if (tier != null) {
-            recipeCache.put(recipeId, tier);
             return tier;
         }
         
         // Priority 2: Recipe pattern match
         tier = matchPattern(recipeId, recipePatterns, recipeMappings);
         if (tier != null) {
-            recipeCache.put(recipeId, tier);
             return tier;
         }
         
@@ -157,21 +193,18 @@ public class CraftingTierMatcher {
         if (outputItemId != null) {
             tier = itemMappings.get(outputItemId);
             if (tier != null) {
-                recipeCache.put(recipeId, tier);
                 return tier;
             }
             
             // Priority 4: Item pattern match
             tier = matchPattern(outputItemId, itemPatterns, itemMappings);
             if (tier != null) {
-                recipeCache.put(recipeId, tier);
                 return tier;
             }
             
             // Priority 5: Item category match
             tier = matchItemCategory(outputItemId);
             if (tier != null) {
-                recipeCache.put(recipeId, tier);
                 return tier;
             }
         }
@@ -179,19 +212,22 @@ public class CraftingTierMatcher {
         // Priority 6: Bench type match
         tier = matchBenchType(recipe);
         if (tier != null) {
-            recipeCache.put(recipeId, tier);
             return tier;
         }
         
-        // Priority 7: Auto-classification by complexity
+        // Priority 7: Auto-classification by recipe value (category caps as in
+        // auto-detect), then complexity
+        RecipeValueGraph graph = valueGraph;
+        tier = graph != null ? graph.getTierForRecipe(recipeId) : null;
+        if (tier != null) {
+            return outputItemId != null ? applyCategoryCaps(outputItemId, tier) : tier;
+        }
         tier = autoClassify(recipe);
         if (tier != null) {
-            recipeCache.put(recipeId, tier);
             return tier;
         }
         
         // Priority 8: Default tier
-        recipeCache.put(recipeId, defaultTier);
         return defaultTier;
     }
     
@@ -255,6 +291,23 @@ public class CraftingTierMatcher {
         return null;
     }
     
+    /**
+     * Cap a value graph tier by the output item's categories, so plants and
+     * decorations get the same caps as through {@link CraftingAutoDetector}.
+     */
+    private String applyCategoryCaps(String itemId, String tier) {
+        try {
+            DefaultAssetMap<String, Item> itemMap = Item.getAssetMap();
+            Item item = itemMap != null ? itemMap.getAsset(itemId) : null;
+            if (item != null) {
+                return CraftingAutoDetector.applyCategoryCaps(item, tier);
+            }
+        } catch (Exception e) {
+            JobsLogger.debug("[CraftingTierMatcher] Error getting item categories: %s", e.getMessage());
+        }
+        return tier;
+    }
+    
     /**
      * Match by crafting bench type.
      */
@@ -399,15 +452,42 @@ public class CraftingTierMatcher {
     // Cache Management
     // =========================================================================
     
+    /**
+     * Publish a freshly built recipe index. Readers switch over atomically;
+     * the fallback cache is cleared because the index now covers its entries.
+     */
+    public void publishIndex(@Nonnull RecipeTierIndex index) {
+        this.recipeIndex = index;
+        recipeCache.clear();
+    }
+    
+    /**
+     * Use a recipe value graph for auto-classification (null disables it).
+     * Takes effect with the next {@link #publishIndex}.
+     */
+    public void setValueGraph(@Nullable RecipeValueGraph valueGraph) {
+        this.valueGraph = valueGraph;
+    }
+    
+    public int getIndexedRecipeCount() {
+        return recipeIndex.size();
+    }
+    
     public int getRecipeCacheSize() {
         return recipeCache.size();
     }
     
+    /** Lookups that needed full resolution */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+    
     public int getItemCacheSize() {
         return itemCache.size();
     }
     
     public void clearCache() {
+        recipeIndex = RecipeTierIndex.EMPTY;
         recipeCache.clear();
         itemCache.clear();
     }
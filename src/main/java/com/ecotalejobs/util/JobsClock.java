@@ -0,0 +1,24 @@
+package com.ecotalejobs.util;
+
+/**
+ * Time source for the reward pipeline's time-based checks (economy cap
+ * hour, anti-farm windows, rate-limit refill, vein streak timeout,
+ * session expiry).
+ *
+ * <p>Production code uses the shared {@link CoarseClock}; tests and
+ * benchmarks pass a {@link ManualClock} to drive time deterministically.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+@FunctionalInterface
+public interface JobsClock {
+
+    /** The wall clock, read on every call */
+    JobsClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Current time in epoch millis.
+     */
+    long millis();
+}
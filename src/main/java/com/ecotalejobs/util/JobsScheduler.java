@@ -0,0 +1,81 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared background scheduler for plugin housekeeping.
+ *
+ * <p>One small pool of daemon threads for everything that must stay off the
+ * server tick: config persistence, periodic exports, maintenance sweeps.
+ * Tasks are expected to be short; long work should be split into slices.
+ *
+ * <p>Created lazily, shut down from {@code Main.onDisable()}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class JobsScheduler {
+
+    private static final int POOL_SIZE = 2;
+
+    private static volatile ScheduledExecutorService executor;
+
+    private JobsScheduler() {}
+
+    /**
+     * Get the shared scheduler, creating it on first use.
+     */
+    @Nonnull
+    public static ScheduledExecutorService get() {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            synchronized (JobsScheduler.class) {
+                current = executor;
+                if (current == null || current.isShutdown()) {
+                    current = Executors.newScheduledThreadPool(POOL_SIZE, new DaemonFactory());
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Stop accepting tasks and wait briefly for running ones to finish.
+     */
+    public static void shutdown() {
+        ScheduledExecutorService current;
+        synchronized (JobsScheduler.class) {
+            current = executor;
+            executor = null;
+        }
+        if (current == null) return;
+
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(5, TimeUnit.SECONDS)) {
+                JobsLogger.warn("[JobsScheduler] Background tasks still running after 5s - forcing shutdown");
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class DaemonFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@Nonnull Runnable task) {
+            Thread thread = new Thread(task, "EcotaleJobs-Scheduler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
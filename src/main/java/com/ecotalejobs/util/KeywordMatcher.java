@@ -0,0 +1,195 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-pattern substring matcher (Aho-Corasick automaton).
+ *
+ * <p>Replaces "for each keyword: text.contains(keyword)" loops with a single
+ * pass over the text. The automaton is compiled once into a dense transition
+ * table, so scanning is one array read per character regardless of how many
+ * keywords are registered.
+ *
+ * <p>Keywords are matched case-sensitively against the text as given; callers
+ * lowercase both sides (all keyword tables in this plugin are lowercase ASCII).
+ * Characters outside 7-bit ASCII reset the automaton to the root state.
+ *
+ * <p>Thread-safety: immutable after {@link #compile(Map)}.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class KeywordMatcher {
+
+    private static final int ALPHABET = 128;
+
+    /** Dense DFA: transitions[state * ALPHABET + c] -> next state */
+    private final int[] transitions;
+
+    /** Values of all keywords ending at each state (including via failure links) */
+    private final int[][] outputs;
+
+    private KeywordMatcher(int[] transitions, int[][] outputs) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Receives the value of every keyword occurrence found in a scan.
+     */
+    @FunctionalInterface
+    public interface MatchVisitor {
+        void accept(int value);
+    }
+
+    /**
+     * Compile a keyword -> value table into an automaton.
+     *
+     * @param keywords Keywords (lowercase ASCII) and their associated values
+     * @return Compiled matcher
+     */
+    @Nonnull
+    public static KeywordMatcher compile(@Nonnull Map<String, Integer> keywords) {
+        // Phase 1: trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<int[]> outputList = new ArrayList<>();
+        gotoTable.add(newRow());
+        outputList.add(new int[0]);
+
+        for (Map.Entry<String, Integer> entry : keywords.entrySet()) {
+            String keyword = entry.getKey();
+            if (keyword == null || keyword.isEmpty()) continue;
+
+            int state = 0;
+            boolean ascii = true;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c >= ALPHABET) {
+                    ascii = false;
+                    break;
+                }
+                int next = gotoTable.get(state)[c];
+                if (next < 0) {
+                    next = gotoTable.size();
+                    gotoTable.add(newRow());
+                    outputList.add(new int[0]);
+                    gotoTable.get(state)[c] = next;
+                }
+                state = next;
+            }
+            if (ascii) {
+                outputList.set(state, append(outputList.get(state), entry.getValue()));
+            }
+        }
+
+        // Phase 2: failure links (BFS), folded into a full DFA
+        int states = gotoTable.size();
+        int[] fail = new int[states];
+        int[] transitions = new int[states * ALPHABET];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        int[] rootRow = gotoTable.get(0);
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = rootRow[c];
+            if (next < 0) {
+                transitions[c] = 0;
+            } else {
+                transitions[c] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = gotoTable.get(state);
+            // Inherit outputs from the failure state (already final - BFS order)
+            outputList.set(state, concat(outputList.get(state), outputList.get(fail[state])));
+
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = row[c];
+                if (next < 0) {
+                    transitions[state * ALPHABET + c] = transitions[fail[state] * ALPHABET + c];
+                } else {
+                    transitions[state * ALPHABET + c] = next;
+                    fail[next] = transitions[fail[state] * ALPHABET + c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new KeywordMatcher(transitions, outputList.toArray(new int[0][]));
+    }
+
+    /**
+     * Report the value of every keyword occurrence in the text.
+     * Overlapping occurrences are all reported.
+     */
+    public void scan(@Nonnull String text, @Nonnull MatchVisitor visitor) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET + c];
+            int[] out = outputs[state];
+            for (int value : out) {
+                visitor.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Highest value of any keyword contained in the text.
+     *
+     * @param floor Returned when no keyword (or only lower values) match
+     */
+    public int maxValue(@Nonnull String text, int floor) {
+        int max = floor;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET + c];
+            for (int value : outputs[state]) {
+                if (value > max) max = value;
+            }
+        }
+        return max;
+    }
+
+    /** Number of automaton states (for diagnostics) */
+    public int getStateCount() {
+        return outputs.length;
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        if (a.length == 0) return b;
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
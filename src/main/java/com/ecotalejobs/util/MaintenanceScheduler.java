@@ -0,0 +1,185 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prunes per-player state (the player sessions and their offline
+ * anti-farm counts) in the background, a slice at a time, and releases all
+ * of a player's state at once when they disconnect.
+ *
+ * <p>Every interval, each registered {@link Sweepable} is swept in batches
+ * of {@value #BATCH} entries until it has been walked once or the slice's
+ * time budget is spent. Sweeps resume where they stopped, and the starting
+ * target rotates, so an overrun never starves the same target twice.
+ * Runs on {@link JobsScheduler}; the world thread never pays for a scan.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class MaintenanceScheduler {
+
+    /** Entries examined per sweep call */
+    public static final int BATCH = 64;
+
+    private final List<Target> targets = new CopyOnWriteArrayList<>();
+    private final LongAdder slices = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder playersReleased = new LongAdder();
+    private final AtomicLong lastSliceNanos = new AtomicLong(0);
+    private long budgetNanos;
+    private int nextStart;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Add state to sweep.
+     *
+     * @param name Short label for logs and metrics (e.g. "sessions")
+     */
+    @Nonnull
+    public MaintenanceScheduler register(@Nonnull String name, @Nonnull Sweepable sweepable) {
+        targets.add(new Target(name, sweepable));
+        return this;
+    }
+
+    /**
+     * Start sweeping on the given scheduler.
+     *
+     * @param intervalMs Time between slices
+     * @param sliceBudgetMs Time a slice may spend before yielding
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService scheduler, long intervalMs, long sliceBudgetMs) {
+        if (task != null) {
+            return;
+        }
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, sliceBudgetMs));
+        long interval = Math.max(100, intervalMs);
+        task = scheduler.scheduleWithFixedDelay(this::safeRunSlice, interval, interval, TimeUnit.MILLISECONDS);
+        JobsLogger.info("[Maintenance] Sweeping %d targets every %d ms (%d ms budget)",
+            targets.size(), interval, TimeUnit.NANOSECONDS.toMillis(budgetNanos));
+    }
+
+    /**
+     * Stop sweeping.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Release everything every target holds for a player who went offline.
+     */
+    public void releasePlayer(@Nonnull UUID player) {
+        for (Target target : targets) {
+            target.sweepable.release(player);
+        }
+        playersReleased.increment();
+    }
+
+    private void safeRunSlice() {
+        try {
+            runSlice();
+        } catch (Throwable t) {
+            // Never let a failure cancel the periodic task
+            JobsLogger.error("[Maintenance] Sweep failed", t);
+        }
+    }
+
+    /**
+     * Run one time-bounded slice over all targets.
+     */
+    void runSlice() {
+        int count = targets.size();
+        if (count == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long sliceStart = System.nanoTime();
+        long deadline = sliceStart + budgetNanos;
+        int start = nextStart++ % count;
+
+        for (int i = 0; i < count; i++) {
+            Target target = targets.get((start + i) % count);
+            long targetStart = System.nanoTime();
+            int remaining = target.sweepable.size();
+            int examined = 0;
+            int reclaimed = 0;
+            while (remaining > 0 && System.nanoTime() < deadline) {
+                int batch = Math.min(BATCH, remaining);
+                reclaimed += target.sweepable.sweep(now, batch);
+                examined += batch;
+                remaining -= batch;
+            }
+            target.record(examined, reclaimed, System.nanoTime() - targetStart);
+            if (remaining > 0) {
+                overruns.increment();
+            }
+            if (reclaimed > 0) {
+                JobsLogger.debug("[Maintenance] %s: reclaimed %d of %d examined", target.name, reclaimed, examined);
+            }
+        }
+
+        slices.increment();
+        lastSliceNanos.set(System.nanoTime() - sliceStart);
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    @Nonnull
+    public List<Target> getTargets() { return Collections.unmodifiableList(targets); }
+
+    /** Slices run since start */
+    public long getSliceCount() { return slices.sum(); }
+
+    /** Targets left unfinished because a slice ran out of budget */
+    public long getOverrunCount() { return overruns.sum(); }
+
+    /** Players released on disconnect */
+    public long getReleasedPlayerCount() { return playersReleased.sum(); }
+
+    /** Duration of the last slice in microseconds */
+    public long getLastSliceMicros() { return TimeUnit.NANOSECONDS.toMicros(lastSliceNanos.get()); }
+
+    /**
+     * One swept piece of state and its counters.
+     */
+    public static final class Target {
+        private final String name;
+        private final Sweepable sweepable;
+        private final LongAdder examined = new LongAdder();
+        private final LongAdder reclaimed = new LongAdder();
+        private final LongAdder sweepNanos = new LongAdder();
+
+        Target(String name, Sweepable sweepable) {
+            this.name = name;
+            this.sweepable = sweepable;
+        }
+
+        void record(int examinedCount, int reclaimedCount, long nanos) {
+            examined.add(examinedCount);
+            reclaimed.add(reclaimedCount);
+            sweepNanos.add(nanos);
+        }
+
+        @Nonnull public String getName() { return name; }
+        public int getSize() { return sweepable.size(); }
+        public long getExaminedCount() { return examined.sum(); }
+        public long getReclaimedCount() { return reclaimed.sum(); }
+
+        /** Total time spent sweeping this target, in microseconds */
+        public long getSweepMicros() { return TimeUnit.NANOSECONDS.toMicros(sweepNanos.sum()); }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecotalejobs.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when told to, for tests and benchmarks that need
+ * windows, refills and timeouts to expire deterministically.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class ManualClock implements JobsClock {
+
+    private final AtomicLong now;
+
+    /**
+     * @param start Initial time in epoch millis (must be positive)
+     */
+    public ManualClock(long start) {
+        this.now = new AtomicLong(start);
+    }
+
+    @Override
+    public long millis() {
+        return now.get();
+    }
+
+    /**
+     * Move to an absolute time.
+     */
+    public void set(long millis) {
+        now.set(millis);
+    }
+
+    /**
+     * Move forward by the given amount.
+     *
+     * @return The new time
+     */
+    public long advance(long millis) {
+        return now.addAndGet(millis);
+    }
+}
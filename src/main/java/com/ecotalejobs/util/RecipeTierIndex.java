@@ -0,0 +1,151 @@
+package com.ecotalejobs.util;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Immutable recipe ID to tier index, built once when recipes are loaded.
+ *
+ * <p>Every known recipe is resolved through {@link CraftingTierMatcher#resolveTier}
+ * up front, so the crafting hot path only performs a single probe into a flat
+ * open-addressing table (no regex, no asset lookups, no map churn).
+ *
+ * <p>Layout:
+ * <ul>
+ *   <li>Power-of-two table, load factor &lt;= 0.5 (short probe chains)</li>
+ *   <li>Hashes stored alongside keys - mismatches rarely reach equals()</li>
+ *   <li>Tier names are interned to a small palette, slots hold a byte index</li>
+ * </ul>
+ *
+ * <p>Thread-safety: instances are immutable after construction and are
+ * published through a volatile field, so readers never need locks.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class RecipeTierIndex {
+
+    /** Shared empty index used before the first recipe load */
+    public static final RecipeTierIndex EMPTY = new RecipeTierIndex(new String[1], new int[1], new byte[1], new String[0], 0);
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final byte[] tierSlots;
+    private final String[] palette;
+    private final int mask;
+    private final int size;
+
+    private RecipeTierIndex(String[] keys, int[] hashes, byte[] tierSlots, String[] palette, int size) {
+        this.keys = keys;
+        this.hashes = hashes;
+        this.tierSlots = tierSlots;
+        this.palette = palette;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Resolve every recipe to a tier and freeze the result.
+     *
+     * @param recipes All known recipes (recipe ID -> recipe)
+     * @param matcher A configured matcher used for the one-time resolution
+     * @return A new immutable index
+     */
+    @Nonnull
+    public static RecipeTierIndex build(@Nonnull Map<String, CraftingRecipe> recipes, @Nonnull CraftingTierMatcher matcher) {
+        int capacity = Integer.highestOneBit(Math.max(2, recipes.size() * 2 - 1)) << 1;
+        String[] keys = new String[capacity];
+        int[] hashes = new int[capacity];
+        byte[] tierSlots = new byte[capacity];
+
+        // Tier palette - a handful of distinct names, kept in insertion order
+        String[] palette = new String[16];
+        int paletteSize = 0;
+        int size = 0;
+        int mask = capacity - 1;
+
+        for (CraftingRecipe recipe : recipes.values()) {
+            if (recipe == null) continue;
+            String recipeId = recipe.getId();
+            if (recipeId == null) continue;
+
+            String tier = matcher.resolveTier(recipe);
+
+            int paletteIndex = -1;
+            for (int i = 0; i < paletteSize; i++) {
+                if (palette[i].equals(tier)) {
+                    paletteIndex = i;
+                    break;
+                }
+            }
+            if (paletteIndex < 0) {
+                if (paletteSize == palette.length) {
+                    if (paletteSize == 128) {
+                        // Byte slots cannot address more tiers - leave for the slow path
+                        continue;
+                    }
+                    String[] grown = new String[palette.length * 2];
+                    System.arraycopy(palette, 0, grown, 0, paletteSize);
+                    palette = grown;
+                }
+                palette[paletteSize] = tier;
+                paletteIndex = paletteSize++;
+            }
+
+            int hash = spread(recipeId.hashCode());
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                if (hashes[slot] == hash && keys[slot].equals(recipeId)) {
+                    break; // Duplicate ID - last one wins
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                size++;
+            }
+            keys[slot] = recipeId;
+            hashes[slot] = hash;
+            tierSlots[slot] = (byte) paletteIndex;
+        }
+
+        String[] finalPalette = new String[paletteSize];
+        System.arraycopy(palette, 0, finalPalette, 0, paletteSize);
+        return new RecipeTierIndex(keys, hashes, tierSlots, finalPalette, size);
+    }
+
+    /**
+     * Look up the precomputed tier for a recipe ID.
+     *
+     * @return The tier name, or null if the recipe was not known at build time
+     */
+    @Nullable
+    public String get(@Nonnull String recipeId) {
+        int hash = spread(recipeId.hashCode());
+        int slot = hash & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && key.equals(recipeId)) {
+                return palette[tierSlots[slot]];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Number of indexed recipes */
+    public int size() {
+        return size;
+    }
+
+    /** Number of distinct tiers referenced by the index */
+    public int getTierCount() {
+        return palette.length;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
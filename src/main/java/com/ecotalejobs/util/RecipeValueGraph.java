@@ -0,0 +1,418 @@
+package com.ecotalejobs.util;
+
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.protocol.BenchRequirement;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Crafting value engine - derives item values from the recipe graph.
+ *
+ * <p>Every recipe is an edge set "inputs -> primary output". Items that no
+ * recipe produces are raw materials and get a base value from their material
+ * keywords and ItemLevel. Every other item is worth its cheapest recipe:
+ *
+ * <pre>
+ *   value(item) = min over recipes r producing item of
+ *                 (sum(value(input) * qty) + effort(r)) / outputQty(r)
+ * </pre>
+ *
+ * <p>Values are computed in topological order (Kahn's algorithm). Each
+ * frontier level only depends on earlier levels, so it is evaluated in
+ * parallel. Cycles (e.g. block <-> slab conversions) are broken
+ * deterministically by forcing the lowest pending item ID with whatever
+ * inputs are already resolved (raw values otherwise), capped at its own
+ * raw value.
+ *
+ * <p>Adding recipes recomputes only the affected items: the outputs of the
+ * new recipes and everything downstream of them.
+ *
+ * <p>Value bands map to crafting tiers, so a recipe can never land in a tier
+ * that pays more than the value of what it consumes.
+ *
+ * <p>Thread-safety: mutations are synchronized; lookups read an immutable
+ * snapshot published through a volatile field.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public class RecipeValueGraph {
+
+    // =========================================================================
+    // Value bands -> tiers (per output unit, base units of "material value")
+    // =========================================================================
+
+    private static final double[] BAND_LIMITS = {8, 20, 50, 120, 300, 700, 1500};
+    private static final String[] BAND_TIERS = {
+        "TRIVIAL", "SIMPLE", "BASIC", "STANDARD", "ADVANCED", "EXPERT", "MASTER", "LEGENDARY"
+    };
+
+    /** Frontiers smaller than this are evaluated on the calling thread */
+    private static final int PARALLEL_LEVEL_THRESHOLD = 128;
+
+    // =========================================================================
+    // Graph state (guarded by this)
+    // =========================================================================
+
+    private final Map<String, RecipeNode> recipes = new HashMap<>();
+    private final Map<String, List<RecipeNode>> producers = new HashMap<>();
+    private final Map<String, List<RecipeNode>> consumers = new HashMap<>();
+    private final Map<String, Double> itemValues = new HashMap<>();
+    private final Map<String, Double> rawValues = new HashMap<>();
+
+    // Published snapshot (recipeId -> tier / value per output unit)
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // =========================================================================
+    // Building
+    // =========================================================================
+
+    /**
+     * Add (or replace) recipes and recompute every affected item value.
+     *
+     * @param loaded Newly loaded recipes (recipe ID -> recipe)
+     * @return Number of item values recomputed
+     */
+    public synchronized int addRecipes(@Nonnull Map<String, CraftingRecipe> loaded) {
+        long start = System.nanoTime();
+        Set<String> dirtySeeds = new HashSet<>();
+
+        for (CraftingRecipe recipe : loaded.values()) {
+            RecipeNode node = RecipeNode.of(recipe);
+            if (node == null) continue;
+
+            RecipeNode previous = recipes.put(node.recipeId, node);
+            if (previous != null) {
+                unlink(previous);
+                dirtySeeds.add(previous.outputItem);
+            }
+            link(node);
+            dirtySeeds.add(node.outputItem);
+        }
+
+        if (dirtySeeds.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> dirty = collectDownstream(dirtySeeds);
+        recompute(dirty);
+        publish();
+
+        JobsLogger.info("[RecipeValueGraph] %d recipes, %d items valued (%d recomputed) in %.1f ms",
+            recipes.size(), itemValues.size(), dirty.size(), (System.nanoTime() - start) / 1_000_000.0);
+        return dirty.size();
+    }
+
+    private void link(RecipeNode node) {
+        producers.computeIfAbsent(node.outputItem, k -> new ArrayList<>()).add(node);
+        for (String input : node.inputItems) {
+            List<RecipeNode> list = consumers.computeIfAbsent(input, k -> new ArrayList<>());
+            if (!list.contains(node)) {
+                list.add(node);
+            }
+        }
+    }
+
+    private void unlink(RecipeNode node) {
+        List<RecipeNode> produced = producers.get(node.outputItem);
+        if (produced != null) produced.remove(node);
+        for (String input : node.inputItems) {
+            List<RecipeNode> consumed = consumers.get(input);
+            if (consumed != null) consumed.remove(node);
+        }
+    }
+
+    /**
+     * Seeds plus every item reachable from them through consuming recipes.
+     */
+    private Set<String> collectDownstream(Set<String> seeds) {
+        Set<String> dirty = new HashSet<>(seeds);
+        ArrayDeque<String> queue = new ArrayDeque<>(seeds);
+        while (!queue.isEmpty()) {
+            String item = queue.poll();
+            List<RecipeNode> uses = consumers.get(item);
+            if (uses == null) continue;
+            for (RecipeNode recipe : uses) {
+                if (dirty.add(recipe.outputItem)) {
+                    queue.add(recipe.outputItem);
+                }
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Recompute the given items in topological order, level by level.
+     */
+    private void recompute(Set<String> dirty) {
+        // In-degree = number of (recipe, input) edges coming from dirty items
+        Map<String, Integer> inDegree = new HashMap<>();
+        for (String item : dirty) {
+            int degree = 0;
+            List<RecipeNode> made = producers.get(item);
+            if (made != null) {
+                for (RecipeNode recipe : made) {
+                    for (String input : recipe.inputItems) {
+                        if (dirty.contains(input)) degree++;
+                    }
+                }
+            }
+            inDegree.put(item, degree);
+        }
+
+        Set<String> pending = new HashSet<>(dirty);
+        List<String> frontier = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : inDegree.entrySet()) {
+            if (entry.getValue() == 0) frontier.add(entry.getKey());
+        }
+
+        while (!pending.isEmpty()) {
+            String forced = null;
+            if (frontier.isEmpty()) {
+                // Only cycles left - force the lowest pending ID
+                forced = Collections.min(pending);
+                frontier.add(forced);
+            }
+
+            // Evaluate the level (reads only resolved values)
+            final List<String> level = frontier;
+            double[] values = new double[level.size()];
+            if (level.size() >= PARALLEL_LEVEL_THRESHOLD) {
+                IntStream.range(0, level.size()).parallel()
+                    .forEach(i -> values[i] = computeValue(level.get(i), pending));
+            } else {
+                for (int i = 0; i < level.size(); i++) {
+                    values[i] = computeValue(level.get(i), pending);
+                }
+            }
+            if (forced != null) {
+                // A cycle entry is never worth more than the raw material itself
+                values[0] = Math.min(values[0], rawValue(forced));
+            }
+
+            // Commit and release dependents
+            List<String> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                String item = level.get(i);
+                if (!pending.remove(item)) continue;
+                itemValues.put(item, values[i]);
+
+                List<RecipeNode> uses = consumers.get(item);
+                if (uses == null) continue;
+                for (RecipeNode recipe : uses) {
+                    if (!pending.contains(recipe.outputItem)) continue;
+                    int edges = 0;
+                    for (String input : recipe.inputItems) {
+                        if (input.equals(item)) edges++;
+                    }
+                    int remaining = inDegree.merge(recipe.outputItem, -edges, Integer::sum);
+                    if (remaining == 0) {
+                        next.add(recipe.outputItem);
+                    }
+                }
+            }
+            frontier = next;
+        }
+    }
+
+    /**
+     * Value of one item: cheapest producing recipe, or raw value.
+     * Unresolved inputs (only possible when breaking a cycle) use raw values.
+     */
+    private double computeValue(String item, Set<String> pending) {
+        List<RecipeNode> made = producers.get(item);
+        if (made == null || made.isEmpty()) {
+            return rawValue(item);
+        }
+
+        double best = Double.MAX_VALUE;
+        for (RecipeNode recipe : made) {
+            double cost = recipe.effort;
+            for (int i = 0; i < recipe.inputItems.length; i++) {
+                String input = recipe.inputItems[i];
+                Double resolved = pending.contains(input) ? null : itemValues.get(input);
+                double inputValue = resolved != null ? resolved : rawValue(input);
+                cost += inputValue * recipe.inputQuantities[i];
+            }
+            best = Math.min(best, cost / recipe.outputQuantity);
+        }
+        return best;
+    }
+
+    /**
+     * Base value of a raw material from its keywords and ItemLevel.
+     * The cache is only written in {@link #publish()}, so parallel levels
+     * can read it freely; misses are computed without caching.
+     */
+    private double rawValue(String itemId) {
+        Double cached = rawValues.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+
+        double value = CraftingAutoDetector.getMaterialScore(itemId);
+        try {
+            DefaultAssetMap<String, Item> itemMap = Item.getAssetMap();
+            Item item = itemMap != null ? itemMap.getAsset(itemId) : null;
+            if (item != null && item.getItemLevel() > 0) {
+                value += item.getItemLevel() * 10.0;
+            }
+        } catch (Exception e) {
+            // Item map not available - keyword score only
+        }
+        return value;
+    }
+
+    /**
+     * Build and publish the immutable lookup snapshot.
+     */
+    private void publish() {
+        // Cache raw values for the next incremental pass (single-threaded here)
+        for (String item : consumers.keySet()) {
+            if (!producers.containsKey(item) || producers.get(item).isEmpty()) {
+                rawValues.computeIfAbsent(item, this::rawValue);
+            }
+        }
+
+        Map<String, Double> recipeValues = new HashMap<>(recipes.size() * 2);
+        Map<String, String> recipeTiers = new HashMap<>(recipes.size() * 2);
+        for (RecipeNode recipe : recipes.values()) {
+            Double value = itemValues.get(recipe.outputItem);
+            if (value == null) continue;
+            recipeValues.put(recipe.recipeId, value);
+            recipeTiers.put(recipe.recipeId, valueToTier(value));
+        }
+        snapshot = new Snapshot(recipeValues, recipeTiers);
+    }
+
+    // =========================================================================
+    // Lookups
+    // =========================================================================
+
+    /**
+     * Tier derived from the value of the recipe's output.
+     *
+     * @return Tier name, or null if the recipe is not in the graph
+     */
+    @Nullable
+    public String getTierForRecipe(@Nonnull String recipeId) {
+        return snapshot.recipeTiers.get(recipeId);
+    }
+
+    /**
+     * Value of one unit of the recipe's primary output.
+     *
+     * @return Value, or -1 if the recipe is not in the graph
+     */
+    public double getValueForRecipe(@Nonnull String recipeId) {
+        Double value = snapshot.recipeValues.get(recipeId);
+        return value != null ? value : -1;
+    }
+
+    /** Number of recipes in the graph */
+    public int getRecipeCount() {
+        return snapshot.recipeValues.size();
+    }
+
+    /**
+     * Map a per-unit value to a tier band.
+     */
+    @Nonnull
+    public static String valueToTier(double value) {
+        for (int i = 0; i < BAND_LIMITS.length; i++) {
+            if (value < BAND_LIMITS[i]) {
+                return BAND_TIERS[i];
+            }
+        }
+        return BAND_TIERS[BAND_TIERS.length - 1];
+    }
+
+    // =========================================================================
+    // Inner Classes
+    // =========================================================================
+
+    /**
+     * Flattened recipe: primary output, inputs and crafting effort.
+     */
+    private static final class RecipeNode {
+        final String recipeId;
+        final String outputItem;
+        final int outputQuantity;
+        final String[] inputItems;
+        final int[] inputQuantities;
+        final double effort;
+
+        private RecipeNode(String recipeId, String outputItem, int outputQuantity,
+                           String[] inputItems, int[] inputQuantities, double effort) {
+            this.recipeId = recipeId;
+            this.outputItem = outputItem;
+            this.outputQuantity = outputQuantity;
+            this.inputItems = inputItems;
+            this.inputQuantities = inputQuantities;
+            this.effort = effort;
+        }
+
+        @Nullable
+        static RecipeNode of(@Nullable CraftingRecipe recipe) {
+            if (recipe == null || recipe.getId() == null) return null;
+
+            MaterialQuantity output = recipe.getPrimaryOutput();
+            if (output == null || output.getItemId() == null) return null;
+
+            MaterialQuantity[] inputs = recipe.getInput();
+            List<String> items = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            double effort = 1.0;
+            if (inputs != null) {
+                for (MaterialQuantity input : inputs) {
+                    if (input == null) continue;
+                    if (input.getItemId() == null) {
+                        // Resource-type inputs (any wood, any stone...) - flat cost
+                        effort += 2.0 * Math.max(1, input.getQuantity());
+                        continue;
+                    }
+                    items.add(input.getItemId());
+                    quantities.add(Math.max(1, input.getQuantity()));
+                }
+            }
+
+            // Effort: crafting time and bench tier make a recipe worth more than its inputs
+            float time = recipe.getTimeSeconds();
+            if (time > 0) {
+                effort += time * 0.5;
+            }
+            BenchRequirement[] benches = recipe.getBenchRequirement();
+            if (benches != null) {
+                int maxTier = 0;
+                for (BenchRequirement bench : benches) {
+                    if (bench != null) maxTier = Math.max(maxTier, bench.requiredTierLevel);
+                }
+                effort += maxTier * 2.0;
+            }
+
+            int[] qty = new int[quantities.size()];
+            for (int i = 0; i < qty.length; i++) qty[i] = quantities.get(i);
+
+            return new RecipeNode(recipe.getId(), output.getItemId(), Math.max(1, output.getQuantity()),
+                items.toArray(new String[0]), qty, effort);
+        }
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+        final Map<String, Double> recipeValues;
+        final Map<String, String> recipeTiers;
+
+        Snapshot(Map<String, Double> recipeValues, Map<String, String> recipeTiers) {
+            this.recipeValues = recipeValues;
+            this.recipeTiers = recipeTiers;
+        }
+    }
+}
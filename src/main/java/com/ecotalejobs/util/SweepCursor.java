@@ -0,0 +1,68 @@
+package com.ecotalejobs.util;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resumable position in a {@link ConcurrentHashMap} for incremental
+ * sweeps. The map's weakly consistent iterator is kept between calls and
+ * restarted when it runs out, so successive sweeps walk the whole map a
+ * slice at a time. One sweeper at a time; a concurrent caller returns
+ * immediately instead of waiting.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public final class SweepCursor<K, V> {
+
+    /**
+     * Decides whether an entry is expired. Returning true removes it (only
+     * if the map still holds that value).
+     */
+    @FunctionalInterface
+    public interface Reclaimer<K, V> {
+        boolean reclaim(K key, V value, long now);
+    }
+
+    private final ConcurrentHashMap<K, V> map;
+    private final AtomicBoolean busy = new AtomicBoolean(false);
+    private Iterator<Map.Entry<K, V>> iterator;
+
+    public SweepCursor(@Nonnull ConcurrentHashMap<K, V> map) {
+        this.map = map;
+    }
+
+    /**
+     * Examine up to {@code maxEntries} entries from where the last sweep
+     * stopped.
+     *
+     * @return Number of entries removed
+     */
+    public int sweep(long now, int maxEntries, @Nonnull Reclaimer<K, V> reclaimer) {
+        if (!busy.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int removed = 0;
+            for (int examined = 0; examined < maxEntries; examined++) {
+                if (iterator == null || !iterator.hasNext()) {
+                    iterator = map.entrySet().iterator();
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<K, V> entry = iterator.next();
+                if (reclaimer.reclaim(entry.getKey(), entry.getValue(), now)
+                        && map.remove(entry.getKey(), entry.getValue())) {
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            busy.set(false);
+        }
+    }
+}
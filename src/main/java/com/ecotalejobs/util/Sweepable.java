@@ -0,0 +1,33 @@
+package com.ecotalejobs.util;
+
+import java.util.UUID;
+
+/**
+ * Per-player state that can be pruned a few entries at a time by the
+ * {@link MaintenanceScheduler}, or released at once when a player leaves.
+ *
+ * @author EcotaleJobs Team
+ * @since 1.0.1
+ */
+public interface Sweepable {
+
+    /**
+     * Examine at most {@code maxEntries} entries, continuing where the
+     * previous sweep stopped, and reclaim the expired ones.
+     *
+     * @param now Current time in epoch millis
+     * @return Number of entries reclaimed
+     */
+    int sweep(long now, int maxEntries);
+
+    /**
+     * Number of entries currently held.
+     */
+    int size();
+
+    /**
+     * Drop (or shrink) everything held for one player, who just went
+     * offline.
+     */
+    void release(UUID player);
+}
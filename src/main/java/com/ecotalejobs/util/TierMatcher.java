@@ -4,6 +4,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -42,6 +43,9 @@ public class TierMatcher {
     /** O(1) cache: mobId -> tierName (for repeat lookups) */
     private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
     
+    /** Lookups that ran the slow path (hits are derived from the reward outcomes) */
+    private final LongAdder cacheMisses = new LongAdder();
+    
     /** Exact mob ID to tier mappings (no wildcards) */
     private volatile Map<String, String> exactMappings = new ConcurrentHashMap<>();
     
@@ -142,6 +146,8 @@ public class TierMatcher {
             return cached;
         }
         
+        cacheMisses.increment();
+        
         // 4. Compute tier via patterns/inference (O(n) - only on first encounter)
         String tier = computeTier(mobId);
         
@@ -270,6 +276,11 @@ public class TierMatcher {
         return cache.size();
     }
     
+    /** Lookups that needed pattern matching / inference */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+    
     /** Get the default tier */
     @Nonnull
     public String getDefaultTier() {
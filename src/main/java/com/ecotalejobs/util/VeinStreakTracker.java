@@ -1,125 +1,119 @@
 package com.ecotalejobs.util;
 
-import com.ecotalejobs.Main;
 import com.ecotalejobs.config.EcotaleJobsConfig.VeinStreakConfig;
 
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tracks consecutive ore mining streaks per player.
  * Streak resets completely after timeout (no gradual decay).
+ *
+ * <p>Each player's streak is one {@link AtomicLong}, owned by their
+ * session, packing the last ore time (high 48 bits, epoch millis) and the
+ * streak count (low 16 bits), updated by CAS. Settings are an immutable
+ * snapshot taken by {@link #configure(VeinStreakConfig)}.
  */
 public class VeinStreakTracker {
-    
+
     private static final VeinStreakTracker INSTANCE = new VeinStreakTracker();
-    
+
     public static VeinStreakTracker getInstance() {
         return INSTANCE;
     }
-    
-    private final ConcurrentHashMap<UUID, PlayerStreak> streaks = new ConcurrentHashMap<>();
-    private static final int MAX_TRACKERS = 1000;
-    
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private volatile Settings settings = Settings.DISABLED;
+    private volatile JobsClock clock = CoarseClock.getInstance();
+
     private VeinStreakTracker() {}
-    
+
+    /**
+     * Take a snapshot of the streak settings (called on system init).
+     */
+    public void configure(VeinStreakConfig config) {
+        this.settings = config != null ? Settings.of(config) : Settings.DISABLED;
+    }
+
+    /**
+     * Replace the time source (tests and benchmarks).
+     */
+    public void setClock(JobsClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Record an ore mine and get current streak level.
      * Resets streak if timeout has passed.
+     *
+     * @param state The player's streak
      */
-    public int recordOreAndGetStreak(UUID playerUuid) {
-        VeinStreakConfig config = getConfig();
-        if (config == null || !config.isEnabled()) {
+    public int recordOreAndGetStreak(AtomicLong state) {
+        Settings current = settings;
+        if (!current.enabled) {
             return 0;
         }
-        
-        PlayerStreak streak = getOrCreateStreak(playerUuid);
-        return streak.recordAndGet(config);
+
+        long now = clock.millis();
+        while (true) {
+            long prev = state.get();
+            // Full reset after the timeout
+            int count = isExpired(prev, now, current.timeoutMs) ? 0 : count(prev);
+            int next = Math.min(count + 1, current.maxStreak);
+            if (state.compareAndSet(prev, pack(now, next))) {
+                return next;
+            }
+        }
     }
-    
+
     /**
      * Peek at current streak without recording.
      */
-    public int peekStreak(UUID playerUuid) {
-        PlayerStreak streak = streaks.get(playerUuid);
-        if (streak == null) return 0;
-        
-        VeinStreakConfig config = getConfig();
-        if (config == null) return 0;
-        
-        return streak.peek(config);
-    }
-    
-    private PlayerStreak getOrCreateStreak(UUID playerUuid) {
-        if (streaks.size() >= MAX_TRACKERS && !streaks.containsKey(playerUuid)) {
-            cleanup();
+    public int peekStreak(AtomicLong state) {
+        long packed = state.get();
+        if (isExpired(packed, clock.millis(), settings.timeoutMs)) {
+            return 0;
         }
-        return streaks.computeIfAbsent(playerUuid, k -> new PlayerStreak());
+        return count(packed);
     }
-    
-    /**
-     * Cleanup expired trackers (5 minutes of inactivity).
-     */
-    public int cleanup() {
-        long now = System.currentTimeMillis();
-        long ttl = 5 * 60 * 1000; // 5 minutes
-        int before = streaks.size();
-        streaks.entrySet().removeIf(e -> now - e.getValue().lastActivity > ttl);
-        return before - streaks.size();
+
+    // =========================================================================
+    // Packed state
+    // =========================================================================
+
+    private static long pack(long lastOreTime, int count) {
+        return (lastOreTime << COUNT_BITS) | (count & COUNT_MASK);
     }
-    
-    /**
-     * Reset a player's streak.
-     */
-    public void resetPlayer(UUID playerUuid) {
-        streaks.remove(playerUuid);
+
+    private static int count(long packed) {
+        return (int) (packed & COUNT_MASK);
     }
-    
-    private VeinStreakConfig getConfig() {
-        try {
-            return Main.CONFIG.get().getMining().getVeinStreak();
-        } catch (Exception e) {
-            return null;
-        }
+
+    private static boolean isExpired(long packed, long now, long timeoutMs) {
+        long lastOreTime = packed >>> COUNT_BITS;
+        return lastOreTime > 0 && (now - lastOreTime) > timeoutMs;
     }
-    
+
     /**
-     * Per-player streak data with timeout reset.
+     * Immutable copy of the streak settings read on the mining path.
      */
-    private static class PlayerStreak {
-        private int currentStreak = 0;
-        private long lastOreTime = 0;
-        private long lastActivity = System.currentTimeMillis();
-        
-        /**
-         * Record an ore mine and return the new streak level.
-         * Resets if timeout has passed since last ore.
-         */
-        synchronized int recordAndGet(VeinStreakConfig config) {
-            long now = System.currentTimeMillis();
-            lastActivity = now;
-            
-            // Check for timeout - full reset
-            if (lastOreTime > 0 && (now - lastOreTime) > config.getTimeoutMs()) {
-                currentStreak = 0;
-            }
-            
-            // Increment streak
-            currentStreak = Math.min(currentStreak + 1, config.getMaxStreak());
-            lastOreTime = now;
-            
-            return currentStreak;
+    private static final class Settings {
+        static final Settings DISABLED = new Settings(false, Long.MAX_VALUE, 1);
+
+        final boolean enabled;
+        final long timeoutMs;
+        final int maxStreak;
+
+        private Settings(boolean enabled, long timeoutMs, int maxStreak) {
+            this.enabled = enabled;
+            this.timeoutMs = timeoutMs;
+            this.maxStreak = maxStreak;
         }
-        
-        /**
-         * Peek at streak (returns 0 if timed out).
-         */
-        synchronized int peek(VeinStreakConfig config) {
-            long now = System.currentTimeMillis();
-            if (lastOreTime > 0 && (now - lastOreTime) > config.getTimeoutMs()) {
-                return 0;
-            }
-            return currentStreak;
+
+        static Settings of(VeinStreakConfig config) {
+            int maxStreak = (int) Math.max(1, Math.min(COUNT_MASK, config.getMaxStreak()));
+            return new Settings(config.isEnabled(), Math.max(0, config.getTimeoutMs()), maxStreak);
         }
     }
 }
@@ -0,0 +1,63 @@
+package com.ecotalejobs.leaderboard;
+
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerSessions;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.ManualClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobLeaderboardsTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void hourlyBoardRollsOverWithTheClock() {
+        ManualClock clock = new ManualClock(100 * HOUR + 1_000);
+        JobLeaderboards leaderboards = new JobLeaderboards(5, dir.resolve("leaderboards.bin"));
+        leaderboards.setClock(clock);
+        PlayerJobSession session = PlayerSessions.getInstance().get(UUID.randomUUID());
+
+        leaderboards.record(session, JobType.MINING, 40);
+        leaderboards.record(session, JobType.MINING, 2);
+        assertEquals(42, leaderboards.getTop(JobType.MINING, LeaderboardWindow.HOURLY).getScore(0));
+
+        clock.advance(HOUR);
+        assertEquals(0, leaderboards.getTop(JobType.MINING, LeaderboardWindow.HOURLY).size());
+        assertEquals(42, leaderboards.getTop(JobType.MINING, LeaderboardWindow.DAILY).getScore(0));
+
+        leaderboards.record(session, JobType.MINING, 5);
+        assertEquals(5, leaderboards.getTop(JobType.MINING, LeaderboardWindow.HOURLY).getScore(0));
+        assertEquals(47, leaderboards.getTop(JobType.MINING, LeaderboardWindow.ALL_TIME).getScore(0));
+    }
+
+    @Test
+    void boardsAreRebuiltFromSnapshot() throws Exception {
+        ManualClock clock = new ManualClock(100 * HOUR);
+        Path file = dir.resolve("leaderboards.bin");
+        JobLeaderboards leaderboards = new JobLeaderboards(5, file);
+        leaderboards.setClock(clock);
+        UUID player = UUID.randomUUID();
+        leaderboards.rememberName(player, "Steve");
+        leaderboards.record(PlayerSessions.getInstance().get(player), JobType.CRAFTING, 30);
+        assertTrue(leaderboards.flush());
+
+        JobLeaderboards restored = new JobLeaderboards(5, file);
+        restored.setClock(clock);
+        assertEquals(1, restored.load());
+
+        TopKBoard.Snapshot top = restored.getTop(JobType.CRAFTING, LeaderboardWindow.HOURLY);
+        assertEquals(player, top.getPlayer(0));
+        assertEquals(30, top.getScore(0));
+        assertEquals("Steve", restored.getName(player));
+    }
+}
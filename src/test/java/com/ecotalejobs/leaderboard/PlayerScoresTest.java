@@ -0,0 +1,56 @@
+package com.ecotalejobs.leaderboard;
+
+import com.ecotalejobs.systems.JobType;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerScoresTest {
+
+    @Test
+    void packsEpochAndScore() {
+        long packed = PlayerScores.pack(123_456, 789);
+
+        assertEquals(123_456, PlayerScores.epochOf(packed));
+        assertEquals(789, PlayerScores.scoreOf(packed));
+    }
+
+    @Test
+    void packsLargestValues() {
+        long packed = PlayerScores.pack(PlayerScores.MAX_EPOCH, PlayerScores.MAX_SCORE);
+
+        assertEquals(PlayerScores.MAX_EPOCH, PlayerScores.epochOf(packed));
+        assertEquals(PlayerScores.MAX_SCORE, PlayerScores.scoreOf(packed));
+    }
+
+    @Test
+    void addsWithinEpochAndRestartsOnNewOne() {
+        PlayerScores scores = new PlayerScores(UUID.randomUUID());
+
+        assertEquals(10, scores.add(JobType.MINING, LeaderboardWindow.HOURLY, 5, 10));
+        assertEquals(25, scores.add(JobType.MINING, LeaderboardWindow.HOURLY, 5, 15));
+        assertEquals(7, scores.add(JobType.MINING, LeaderboardWindow.HOURLY, 6, 7));
+
+        assertEquals(7, scores.getScore(JobType.MINING, LeaderboardWindow.HOURLY, 6));
+        assertEquals(0, scores.getScore(JobType.MINING, LeaderboardWindow.HOURLY, 5));
+    }
+
+    @Test
+    void keepsJobsAndWindowsApart() {
+        PlayerScores scores = new PlayerScores(UUID.randomUUID());
+        scores.add(JobType.MINING, LeaderboardWindow.HOURLY, 5, 10);
+
+        assertEquals(0, scores.getScore(JobType.CRAFTING, LeaderboardWindow.HOURLY, 5));
+        assertEquals(0, scores.getScore(JobType.MINING, LeaderboardWindow.DAILY, 5));
+    }
+
+    @Test
+    void saturatesAtMaxScore() {
+        PlayerScores scores = new PlayerScores(UUID.randomUUID());
+        scores.add(JobType.MOB_KILLS, LeaderboardWindow.ALL_TIME, 0, PlayerScores.MAX_SCORE - 1);
+
+        assertEquals(PlayerScores.MAX_SCORE, scores.add(JobType.MOB_KILLS, LeaderboardWindow.ALL_TIME, 0, 10));
+    }
+}
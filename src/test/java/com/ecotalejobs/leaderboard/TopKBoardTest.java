@@ -0,0 +1,131 @@
+package com.ecotalejobs.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKBoardTest {
+
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+    private static final UUID CAROL = new UUID(0, 3);
+    private static final UUID DAVE = new UUID(0, 4);
+
+    @Test
+    void ranksHighestScoreFirst() {
+        TopKBoard board = new TopKBoard(3);
+        board.offer(1, ALICE, 10);
+        board.offer(1, BOB, 30);
+        board.offer(1, CAROL, 20);
+
+        TopKBoard.Snapshot top = board.read(1);
+        assertEquals(3, top.size());
+        assertEquals(BOB, top.getPlayer(0));
+        assertEquals(CAROL, top.getPlayer(1));
+        assertEquals(ALICE, top.getPlayer(2));
+        assertEquals(30, top.getScore(0));
+    }
+
+    @Test
+    void reRanksExistingPlayerWithoutDuplicating() {
+        TopKBoard board = new TopKBoard(3);
+        board.offer(1, ALICE, 10);
+        board.offer(1, BOB, 20);
+        board.offer(1, CAROL, 30);
+
+        board.offer(1, ALICE, 40);
+
+        TopKBoard.Snapshot top = board.read(1);
+        assertEquals(3, top.size());
+        assertEquals(ALICE, top.getPlayer(0));
+        assertEquals(40, top.getScore(0));
+        assertEquals(CAROL, top.getPlayer(1));
+        assertEquals(BOB, top.getPlayer(2));
+    }
+
+    @Test
+    void reRanksExistingPlayerPastSomeOthers() {
+        TopKBoard board = new TopKBoard(4);
+        board.offer(1, ALICE, 40);
+        board.offer(1, BOB, 30);
+        board.offer(1, CAROL, 20);
+        board.offer(1, DAVE, 10);
+
+        board.offer(1, DAVE, 25);
+
+        TopKBoard.Snapshot top = board.read(1);
+        assertEquals(4, top.size());
+        assertEquals(ALICE, top.getPlayer(0));
+        assertEquals(BOB, top.getPlayer(1));
+        assertEquals(DAVE, top.getPlayer(2));
+        assertEquals(25, top.getScore(2));
+        assertEquals(CAROL, top.getPlayer(3));
+    }
+
+    @Test
+    void ignoresLowerScoreOfExistingPlayer() {
+        TopKBoard board = new TopKBoard(3);
+        board.offer(1, ALICE, 10);
+        long updates = board.getUpdateCount();
+
+        board.offer(1, ALICE, 5);
+
+        assertEquals(updates, board.getUpdateCount());
+        assertEquals(10, board.read(1).getScore(0));
+    }
+
+    @Test
+    void evictsLowestScoreAtCapacity() {
+        TopKBoard board = new TopKBoard(2);
+        board.offer(1, ALICE, 10);
+        board.offer(1, BOB, 20);
+
+        board.offer(1, CAROL, 15);
+
+        TopKBoard.Snapshot top = board.read(1);
+        assertEquals(2, top.size());
+        assertEquals(BOB, top.getPlayer(0));
+        assertEquals(CAROL, top.getPlayer(1));
+    }
+
+    @Test
+    void rejectsScoreBelowFullBoard() {
+        TopKBoard board = new TopKBoard(2);
+        board.offer(1, ALICE, 10);
+        board.offer(1, BOB, 20);
+        long updates = board.getUpdateCount();
+
+        board.offer(1, CAROL, 10);
+
+        assertEquals(updates, board.getUpdateCount());
+        assertEquals(ALICE, board.read(1).getPlayer(1));
+    }
+
+    @Test
+    void newEpochStartsFreshBoard() {
+        TopKBoard board = new TopKBoard(3);
+        board.offer(1, ALICE, 10);
+        board.offer(1, BOB, 20);
+
+        board.offer(2, CAROL, 5);
+
+        TopKBoard.Snapshot top = board.read(2);
+        assertEquals(1, top.size());
+        assertEquals(CAROL, top.getPlayer(0));
+        assertEquals(0, board.read(1).size());
+    }
+
+    @Test
+    void dropsOffersOfAnEarlierEpoch() {
+        TopKBoard board = new TopKBoard(3);
+        board.offer(2, ALICE, 10);
+
+        board.offer(1, BOB, 50);
+
+        TopKBoard.Snapshot top = board.read(2);
+        assertEquals(1, top.size());
+        assertEquals(ALICE, top.getPlayer(0));
+    }
+}
@@ -0,0 +1,205 @@
+package com.ecotalejobs.ledger;
+
+import com.ecotalejobs.systems.JobType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayoutJournalTest {
+
+    private static final UUID PLAYER = new UUID(42, 7);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversOnlyUnresolvedPayouts() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        PayoutJournal journal = open(file);
+        long committed = journal.begin(JobType.MINING, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        long aborted = journal.begin(JobType.MINING, PLAYER, 20, PayoutJournal.MODE_BALANCE);
+        journal.begin(JobType.HARVESTING, PLAYER, 30, PayoutJournal.MODE_COINS);
+        journal.commit(committed);
+        journal.abort(aborted);
+        journal.close();
+
+        List<PayoutJournal.PendingPayout> pending = new PayoutJournal(file, 1).recover();
+
+        assertEquals(1, pending.size());
+        PayoutJournal.PendingPayout payout = pending.get(0);
+        assertEquals(PLAYER, payout.getPlayer());
+        assertEquals(30, payout.getValue());
+        assertEquals(JobType.HARVESTING, payout.getJob());
+        assertFalse(payout.isBalanceDeposit());
+        assertFalse(payout.isDispatched());
+    }
+
+    @Test
+    void flagsDispatchedPayouts() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        PayoutJournal journal = open(file);
+        long dispatched = journal.begin(JobType.CRAFTING, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        journal.begin(JobType.CRAFTING, PLAYER, 20, PayoutJournal.MODE_BALANCE);
+        journal.sync(journal.dispatch(dispatched));
+        journal.close();
+
+        List<PayoutJournal.PendingPayout> pending = new PayoutJournal(file, 1).recover();
+
+        assertEquals(2, pending.size());
+        assertTrue(pending.get(0).isDispatched());
+        assertFalse(pending.get(1).isDispatched());
+    }
+
+    @Test
+    void skipsTornTail() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        PayoutJournal journal = open(file);
+        journal.begin(JobType.MOB_KILLS, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        journal.close();
+        Files.write(file, new byte[PayoutJournal.RECORD_SIZE], StandardOpenOption.APPEND);
+
+        List<PayoutJournal.PendingPayout> pending = new PayoutJournal(file, 1).recover();
+
+        assertEquals(1, pending.size());
+        assertEquals(10, pending.get(0).getValue());
+    }
+
+    @Test
+    void carriedOverPayoutsSurviveAnotherRestart() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        PayoutJournal journal = open(file);
+        journal.begin(JobType.WOODCUTTING, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        journal.close();
+
+        PayoutJournal restarted = new PayoutJournal(file, 1);
+        List<PayoutJournal.PendingPayout> pending = restarted.recover();
+        restarted.open();
+        List<PayoutJournal.PendingPayout> carried = restarted.carryOver(pending);
+        restarted.close();
+
+        List<PayoutJournal.PendingPayout> again = new PayoutJournal(file, 1).recover();
+        assertEquals(1, again.size());
+        assertEquals(carried.get(0).getId(), again.get(0).getId());
+        assertEquals(pending.get(0).getTimestamp(), again.get(0).getTimestamp());
+        assertEquals(10, again.get(0).getValue());
+    }
+
+    @Test
+    void failedFlushKeepsTheBatchAndLeavesNoTornRecord() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        FlakyChannel[] channel = new FlakyChannel[1];
+        PayoutJournal journal = new PayoutJournal(file, 1, path -> channel[0] = new FlakyChannel(
+            FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)));
+        journal.recover();
+        journal.open();
+        long first = journal.begin(JobType.MINING, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        journal.flush();
+
+        // Twice, half of the next batch reaches the file and then the disk fails
+        long second = journal.begin(JobType.MINING, PLAYER, 20, PayoutJournal.MODE_BALANCE);
+        long dispatched = journal.dispatch(second);
+        channel[0].failingWrites = 2;
+        assertThrows(IOException.class, () -> journal.sync(dispatched));
+        assertThrows(IOException.class, () -> journal.sync(dispatched)); // Not durable yet
+
+        journal.commit(first);
+        journal.sync(dispatched);
+        assertEquals(4L * PayoutJournal.RECORD_SIZE, Files.size(file));
+        journal.close();
+
+        List<PayoutJournal.PendingPayout> pending = new PayoutJournal(file, 1).recover();
+        assertEquals(1, pending.size());
+        assertEquals(20, pending.get(0).getValue());
+        assertTrue(pending.get(0).isDispatched());
+    }
+
+    @Test
+    void whenDurableWaitsForTheGroupCommit() throws Exception {
+        Path file = dir.resolve("payouts.journal");
+        PayoutJournal journal = open(file);
+        long id = journal.begin(JobType.MINING, PLAYER, 10, PayoutJournal.MODE_BALANCE);
+        int[] runs = new int[1];
+
+        journal.whenDurable(journal.dispatch(id), () -> runs[0]++);
+        assertEquals(0, runs[0]);
+
+        journal.flush();
+        assertEquals(1, runs[0]);
+        assertEquals(0, journal.getSyncCount());
+
+        // Already on disk: runs right away
+        journal.whenDurable(1, () -> runs[0]++);
+        assertEquals(2, runs[0]);
+        journal.close();
+
+        assertTrue(new PayoutJournal(file, 1).recover().get(0).isDispatched());
+    }
+
+    private static PayoutJournal open(Path file) throws Exception {
+        PayoutJournal journal = new PayoutJournal(file, 1);
+        journal.recover();
+        journal.open();
+        return journal;
+    }
+
+    /**
+     * A file channel whose next {@code failingWrites} writes store half the
+     * buffer and throw.
+     */
+    private static final class FlakyChannel extends FileChannel {
+        private final FileChannel delegate;
+        int failingWrites;
+
+        FlakyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failingWrites > 0) {
+                failingWrites--;
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2 + 1);
+                src.position(src.position() + delegate.write(half));
+                throw new IOException("disk full");
+            }
+            return delegate.write(src);
+        }
+
+        @Override public FileChannel truncate(long size) throws IOException { delegate.truncate(size); return this; }
+
+        @Override public int read(ByteBuffer dst) throws IOException { return delegate.read(dst); }
+        @Override public long read(ByteBuffer[] dsts, int offset, int length) throws IOException { return delegate.read(dsts, offset, length); }
+        @Override public long write(ByteBuffer[] srcs, int offset, int length) throws IOException { return delegate.write(srcs, offset, length); }
+        @Override public long position() throws IOException { return delegate.position(); }
+        @Override public FileChannel position(long newPosition) throws IOException { delegate.position(newPosition); return this; }
+        @Override public long size() throws IOException { return delegate.size(); }
+        @Override public void force(boolean metaData) throws IOException { delegate.force(metaData); }
+        @Override public long transferTo(long position, long count, WritableByteChannel target) throws IOException { return delegate.transferTo(position, count, target); }
+        @Override public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException { return delegate.transferFrom(src, position, count); }
+        @Override public int read(ByteBuffer dst, long position) throws IOException { return delegate.read(dst, position); }
+        @Override public int write(ByteBuffer src, long position) throws IOException { return delegate.write(src, position); }
+        @Override public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException { return delegate.map(mode, position, size); }
+        @Override public FileLock lock(long position, long size, boolean shared) throws IOException { return delegate.lock(position, size, shared); }
+        @Override public FileLock tryLock(long position, long size, boolean shared) throws IOException { return delegate.tryLock(position, size, shared); }
+        @Override protected void implCloseChannel() throws IOException { delegate.close(); }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecotalejobs.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsContainTheirValues() {
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 100, 1_000, 123_456, 1L << 30, (1L << 40) - 1}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketLowerBound(index) <= value, "lower bound of " + value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "upper bound of " + value);
+        }
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 1; i < LatencyHistogram.BUCKETS; i++) {
+            assertEquals(LatencyHistogram.bucketUpperBound(i - 1) + 1, LatencyHistogram.bucketLowerBound(i));
+        }
+    }
+
+    @Test
+    void hugeValuesLandInLastBucket() {
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i);
+        }
+
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 9 / 8 + 1, "p50 " + p50);
+        assertTrue(p99 >= 990 && p99 <= 1_000, "p99 " + p99);
+        assertEquals(1_000, histogram.getPercentile(100));
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void recordsNegativeAsZeroAndResets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.snapshotCounts()[0]);
+        assertEquals(0, histogram.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecotalejobs.pipeline;
+
+import com.ecotalejobs.config.TierConfig;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.AntiFarmSystem;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.security.KillCounts;
+import com.ecotalejobs.security.PlayerRateLimiter;
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.systems.CraftingRewardSystem;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.systems.MiningRewardSystem;
+import com.ecotalejobs.util.ManualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RewardPipelineTest {
+
+    private final ManualClock clock = new ManualClock(1_000_000);
+    private final PipelineMetrics metrics = new PipelineMetrics();
+    private final AntiFarmSystem antiFarm = new AntiFarmSystem(clock);
+    private final EconomyCap economyCap = new EconomyCap(clock);
+    private final PlayerJobSession session = PlayerJobSession.detached(new UUID(42, 7), clock.millis());
+
+    @Test
+    void eachStageStopsTheRunWithItsOwnOutcome() {
+        economyCap.configure(7, true);
+        RewardPipeline mining = MiningRewardSystem.declarePipeline(new PlayerRateLimiter(3, 1, clock), antiFarm,
+            economyCap).metrics(metrics).build();
+        TierConfig paying = new TierConfig("COPPER", 4, 4, 100);
+
+        // Drop chance first: a miss never reaches the rate limit
+        assertEquals(RewardOutcome.DROP_CHANCE, run(mining, new TierConfig("COPPER", 4, 4, 0)));
+        assertNull(run(mining, paying));
+        // Zero coins after the multipliers is rejected by rounding, as anti-farm
+        assertEquals(RewardOutcome.ANTI_FARM, run(mining, new TierConfig("COPPER", 0, 0, 100)));
+        // 4 of 7 charged: the next 4 do not fit
+        assertEquals(RewardOutcome.ECONOMY_CAP, run(mining, paying));
+        // The burst of 3 is spent (the drop chance miss took no token)
+        assertEquals(RewardOutcome.RATE_LIMITED, run(mining, paying));
+
+        assertEquals(5, metrics.getRuns(JobType.MINING));
+        assertEquals(1, metrics.get(JobType.MINING, StageKind.DROP_CHANCE).getRejected());
+        assertEquals(1, metrics.get(JobType.MINING, StageKind.RATE_LIMIT).getRejected());
+        assertEquals(0, metrics.get(JobType.MINING, StageKind.ANTI_FARM).getRejected());
+        assertEquals(1, metrics.get(JobType.MINING, StageKind.ROUNDING).getRejected());
+        assertEquals(1, metrics.get(JobType.MINING, StageKind.ECONOMY_CAP).getRejected());
+        assertEquals(4, metrics.getEntered(JobType.MINING, StageKind.RATE_LIMIT));
+        assertEquals(3, metrics.getEntered(JobType.MINING, StageKind.ANTI_FARM));
+        assertEquals(2, metrics.getEntered(JobType.MINING, StageKind.ECONOMY_CAP));
+    }
+
+    @Test
+    void dropChanceAndCoinsAreRolledPerEvent() {
+        RewardPipeline pipeline = RewardPipeline.builder(JobType.HARVESTING).dropChance(true).metrics(metrics).build();
+        RewardContext ctx = RewardContext.begin(JobType.HARVESTING, session, null, alternating(0.0f))
+            .addLine("Crop_Wheat", new TierConfig("COPPER", 2, 3, 50), 10);
+
+        assertNull(pipeline.run(ctx));
+
+        // Every other roll hits: 5 of 10 crops drop, and each of them rolls
+        // 2-3 coins (2 + 3 + 2 + 3 + 2)
+        assertEquals(10, ctx.getTotalEvents());
+        assertEquals(5, ctx.getUnits(0));
+        assertEquals(12, ctx.getCoins(0));
+        assertEquals(ctx.getCoins(0), ctx.getValue());
+    }
+
+    @Test
+    void antiFarmWeighsEveryEventOfALine() {
+        antiFarm.configure(2, 0.25f, 0.1f, true);
+        RewardPipeline pipeline = RewardPipeline.builder(JobType.HARVESTING).antiFarm(antiFarm)
+            .metrics(metrics).build();
+        RewardContext ctx = RewardContext.begin(JobType.HARVESTING, session, null, alternating(0.0f))
+            .addLine("Crop_Wheat", new TierConfig("COPPER", 4, 4, 100), 4);
+
+        assertNull(pipeline.run(ctx));
+
+        // Same as recording the four crops one by one
+        AntiFarmSystem oneByOne = new AntiFarmSystem(clock);
+        oneByOne.configure(2, 0.25f, 0.1f, true);
+        KillCounts counts = PlayerJobSession.detached(new UUID(1, 1), clock.millis()).getKillCounts(JobType.HARVESTING);
+        float sum = 0;
+        for (int i = 0; i < 4; i++) {
+            sum += oneByOne.getMultiplierAndRecord(counts, "Crop_Wheat");
+        }
+        assertEquals(sum / 4, ctx.getAntiFarmMultiplier(0), 1e-6);
+    }
+
+    @Test
+    void craftingRollsOncePerBurstScaledBySquareRootOfQuantity() {
+        economyCap.configure(Long.MAX_VALUE, false);
+        RewardPipeline crafting = CraftingRewardSystem.declarePipeline(new PlayerRateLimiter(10, 1, clock), antiFarm,
+            economyCap).metrics(metrics).build();
+
+        // 3 coins x sqrt(16), whatever the number of craft events in the burst
+        RewardContext ctx = RewardContext.begin(JobType.CRAFTING, session, null, alternating(0.99f))
+            .addLine("Planks", new TierConfig("COPPER", 3, 3, 100), 5).setQuantity(16);
+        assertNull(crafting.run(ctx));
+        assertEquals(12, ctx.getTotalCoins());
+    }
+
+    @Test
+    void craftingRoundsTheFractionProbabilistically() {
+        economyCap.configure(Long.MAX_VALUE, false);
+        RewardPipeline crafting = CraftingRewardSystem.declarePipeline(new PlayerRateLimiter(10, 1, clock), antiFarm,
+            economyCap).metrics(metrics).build();
+        TierConfig tier = new TierConfig("COPPER", 3, 3, 100);
+
+        // 3 x sqrt(2) = 4.24 coins: a roll under 0.24 pays the fifth coin
+        RewardContext ctx = RewardContext.begin(JobType.CRAFTING, session, null, alternating(0.2f))
+            .addLine("Planks", tier, 1).setQuantity(2);
+        assertNull(crafting.run(ctx));
+        assertEquals(5, ctx.getTotalCoins());
+
+        ctx = RewardContext.begin(JobType.CRAFTING, session, null, alternating(0.3f))
+            .addLine("Planks", tier, 1).setQuantity(2);
+        assertNull(crafting.run(ctx));
+        assertEquals(4, ctx.getTotalCoins());
+    }
+
+    private RewardOutcome run(RewardPipeline pipeline, TierConfig tier) {
+        return pipeline.run(RewardContext.begin(pipeline.getJob(), session, null, alternating(0.99f))
+            .addLine("Rock_Copper", tier, 1));
+    }
+
+    /**
+     * Integer rolls alternate between the lowest and highest value, float
+     * rolls are always {@code nextFloat}.
+     */
+    private static RandomGenerator alternating(float nextFloat) {
+        return new RandomGenerator() {
+            private int calls;
+
+            @Override
+            public long nextLong() {
+                return 0;
+            }
+
+            @Override
+            public int nextInt(int bound) {
+                return calls++ % 2 == 0 ? 0 : bound - 1;
+            }
+
+            @Override
+            public float nextFloat() {
+                return nextFloat;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecotalejobs.security;
+
+import com.ecotalejobs.util.ManualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerRateLimiterTest {
+
+    @Test
+    void takesSeveralTokensAllOrNothing() {
+        ManualClock clock = new ManualClock(1_000_000);
+        PlayerRateLimiter limiter = new PlayerRateLimiter(10, 2, clock);
+        AtomicLongArray buckets = new AtomicLongArray(1);
+
+        assertTrue(limiter.tryAcquire(buckets, 0, 7));
+        // 3 left: a batch of 4 is refused and takes nothing
+        assertFalse(limiter.tryAcquire(buckets, 0, 4));
+        assertTrue(limiter.tryAcquire(buckets, 0, 3));
+        assertFalse(limiter.tryAcquire(buckets, 0));
+
+        // 2 tokens/s
+        clock.advance(1_000);
+        assertFalse(limiter.tryAcquire(buckets, 0, 3));
+        assertTrue(limiter.tryAcquire(buckets, 0, 2));
+    }
+
+    @Test
+    void neverGrantsMoreThanTheBurst() {
+        ManualClock clock = new ManualClock(1_000_000);
+        PlayerRateLimiter limiter = new PlayerRateLimiter(10, 2, clock);
+        AtomicLongArray buckets = new AtomicLongArray(1);
+
+        assertFalse(limiter.tryAcquire(buckets, 0, 11));
+        assertTrue(limiter.tryAcquire(buckets, 0, 10));
+    }
+}
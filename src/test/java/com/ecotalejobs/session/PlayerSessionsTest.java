@@ -0,0 +1,34 @@
+package com.ecotalejobs.session;
+
+import com.ecotalejobs.util.ManualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlayerSessionsTest {
+
+    @Test
+    void idleSessionIsReclaimedBySweep() {
+        ManualClock clock = new ManualClock(5_000_000);
+        PlayerSessions sessions = PlayerSessions.getInstance();
+        sessions.setClock(clock);
+        UUID player = UUID.randomUUID();
+
+        PlayerJobSession session = sessions.get(player);
+        clock.advance(PlayerSessions.IDLE_TTL_MS / 2);
+        assertSame(session, sessions.get(player));
+        assertEquals(clock.millis(), session.getLastActivity());
+
+        sessions.sweep(clock.millis() + PlayerSessions.IDLE_TTL_MS, 1_000);
+        assertSame(session, sessions.get(player));
+
+        sessions.sweep(clock.millis() + PlayerSessions.IDLE_TTL_MS + 1, 1_000);
+        PlayerJobSession recreated = sessions.get(player);
+        assertEquals(clock.millis(), recreated.getLastActivity());
+        assertNotSame(session, recreated);
+    }
+}
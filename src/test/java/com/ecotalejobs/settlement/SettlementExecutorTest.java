@@ -0,0 +1,110 @@
+package com.ecotalejobs.settlement;
+
+import com.ecotalejobs.ledger.PayoutJournal;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.security.EconomyCap;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.util.ManualClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettlementExecutorTest {
+
+    private static final UUID PLAYER = new UUID(42, 7);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void settlesOnePlayerInSubmissionOrder() {
+        SettlementExecutor executor = new SettlementExecutor(4, 16);
+        executor.start();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int n = i;
+            executor.submit(PLAYER, () -> order.add(n));
+        }
+        executor.close(5_000);
+
+        assertEquals(500, order.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        assertEquals(500, executor.getSettledCount());
+    }
+
+    @Test
+    void closeNeverInterruptsALane() throws Exception {
+        SettlementExecutor executor = new SettlementExecutor(1, 16);
+        executor.start();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        executor.submit(PLAYER, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicInteger queuedRuns = new AtomicInteger();
+        for (int i = 0; i < 16; i++) {
+            executor.submit(PLAYER, queuedRuns::incrementAndGet); // Fills the lane
+        }
+
+        // The stop marker does not fit: close gives up after the timeout
+        executor.close(50);
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getSettledCount() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+
+        assertEquals(1, executor.getSettledCount());
+        assertFalse(interrupted.get());
+        // Left queued (pending in the journal) rather than run after the journal closes
+        assertEquals(0, queuedRuns.get());
+    }
+
+    @Test
+    void withoutLanesADepositWaitsForTheGroupCommit() throws Exception {
+        PayoutJournal journal = new PayoutJournal(dir.resolve("payouts.journal"), 1);
+        journal.recover();
+        journal.open();
+        SettlementExecutor executor = new SettlementExecutor(1, 16); // Never started
+        AtomicInteger deposits = new AtomicInteger();
+        List<RewardOutcome> outcomes = new ArrayList<>();
+        BalanceSettlement settlement = new BalanceSettlement(JobType.MINING, PLAYER, 10, "test",
+            new EconomyCap(new ManualClock(0)), journal, (player, amount, reason) -> deposits.incrementAndGet(),
+            (outcome, value) -> outcomes.add(outcome));
+
+        executor.submit(PLAYER, settlement);
+        assertEquals(0, deposits.get());
+
+        journal.flush();
+        assertEquals(1, deposits.get());
+        assertEquals(List.of(RewardOutcome.REWARDED), outcomes);
+        assertEquals(0, journal.getSyncCount());
+        assertEquals(1, executor.getInlineCount());
+        journal.close();
+
+        assertTrue(new PayoutJournal(dir.resolve("payouts.journal"), 1).recover().isEmpty());
+    }
+}
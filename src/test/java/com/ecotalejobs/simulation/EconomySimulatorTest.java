@@ -0,0 +1,56 @@
+package com.ecotalejobs.simulation;
+
+import com.ecotalejobs.config.EcotaleJobsConfig;
+import com.ecotalejobs.metrics.RewardOutcome;
+import com.ecotalejobs.systems.JobType;
+import com.ecotalejobs.systems.MobRewardSystem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EconomySimulatorTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void burstBeyondTheBucketIsRateLimited() {
+        EcotaleJobsConfig config = new EcotaleJobsConfig();
+        UUID player = UUID.randomUUID();
+        List<SimEvent> events = new ArrayList<>();
+        // PASSIVE always drops; every kill in the same millisecond
+        for (int i = 0; i < 100; i++) {
+            events.add(SimEvent.synthetic(START, player, JobType.MOB_KILLS, "Mob_" + i, "PASSIVE"));
+        }
+
+        SimulationReport.JobReport mob = new EconomySimulator(config, config, 1).run(events).getJob(JobType.MOB_KILLS);
+
+        assertEquals(MobRewardSystem.RATE_LIMIT_BURST, mob.getRewards());
+        assertEquals(100 - MobRewardSystem.RATE_LIMIT_BURST, mob.getCount(RewardOutcome.RATE_LIMITED));
+    }
+
+    @Test
+    void replayIsReproducibleForASeed() {
+        EcotaleJobsConfig config = new EcotaleJobsConfig();
+        List<SimEvent> events = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            UUID player = new UUID(7, p);
+            for (int i = 0; i < 200; i++) {
+                events.add(SimEvent.synthetic(START + i * 700L, player, JobType.MOB_KILLS, "Mob_" + (i % 4),
+                    i % 5 == 0 ? "CRITTER" : "HOSTILE"));
+            }
+        }
+
+        SimulationReport first = new EconomySimulator(config, config, 42).run(events);
+        SimulationReport second = new EconomySimulator(config, config, 42).run(events);
+
+        assertEquals(first.getTotalValue(), second.getTotalValue());
+        for (RewardOutcome outcome : RewardOutcome.values()) {
+            assertEquals(first.getJob(JobType.MOB_KILLS).getCount(outcome),
+                second.getJob(JobType.MOB_KILLS).getCount(outcome), outcome.name());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecotalejobs.systems;
+
+import com.ecotalejobs.session.PlayerJobSession;
+import com.ecotalejobs.session.PlayerJobSession.VipProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlockBatchAggregatorTest {
+
+    private static final VipProfile VIP = VipProfile.of(1.0f, 0);
+
+    private final PlayerJobSession session = PlayerJobSession.detached(new UUID(42, 7), 0);
+
+    @Test
+    void countsBreaksPerBlockType() {
+        BlockBatchAggregator aggregator = new BlockBatchAggregator(500);
+        aggregator.add(session, VIP, "Crop_Wheat", "COMMON", 1_000);
+        aggregator.add(session, VIP, "Crop_Corn", "UNCOMMON", 1_010);
+        aggregator.add(session, VIP, "Crop_Corn", "UNCOMMON", 1_020);
+
+        BlockBatchAggregator.Batch batch = aggregator.drainPlayer(session.getPlayerUuid());
+
+        assertEquals(3, batch.getEvents());
+        assertEquals(2, batch.getSourceCount());
+        assertEquals("Crop_Corn", batch.getSource(batch.getTopSource()));
+        assertEquals(2, batch.getCount(batch.getTopSource()));
+    }
+
+    @Test
+    void aGapOfExactlyTheWindowStillMerges() {
+        BlockBatchAggregator aggregator = new BlockBatchAggregator(500);
+        List<BlockBatchAggregator.Batch> drained = new ArrayList<>();
+
+        assertNull(aggregator.add(session, VIP, "Crop_Wheat", "COMMON", 1_000));
+        assertNull(aggregator.add(session, VIP, "Crop_Wheat", "COMMON", 1_500)); // Inclusive
+        assertEquals(0, aggregator.drainExpired(2_000, drained::add));
+        assertEquals(1, aggregator.drainExpired(2_001, drained::add));
+        assertEquals(2, drained.get(0).getEvents());
+
+        aggregator.add(session, VIP, "Crop_Wheat", "COMMON", 3_000);
+        BlockBatchAggregator.Batch closed = aggregator.add(session, VIP, "Crop_Wheat", "COMMON", 3_501);
+        assertNotNull(closed);
+        assertEquals(1, closed.getEvents());
+    }
+
+    @Test
+    void aBatchNeverSpansTheMaximumBatchTime() {
+        BlockBatchAggregator aggregator = new BlockBatchAggregator(3_000, 20_000);
+        for (long t = 0; t < 20_000; t += 1_000) {
+            assertNull(aggregator.add(session, VIP, "Wood_Oak_Trunk", "COMMON", 10_000 + t));
+        }
+
+        // Exclusive: the break at exactly the maximum starts a new batch
+        BlockBatchAggregator.Batch closed = aggregator.add(session, VIP, "Wood_Oak_Trunk", "COMMON", 30_000);
+        assertNotNull(closed);
+        assertEquals(20, closed.getEvents());
+
+        // The sweep closes at the same boundary
+        List<BlockBatchAggregator.Batch> drained = new ArrayList<>();
+        for (long t = 1_000; t < 20_000; t += 1_000) {
+            aggregator.add(session, VIP, "Wood_Oak_Trunk", "COMMON", 30_000 + t);
+        }
+        assertEquals(0, aggregator.drainExpired(49_999, drained::add));
+        assertEquals(1, aggregator.drainExpired(50_000, drained::add));
+        assertEquals(20, drained.get(0).getEvents());
+    }
+}
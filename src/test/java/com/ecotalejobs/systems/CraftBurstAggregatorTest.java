@@ -0,0 +1,90 @@
+package com.ecotalejobs.systems;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CraftBurstAggregatorTest {
+
+    private static final UUID PLAYER = new UUID(42, 7);
+    private static final CraftingRecipe PLANKS = recipe("Planks");
+    private static final CraftingRecipe STICKS = recipe("Sticks");
+
+    @Test
+    void aGapOfExactlyTheWindowStillMerges() {
+        CraftBurstAggregator aggregator = new CraftBurstAggregator(250);
+
+        assertNull(aggregator.add(PLAYER, PLANKS, 4, 1_000));
+        assertNull(aggregator.add(PLAYER, PLANKS, 4, 1_250)); // Inclusive
+        CraftBurstAggregator.Burst closed = aggregator.add(PLAYER, PLANKS, 4, 1_501);
+
+        assertNotNull(closed);
+        assertEquals(8, closed.getQuantity());
+        assertEquals(2, closed.getEvents());
+    }
+
+    @Test
+    void drainsOnlyBurstsIdleForLongerThanTheWindow() {
+        CraftBurstAggregator aggregator = new CraftBurstAggregator(250);
+        List<CraftBurstAggregator.Burst> drained = new ArrayList<>();
+        aggregator.add(PLAYER, PLANKS, 4, 1_000);
+
+        assertEquals(0, aggregator.drainExpired(1_250, drained::add));
+        assertEquals(1, aggregator.drainExpired(1_251, drained::add));
+        assertEquals(4, drained.get(0).getQuantity());
+    }
+
+    @Test
+    void closesABurstThatReachesTheMaximumLength() {
+        CraftBurstAggregator aggregator = new CraftBurstAggregator(250);
+        long t = 1_000;
+        aggregator.add(PLAYER, PLANKS, 1, t);
+        // One craft every 200 ms keeps the burst alive until MAX_BURST_MS
+        while (t + 200 < 1_000 + CraftBurstAggregator.MAX_BURST_MS) {
+            t += 200;
+            assertNull(aggregator.add(PLAYER, PLANKS, 1, t));
+        }
+
+        CraftBurstAggregator.Burst closed = aggregator.add(PLAYER, PLANKS, 1, 1_000 + CraftBurstAggregator.MAX_BURST_MS);
+        assertNotNull(closed); // Exclusive: a burst never spans MAX_BURST_MS
+        assertEquals(10, closed.getQuantity());
+
+        // The sweep closes it at the same boundary
+        long opened = t = 1_000 + CraftBurstAggregator.MAX_BURST_MS;
+        while (t + 200 < opened + CraftBurstAggregator.MAX_BURST_MS) {
+            t += 200;
+            aggregator.add(PLAYER, PLANKS, 1, t);
+        }
+        List<CraftBurstAggregator.Burst> drained = new ArrayList<>();
+        assertEquals(0, aggregator.drainExpired(opened + CraftBurstAggregator.MAX_BURST_MS - 1, drained::add));
+        assertEquals(1, aggregator.drainExpired(opened + CraftBurstAggregator.MAX_BURST_MS, drained::add));
+    }
+
+    @Test
+    void anotherRecipeClosesTheOpenBurst() {
+        CraftBurstAggregator aggregator = new CraftBurstAggregator(250);
+        aggregator.add(PLAYER, PLANKS, 4, 1_000);
+
+        CraftBurstAggregator.Burst closed = aggregator.add(PLAYER, STICKS, 2, 1_010);
+
+        assertNotNull(closed);
+        assertEquals(PLANKS, closed.getRecipe());
+        assertEquals(STICKS, aggregator.drainPlayer(PLAYER).getRecipe());
+    }
+
+    private static CraftingRecipe recipe(String id) {
+        return new CraftingRecipe() {
+            @Override
+            public String getId() {
+                return id;
+            }
+        };
+    }
+}
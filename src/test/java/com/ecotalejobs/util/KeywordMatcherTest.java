@@ -0,0 +1,51 @@
+package com.ecotalejobs.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordMatcherTest {
+
+    @Test
+    void reportsOverlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of("he", 1, "she", 2, "hers", 3));
+        List<Integer> found = new ArrayList<>();
+
+        matcher.scan("ushers", found::add);
+
+        found.sort(null);
+        assertEquals(List.of(1, 2, 3), found);
+    }
+
+    @Test
+    void reportsRepeatedOccurrences() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of("ore", 5));
+        List<Integer> found = new ArrayList<>();
+
+        matcher.scan("ore_ore_ore", found::add);
+
+        assertEquals(3, found.size());
+    }
+
+    @Test
+    void maxValueFallsBackToFloor() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of("iron", 2, "diamond", 5));
+
+        assertEquals(5, matcher.maxValue("ore_diamond_iron", 0));
+        assertEquals(2, matcher.maxValue("iron_ingot", 0));
+        assertEquals(-1, matcher.maxValue("stone", -1));
+        assertEquals(9, matcher.maxValue("diamond", 9));
+    }
+
+    @Test
+    void nonAsciiCharacterBreaksMatch() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of("gold", 3));
+
+        assertEquals(0, matcher.maxValue("goéld", 0));
+        assertEquals(3, matcher.maxValue("égold", 0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecotalejobs.util;
+
+import com.ecotalejobs.config.CraftingMappingsConfig;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecipeTierIndexTest {
+
+    @Test
+    void everyIndexedRecipeMatchesTheSlowPath() {
+        CraftingTierMatcher matcher = matcher();
+        Map<String, CraftingRecipe> recipes = new LinkedHashMap<>();
+        for (String id : new String[] {"Iron_Exact", "Mapped_Sword", "Mapped_Axe", "Debug_Wand"}) {
+            recipes.put(id, recipe(id));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            String id = "Generated_" + i;
+            recipes.put(id, recipe(id));
+        }
+
+        RecipeTierIndex index = RecipeTierIndex.build(recipes, matcher);
+
+        assertEquals(recipes.size(), index.size());
+        for (CraftingRecipe recipe : recipes.values()) {
+            assertEquals(matcher.resolveTier(recipe), index.get(recipe.getId()));
+        }
+        assertEquals("RARE", index.get("Iron_Exact"));
+        assertEquals("EPIC", index.get("Mapped_Axe"));
+        assertEquals("NONE", index.get("Debug_Wand"));
+    }
+
+    @Test
+    void aMissFallsBackToTheSlowPathOnce() {
+        CraftingTierMatcher matcher = matcher();
+        Map<String, CraftingRecipe> recipes = Map.of("Iron_Exact", recipe("Iron_Exact"));
+        RecipeTierIndex index = RecipeTierIndex.build(recipes, matcher);
+        matcher.publishIndex(index);
+        CraftingRecipe late = recipe("Mapped_Late");
+
+        assertNull(index.get("Mapped_Late"));
+        assertNull(RecipeTierIndex.EMPTY.get("Iron_Exact"));
+
+        assertEquals("RARE", matcher.findTier(recipe("Iron_Exact")));
+        assertEquals(0, matcher.getCacheMisses());
+        assertEquals("EPIC", matcher.findTier(late));
+        assertEquals("EPIC", matcher.findTier(late));
+        assertEquals(1, matcher.getCacheMisses());
+    }
+
+    private static CraftingTierMatcher matcher() {
+        CraftingMappingsConfig config = new CraftingMappingsConfig();
+        config.addRecipeMapping("Iron_Exact", "RARE");
+        config.addRecipeMapping("Mapped_*", "EPIC");
+        CraftingTierMatcher matcher = new CraftingTierMatcher();
+        matcher.configure(config);
+        return matcher;
+    }
+
+    private static CraftingRecipe recipe(String id) {
+        return new CraftingRecipe() {
+            @Override
+            public String getId() {
+                return id;
+            }
+        };
+    }
+}
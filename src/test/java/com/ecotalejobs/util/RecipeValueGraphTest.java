@@ -0,0 +1,168 @@
+package com.ecotalejobs.util;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecipeValueGraphTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void itemsAreWorthTheirCheapestRecipe() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(recipes(
+            recipe("Seed_Alpha", material("Alpha", 1)),
+            recipe("Beta_Costly", material("Beta", 1), material("Alpha", 3)),
+            recipe("Beta_Cheap", material("Beta", 1), material("Alpha", 1)),
+            recipe("Gamma", material("Gamma", 2), material("Beta", 2))));
+
+        // Seed: effort only. Beta: 1 Alpha + effort. Gamma: (2 Beta + effort) / 2
+        assertEquals(1.0, graph.getValueForRecipe("Seed_Alpha"), EPSILON);
+        assertEquals(2.0, graph.getValueForRecipe("Beta_Cheap"), EPSILON);
+        assertEquals(2.0, graph.getValueForRecipe("Beta_Costly"), EPSILON);
+        assertEquals(2.5, graph.getValueForRecipe("Gamma"), EPSILON);
+        assertEquals("TRIVIAL", graph.getTierForRecipe("Gamma"));
+        assertEquals(4, graph.getRecipeCount());
+    }
+
+    @Test
+    void unproducedInputsUseTheirRawValue() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(recipes(recipe("Plain", material("Plain_Output", 1), material("Plain_Raw", 2))));
+
+        double raw = CraftingAutoDetector.getMaterialScore("Plain_Raw");
+        assertEquals(2 * raw + 1, graph.getValueForRecipe("Plain"), EPSILON);
+    }
+
+    @Test
+    void addingRecipesRecomputesOnlyWhatIsDownstream() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(recipes(
+            recipe("Beta", material("Beta", 1), material("Alpha", 3)),
+            recipe("Gamma", material("Gamma", 1), material("Beta", 1)),
+            recipe("Other", material("Other", 1), material("Unrelated", 1))));
+        double otherBefore = graph.getValueForRecipe("Other");
+
+        // A cheap source of Alpha dirties Alpha, Beta and Gamma - not Other
+        int recomputed = graph.addRecipes(recipes(recipe("Seed_Alpha", material("Alpha", 1))));
+
+        assertEquals(3, recomputed);
+        assertEquals(4.0, graph.getValueForRecipe("Beta"), EPSILON);
+        assertEquals(5.0, graph.getValueForRecipe("Gamma"), EPSILON);
+        assertEquals(otherBefore, graph.getValueForRecipe("Other"), EPSILON);
+    }
+
+    @Test
+    void replacingARecipeDropsItsOldEdges() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(recipes(
+            recipe("Seed_Alpha", material("Alpha", 1)),
+            recipe("Beta", material("Beta", 1), material("Alpha", 10))));
+        assertEquals(11.0, graph.getValueForRecipe("Beta"), EPSILON);
+
+        graph.addRecipes(recipes(recipe("Beta", material("Beta", 1), material("Alpha", 2))));
+
+        assertEquals(3.0, graph.getValueForRecipe("Beta"), EPSILON);
+        assertEquals(2, graph.getRecipeCount());
+    }
+
+    @Test
+    void cyclesAreBrokenAtTheLowestIdAndCappedAtRawValue() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(recipes(
+            recipe("Slab_From_Block", material("Cycle_Slab", 2), material("Cycle_Block", 1)),
+            recipe("Block_From_Slab", material("Cycle_Block", 1), material("Cycle_Slab", 2))));
+
+        double rawBlock = CraftingAutoDetector.getMaterialScore("Cycle_Block");
+        double rawSlab = CraftingAutoDetector.getMaterialScore("Cycle_Slab");
+        double block = Math.min(2 * rawSlab + 1, rawBlock);
+        assertEquals(block, graph.getValueForRecipe("Block_From_Slab"), EPSILON);
+        assertEquals((block + 1) / 2, graph.getValueForRecipe("Slab_From_Block"), EPSILON);
+    }
+
+    @Test
+    void wideLevelsMatchTheSequentialFormula() {
+        Map<String, CraftingRecipe> loaded = new LinkedHashMap<>();
+        loaded.put("Seed_Alpha", recipe("Seed_Alpha", material("Alpha", 1)));
+        for (int i = 0; i < 500; i++) {
+            String id = "Part_" + i;
+            loaded.put(id, recipe(id, material(id, 1), material("Alpha", i + 1)));
+        }
+        RecipeValueGraph graph = new RecipeValueGraph();
+        graph.addRecipes(loaded);
+
+        for (int i = 0; i < 500; i++) {
+            double expected = i + 2;
+            assertEquals(expected, graph.getValueForRecipe("Part_" + i), EPSILON);
+            assertEquals(RecipeValueGraph.valueToTier(expected), graph.getTierForRecipe("Part_" + i));
+        }
+    }
+
+    @Test
+    void recipesWithoutAnOutputAreIgnored() {
+        RecipeValueGraph graph = new RecipeValueGraph();
+
+        assertEquals(0, graph.addRecipes(recipes(recipe("No_Output", null, material("Alpha", 1)))));
+        assertNull(graph.getTierForRecipe("No_Output"));
+        assertEquals(-1.0, graph.getValueForRecipe("No_Output"), EPSILON);
+        assertEquals(0, graph.getRecipeCount());
+    }
+
+    @Test
+    void valueBandsMapToTiers() {
+        assertEquals("TRIVIAL", RecipeValueGraph.valueToTier(0));
+        assertEquals("TRIVIAL", RecipeValueGraph.valueToTier(7.99));
+        assertEquals("SIMPLE", RecipeValueGraph.valueToTier(8));
+        assertEquals("MASTER", RecipeValueGraph.valueToTier(1499));
+        assertEquals("LEGENDARY", RecipeValueGraph.valueToTier(1500));
+        assertEquals("LEGENDARY", RecipeValueGraph.valueToTier(Double.MAX_VALUE));
+    }
+
+    private static Map<String, CraftingRecipe> recipes(CraftingRecipe... recipes) {
+        Map<String, CraftingRecipe> map = new LinkedHashMap<>();
+        for (CraftingRecipe recipe : recipes) {
+            map.put(recipe.getId(), recipe);
+        }
+        return map;
+    }
+
+    private static CraftingRecipe recipe(String id, MaterialQuantity output, MaterialQuantity... inputs) {
+        return new CraftingRecipe() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public MaterialQuantity getPrimaryOutput() {
+                return output;
+            }
+
+            @Override
+            public MaterialQuantity[] getInput() {
+                return inputs;
+            }
+        };
+    }
+
+    private static MaterialQuantity material(String itemId, int quantity) {
+        return new MaterialQuantity() {
+            @Override
+            public String getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public int getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecotalejobs.util;
+
+import com.ecotalejobs.config.EcotaleJobsConfig.VeinStreakConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VeinStreakTrackerTest {
+
+    @Test
+    void streakGrowsUpToMaxAndResetsAfterTimeout() {
+        // Defaults: 6 ores max, reset after 3 s without one
+        VeinStreakConfig config = new VeinStreakConfig();
+        ManualClock clock = new ManualClock(1_000_000);
+        VeinStreakTracker tracker = VeinStreakTracker.getInstance();
+        tracker.configure(config);
+        tracker.setClock(clock);
+        AtomicLong state = new AtomicLong();
+
+        for (int ore = 1; ore <= config.getMaxStreak(); ore++) {
+            assertEquals(ore, tracker.recordOreAndGetStreak(state));
+            clock.advance(1_000);
+        }
+        assertEquals(config.getMaxStreak(), tracker.recordOreAndGetStreak(state));
+
+        clock.advance(config.getTimeoutMs());
+        assertEquals(config.getMaxStreak(), tracker.peekStreak(state));
+
+        clock.advance(1);
+        assertEquals(0, tracker.peekStreak(state));
+        assertEquals(1, tracker.recordOreAndGetStreak(state));
+    }
+}